@@ -54,6 +54,12 @@ const authenticateToken = (req, res, next) => {
     });
 };
 
+// cache headers; express adds the ETag and answers If-None-Match with 304
+const cacheFor = (maxAge, staleWhileRevalidate) => (req, res, next) => {
+    res.set('Cache-Control', `private, max-age=${maxAge}, stale-while-revalidate=${staleWhileRevalidate}`);
+    next();
+};
+
 // routes
 app.get('/', (req, res) => {
     res.json({
@@ -238,7 +244,7 @@ app.post('/api/user/preferences', authenticateToken, async (req, res) => {
 });
 
 // get recs
-app.get('/api/recommendations', authenticateToken, async (req, res) => {
+app.get('/api/recommendations', authenticateToken, cacheFor(30, 600), async (req, res) => {
     try {
         // check prefs
         const [prefs] = await db.execute(
@@ -341,7 +347,7 @@ app.post('/api/recommendations', authenticateToken, async (req, res) => {
 });
 
 // get forums
-app.get('/api/forums', async (req, res) => {
+app.get('/api/forums', cacheFor(10, 600), async (req, res) => {
     try {
         console.log('get forums');
         
@@ -441,7 +447,7 @@ app.post('/api/forums/:forumId/replies', authenticateToken, async (req, res) =>
 });
 
 // news
-app.get('/api/news', authenticateToken, async (req, res) => {
+app.get('/api/news', authenticateToken, cacheFor(60, 600), async (req, res) => {
     try {
         console.log('news request:', req.user.user_id);
         
@@ -603,6 +609,95 @@ async function fetchCryptoPrice(cryptoId) {
     }
 }
 
+// fetch several crypto prices with one CoinGecko call per endpoint instead of two per id
+// returns { id: data } for the ids that have a price
+async function fetchCryptoPrices(cryptoIds) {
+    const result = {};
+    const missing = [];
+    
+    for (const cryptoId of cryptoIds) {
+        const cached = priceCache[`crypto_${cryptoId}`];
+        if (cached && Date.now() - cached.timestamp < CACHE_DURATION) {
+            result[cryptoId] = cached.data;
+        } else {
+            missing.push(cryptoId);
+        }
+    }
+    if (missing.length === 0) return result;
+    
+    const apiKey = process.env.COINGECKO_API_KEY || 'CG-ZxbuGMEZxjhNQNGb34zVFAit';
+    const ids = missing.map(encodeURIComponent).join(',');
+    
+    try {
+        console.log(`fetching crypto prices for ${missing.length} ids`);
+        const response = await axios.get(`https://api.coingecko.com/api/v3/simple/price?vs_currencies=usd&ids=${ids}&x_cg_demo_api_key=${apiKey}`);
+        
+        for (const cryptoId of missing) {
+            const entry = response.data && response.data[cryptoId];
+            if (entry && entry.usd) {
+                result[cryptoId] = { price: parseFloat(entry.usd), change: 0, changePercent: 0 };
+            }
+        }
+        
+        // 24h change for all of them in one call
+        try {
+            const marketsResponse = await axios.get(`https://api.coingecko.com/api/v3/coins/markets?vs_currency=usd&ids=${ids}&x_cg_demo_api_key=${apiKey}`);
+            for (const marketData of marketsResponse.data || []) {
+                const data = result[marketData.id];
+                if (data && missing.includes(marketData.id)) {
+                    data.change = marketData.price_change_24h || 0;
+                    data.changePercent = marketData.price_change_percentage_24h || 0;
+                }
+            }
+        } catch (e) {
+            console.log('Could not fetch 24h change, using defaults');
+        }
+        
+        for (const cryptoId of missing) {
+            if (result[cryptoId]) {
+                priceCache[`crypto_${cryptoId}`] = { data: result[cryptoId], timestamp: Date.now() };
+            }
+        }
+    } catch (error) {
+        console.error('error fetching crypto prices:', error.message);
+    }
+    return result;
+}
+
+// quotes for crypto:<id> / stock:<symbol> keys, keyed the same way
+// crypto is batched; the stock api only quotes one symbol per call, so those go out in parallel
+async function fetchQuotes(symbols) {
+    const cryptoIds = [];
+    const stockSymbols = [];
+    for (const symbol of symbols) {
+        const [type, id] = symbol.split(':');
+        if (type === 'crypto' && id) cryptoIds.push(id.toLowerCase());
+        if (type === 'stock' && id) stockSymbols.push(id.toUpperCase());
+    }
+    
+    const [cryptoPrices, stockPrices] = await Promise.all([
+        cryptoIds.length > 0 ? fetchCryptoPrices([...new Set(cryptoIds)]) : {},
+        Promise.all(stockSymbols.map(async symbol => [symbol, await fetchStockPrice(symbol)]))
+    ]);
+    
+    const quotes = {};
+    for (const [id, data] of Object.entries(cryptoPrices)) {
+        quotes[`crypto:${id}`] = data;
+    }
+    for (const [symbol, data] of stockPrices) {
+        if (data) quotes[`stock:${symbol}`] = data;
+    }
+    return quotes;
+}
+
+function parseSymbols(param) {
+    return String(param || '')
+        .split(',')
+        .map(s => s.trim())
+        .filter(s => s.startsWith('crypto:') || s.startsWith('stock:'))
+        .map(s => s.startsWith('crypto:') ? s.toLowerCase() : `stock:${s.slice(6).toUpperCase()}`);
+}
+
 // crypto mapping (CoinGecko IDs to display names) - defined globally for use in routes
 const cryptoMapping = {
     'bitcoin': { name: 'Bitcoin', symbol: 'BTC' },
@@ -622,6 +717,52 @@ const cryptoMapping = {
     'usd-coin': { name: 'USD Coin', symbol: 'USDC' }
 };
 
+// stocks by industry - defined globally for use in routes
+const stocksByIndustry = {
+    'Technology': [
+        { symbol: 'AAPL', name: 'Apple Inc.', price: 178.50, change: 2.3 },
+        { symbol: 'MSFT', name: 'Microsoft Corporation', price: 378.91, change: 1.8 },
+        { symbol: 'GOOGL', name: 'Alphabet Inc.', price: 141.80, change: 3.1 },
+        { symbol: 'NVDA', name: 'NVIDIA Corporation', price: 495.22, change: 5.2 },
+        { symbol: 'META', name: 'Meta Platforms Inc.', price: 338.54, change: 1.5 }
+    ],
+    'Healthcare': [
+        { symbol: 'PFE', name: 'Pfizer Inc.', price: 28.45, change: 0.8 },
+        { symbol: 'JNJ', name: 'Johnson & Johnson', price: 156.32, change: 1.2 },
+        { symbol: 'UNH', name: 'UnitedHealth Group', price: 524.18, change: 2.1 },
+        { symbol: 'ABBV', name: 'AbbVie Inc.', price: 168.90, change: 1.4 },
+        { symbol: 'MRK', name: 'Merck & Co.', price: 112.43, change: 0.9 }
+    ],
+    'Energy': [
+        { symbol: 'XOM', name: 'ExxonMobil Corp.', price: 112.67, change: 1.9 },
+        { symbol: 'CVX', name: 'Chevron Corporation', price: 163.84, change: 2.4 },
+        { symbol: 'COP', name: 'ConocoPhillips', price: 118.92, change: 1.7 },
+        { symbol: 'SLB', name: 'Schlumberger Limited', price: 54.78, change: 3.2 },
+        { symbol: 'EOG', name: 'EOG Resources Inc.', price: 129.45, change: 2.8 }
+    ],
+    'Finance': [
+        { symbol: 'JPM', name: 'JPMorgan Chase & Co.', price: 158.76, change: 1.3 },
+        { symbol: 'BAC', name: 'Bank of America Corp.', price: 34.52, change: 0.7 },
+        { symbol: 'WFC', name: 'Wells Fargo & Company', price: 52.89, change: 1.1 },
+        { symbol: 'GS', name: 'Goldman Sachs Group', price: 384.21, change: 2.2 },
+        { symbol: 'MS', name: 'Morgan Stanley', price: 95.34, change: 1.6 }
+    ],
+    'Consumer': [
+        { symbol: 'AMZN', name: 'Amazon.com Inc.', price: 178.35, change: 2.9 },
+        { symbol: 'WMT', name: 'Walmart Inc.', price: 166.84, change: 0.6 },
+        { symbol: 'HD', name: 'Home Depot Inc.', price: 362.19, change: 1.4 },
+        { symbol: 'NKE', name: 'Nike Inc.', price: 93.76, change: 2.1 },
+        { symbol: 'SBUX', name: 'Starbucks Corporation', price: 95.43, change: 1.8 }
+    ],
+    'Automotive': [
+        { symbol: 'TSLA', name: 'Tesla Inc.', price: 242.84, change: 4.5 },
+        { symbol: 'F', name: 'Ford Motor Company', price: 12.45, change: 2.3 },
+        { symbol: 'GM', name: 'General Motors Company', price: 38.67, change: 1.9 },
+        { symbol: 'TM', name: 'Toyota Motor Corporation', price: 238.92, change: 1.2 },
+        { symbol: 'RIVN', name: 'Rivian Automotive Inc.', price: 18.34, change: 6.7 }
+    ]
+};
+
 // generate recs
 async function generateRecommendations(userId, preferences) {
     console.log('Generating recommendations for user:', userId);
@@ -648,52 +789,6 @@ async function generateRecommendations(userId, preferences) {
         }
     }
     
-    // stocks by industry
-    const stocksByIndustry = {
-        'Technology': [
-            { symbol: 'AAPL', name: 'Apple Inc.', price: 178.50, change: 2.3 },
-            { symbol: 'MSFT', name: 'Microsoft Corporation', price: 378.91, change: 1.8 },
-            { symbol: 'GOOGL', name: 'Alphabet Inc.', price: 141.80, change: 3.1 },
-            { symbol: 'NVDA', name: 'NVIDIA Corporation', price: 495.22, change: 5.2 },
-            { symbol: 'META', name: 'Meta Platforms Inc.', price: 338.54, change: 1.5 }
-        ],
-        'Healthcare': [
-            { symbol: 'PFE', name: 'Pfizer Inc.', price: 28.45, change: 0.8 },
-            { symbol: 'JNJ', name: 'Johnson & Johnson', price: 156.32, change: 1.2 },
-            { symbol: 'UNH', name: 'UnitedHealth Group', price: 524.18, change: 2.1 },
-            { symbol: 'ABBV', name: 'AbbVie Inc.', price: 168.90, change: 1.4 },
-            { symbol: 'MRK', name: 'Merck & Co.', price: 112.43, change: 0.9 }
-        ],
-        'Energy': [
-            { symbol: 'XOM', name: 'ExxonMobil Corp.', price: 112.67, change: 1.9 },
-            { symbol: 'CVX', name: 'Chevron Corporation', price: 163.84, change: 2.4 },
-            { symbol: 'COP', name: 'ConocoPhillips', price: 118.92, change: 1.7 },
-            { symbol: 'SLB', name: 'Schlumberger Limited', price: 54.78, change: 3.2 },
-            { symbol: 'EOG', name: 'EOG Resources Inc.', price: 129.45, change: 2.8 }
-        ],
-        'Finance': [
-            { symbol: 'JPM', name: 'JPMorgan Chase & Co.', price: 158.76, change: 1.3 },
-            { symbol: 'BAC', name: 'Bank of America Corp.', price: 34.52, change: 0.7 },
-            { symbol: 'WFC', name: 'Wells Fargo & Company', price: 52.89, change: 1.1 },
-            { symbol: 'GS', name: 'Goldman Sachs Group', price: 384.21, change: 2.2 },
-            { symbol: 'MS', name: 'Morgan Stanley', price: 95.34, change: 1.6 }
-        ],
-        'Consumer': [
-            { symbol: 'AMZN', name: 'Amazon.com Inc.', price: 178.35, change: 2.9 },
-            { symbol: 'WMT', name: 'Walmart Inc.', price: 166.84, change: 0.6 },
-            { symbol: 'HD', name: 'Home Depot Inc.', price: 362.19, change: 1.4 },
-            { symbol: 'NKE', name: 'Nike Inc.', price: 93.76, change: 2.1 },
-            { symbol: 'SBUX', name: 'Starbucks Corporation', price: 95.43, change: 1.8 }
-        ],
-        'Automotive': [
-            { symbol: 'TSLA', name: 'Tesla Inc.', price: 242.84, change: 4.5 },
-            { symbol: 'F', name: 'Ford Motor Company', price: 12.45, change: 2.3 },
-            { symbol: 'GM', name: 'General Motors Company', price: 38.67, change: 1.9 },
-            { symbol: 'TM', name: 'Toyota Motor Corporation', price: 238.92, change: 1.2 },
-            { symbol: 'RIVN', name: 'Rivian Automotive Inc.', price: 18.34, change: 6.7 }
-        ]
-    };
-    
     // default cryptos if none specified
     const defaultCryptos = ['bitcoin', 'ethereum', 'solana'];
     
@@ -775,11 +870,14 @@ async function generateRecommendations(userId, preferences) {
     if (preferred_asset_type === 'crypto' || preferred_asset_type === 'both') {
         const cryptosToRecommend = cryptocurrenciesList.length > 0 ? cryptocurrenciesList : defaultCryptos;
         
+        // one batched price lookup for all of them
+        const cryptoPrices = await fetchCryptoPrices(cryptosToRecommend.slice(0, 5));
+        
         for (const cryptoId of cryptosToRecommend.slice(0, 5)) {
             const cryptoInfo = cryptoMapping[cryptoId] || { name: cryptoId.charAt(0).toUpperCase() + cryptoId.slice(1), symbol: cryptoId.toUpperCase() };
             
             // fetch price
-            const realData = await fetchCryptoPrice(cryptoId);
+            const realData = cryptoPrices[cryptoId];
             const currentPrice = realData ? realData.price : 0;
             const changePercent = realData ? realData.changePercent : 0;
             
@@ -807,9 +905,6 @@ async function generateRecommendations(userId, preferences) {
                 expires_at: new Date(Date.now() + 24 * 60 * 60 * 1000),
                 coingecko_id: cryptoId  // Add CoinGecko ID for URL construction
             });
-            
-            // delay to avoid rate limiting
-            await new Promise(resolve => setTimeout(resolve, 200));
         }
     }
     
@@ -908,6 +1003,182 @@ app.get('/api/crypto/price/:id', async (req, res) => {
     }
 });
 
+// several quotes in one request
+// GET /api/quotes?symbols=crypto:bitcoin,crypto:ethereum,stock:AAPL
+const MAX_QUOTE_SYMBOLS = 100;
+
+app.get('/api/quotes', async (req, res) => {
+    try {
+        const symbols = [...new Set(parseSymbols(req.query.symbols))];
+        
+        if (symbols.length === 0) {
+            return res.status(400).json({ message: 'symbols required, e.g. crypto:bitcoin,stock:AAPL' });
+        }
+        if (symbols.length > MAX_QUOTE_SYMBOLS) {
+            return res.status(400).json({ message: `at most ${MAX_QUOTE_SYMBOLS} symbols per request` });
+        }
+        
+        const quotes = await fetchQuotes(symbols);
+        res.json({
+            quotes: symbols.filter(symbol => quotes[symbol]).map(symbol => ({
+                symbol: symbol,
+                price: quotes[symbol].price,
+                change: quotes[symbol].change,
+                changePercent: quotes[symbol].changePercent
+            })),
+            missing: symbols.filter(symbol => !quotes[symbol])
+        });
+    } catch (error) {
+        console.error('Error fetching quotes:', error);
+        res.status(500).json({ message: 'Internal server error' });
+    }
+});
+
+// everything the app can recommend, as stream/quote symbols
+// assets carries the same list with the ticker, name and (for stocks) industry of each
+app.get('/api/prices/symbols', (req, res) => {
+    const cryptos = Object.entries(cryptoMapping).map(([id, info]) => ({
+        symbol: `crypto:${id}`, ticker: info.symbol, name: info.name
+    }));
+    const stocks = new Map();
+    for (const [industry, list] of Object.entries(stocksByIndustry)) {
+        for (const stock of list) {
+            if (!stocks.has(stock.symbol)) {
+                stocks.set(stock.symbol, { symbol: `stock:${stock.symbol}`, ticker: stock.symbol, name: stock.name, industry: industry });
+            }
+        }
+    }
+    const assets = [...cryptos, ...stocks.values()];
+    res.json({ symbols: assets.map(asset => asset.symbol), assets: assets });
+});
+
+// price history for backfilling the client's local archive
+// GET /api/prices/history?symbol=crypto:bitcoin&days=90
+// points are [time millis, price, volume]: hourly for crypto, daily closes for stocks
+const HISTORY_CACHE_DURATION = 60 * 60 * 1000;
+const MAX_HISTORY_DAYS = 365;
+const historyCache = {};
+
+async function fetchCryptoHistory(cryptoId, days) {
+    const apiKey = process.env.COINGECKO_API_KEY || 'CG-ZxbuGMEZxjhNQNGb34zVFAit';
+    const response = await axios.get(`https://api.coingecko.com/api/v3/coins/${encodeURIComponent(cryptoId)}/market_chart?vs_currency=usd&days=${days}&x_cg_demo_api_key=${apiKey}`);
+    const volumes = new Map((response.data.total_volumes || []).map(([time, volume]) => [time, volume]));
+    return (response.data.prices || []).map(([time, price]) => [time, price, volumes.get(time) || 0]);
+}
+
+async function fetchStockHistory(symbol, days) {
+    const apiKey = process.env.STOCK_KEY;
+    if (!apiKey) {
+        console.log('no stock api key');
+        return null;
+    }
+    // compact is the last 100 trading days
+    const outputSize = days > 100 ? 'full' : 'compact';
+    const response = await axios.get(`https://www.alphavantage.co/query?function=TIME_SERIES_DAILY&symbol=${encodeURIComponent(symbol)}&outputsize=${outputSize}&apikey=${apiKey}`);
+    const series = response.data['Time Series (Daily)'];
+    if (!series) return null;
+    
+    const since = Date.now() - days * 24 * 60 * 60 * 1000;
+    return Object.entries(series)
+        // stamped at the 16:00 new york close
+        .map(([date, bar]) => [Date.parse(`${date}T21:00:00Z`), parseFloat(bar['4. close']), parseFloat(bar['5. volume'])])
+        .filter(([time]) => time >= since)
+        .sort((a, b) => a[0] - b[0]);
+}
+
+app.get('/api/prices/history', async (req, res) => {
+    try {
+        const [symbol] = parseSymbols(req.query.symbol);
+        const days = Math.min(MAX_HISTORY_DAYS, Math.max(1, parseInt(req.query.days, 10) || 30));
+        
+        if (!symbol) {
+            return res.status(400).json({ message: 'symbol required, e.g. crypto:bitcoin or stock:AAPL' });
+        }
+        
+        const cacheKey = `${symbol}/${days}`;
+        let points = historyCache[cacheKey] && Date.now() - historyCache[cacheKey].timestamp < HISTORY_CACHE_DURATION
+            ? historyCache[cacheKey].points
+            : null;
+        if (!points) {
+            points = symbol.startsWith('crypto:')
+                ? await fetchCryptoHistory(symbol.slice(7), days)
+                : await fetchStockHistory(symbol.slice(6), days);
+            if (points) historyCache[cacheKey] = { points: points, timestamp: Date.now() };
+        }
+        
+        if (!points) {
+            return res.status(404).json({ message: 'History not found' });
+        }
+        res.json({ symbol: symbol, points: points });
+    } catch (error) {
+        console.error('Error fetching price history:', error.message);
+        res.status(500).json({ message: 'Internal server error' });
+    }
+});
+
+// live prices over server-sent events
+// GET /api/prices/stream?symbols=crypto:bitcoin,stock:AAPL
+// sends an "event: price" whenever a symbol's price changes, checked every PRICE_STREAM_INTERVAL
+const PRICE_STREAM_INTERVAL = 5000;
+
+app.get('/api/prices/stream', (req, res) => {
+    const symbols = parseSymbols(req.query.symbols);
+    
+    if (symbols.length === 0) {
+        return res.status(400).json({ message: 'symbols required, e.g. crypto:bitcoin,stock:AAPL' });
+    }
+    
+    res.set({
+        'Content-Type': 'text/event-stream',
+        'Cache-Control': 'no-cache',
+        'Connection': 'keep-alive'
+    });
+    res.flushHeaders();
+    
+    const lastPrices = {};
+    let closed = false;
+    let busy = false;
+    
+    const push = async () => {
+        // upstream can be slower than the interval; skip a tick rather than overlap
+        if (busy) return;
+        busy = true;
+        try {
+            await pushPrices();
+        } catch (error) {
+            console.error('price stream error:', error.message);
+        } finally {
+            busy = false;
+        }
+    };
+    
+    const pushPrices = async () => {
+        const quotes = await fetchQuotes(symbols);
+        if (closed) return;
+        
+        for (const [key, data] of Object.entries(quotes)) {
+            if (lastPrices[key] !== data.price) {
+                lastPrices[key] = data.price;
+                res.write(`event: price\ndata: ${JSON.stringify({
+                    symbol: key,
+                    price: data.price,
+                    change: data.change,
+                    changePercent: data.changePercent
+                })}\n\n`);
+            }
+        }
+        // keeps proxies from closing an idle stream
+        res.write(': keep-alive\n\n');
+    };
+    
+    push();
+    const timer = setInterval(push, PRICE_STREAM_INTERVAL);
+    req.on('close', () => {
+        closed = true;
+        clearInterval(timer);
+    });
+});
+
 // fetch crypto news
 async function fetchCryptoNews() {
     const apiKey = process.env.MARKETAUX_API_KEY || process.env.API_KEY;
@@ -0,0 +1,89 @@
+package com.cryptoadvisor.bench;
+
+import com.cryptoadvisor.backtest.BacktestStats;
+import com.cryptoadvisor.backtest.Backtester;
+import com.cryptoadvisor.backtest.BarHistory;
+import com.cryptoadvisor.backtest.FillModel;
+import com.cryptoadvisor.backtest.MovingAverageCrossover;
+import com.cryptoadvisor.backtest.ParameterSweep;
+import com.cryptoadvisor.backtest.SweepResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * moving-average crossover backtests with fees and slippage over a random walk of hourly bars
+ * (8760 is a year). reported in backtests per second: one at a time, and a sweep of 1000
+ * fast/slow variants across all cores on the common pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BacktestBenchmark {
+    private static final int VARIANTS = 1000;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    @Param({"8760", "43800"})
+    public int bars;
+
+    private BarHistory history;
+    private List<int[]> variants;
+    private final Backtester backtester = new Backtester(FillModel.RETAIL, 10_000);
+    private final ParameterSweep sweep = new ParameterSweep(backtester);
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        long[] times = new long[bars];
+        double[] opens = new double[bars];
+        double[] highs = new double[bars];
+        double[] lows = new double[bars];
+        double[] closes = new double[bars];
+        double[] volumes = new double[bars];
+        double price = 100;
+        for (int i = 0; i < bars; i++) {
+            times[i] = i * HOUR_MILLIS;
+            opens[i] = price;
+            price *= 1 + random.nextGaussian() * 0.01;
+            closes[i] = price;
+            highs[i] = Math.max(opens[i], closes[i]) * (1 + random.nextDouble() * 0.003);
+            lows[i] = Math.min(opens[i], closes[i]) * (1 - random.nextDouble() * 0.003);
+            volumes[i] = random.nextDouble() * 1_000;
+        }
+        history = new BarHistory(HOUR_MILLIS, times, opens, highs, lows, closes, volumes);
+
+        variants = new ArrayList<>(VARIANTS);
+        for (int i = 0; i < VARIANTS; i++) {
+            int fast = 1 + random.nextInt(50);
+            variants.add(new int[] {fast, fast + 1 + random.nextInt(200)});
+        }
+    }
+
+    @Benchmark
+    public BacktestStats singleBacktest() {
+        return backtester.stats(history, new MovingAverageCrossover(10, 50));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(VARIANTS)
+    public List<SweepResult<int[]>> parallelSweep() {
+        return sweep.run(history, variants, v -> new MovingAverageCrossover(v[0], v[1]));
+    }
+}
@@ -0,0 +1,93 @@
+package com.cryptoadvisor.bench;
+
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.model.NewsArticle;
+import com.cryptoadvisor.model.Recommendation;
+import com.cryptoadvisor.ui.ArticleCard;
+import com.cryptoadvisor.ui.RecommendationCard;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * card construction and re-binding under headless JavaFX.
+ * the cards are not in a showing window, so building them off the fx thread is allowed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw"})
+@State(Scope.Benchmark)
+public class CardBenchmark {
+
+    private List<Recommendation> recommendations;
+    private List<NewsArticle> articles;
+    private RecommendationCard recycledCard;
+    private ArticleCard recycledArticle;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        HeadlessFx.start();
+        recommendations = ApiJson.decodeRecommendations(Fixtures.recommendations(200));
+        articles = ApiJson.decodeNews(Fixtures.news(200));
+        recycledCard = new RecommendationCard(rec -> { });
+        recycledArticle = new ArticleCard();
+    }
+
+    private int nextIndex() {
+        next = (next + 1) % 200;
+        return next;
+    }
+
+    @Benchmark
+    public RecommendationCard createRecommendationCard() {
+        RecommendationCard card = new RecommendationCard(rec -> { });
+        card.bind(recommendations.get(nextIndex()));
+        return card;
+    }
+
+    // what a ListView cell does when it scrolls onto another row
+    @Benchmark
+    public RecommendationCard rebindRecommendationCard() {
+        recycledCard.bind(recommendations.get(nextIndex()));
+        return recycledCard;
+    }
+
+    // construction plus css and layout, closer to the cost of a first paint
+    @Benchmark
+    public RecommendationCard createRecommendationCardStyled() {
+        RecommendationCard card = new RecommendationCard(rec -> { });
+        card.bind(recommendations.get(nextIndex()));
+        new Scene(new Group(card));
+        card.applyCss();
+        card.layout();
+        return card;
+    }
+
+    @Benchmark
+    public ArticleCard createArticleCard() {
+        ArticleCard card = new ArticleCard();
+        card.bind(articles.get(nextIndex()));
+        return card;
+    }
+
+    @Benchmark
+    public ArticleCard rebindArticleCard() {
+        recycledArticle.bind(articles.get(nextIndex()));
+        return recycledArticle;
+    }
+}
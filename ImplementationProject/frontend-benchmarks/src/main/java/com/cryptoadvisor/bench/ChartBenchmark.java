@@ -0,0 +1,84 @@
+package com.cryptoadvisor.bench;
+
+import com.cryptoadvisor.chart.ChartSeries;
+import com.cryptoadvisor.chart.Downsampler;
+import com.cryptoadvisor.chart.OhlcBuckets;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * the data side of one chart frame, 1200 pixels wide, at each zoom level the chart draws:
+ * the whole series as min-max columns or candles, and a few ticks per pixel through lttb.
+ * each frame pans a little so no two read the same buckets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChartBenchmark {
+    private static final int COLUMNS = 1200;
+    private static final long TICK_MILLIS = 500;
+
+    @Param({"100000", "5000000"})
+    public int ticks;
+
+    private ChartSeries series;
+    private final OhlcBuckets buckets = new OhlcBuckets();
+    private final int[] picks = new int[COLUMNS];
+    private long start;
+    private int frame;
+
+    @Setup
+    public void setUp() {
+        series = new ChartSeries();
+        Random random = new Random(42);
+        double price = 100;
+        start = 1_700_000_000_000L;
+        for (int i = 0; i < ticks; i++) {
+            price *= 1 + random.nextGaussian() * 0.001;
+            series.append(start + i * TICK_MILLIS, price, random.nextDouble());
+        }
+    }
+
+    // zoomed all the way out: one min-max bucket per pixel column
+    @Benchmark
+    public int minMaxFrame() {
+        long span = ticks * TICK_MILLIS;
+        long step = span / COLUMNS;
+        return Downsampler.buckets(series, start + pan() * step, step, COLUMNS + 1, buckets);
+    }
+
+    // zoomed all the way out as 7 px candles
+    @Benchmark
+    public int candleFrame() {
+        long span = ticks * TICK_MILLIS;
+        long step = span / (COLUMNS / 7);
+        return Downsampler.buckets(series, start + pan() * step, step, COLUMNS / 7 + 1, buckets);
+    }
+
+    // zoomed in to eight ticks per pixel, the densest the line is thinned with lttb
+    @Benchmark
+    public int lttbFrame() {
+        int from = pan() * 97 % (ticks - 8 * COLUMNS);
+        return Downsampler.lttb(series, from, from + 8 * COLUMNS, COLUMNS, picks);
+    }
+
+    private int pan() {
+        frame = (frame + 1) & 63;
+        return frame;
+    }
+}
@@ -0,0 +1,89 @@
+package com.cryptoadvisor.bench;
+
+import java.util.Random;
+
+/**
+ * api payloads shaped like the backend's responses, generated from a fixed seed
+ * so every run parses the same bytes
+ */
+final class Fixtures {
+    private static final String[][] CRYPTO = {
+        {"BTC", "Bitcoin", "bitcoin"}, {"ETH", "Ethereum", "ethereum"}, {"SOL", "Solana", "solana"},
+        {"ADA", "Cardano", "cardano"}, {"DOGE", "Dogecoin", "dogecoin"}, {"XRP", "XRP", "ripple"}
+    };
+    private static final String[][] STOCKS = {
+        {"AAPL", "Apple Inc."}, {"MSFT", "Microsoft Corporation"}, {"NVDA", "NVIDIA Corporation"},
+        {"JPM", "JPMorgan Chase & Co."}, {"XOM", "Exxon Mobil Corporation"}, {"PFE", "Pfizer Inc."}
+    };
+    private static final String[] SOURCES = {"Reuters", "Bloomberg", "CoinDesk", "MarketWatch"};
+    private static final String REASONING = "Strong fundamentals and positive market sentiment. "
+            + "Recent news coverage has been favourable and trading volume is above its 30 day average.";
+
+    private Fixtures() {
+    }
+
+    static String recommendations(int count) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(count * 520).append("{\"recommendations\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            boolean crypto = i % 2 == 0;
+            String[] asset = crypto ? CRYPTO[i % CRYPTO.length] : STOCKS[i % STOCKS.length];
+            json.append("{\"recommendation_id\":\"").append(id(random)).append('"')
+                .append(",\"user_id\":\"").append(id(random)).append('"')
+                .append(",\"asset_type\":\"").append(crypto ? "crypto" : "stocks").append('"')
+                .append(",\"asset_symbol\":\"").append(asset[0]).append('"')
+                .append(",\"asset_name\":\"").append(asset[1]).append('"')
+                // mysql DECIMAL columns arrive as strings
+                .append(",\"current_price\":\"").append(String.format("%.8f", 10 + random.nextDouble() * 50_000)).append('"')
+                .append(",\"recommendation_type\":\"").append(i % 3 == 0 ? "Day Trade" : "Long-Term").append('"')
+                .append(",\"confidence_score\":\"").append(String.format("%.2f", 70 + random.nextDouble() * 30)).append('"')
+                .append(",\"reasoning\":\"").append(REASONING).append('"')
+                .append(",\"news_summary\":\"Market update for ").append(asset[1]).append('"')
+                .append(",\"created_at\":\"2025-11-0").append(1 + i % 9).append("T10:15:00.000Z\"")
+                .append(",\"expires_at\":\"2025-12-0").append(1 + i % 9).append("T10:15:00.000Z\"")
+                .append(",\"coingecko_id\":").append(crypto ? "\"" + asset[2] + "\"" : "null")
+                .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    static String news(int count) {
+        Random random = new Random(7);
+        StringBuilder json = new StringBuilder(count * 400).append("{\"news\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            boolean crypto = random.nextBoolean();
+            json.append("{\"title\":\"Headline number ").append(i).append(" moves the market\"")
+                .append(",\"summary\":\"Analysts said the move reflected shifting expectations for rates and earnings, ")
+                .append("with volume well above average across the sector.\"")
+                .append(",\"url\":\"https://news.example.com/articles/").append(i).append('"')
+                .append(",\"source\":\"").append(SOURCES[i % SOURCES.length]).append('"')
+                .append(",\"date\":\"2025-11-0").append(1 + i % 9).append("T08:00:00.000Z\"")
+                .append(",\"type\":\"").append(crypto ? "crypto" : "stocks").append('"')
+                .append('}');
+        }
+        return json.append("],\"assetType\":\"both\",\"lastUpdated\":\"2025-11-09T08:00:00.000Z\"}").toString();
+    }
+
+    static String forums(int count) {
+        Random random = new Random(11);
+        StringBuilder json = new StringBuilder(count * 360).append("{\"forums\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) json.append(',');
+            json.append("{\"forum_id\":\"").append(id(random)).append('"')
+                .append(",\"user_id\":\"").append(id(random)).append('"')
+                .append(",\"title\":\"Thoughts on position ").append(i).append('"')
+                .append(",\"content\":\"I have been holding this for a few months and wanted to hear how ")
+                .append("others are thinking about the next quarter given the recent volatility.\"")
+                .append(",\"created_at\":\"2025-11-0").append(1 + i % 9).append("T12:30:00.000Z\"")
+                .append(",\"author_name\":\"user").append(i % 50).append('"')
+                .append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String id(Random random) {
+        return new java.util.UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
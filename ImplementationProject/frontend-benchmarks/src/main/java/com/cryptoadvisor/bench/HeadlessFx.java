@@ -0,0 +1,29 @@
+package com.cryptoadvisor.bench;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * starts JavaFX on the Monocle headless platform so cards can be built without a display
+ */
+final class HeadlessFx {
+    private static boolean started;
+
+    private HeadlessFx() {
+    }
+
+    static synchronized void start() throws InterruptedException {
+        if (started) return;
+
+        System.setProperty("glass.platform", "Monocle");
+        System.setProperty("monocle.platform", "Headless");
+        System.setProperty("prism.order", "sw");
+        System.setProperty("java.awt.headless", "true");
+
+        CountDownLatch ready = new CountDownLatch(1);
+        Platform.startup(ready::countDown);
+        ready.await();
+        started = true;
+    }
+}
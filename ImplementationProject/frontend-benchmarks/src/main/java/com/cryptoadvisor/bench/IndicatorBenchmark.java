@@ -0,0 +1,90 @@
+package com.cryptoadvisor.bench;
+
+import com.cryptoadvisor.indicators.IndicatorConfig;
+import com.cryptoadvisor.indicators.IndicatorEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * one tick for every symbol through the indicator engine, i.e. seven indicators per symbol.
+ * reported per symbol update; divide by seven for symbol-indicator pairs.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IndicatorBenchmark {
+    private static final int TICKS = 4096;
+
+    @Param({"100", "2000"})
+    public int symbols;
+
+    private IndicatorEngine engine;
+    private double[] prices;
+    private int tick;
+    private long time;
+
+    @Setup
+    public void setUp() {
+        engine = new IndicatorEngine(symbols, IndicatorConfig.DEFAULTS);
+        prices = new double[TICKS];
+        Random random = new Random(42);
+        double price = 100;
+        for (int i = 0; i < TICKS; i++) {
+            price *= 1 + random.nextGaussian() * 0.002;
+            prices[i] = price;
+        }
+        // past warm-up, so every getter does real work
+        for (int i = 0; i < IndicatorConfig.DEFAULTS.warmUp(); i++) {
+            updateAll();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2000)
+    public long updateAllSymbols() {
+        // the param can be 100; keep ops per invocation honest by looping to 2000 updates
+        int updates = 0;
+        while (updates < 2000) {
+            updates += updateAll();
+        }
+        return time;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2000)
+    public double readAllIndicators() {
+        double total = 0;
+        for (int i = 0; i < 2000; i++) {
+            int id = i % symbols;
+            total += engine.sma(id) + engine.ema(id) + engine.rsi(id) + engine.macdHistogram(id)
+                    + engine.bollingerUpper(id) + engine.atr(id) + engine.vwap(id);
+        }
+        return total;
+    }
+
+    private int updateAll() {
+        time += 1000;
+        for (int id = 0; id < symbols; id++) {
+            // each symbol walks the same path from a different offset
+            engine.update(id, time, prices[(tick + id * 7) & (TICKS - 1)], 10);
+        }
+        tick++;
+        return symbols;
+    }
+}
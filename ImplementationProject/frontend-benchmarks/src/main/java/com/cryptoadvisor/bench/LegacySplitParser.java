@@ -0,0 +1,149 @@
+package com.cryptoadvisor.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * the split/indexOf parsing HomeScreen used before the streaming decoder, kept as the baseline.
+ * same logic as the original minus its per-item System.out logging.
+ */
+final class LegacySplitParser {
+
+    record LegacyRecommendation(String symbol, String name, String price, String type, String reasoning,
+                                String assetType, String coingeckoId, String predictionMessage) {
+    }
+
+    record LegacyArticle(String title, String summary, String source, String type, String url) {
+    }
+
+    record LegacyForum(String title, String content, String author) {
+    }
+
+    private LegacySplitParser() {
+    }
+
+    static List<LegacyRecommendation> recommendations(String recommendationsJson) {
+        List<LegacyRecommendation> items = new ArrayList<>();
+        if (!recommendationsJson.contains("\"asset_symbol\"")) return items;
+
+        String[] recs = recommendationsJson.split("\"asset_symbol\":\"");
+        for (int i = 1; i < recs.length; i++) {
+            String rec = recs[i];
+            try {
+                String symbol = rec.substring(0, rec.indexOf("\""));
+                String fullRec = recs[i - 1] + "\"asset_symbol\":\"" + rec;
+
+                String name = extractValue(rec, "\"asset_name\":\"");
+
+                String assetType = extractValue(fullRec, "\"asset_type\":\"");
+                if (assetType.equals("N/A") || assetType.isEmpty()) {
+                    assetType = extractValue(rec, "\"asset_type\":\"");
+                }
+                if (assetType.equals("N/A") || assetType.isEmpty()) {
+                    int symbolPos = recommendationsJson.indexOf("\"asset_symbol\":\"" + symbol);
+                    if (symbolPos > 0) {
+                        int searchStart = Math.max(0, symbolPos - 200);
+                        String searchArea = recommendationsJson.substring(searchStart, symbolPos);
+                        assetType = extractValue(searchArea, "\"asset_type\":\"");
+                    }
+                }
+
+                String coingeckoId = extractValue(fullRec, "\"coingecko_id\":\"");
+                if (coingeckoId.equals("N/A") || coingeckoId.isEmpty()) {
+                    coingeckoId = extractValue(rec, "\"coingecko_id\":\"");
+                }
+
+                String predictionMessage = extractValue(fullRec, "\"prediction_message\":\"");
+                if (predictionMessage.equals("N/A") || predictionMessage.isEmpty()) {
+                    predictionMessage = extractValue(rec, "\"prediction_message\":\"");
+                }
+
+                String type = extractValue(rec, "\"recommendation_type\":\"");
+                String reasoning = extractValue(rec, "\"reasoning\":\"");
+
+                String price = "N/A";
+                try {
+                    int priceIdx = rec.indexOf("\"current_price\":");
+                    if (priceIdx != -1) {
+                        int start = priceIdx + "\"current_price\":".length();
+                        int end = rec.indexOf(",", start);
+                        if (end == -1) end = rec.indexOf("}", start);
+                        if (end != -1) {
+                            String priceStr = rec.substring(start, end).trim().replace("\"", "");
+                            price = String.format("%.2f", Double.parseDouble(priceStr));
+                        }
+                    }
+                } catch (Exception e) {
+                    // price stays N/A
+                }
+
+                items.add(new LegacyRecommendation(symbol, name, price, type, reasoning, assetType,
+                        coingeckoId, predictionMessage));
+            } catch (Exception e) {
+                // skipped, as before
+            }
+        }
+        return items;
+    }
+
+    static List<LegacyArticle> news(String newsJson) {
+        List<LegacyArticle> items = new ArrayList<>();
+        if (!newsJson.contains("\"title\"")) return items;
+
+        String[] articles = newsJson.split("\"title\":\"");
+        for (int i = 1; i < articles.length; i++) {
+            String article = articles[i];
+            try {
+                String title = article.substring(0, article.indexOf("\""));
+                String summary = extractValue(article, "\"summary\":\"");
+                String source = extractValue(article, "\"source\":\"");
+                String type = extractValue(article, "\"type\":\"");
+                String url = extractValue(article, "\"url\":\"");
+                items.add(new LegacyArticle(title, summary, source, type, url));
+            } catch (Exception e) {
+                // skipped, as before
+            }
+        }
+        return items;
+    }
+
+    static List<LegacyForum> forums(String forumsJson) {
+        List<LegacyForum> items = new ArrayList<>();
+        if (!forumsJson.contains("\"forum_id\"")) return items;
+
+        String[] forums = forumsJson.split("\"title\":\"");
+        for (int i = 1; i < forums.length; i++) {
+            String forum = forums[i];
+            try {
+                String title = forum.substring(0, forum.indexOf("\""));
+                String content = extractValue(forum, "\"content\":\"");
+                String author = extractValue(forum, "\"author_name\":\"");
+                items.add(new LegacyForum(title, content, author));
+            } catch (Exception e) {
+                // skipped, as before
+            }
+        }
+        return items;
+    }
+
+    private static String extractValue(String json, String key) {
+        try {
+            int start = json.indexOf(key);
+            if (start == -1) return "N/A";
+            start += key.length();
+
+            int end;
+            if (key.contains("\"")) {
+                end = json.indexOf("\"", start);
+            } else {
+                end = json.indexOf(",", start);
+                if (end == -1) end = json.indexOf("}", start);
+            }
+
+            if (end == -1) return "N/A";
+            return json.substring(start, end).trim();
+        } catch (Exception e) {
+            return "N/A";
+        }
+    }
+}
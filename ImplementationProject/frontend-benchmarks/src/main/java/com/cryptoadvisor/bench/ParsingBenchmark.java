@@ -0,0 +1,89 @@
+package com.cryptoadvisor.bench;
+
+import com.cryptoadvisor.api.ApiJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * legacy split parsing vs jackson tree vs the streaming decoder, per endpoint and payload size
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParsingBenchmark {
+
+    @Param({"20", "200", "2000"})
+    public int items;
+
+    private String recommendationsJson;
+    private String newsJson;
+    private String forumsJson;
+
+    @Setup
+    public void setUp() {
+        recommendationsJson = Fixtures.recommendations(items);
+        newsJson = Fixtures.news(items);
+        forumsJson = Fixtures.forums(items);
+    }
+
+    @Benchmark
+    public List<?> recommendationsSplit() {
+        return LegacySplitParser.recommendations(recommendationsJson);
+    }
+
+    @Benchmark
+    public List<?> recommendationsTree() throws IOException {
+        return TreeParser.recommendations(recommendationsJson);
+    }
+
+    @Benchmark
+    public List<?> recommendationsStreaming() throws IOException {
+        return ApiJson.decodeRecommendations(recommendationsJson);
+    }
+
+    @Benchmark
+    public List<?> newsSplit() {
+        return LegacySplitParser.news(newsJson);
+    }
+
+    @Benchmark
+    public List<?> newsTree() throws IOException {
+        return TreeParser.news(newsJson);
+    }
+
+    @Benchmark
+    public List<?> newsStreaming() throws IOException {
+        return ApiJson.decodeNews(newsJson);
+    }
+
+    @Benchmark
+    public List<?> forumsSplit() {
+        return LegacySplitParser.forums(forumsJson);
+    }
+
+    @Benchmark
+    public List<?> forumsTree() throws IOException {
+        return TreeParser.forums(forumsJson);
+    }
+
+    @Benchmark
+    public List<?> forumsStreaming() throws IOException {
+        return ApiJson.decodeForums(forumsJson);
+    }
+}
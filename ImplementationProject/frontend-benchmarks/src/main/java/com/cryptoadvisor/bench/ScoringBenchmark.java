@@ -0,0 +1,74 @@
+package com.cryptoadvisor.bench;
+
+import com.cryptoadvisor.model.UserPreferences;
+import com.cryptoadvisor.scoring.Asset;
+import com.cryptoadvisor.scoring.AssetFeatures;
+import com.cryptoadvisor.scoring.AssetUniverse;
+import com.cryptoadvisor.scoring.ScoredAsset;
+import com.cryptoadvisor.scoring.ScoringEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * one user's top ten out of a universe of stocks (one in five a coin) across six industries,
+ * on the common fork-join pool
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScoringBenchmark {
+    private static final String[] INDUSTRIES = {"Technology", "Healthcare", "Energy", "Finance", "Consumer", "Automotive"};
+
+    @Param({"1000", "10000"})
+    public int assets;
+
+    private AssetUniverse universe;
+    private final ScoringEngine engine = new ScoringEngine();
+    private final UserPreferences dayTrader = new UserPreferences("both", "Day Trade", List.of(), List.of());
+    private final UserPreferences investor = new UserPreferences("stocks", "Long-Term", List.of("Technology", "Energy"), List.of());
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<Asset> list = new ArrayList<>(assets);
+        List<AssetFeatures> features = new ArrayList<>(assets);
+        double[] closes = new double[AssetFeatures.TREND_DAYS + 1];
+        for (int i = 0; i < assets; i++) {
+            list.add(i % 5 == 0 ? Asset.crypto("coin-" + i, "C" + i, "Coin " + i)
+                    : Asset.stock("S" + i, "Stock " + i, INDUSTRIES[i % INDUSTRIES.length]));
+            closes[0] = 100;
+            for (int day = 1; day < closes.length; day++) {
+                closes[day] = closes[day - 1] * (1 + random.nextGaussian() * 0.02);
+            }
+            features.add(AssetFeatures.fromCloses(closes, closes.length, random.nextDouble() * 2 - 1));
+        }
+        universe = new AssetUniverse(list, features);
+    }
+
+    @Benchmark
+    public List<ScoredAsset> rankDayTrader() {
+        return engine.rank(universe, dayTrader, 10);
+    }
+
+    @Benchmark
+    public List<ScoredAsset> rankLongTermInvestor() {
+        return engine.rank(universe, investor, 10);
+    }
+}
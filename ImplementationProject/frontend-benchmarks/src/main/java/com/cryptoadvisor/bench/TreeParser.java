@@ -0,0 +1,64 @@
+package com.cryptoadvisor.bench;
+
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.model.ForumPost;
+import com.cryptoadvisor.model.NewsArticle;
+import com.cryptoadvisor.model.Recommendation;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * jackson tree model (readTree then walk the nodes) into the same records the streaming decoder builds
+ */
+final class TreeParser {
+
+    private TreeParser() {
+    }
+
+    static List<Recommendation> recommendations(String json) throws IOException {
+        JsonNode items = ApiJson.readTree(json).path("recommendations");
+        List<Recommendation> out = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            out.add(new Recommendation(
+                    text(item, "recommendation_id"), text(item, "asset_type"), text(item, "asset_symbol"),
+                    text(item, "asset_name"), number(item, "current_price"), text(item, "recommendation_type"),
+                    number(item, "confidence_score"), text(item, "reasoning"), text(item, "news_summary"),
+                    text(item, "coingecko_id"), text(item, "prediction_message"), text(item, "expires_at")));
+        }
+        return out;
+    }
+
+    static List<NewsArticle> news(String json) throws IOException {
+        JsonNode items = ApiJson.readTree(json).path("news");
+        List<NewsArticle> out = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            out.add(new NewsArticle(text(item, "title"), text(item, "summary"), text(item, "url"),
+                    text(item, "source"), text(item, "date"), text(item, "type")));
+        }
+        return out;
+    }
+
+    static List<ForumPost> forums(String json) throws IOException {
+        JsonNode items = ApiJson.readTree(json).path("forums");
+        List<ForumPost> out = new ArrayList<>(items.size());
+        for (JsonNode item : items) {
+            out.add(new ForumPost(text(item, "forum_id"), text(item, "user_id"), text(item, "title"),
+                    text(item, "content"), text(item, "author_name"), text(item, "created_at")));
+        }
+        return out;
+    }
+
+    private static String text(JsonNode item, String field) {
+        JsonNode value = item.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static double number(JsonNode item, String field) {
+        JsonNode value = item.get(field);
+        if (value == null || value.isNull()) return Double.NaN;
+        return value.isNumber() ? value.asDouble() : value.asDouble(Double.NaN);
+    }
+}
@@ -13,4 +13,11 @@ echo "Running CryptoAdvisor JavaFX Application..."
 echo "Current directory: $(pwd)"
 
 # Run the JavaFX application
-mvn javafx:run
+# ./run.sh --jfr [file]  records a flight recording (default target/cryptoadvisor.jfr)
+if [ "$1" == "--jfr" ]; then
+    JFR_FILE="${2:-$SCRIPT_DIR/target/cryptoadvisor.jfr}"
+    echo "Flight recording to: $JFR_FILE"
+    mvn javafx:run -Pjfr -Djfr.file="$JFR_FILE"
+else
+    mvn javafx:run
+fi
@@ -1,9 +1,13 @@
 package com.cryptoadvisor;
 
+import com.cryptoadvisor.metrics.MetricsRegistry;
 import com.cryptoadvisor.ui.LoginScreen;
+import com.cryptoadvisor.util.AppPaths;
 import javafx.application.Application;
 import javafx.stage.Stage;
 
+import java.time.Duration;
+
 /**
  * main app
  */
@@ -22,6 +26,15 @@ public class CryptoAdvisorApp extends Application {
 
     public static void main(String[] args) {
         System.out.println("launching app");
+        startMetricsDump();
         launch(args);
     }
+
+    // metrics.txt in the data dir, -Dcryptoadvisor.metrics.dumpSeconds=0 turns it off
+    private static void startMetricsDump() {
+        long seconds = Long.getLong("cryptoadvisor.metrics.dumpSeconds", 60);
+        if (seconds > 0) {
+            MetricsRegistry.get().startDump(AppPaths.dataDir().resolve("metrics.txt"), Duration.ofSeconds(seconds));
+        }
+    }
 }
\ No newline at end of file
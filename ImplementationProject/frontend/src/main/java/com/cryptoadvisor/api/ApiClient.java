@@ -0,0 +1,253 @@
+package com.cryptoadvisor.api;
+
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.cryptoadvisor.util.BackgroundExecutor;
+import com.cryptoadvisor.util.TokenManager;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * api client shared by every screen.
+ * one HttpClient for the whole app so keep-alive connections survive screen switches.
+ */
+public final class ApiClient {
+    // override with -Dcryptoadvisor.api.url=... or CRYPTOADVISOR_API_URL
+    private static final String DEFAULT_BASE_URL = "http://localhost:3000";
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    // requests on the wire at once, as the four-thread pool this client started with allowed
+    private static final int MAX_IN_FLIGHT = 4;
+
+    private static final ApiClient INSTANCE = new ApiClient(resolveBaseUrl());
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Semaphore permits = new Semaphore(MAX_IN_FLIGHT);
+    private final ResponseCache cache = new ResponseCache();
+    // identical GETs in flight at the same time share one request
+    private final SingleFlight<String, HttpResponse<String>> requests = new SingleFlight<>();
+    private final SingleFlight<String, ApiResponse> revalidations = new SingleFlight<>();
+
+    private ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        // response handling runs on the same virtual threads as the screens' background work
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(CONNECT_TIMEOUT)
+                .executor(BackgroundExecutor.shared())
+                .build();
+        registerMetrics();
+    }
+
+    public static ApiClient getInstance() {
+        return INSTANCE;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public ResponseCache getCache() {
+        return cache;
+    }
+
+    /**
+     * GETs sent vs GETs that joined one already in flight
+     */
+    public long getRequestsStarted() {
+        return requests.startedCount() + revalidations.startedCount();
+    }
+
+    public long getRequestsCoalesced() {
+        return requests.joinedCount() + revalidations.joinedCount();
+    }
+
+    /**
+     * request builder for an api path with timeout and auth header already set
+     */
+    public HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json");
+
+        if (TokenManager.isLoggedIn()) {
+            builder.header("Authorization", "Bearer " + TokenManager.getAuthToken());
+        }
+        return builder;
+    }
+
+    public HttpRequest getRequest(String path) {
+        return request(path).GET().build();
+    }
+
+    public HttpRequest postRequest(String path, String jsonBody) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonBody))
+                .build();
+    }
+
+    public HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        // through the async path so a blocking GET can join an async one and every call is timed
+        CompletableFuture<HttpResponse<String>> response = sendAsync(request);
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+            if (cause instanceof IOException io) throw io;
+            throw new IOException(cause);
+        }
+    }
+
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        if (!isGet(request)) {
+            invalidateOnWrite(request);
+            return exchange(request);
+        }
+        String key = flightKey(request);
+        return requests.run(key, () -> exchange(request));
+    }
+
+    /**
+     * long-lived GET read line by line, e.g. server-sent events.
+     * skips the cache, the single-flight layer and the in-flight bound, which it would hold for
+     * as long as it stays open; closing the body stream drops the connection.
+     */
+    public HttpResponse<Stream<String>> openLines(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofLines());
+    }
+
+    /**
+     * GET through the response cache.
+     * a fresh entry completes at once without a request. an expired entry still inside its
+     * stale-while-revalidate window is passed to onStale straight away, on the calling thread,
+     * and the returned future completes with the revalidated response.
+     * concurrent calls for the same path and user share one request, which is cancelled
+     * once every caller has cancelled its future.
+     */
+    public CompletableFuture<ApiResponse> getCached(String path, Consumer<ApiResponse> onStale) {
+        return getCached(path, false, onStale);
+    }
+
+    /**
+     * as above, but with revalidate set a fresh entry is treated as expired: it goes to onStale
+     * and the server is asked with If-None-Match all the same. for an explicit refresh.
+     */
+    public CompletableFuture<ApiResponse> getCached(String path, boolean revalidate, Consumer<ApiResponse> onStale) {
+        String key = ResponseCache.key(getRequest(path));
+        ResponseCache.Entry entry = cache.get(key);
+        long now = System.nanoTime();
+
+        if (entry != null && !revalidate && entry.isFresh(now)) {
+            cache.recordHit();
+            return CompletableFuture.completedFuture(new ApiResponse(200, entry.body(), ApiResponse.Source.CACHE));
+        }
+        if (entry != null && entry.isServableStale(now)) {
+            cache.recordStaleHit();
+            onStale.accept(new ApiResponse(200, entry.body(), ApiResponse.Source.STALE_CACHE));
+        } else {
+            cache.recordMiss();
+        }
+
+        // a revalidation already running for this key answers for us too
+        return revalidations.run(key, () -> revalidate(path, key, entry));
+    }
+
+    private CompletableFuture<ApiResponse> revalidate(String path, String key, ResponseCache.Entry entry) {
+        // an old etag is still worth sending even if the body is too old to show
+        HttpRequest.Builder builder = request(path).GET();
+        if (entry != null && entry.etag() != null) {
+            builder.header("If-None-Match", entry.etag());
+        }
+
+        CompletableFuture<HttpResponse<String>> inFlight = exchange(builder.build());
+        CompletableFuture<ApiResponse> result = inFlight.thenApply(response -> {
+            if (response.statusCode() == 304 && entry != null) {
+                cache.recordNotModified();
+                cache.put(key, entry.refreshed(response, System.nanoTime()));
+                return new ApiResponse(200, entry.body(), ApiResponse.Source.NOT_MODIFIED);
+            }
+            cache.store(key, response);
+            return new ApiResponse(response.statusCode(), response.body(), ApiResponse.Source.NETWORK);
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                inFlight.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    // cache and coalescing counts next to the per-endpoint series
+    private void registerMetrics() {
+        MetricsRegistry metrics = MetricsRegistry.get();
+        metrics.gauge("api.cache.hits").bind(() -> cache.stats().hits());
+        metrics.gauge("api.cache.staleHits").bind(() -> cache.stats().staleHits());
+        metrics.gauge("api.cache.misses").bind(() -> cache.stats().misses());
+        metrics.gauge("api.cache.notModified").bind(() -> cache.stats().notModified());
+        metrics.gauge("api.cache.bytes").bind(() -> cache.stats().bytes());
+        metrics.gauge("api.requests.started").bind(this::getRequestsStarted);
+        metrics.gauge("api.requests.coalesced").bind(this::getRequestsCoalesced);
+    }
+
+    // every request goes out here, once per flight rather than once per caller.
+    // virtual threads don't bound anything, so past MAX_IN_FLIGHT a request waits for a permit
+    // on one of them instead of opening yet another stream to the backend
+    private CompletableFuture<HttpResponse<String>> exchange(HttpRequest request) {
+        CompletableFuture<Void> permit = permits.tryAcquire()
+                ? CompletableFuture.completedFuture(null)
+                : CompletableFuture.runAsync(permits::acquireUninterruptibly, BackgroundExecutor.shared());
+        return permit.thenCompose(ignored -> {
+            CompletableFuture<HttpResponse<String>> response;
+            try {
+                response = ApiMetrics.timed(request,
+                        () -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            return response.whenComplete((result, error) -> permits.release());
+        });
+    }
+
+    // a write to a uri makes any cached GET of it out of date
+    private void invalidateOnWrite(HttpRequest request) {
+        cache.invalidate(request.uri().toString());
+    }
+
+    private static boolean isGet(HttpRequest request) {
+        return "GET".equals(request.method());
+    }
+
+    // method + url + auth identity
+    private static String flightKey(HttpRequest request) {
+        return request.method() + " " + ResponseCache.key(request);
+    }
+
+    private static String resolveBaseUrl() {
+        String url = System.getProperty("cryptoadvisor.api.url");
+        if (url == null || url.isBlank()) {
+            url = System.getenv("CRYPTOADVISOR_API_URL");
+        }
+        if (url == null || url.isBlank()) {
+            url = DEFAULT_BASE_URL;
+        }
+        // paths always start with a slash
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,19 @@
+package com.cryptoadvisor.api;
+
+import java.io.IOException;
+
+/**
+ * non-success http status from the backend
+ */
+public class ApiException extends IOException {
+    private final int statusCode;
+
+    public ApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
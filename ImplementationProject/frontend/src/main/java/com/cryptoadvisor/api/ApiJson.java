@@ -0,0 +1,296 @@
+package com.cryptoadvisor.api;
+
+import com.cryptoadvisor.metrics.DecodeEvent;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.cryptoadvisor.model.ForumPost;
+import com.cryptoadvisor.model.NewsArticle;
+import com.cryptoadvisor.model.Recommendation;
+import com.cryptoadvisor.model.Reply;
+import com.cryptoadvisor.model.UserPreferences;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * json decoding for api responses.
+ * one shared ObjectMapper; the feed types are read token by token with its JsonParser
+ * so no tree is built. call these off the fx thread.
+ */
+public final class ApiJson {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private static final ObjectReader TREE_READER = MAPPER.reader();
+
+    /**
+     * decodes a response body
+     */
+    @FunctionalInterface
+    public interface Decoder<T> {
+        T decode(String json) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ItemReader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    private ApiJson() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /**
+     * tree for small one-off bodies like the login token
+     */
+    public static JsonNode readTree(String json) throws IOException {
+        return TREE_READER.readTree(json);
+    }
+
+    public static List<Recommendation> decodeRecommendations(String json) throws IOException {
+        return readArray(json, "recommendations", ApiJson::readRecommendation);
+    }
+
+    public static List<NewsArticle> decodeNews(String json) throws IOException {
+        return readArray(json, "news", ApiJson::readNewsArticle);
+    }
+
+    public static List<ForumPost> decodeForums(String json) throws IOException {
+        return readArray(json, "forums", ApiJson::readForumPost);
+    }
+
+    public static List<Reply> decodeReplies(String json) throws IOException {
+        return readArray(json, "replies", ApiJson::readReply);
+    }
+
+    /**
+     * null if the body has no preferences object (e.g. the 404 message)
+     */
+    public static UserPreferences decodePreferences(String json) throws IOException {
+        DecodeEvent event = new DecodeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        UserPreferences preferences = null;
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("preferences".equals(name) && token == JsonToken.START_OBJECT) {
+                    preferences = readPreferences(parser);
+                    return preferences;
+                }
+                parser.skipChildren();
+            }
+        } finally {
+            recordDecode(event, "preferences", start, preferences != null ? 1 : 0, json.length());
+        }
+        return null;
+    }
+
+    // finds the named top level array and reads each object in it
+    private static <T> List<T> readArray(String json, String field, ItemReader<T> itemReader) throws IOException {
+        DecodeEvent event = new DecodeEvent();
+        event.begin();
+        long start = System.nanoTime();
+        List<T> items = List.of();
+        try (JsonParser parser = MAPPER.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return List.of();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (field.equals(name) && token == JsonToken.START_ARRAY) {
+                    items = new ArrayList<>();
+                    JsonToken next;
+                    while ((next = parser.nextToken()) != JsonToken.END_ARRAY && next != null) {
+                        if (next == JsonToken.START_OBJECT) {
+                            items.add(itemReader.read(parser));
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    return items;
+                }
+                parser.skipChildren();
+            }
+        } finally {
+            recordDecode(event, field, start, items.size(), json.length());
+        }
+        return List.of();
+    }
+
+    private static void recordDecode(DecodeEvent event, String field, long start, int items, int length) {
+        MetricsRegistry.get().histogram("api.decode.micros", "field", field).record((System.nanoTime() - start) / 1_000);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.field = field;
+            event.items = items;
+            event.length = length;
+            event.commit();
+        }
+    }
+
+    private static Recommendation readRecommendation(JsonParser parser) throws IOException {
+        String id = null, assetType = null, symbol = null, name = null, type = null;
+        String reasoning = null, newsSummary = null, coingeckoId = null, predictionMessage = null, expiresAt = null;
+        double price = Double.NaN, confidence = Double.NaN;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "recommendation_id" -> id = text(parser);
+                case "asset_type" -> assetType = text(parser);
+                case "asset_symbol" -> symbol = text(parser);
+                case "asset_name" -> name = text(parser);
+                // mysql DECIMAL columns come back as strings
+                case "current_price" -> price = number(parser);
+                case "recommendation_type" -> type = text(parser);
+                case "confidence_score" -> confidence = number(parser);
+                case "reasoning" -> reasoning = text(parser);
+                case "news_summary" -> newsSummary = text(parser);
+                case "coingecko_id" -> coingeckoId = text(parser);
+                case "prediction_message" -> predictionMessage = text(parser);
+                case "expires_at" -> expiresAt = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Recommendation(id, assetType, symbol, name, price, type, confidence,
+                reasoning, newsSummary, coingeckoId, predictionMessage, expiresAt);
+    }
+
+    private static NewsArticle readNewsArticle(JsonParser parser) throws IOException {
+        String title = null, summary = null, url = null, source = null, date = null, type = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "title" -> title = text(parser);
+                case "summary" -> summary = text(parser);
+                case "url" -> url = text(parser);
+                case "source" -> source = text(parser);
+                case "date" -> date = text(parser);
+                case "type" -> type = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new NewsArticle(title, summary, url, source, date, type);
+    }
+
+    private static ForumPost readForumPost(JsonParser parser) throws IOException {
+        String forumId = null, userId = null, title = null, content = null, author = null, createdAt = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "forum_id" -> forumId = text(parser);
+                case "user_id" -> userId = text(parser);
+                case "title" -> title = text(parser);
+                case "content" -> content = text(parser);
+                case "author_name" -> author = text(parser);
+                case "created_at" -> createdAt = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new ForumPost(forumId, userId, title, content, author, createdAt);
+    }
+
+    private static Reply readReply(JsonParser parser) throws IOException {
+        String replyId = null, forumId = null, content = null, author = null, createdAt = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "reply_id" -> replyId = text(parser);
+                case "forum_id" -> forumId = text(parser);
+                case "content" -> content = text(parser);
+                case "author_name" -> author = text(parser);
+                case "created_at" -> createdAt = text(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new Reply(replyId, forumId, content, author, createdAt);
+    }
+
+    private static UserPreferences readPreferences(JsonParser parser) throws IOException {
+        String assetType = null, investmentType = null;
+        List<String> industries = null, cryptocurrencies = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "preferred_asset_type" -> assetType = text(parser);
+                case "investment_type" -> investmentType = text(parser);
+                case "industries" -> industries = strings(parser);
+                case "cryptocurrencies" -> cryptocurrencies = strings(parser);
+                default -> parser.skipChildren();
+            }
+        }
+        return new UserPreferences(assetType, investmentType, industries, cryptocurrencies);
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getValueAsString();
+    }
+
+    private static double number(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isNumeric()) return parser.getDoubleValue();
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Double.parseDouble(parser.getText().trim());
+            } catch (NumberFormatException e) {
+                return Double.NaN;
+            }
+        }
+        parser.skipChildren();
+        return Double.NaN;
+    }
+
+    // string arrays; a json array stored as a string column is unwrapped too
+    private static List<String> strings(JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            String raw = parser.getText().trim();
+            if (!raw.startsWith("[")) return List.of(raw);
+            try (JsonParser nested = MAPPER.createParser(raw)) {
+                nested.nextToken();
+                return strings(nested);
+            }
+        }
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+
+        List<String> values = new ArrayList<>();
+        JsonToken next;
+        while ((next = parser.nextToken()) != JsonToken.END_ARRAY && next != null) {
+            if (next.isScalarValue() && next != JsonToken.VALUE_NULL) {
+                values.add(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,135 @@
+package com.cryptoadvisor.api;
+
+import com.cryptoadvisor.metrics.ApiRequestEvent;
+import com.cryptoadvisor.metrics.Gauge;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * per-endpoint request metrics for ApiClient.
+ * endpoints are the request path with ids folded into {id}, so /api/forums/42/replies and
+ * /api/forums/43/replies land in one series.
+ */
+final class ApiMetrics {
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.get();
+
+    private ApiMetrics() {
+    }
+
+    /**
+     * times one exchange from send to body received
+     */
+    static CompletableFuture<HttpResponse<String>> timed(HttpRequest request,
+                                                         Supplier<CompletableFuture<HttpResponse<String>>> send) {
+        String endpoint = endpoint(request.uri());
+        String method = request.method();
+        Gauge inFlight = REGISTRY.gauge("api.inflight", "endpoint", endpoint);
+        inFlight.increment();
+        ApiRequestEvent event = new ApiRequestEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        CompletableFuture<HttpResponse<String>> response;
+        try {
+            response = send.get();
+        } catch (RuntimeException e) {
+            inFlight.decrement();
+            record(event, method, endpoint, "error", 0, 0, start);
+            throw e;
+        }
+        response.whenComplete((result, error) -> {
+            inFlight.decrement();
+            if (error != null) {
+                record(event, method, endpoint, isCancel(error) ? "cancelled" : "error", 0, 0, start);
+                return;
+            }
+            long bytes = payloadBytes(result);
+            record(event, method, endpoint, statusClass(result.statusCode()), result.statusCode(), bytes, start);
+            REGISTRY.histogram("api.payload.bytes", "endpoint", endpoint).record(bytes);
+        });
+        return response;
+    }
+
+    static String endpoint(URI uri) {
+        String path = uri.getPath();
+        if (path == null || path.isEmpty()) return "/";
+
+        String[] segments = path.split("/");
+        StringBuilder endpoint = new StringBuilder();
+        String previous = "";
+        for (String segment : segments) {
+            if (segment.isEmpty()) continue;
+            endpoint.append('/').append(isId(previous, segment) ? "{id}" : segment);
+            previous = segment;
+        }
+        return endpoint.length() == 0 ? "/" : endpoint.toString();
+    }
+
+    static String statusClass(int status) {
+        return status >= 100 && status < 600 ? (status / 100) + "xx" : "other";
+    }
+
+    private static void record(ApiRequestEvent event, String method, String endpoint, String outcome,
+                               int status, long bytes, long start) {
+        long micros = (System.nanoTime() - start) / 1_000;
+        REGISTRY.histogram("api.latency.micros", "method", method, "endpoint", endpoint, "status", outcome).record(micros);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.endpoint = endpoint;
+            event.status = status;
+            event.outcome = outcome;
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    // forum ids and price symbols, or anything with a digit in it
+    private static boolean isId(String previous, String segment) {
+        if (previous.equals("forums") || previous.equals("price")) return true;
+        for (int i = 0; i < segment.length(); i++) {
+            if (Character.isDigit(segment.charAt(i))) return true;
+        }
+        return false;
+    }
+
+    // content-length when the server sent one, otherwise the decoded body
+    private static long payloadBytes(HttpResponse<String> response) {
+        long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+        if (length >= 0) return length;
+        return utf8Length(response.body());
+    }
+
+    // counted rather than encoded so large bodies aren't copied
+    private static long utf8Length(String body) {
+        if (body == null) return 0;
+        long bytes = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static boolean isCancel(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof CancellationException;
+    }
+}
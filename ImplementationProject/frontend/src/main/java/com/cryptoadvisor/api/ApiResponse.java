@@ -0,0 +1,22 @@
+package com.cryptoadvisor.api;
+
+/**
+ * response from a cached GET, either off the network or out of the ResponseCache
+ */
+public record ApiResponse(int statusCode, String body, Source source) {
+
+    public enum Source {
+        // full response from the server
+        NETWORK,
+        // fresh cache entry, no request sent
+        CACHE,
+        // expired entry shown while it is revalidated
+        STALE_CACHE,
+        // server answered 304, cached body still current
+        NOT_MODIFIED
+    }
+
+    public boolean fromCache() {
+        return source != Source.NETWORK;
+    }
+}
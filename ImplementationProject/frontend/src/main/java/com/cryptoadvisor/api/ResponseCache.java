@@ -0,0 +1,198 @@
+package com.cryptoadvisor.api;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of GET response bodies, bounded by size.
+ * honours Cache-Control max-age, no-store, no-cache and stale-while-revalidate and keeps the
+ * ETag so expired entries can be revalidated with If-None-Match.
+ */
+public final class ResponseCache {
+    // roughly two bytes per char of cached body
+    private static final long DEFAULT_MAX_BYTES = 4L * 1024 * 1024;
+    // no Cache-Control: always revalidate, but the old copy can still be shown meanwhile
+    private static final long DEFAULT_STALE_SECONDS = 600;
+
+    /**
+     * one cached body. ages are in System.nanoTime units.
+     */
+    record Entry(String body, String etag, long storedAt, long maxAge, long staleWindow) {
+        boolean isFresh(long now) {
+            return now - storedAt <= maxAge;
+        }
+
+        boolean isServableStale(long now) {
+            return now - storedAt <= maxAge + staleWindow;
+        }
+
+        long size() {
+            return 2L * body.length();
+        }
+
+        Entry refreshed(HttpResponse<?> notModified, long now) {
+            CacheControl control = CacheControl.parse(notModified);
+            String newEtag = notModified.headers().firstValue("ETag").orElse(etag);
+            return new Entry(body, newEtag, now, control.maxAge(), control.staleWindow());
+        }
+    }
+
+    public record Stats(long hits, long staleHits, long misses, long notModified, long evictions, int entries, long bytes) {
+        @Override
+        public String toString() {
+            return String.format("hits=%d stale=%d misses=%d notModified=%d evictions=%d entries=%d bytes=%d",
+                    hits, staleHits, misses, notModified, evictions, entries, bytes);
+        }
+    }
+
+    private record CacheControl(boolean noStore, long maxAge, long staleWindow) {
+        static CacheControl parse(HttpResponse<?> response) {
+            long maxAge = 0;
+            long stale = TimeUnit.SECONDS.toNanos(DEFAULT_STALE_SECONDS);
+            boolean noStore = false;
+            boolean noCache = false;
+
+            String header = response.headers().firstValue("Cache-Control").orElse("");
+            for (String part : header.split(",")) {
+                String directive = part.trim().toLowerCase();
+                if (directive.equals("no-store")) {
+                    noStore = true;
+                } else if (directive.equals("no-cache")) {
+                    noCache = true;
+                } else if (directive.startsWith("max-age=")) {
+                    maxAge = TimeUnit.SECONDS.toNanos(seconds(directive, maxAge));
+                } else if (directive.startsWith("stale-while-revalidate=")) {
+                    stale = TimeUnit.SECONDS.toNanos(seconds(directive, DEFAULT_STALE_SECONDS));
+                }
+            }
+            // no-cache wins over a max-age given alongside it
+            if (noCache) {
+                maxAge = 0;
+            }
+            return new CacheControl(noStore, maxAge, stale);
+        }
+
+        private static long seconds(String directive, long fallback) {
+            try {
+                return Long.parseLong(directive.substring(directive.indexOf('=') + 1).trim());
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+    }
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ResponseCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    public ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * cache key: responses are per user, so the auth header is part of it
+     */
+    static String key(HttpRequest request) {
+        return request.uri() + " " + request.headers().firstValue("Authorization").orElse("");
+    }
+
+    synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * stores a 200 response unless the server said no-store
+     */
+    void store(String key, HttpResponse<String> response) {
+        if (response.statusCode() != 200) return;
+        CacheControl control = CacheControl.parse(response);
+        if (control.noStore()) {
+            remove(key);
+            return;
+        }
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        put(key, new Entry(response.body(), etag, System.nanoTime(), control.maxAge(), control.staleWindow()));
+    }
+
+    synchronized void put(String key, Entry entry) {
+        if (entry.size() > maxBytes) return;
+
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            totalBytes -= previous.size();
+        }
+        totalBytes += entry.size();
+
+        // least recently used first
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            totalBytes -= eldest.getValue().size();
+            it.remove();
+            evictions.increment();
+        }
+    }
+
+    synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    /**
+     * drops every entry for a uri, whichever user it was cached for
+     */
+    synchronized void invalidate(String uri) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> entry = it.next();
+            if (entry.getKey().startsWith(uri + " ")) {
+                totalBytes -= entry.getValue().size();
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordStaleHit() {
+        staleHits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    void recordNotModified() {
+        notModified.increment();
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(hits.sum(), staleHits.sum(), misses.sum(), notModified.sum(), evictions.sum(),
+                entries.size(), totalBytes);
+    }
+}
@@ -0,0 +1,103 @@
+package com.cryptoadvisor.api;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * coalesces identical in-flight calls: while a call for a key is running, later callers
+ * share its result instead of starting another.
+ * each caller gets its own future, so one caller cancelling doesn't cancel the others;
+ * the underlying call is cancelled once every caller has cancelled.
+ */
+final class SingleFlight<K, V> {
+
+    private final class Flight {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        volatile CompletableFuture<V> source;
+        int callers; // guarded by SingleFlight.this
+    }
+
+    private final Map<K, Flight> flights = new HashMap<>();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> call) {
+        Flight flight;
+        boolean leader = false;
+        synchronized (this) {
+            flight = flights.get(key);
+            if (flight == null) {
+                flight = new Flight();
+                flights.put(key, flight);
+                leader = true;
+            }
+            flight.callers++;
+        }
+
+        if (leader) {
+            started.increment();
+            start(key, flight, call);
+        } else {
+            joined.increment();
+        }
+
+        CompletableFuture<V> view = flight.result.copy();
+        Flight joinedFlight = flight;
+        view.whenComplete((value, error) -> {
+            if (view.isCancelled()) {
+                leave(key, joinedFlight);
+            }
+        });
+        return view;
+    }
+
+    long startedCount() {
+        return started.sum();
+    }
+
+    long joinedCount() {
+        return joined.sum();
+    }
+
+    private void start(K key, Flight flight, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> source;
+        try {
+            source = call.get();
+        } catch (RuntimeException e) {
+            source = CompletableFuture.failedFuture(e);
+        }
+        flight.source = source;
+        // every caller left while the call was being started
+        if (flight.result.isCancelled()) {
+            source.cancel(true);
+            return;
+        }
+
+        source.whenComplete((value, error) -> {
+            synchronized (this) {
+                flights.remove(key, flight);
+            }
+            if (error != null) {
+                flight.result.completeExceptionally(error);
+            } else {
+                flight.result.complete(value);
+            }
+        });
+    }
+
+    // last caller out cancels the shared call
+    private void leave(K key, Flight flight) {
+        synchronized (this) {
+            if (--flight.callers > 0 || flight.result.isDone()) return;
+            flights.remove(key, flight);
+        }
+        CompletableFuture<V> source = flight.source;
+        if (source != null) {
+            source.cancel(true);
+        }
+        flight.result.cancel(true);
+    }
+}
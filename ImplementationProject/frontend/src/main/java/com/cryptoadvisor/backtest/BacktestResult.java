@@ -0,0 +1,8 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * a backtest with its curves: equity[i] is the account marked at bar i's close and drawdown[i]
+ * how far that is below the highest equity so far, as a fraction.
+ */
+public record BacktestResult(BacktestStats stats, double[] equity, double[] drawdown) {
+}
@@ -0,0 +1,11 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * how a backtest went. returns and drawdown are fractions of equity (maxDrawdown 0.25 is a 25%
+ * fall from the peak); sharpe is the annualised mean over standard deviation of bar-to-bar
+ * returns with no risk-free rate; turnover is the traded notional over the average equity, so
+ * 2 is the whole account bought and sold once.
+ */
+public record BacktestStats(double finalEquity, double totalReturn, double maxDrawdown, double sharpe,
+                            double turnover, int trades, double fees) {
+}
@@ -0,0 +1,121 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * replays a BarHistory through a Strategy.
+ *
+ * the strategy sees each bar after it closes and a change of target is filled at the next
+ * bar's open, so nothing trades on a price it could not have had. a fill resizes the position
+ * to target x equity at that open: a buy is sized so that it comes to that with its slippage
+ * and fees, a sell pays them out of the proceeds, so cash never goes below zero for a target
+ * of 1 or less. equity is marked at every close. a target still pending after the last bar is
+ * never filled.
+ *
+ * one pass, no allocation beyond the curves, and no shared state: a Backtester can run any
+ * number of backtests at once.
+ */
+public final class Backtester {
+    private static final double YEAR_MILLIS = 365.25 * 24 * 60 * 60 * 1000;
+
+    private final FillModel fills;
+    private final double initialEquity;
+
+    public Backtester(FillModel fills, double initialEquity) {
+        if (!(initialEquity > 0)) {
+            throw new IllegalArgumentException("initial equity must be positive, got " + initialEquity);
+        }
+        this.fills = fills;
+        this.initialEquity = initialEquity;
+    }
+
+    /**
+     * stats and curves
+     */
+    public BacktestResult run(BarHistory bars, Strategy strategy) {
+        double[] equity = new double[bars.size()];
+        double[] drawdown = new double[bars.size()];
+        BacktestStats stats = replay(bars, strategy, equity, drawdown);
+        return new BacktestResult(stats, equity, drawdown);
+    }
+
+    /**
+     * just the stats, for sweeps that run thousands of these
+     */
+    public BacktestStats stats(BarHistory bars, Strategy strategy) {
+        return replay(bars, strategy, null, null);
+    }
+
+    private BacktestStats replay(BarHistory bars, Strategy strategy, double[] equityCurve, double[] drawdownCurve) {
+        int size = bars.size();
+        double cash = initialEquity;
+        double units = 0;
+        double held = 0;
+        double pending = Double.NaN;
+
+        double equity = initialEquity;
+        double peak = initialEquity;
+        double maxDrawdown = 0;
+        double traded = 0;
+        double fees = 0;
+        int trades = 0;
+        double equitySum = 0;
+
+        // running mean and variance of bar returns (Welford)
+        int returns = 0;
+        double mean = 0;
+        double squares = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(pending)) {
+                double open = bars.open(i);
+                double marked = cash + units * open;
+                double wanted = pending * marked / open;
+                if (wanted > units) {
+                    // sized on what a unit costs with slippage and fee, so a target of 1 or less
+                    // never spends more cash than there is
+                    double cost = fills.fillPrice(open, wanted - units) * (1 + fills.feeRate());
+                    wanted = Math.max(units, pending * marked / cost);
+                }
+                double delta = wanted - units;
+                if (delta != 0) {
+                    double price = fills.fillPrice(open, delta);
+                    double notional = Math.abs(delta) * price;
+                    double fee = fills.fee(notional);
+                    cash -= delta * price + fee;
+                    units = wanted;
+                    traded += notional;
+                    fees += fee;
+                    trades++;
+                }
+                held = pending;
+                pending = Double.NaN;
+            }
+
+            double previous = equity;
+            equity = cash + units * bars.close(i);
+            equitySum += equity;
+            if (i > 0) {
+                double r = previous != 0 ? equity / previous - 1 : 0;
+                returns++;
+                double step = r - mean;
+                mean += step / returns;
+                squares += step * (r - mean);
+            }
+            if (equity > peak) peak = equity;
+            double drawdown = peak > 0 ? (peak - equity) / peak : 0;
+            if (drawdown > maxDrawdown) maxDrawdown = drawdown;
+            if (equityCurve != null) {
+                equityCurve[i] = equity;
+                drawdownCurve[i] = drawdown;
+            }
+
+            double target = strategy.target(bars, i);
+            if (!Double.isNaN(target) && target != held) pending = target;
+        }
+
+        double deviation = returns > 1 ? Math.sqrt(squares / (returns - 1)) : 0;
+        double sharpe = deviation > 0 ? mean / deviation * Math.sqrt(YEAR_MILLIS / bars.resolutionMillis()) : 0;
+        double averageEquity = size > 0 ? equitySum / size : initialEquity;
+        double turnover = averageEquity > 0 ? traded / averageEquity : 0;
+        return new BacktestStats(equity, equity / initialEquity - 1, maxDrawdown, sharpe, turnover, trades, fees);
+    }
+}
@@ -0,0 +1,118 @@
+package com.cryptoadvisor.backtest;
+
+import com.cryptoadvisor.market.ArchiveReader;
+import com.cryptoadvisor.market.ArchiveSeries;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * historical bars of one symbol, oldest first, one primitive array per column.
+ * immutable once built, so one history can be replayed by any number of backtests at once.
+ */
+public final class BarHistory {
+    private final long resolutionMillis;
+    private final long[] times;
+    private final double[] opens;
+    private final double[] highs;
+    private final double[] lows;
+    private final double[] closes;
+    private final double[] volumes;
+
+    /**
+     * the arrays are used as they are, not copied
+     */
+    public BarHistory(long resolutionMillis, long[] times, double[] opens, double[] highs, double[] lows,
+                      double[] closes, double[] volumes) {
+        int size = times.length;
+        if (opens.length != size || highs.length != size || lows.length != size
+                || closes.length != size || volumes.length != size) {
+            throw new IllegalArgumentException("bar columns differ in length");
+        }
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("resolution must be positive, got " + resolutionMillis);
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.times = times;
+        this.opens = opens;
+        this.highs = highs;
+        this.lows = lows;
+        this.closes = closes;
+        this.volumes = volumes;
+    }
+
+    /**
+     * the archived bars of a symbol opening in from <= time < to
+     */
+    public static BarHistory load(ArchiveReader reader, String symbol, ArchiveSeries series, long from, long to) throws IOException {
+        Loader loader = new Loader();
+        reader.scanBars(symbol, series, from, to, loader);
+        int n = loader.count;
+        return new BarHistory(series.resolutionMillis(), Arrays.copyOf(loader.times, n),
+                Arrays.copyOf(loader.opens, n), Arrays.copyOf(loader.highs, n), Arrays.copyOf(loader.lows, n),
+                Arrays.copyOf(loader.closes, n), Arrays.copyOf(loader.volumes, n));
+    }
+
+    public int size() {
+        return times.length;
+    }
+
+    public long resolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public long time(int index) {
+        return times[index];
+    }
+
+    public double open(int index) {
+        return opens[index];
+    }
+
+    public double high(int index) {
+        return highs[index];
+    }
+
+    public double low(int index) {
+        return lows[index];
+    }
+
+    public double close(int index) {
+        return closes[index];
+    }
+
+    public double volume(int index) {
+        return volumes[index];
+    }
+
+    // grows the columns as the scan goes
+    private static final class Loader implements ArchiveReader.BarVisitor {
+        long[] times = new long[256];
+        double[] opens = new double[256];
+        double[] highs = new double[256];
+        double[] lows = new double[256];
+        double[] closes = new double[256];
+        double[] volumes = new double[256];
+        int count;
+
+        @Override
+        public void accept(long time, double open, double high, double low, double close, double volume) {
+            if (count == times.length) {
+                int capacity = count * 2;
+                times = Arrays.copyOf(times, capacity);
+                opens = Arrays.copyOf(opens, capacity);
+                highs = Arrays.copyOf(highs, capacity);
+                lows = Arrays.copyOf(lows, capacity);
+                closes = Arrays.copyOf(closes, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+            }
+            times[count] = time;
+            opens[count] = open;
+            highs[count] = high;
+            lows[count] = low;
+            closes[count] = close;
+            volumes[count] = volume;
+            count++;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * fully long from the first bar on; the baseline a long-term recommendation is measured against
+ */
+public final class BuyAndHold implements Strategy {
+
+    @Override
+    public double target(BarHistory bars, int index) {
+        return 1;
+    }
+}
@@ -0,0 +1,28 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * what a trade costs: fees are charged on the traded notional and slippage moves the fill price
+ * against the trade (buys fill above the open, sells below). both are fractions, 0.001 = 10 bps.
+ */
+public record FillModel(double feeRate, double slippageRate) {
+    public static final FillModel FREE = new FillModel(0, 0);
+    // typical retail crypto taker fee and a small spread
+    public static final FillModel RETAIL = new FillModel(0.001, 0.0005);
+
+    public FillModel {
+        if (!(feeRate >= 0) || !(slippageRate >= 0)) {
+            throw new IllegalArgumentException("fee and slippage must be >= 0");
+        }
+    }
+
+    /**
+     * price a trade of units (negative to sell) fills at, from the bar's open
+     */
+    public double fillPrice(double open, double units) {
+        return units > 0 ? open * (1 + slippageRate) : open * (1 - slippageRate);
+    }
+
+    public double fee(double notional) {
+        return Math.abs(notional) * feeRate;
+    }
+}
@@ -0,0 +1,55 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * long while the fast simple moving average of closes is above the slow one, flat otherwise
+ * (or short with allowShort). both averages are running sums, so a bar costs the same at any
+ * window length.
+ */
+public final class MovingAverageCrossover implements Strategy {
+    private final int fast;
+    private final int slow;
+    private final boolean allowShort;
+
+    private double fastSum;
+    private double slowSum;
+
+    public MovingAverageCrossover(int fast, int slow) {
+        this(fast, slow, false);
+    }
+
+    public MovingAverageCrossover(int fast, int slow, boolean allowShort) {
+        if (fast < 1 || slow <= fast) {
+            throw new IllegalArgumentException("need 1 <= fast < slow, got " + fast + "/" + slow);
+        }
+        this.fast = fast;
+        this.slow = slow;
+        this.allowShort = allowShort;
+    }
+
+    public int fast() {
+        return fast;
+    }
+
+    public int slow() {
+        return slow;
+    }
+
+    @Override
+    public double target(BarHistory bars, int index) {
+        if (index == 0) {
+            fastSum = 0;
+            slowSum = 0;
+        }
+        double close = bars.close(index);
+        fastSum += close;
+        slowSum += close;
+        if (index >= fast) fastSum -= bars.close(index - fast);
+        if (index >= slow) slowSum -= bars.close(index - slow);
+        if (index < slow - 1) return 0;
+
+        // compare sums scaled to the same length rather than dividing twice
+        double difference = fastSum * slow - slowSum * fast;
+        if (difference > 0) return 1;
+        return allowShort && difference < 0 ? -1 : 0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.cryptoadvisor.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * backtests many variants of a strategy over the same bars across all cores.
+ * the variants are split into ranges on a fork-join pool; each backtest gets a fresh strategy
+ * from the factory and runs on one thread, and results land in their variant's slot, so the
+ * output is the same, in the same order, however the work was divided.
+ */
+public final class ParameterSweep {
+    // variants a task runs itself rather than splitting further; one backtest is already
+    // thousands of bars, so small ranges keep every core busy to the end
+    private static final int LEAF_SIZE = 4;
+
+    private final Backtester backtester;
+    private final ForkJoinPool pool;
+
+    public ParameterSweep(Backtester backtester) {
+        this(backtester, ForkJoinPool.commonPool());
+    }
+
+    public ParameterSweep(Backtester backtester, ForkJoinPool pool) {
+        this.backtester = backtester;
+        this.pool = pool;
+    }
+
+    /**
+     * one result per parameter set, in the order given
+     */
+    public <P> List<SweepResult<P>> run(BarHistory bars, List<P> parameters, Function<? super P, ? extends Strategy> strategies) {
+        BacktestStats[] stats = new BacktestStats[parameters.size()];
+        pool.invoke(new SweepTask<>(bars, parameters, strategies, stats, 0, parameters.size()));
+
+        List<SweepResult<P>> results = new ArrayList<>(stats.length);
+        for (int i = 0; i < stats.length; i++) {
+            results.add(new SweepResult<>(parameters.get(i), stats[i]));
+        }
+        return results;
+    }
+
+    /**
+     * every fast/slow pair with fast < slow from the two ranges (inclusive, by step)
+     */
+    public static List<int[]> crossoverGrid(int minFast, int maxFast, int minSlow, int maxSlow, int step) {
+        List<int[]> grid = new ArrayList<>();
+        for (int fast = minFast; fast <= maxFast; fast += step) {
+            for (int slow = Math.max(minSlow, fast + 1); slow <= maxSlow; slow += step) {
+                grid.add(new int[] {fast, slow});
+            }
+        }
+        return grid;
+    }
+
+    private final class SweepTask<P> extends RecursiveAction {
+        private final BarHistory bars;
+        private final List<P> parameters;
+        private final Function<? super P, ? extends Strategy> strategies;
+        private final BacktestStats[] stats;
+        private final int from;
+        private final int to;
+
+        SweepTask(BarHistory bars, List<P> parameters, Function<? super P, ? extends Strategy> strategies,
+                  BacktestStats[] stats, int from, int to) {
+            this.bars = bars;
+            this.parameters = parameters;
+            this.strategies = strategies;
+            this.stats = stats;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= LEAF_SIZE) {
+                for (int i = from; i < to; i++) {
+                    stats[i] = backtester.stats(bars, strategies.apply(parameters.get(i)));
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SweepTask<>(bars, parameters, strategies, stats, from, middle),
+                    new SweepTask<>(bars, parameters, strategies, stats, middle, to));
+        }
+    }
+}
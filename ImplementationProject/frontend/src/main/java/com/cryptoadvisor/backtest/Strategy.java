@@ -0,0 +1,16 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * decides what to hold. a Backtester calls target once per bar, in order, after the bar has
+ * closed; a strategy may keep state between calls, so every backtest gets its own instance.
+ */
+@FunctionalInterface
+public interface Strategy {
+
+    /**
+     * the position wanted after bar index closes, as a fraction of equity: 0 is flat, 1 fully
+     * long, -1 fully short. only bars up to index may be looked at. a change of target is filled
+     * at the next bar's open; NaN keeps the current one.
+     */
+    double target(BarHistory bars, int index);
+}
@@ -0,0 +1,7 @@
+package com.cryptoadvisor.backtest;
+
+/**
+ * one variant of a parameter sweep and how it did
+ */
+public record SweepResult<P>(P parameters, BacktestStats stats) {
+}
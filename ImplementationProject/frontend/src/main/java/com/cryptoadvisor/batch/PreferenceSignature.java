@@ -0,0 +1,46 @@
+package com.cryptoadvisor.batch;
+
+import com.cryptoadvisor.model.UserPreferences;
+import com.cryptoadvisor.scoring.ScoringWeights;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * the parts of a user's preferences that decide their recommendations, in one canonical form:
+ * asset type lower-cased ("both" when missing), investment type defaulted to Long-Term as the
+ * server does, and industries and coins lower-cased, de-duplicated and sorted. two users with
+ * equal signatures get the same ranking, so it only has to be worked out once.
+ */
+public record PreferenceSignature(String assetType, String investmentType, List<String> industries, List<String> cryptocurrencies) {
+
+    public PreferenceSignature {
+        industries = List.copyOf(industries);
+        cryptocurrencies = List.copyOf(cryptocurrencies);
+    }
+
+    public static PreferenceSignature of(UserPreferences preferences) {
+        String assetType = preferences.preferredAssetType() != null && !preferences.preferredAssetType().isBlank()
+                ? preferences.preferredAssetType().trim().toLowerCase(Locale.ROOT) : "both";
+        String investmentType = preferences.investmentType() != null && !preferences.investmentType().isBlank()
+                ? preferences.investmentType().trim() : ScoringWeights.LONG_TERM_TYPE;
+        return new PreferenceSignature(assetType, investmentType,
+                canonical(preferences.industries()), canonical(preferences.cryptocurrencies()));
+    }
+
+    /**
+     * preferences to rank with
+     */
+    public UserPreferences preferences() {
+        return new UserPreferences(assetType, investmentType, industries, cryptocurrencies);
+    }
+
+    private static List<String> canonical(List<String> values) {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String value : values) {
+            if (value != null && !value.isBlank()) sorted.add(value.trim().toLowerCase(Locale.ROOT));
+        }
+        return List.copyOf(sorted);
+    }
+}
@@ -0,0 +1,157 @@
+package com.cryptoadvisor.batch;
+
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiException;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.prices.PriceKey;
+import com.cryptoadvisor.scoring.Asset;
+import com.cryptoadvisor.scoring.AssetFeatures;
+import com.cryptoadvisor.scoring.AssetUniverse;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * an AssetUniverse with a current price per asset (NaN when unknown), which is what a
+ * recommendations row needs on top of the ranking.
+ */
+public final class PricedUniverse {
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    // a few spare days for weekends and gaps
+    static final int HISTORY_DAYS = AssetFeatures.TREND_DAYS + 8;
+    // see fromServer
+    private static final double NO_SENTIMENT = Double.NaN;
+
+    private final AssetUniverse universe;
+    private final Map<PriceKey, Double> prices;
+
+    /**
+     * prices[i] belongs to universe.asset(i)
+     */
+    public PricedUniverse(AssetUniverse universe, double[] prices) {
+        if (universe.size() != prices.length) {
+            throw new IllegalArgumentException("one price per asset");
+        }
+        this.universe = universe;
+        this.prices = new HashMap<>(prices.length * 2);
+        for (int i = 0; i < prices.length; i++) {
+            this.prices.put(universe.asset(i).key(), prices[i]);
+        }
+    }
+
+    /**
+     * the stocks and coins the server recommends from, as it lists them at /api/prices/symbols.
+     * a server that only sends the symbols gives assets named after their ids, with no industry.
+     */
+    public static List<Asset> serverAssets(ApiClient apiClient) throws IOException, InterruptedException {
+        JsonNode body = get(apiClient, "/api/prices/symbols");
+        List<Asset> assets = new ArrayList<>();
+        if (body.path("assets").isArray()) {
+            for (JsonNode asset : body.path("assets")) {
+                assets.add(asset(PriceKey.parse(asset.path("symbol").asText()), asset.path("ticker").asText(null),
+                        asset.path("name").asText(null), asset.path("industry").asText(null)));
+            }
+        } else {
+            body.path("symbols").forEach(symbol -> assets.add(asset(PriceKey.parse(symbol.asText()), null, null, null)));
+        }
+        return assets;
+    }
+
+    /**
+     * the assets with features from the daily closes in the server's /api/prices/history up to
+     * now and the latest point as the price. an asset whose history can't be had scores as
+     * average and has no price.
+     * price features only: /api/news wants a user's token and its articles carry no symbol or
+     * sentiment, so sentiment is NaN for every asset and its weight has no effect on the ranking.
+     */
+    public static PricedUniverse fromServer(ApiClient apiClient, List<Asset> assets, long now) throws InterruptedException {
+        List<JsonNode> points = new ArrayList<>(assets.size());
+        for (Asset asset : assets) {
+            String symbol = asset.key().toString();
+            try {
+                points.add(get(apiClient, "/api/prices/history?symbol=" + URLEncoder.encode(symbol, StandardCharsets.UTF_8)
+                        + "&days=" + HISTORY_DAYS).path("points"));
+            } catch (IOException e) {
+                System.err.println("No price history for " + symbol + ": " + e.getMessage());
+                points.add(null);
+            }
+        }
+        return fromHistory(assets, points, now);
+    }
+
+    /**
+     * points.get(i) is asset i's [time, price, volume] history, oldest first, or null if unknown.
+     * points of the same UTC day collapse to that day's last price.
+     */
+    static PricedUniverse fromHistory(List<Asset> assets, List<JsonNode> points, long now) {
+        List<AssetFeatures> features = new ArrayList<>(assets.size());
+        double[] prices = new double[assets.size()];
+        for (int i = 0; i < assets.size(); i++) {
+            Closes closes = new Closes(AssetFeatures.TREND_DAYS + 1);
+            if (points.get(i) != null) {
+                for (JsonNode point : points.get(i)) {
+                    long time = point.path(0).asLong();
+                    if (time < now) closes.add(time, point.path(1).asDouble());
+                }
+            }
+            features.add(AssetFeatures.fromCloses(closes.values, closes.count, NO_SENTIMENT));
+            prices[i] = closes.count > 0 ? closes.values[closes.count - 1] : Double.NaN;
+        }
+        return new PricedUniverse(new AssetUniverse(assets, features), prices);
+    }
+
+    public AssetUniverse universe() {
+        return universe;
+    }
+
+    public double price(Asset asset) {
+        return prices.getOrDefault(asset.key(), Double.NaN);
+    }
+
+    private static Asset asset(PriceKey key, String ticker, String name, String industry) {
+        return PriceKey.CRYPTO.equals(key.assetType())
+                ? Asset.crypto(key.id(), ticker, name)
+                : Asset.stock(key.id(), name, industry);
+    }
+
+    private static JsonNode get(ApiClient apiClient, String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = apiClient.send(apiClient.getRequest(path));
+        if (response.statusCode() != 200) {
+            throw new ApiException(response.statusCode(), path + " returned " + response.statusCode());
+        }
+        return ApiJson.readTree(response.body());
+    }
+
+    // the last values.length daily closes seen, oldest first
+    private static final class Closes {
+        final double[] values;
+        int count;
+        long day = Long.MIN_VALUE;
+
+        Closes(int capacity) {
+            values = new double[capacity];
+        }
+
+        void add(long time, double price) {
+            long pointDay = Math.floorDiv(time, DAY_MILLIS);
+            if (count > 0 && pointDay == day) {
+                values[count - 1] = price;
+                return;
+            }
+            day = pointDay;
+            if (count == values.length) {
+                System.arraycopy(values, 1, values, 0, count - 1);
+                count--;
+            }
+            values[count++] = price;
+        }
+    }
+}
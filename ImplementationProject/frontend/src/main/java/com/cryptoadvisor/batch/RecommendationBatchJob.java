@@ -0,0 +1,333 @@
+package com.cryptoadvisor.batch;
+
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.evaluation.RecommendationLog;
+import com.cryptoadvisor.model.UserPreferences;
+import com.cryptoadvisor.prices.PriceKey;
+import com.cryptoadvisor.scoring.Asset;
+import com.cryptoadvisor.scoring.ScoredAsset;
+import com.cryptoadvisor.scoring.ScoringEngine;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * fills the recommendations table ahead of time so nobody waits on GET /api/recommendations.
+ *
+ * a run picks the users with preferences whose recommendations are missing or will have expired
+ * by now + lead, so running it at least every lead keeps everyone covered. users are grouped by
+ * PreferenceSignature and each distinct signature is ranked once, in parallel on the pool; then
+ * every user's old rows are deleted and the new ones inserted with batched statements, a chunk of
+ * users per transaction so the server never sees a user half written. rows expire after 24 hours
+ * like the server's, and each distinct call committed is also added to the RecommendationLog, once
+ * however many users it went to, so it can be evaluated after the table has moved on.
+ * assets are scored on price features alone; see PricedUniverse.fromServer for why there is no
+ * news sentiment.
+ *
+ * plain JDBC, so any DataSource works; with MySQL Connector/J add rewriteBatchedStatements=true to
+ * the url so a batch goes over as multi-row inserts rather than one round trip per row.
+ */
+public final class RecommendationBatchJob {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final Duration DEFAULT_LEAD = Duration.ofHours(1);
+    // the server's expires_at
+    static final Duration TTL = Duration.ofHours(24);
+    // users per transaction
+    static final int USERS_PER_COMMIT = 500;
+    // statements per executeBatch
+    static final int BATCH_SIZE = 1_000;
+
+    private static final String SELECT_DUE = """
+            SELECT p.user_id, p.preferred_asset_type, p.investment_type, p.industries, p.cryptocurrencies
+            FROM user_preferences p
+            WHERE NOT EXISTS (SELECT 1 FROM recommendations r WHERE r.user_id = p.user_id AND r.expires_at > ?)
+            ORDER BY p.updated_at""";
+    private static final String DELETE = "DELETE FROM recommendations WHERE user_id = ?";
+    private static final String INSERT = """
+            INSERT INTO recommendations (recommendation_id, user_id, asset_type, asset_symbol, asset_name,
+             current_price, recommendation_type, confidence_score, reasoning, news_summary, expires_at)
+             VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private final DataSource dataSource;
+    private final ForkJoinPool pool;
+    private final ScoringEngine engine;
+    private final int limit;
+    private final RecommendationLog log;
+
+    public RecommendationBatchJob(DataSource dataSource) {
+        this(dataSource, ForkJoinPool.commonPool(), DEFAULT_LIMIT, RecommendationLog.getInstance());
+    }
+
+    public RecommendationBatchJob(DataSource dataSource, ForkJoinPool pool, int limit, RecommendationLog log) {
+        this.dataSource = dataSource;
+        this.pool = pool;
+        this.engine = new ScoringEngine(pool);
+        this.limit = limit;
+        this.log = log;
+    }
+
+    /**
+     * what a run did
+     */
+    public record Result(int users, int signatures, int rows, long millis) {
+    }
+
+    // one recommendation shared by every user with the signature; only the ids differ per row
+    private record Row(PriceKey key, String assetType, String symbol, String name, double price, String recommendationType,
+                       double confidence, String reasoning, String newsSummary) {
+    }
+
+    // what the log keeps of a row; users and signatures given the same call share one
+    private record Call(PriceKey key, String recommendationType, double confidence, double price) {
+    }
+
+    /**
+     * refreshes everyone due as of now
+     */
+    public Result run(PricedUniverse universe, Instant now, Duration lead) throws SQLException {
+        long start = System.nanoTime();
+        Map<PreferenceSignature, List<String>> groups = dueUsers(now.plus(lead));
+        int users = 0;
+        for (List<String> ids : groups.values()) {
+            users += ids.size();
+        }
+        if (users == 0) {
+            return new Result(0, 0, 0, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        Map<PreferenceSignature, List<Row>> rows = rank(universe, groups.keySet());
+        int written = write(groups, rows, now);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("recommendation batch: " + users + " users, " + groups.size() + " signatures, "
+                + written + " rows in " + millis + " ms");
+        return new Result(users, groups.size(), written, millis);
+    }
+
+    /**
+     * users with no recommendations that outlast horizon, grouped by signature. a user with
+     * more than one preferences row is grouped by the newest.
+     */
+    Map<PreferenceSignature, List<String>> dueUsers(Instant horizon) throws SQLException {
+        Map<String, PreferenceSignature> byUser = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(SELECT_DUE)) {
+            select.setTimestamp(1, Timestamp.from(horizon));
+            select.setFetchSize(1_000);
+            try (ResultSet result = select.executeQuery()) {
+                while (result.next()) {
+                    UserPreferences preferences = new UserPreferences(result.getString(2), result.getString(3),
+                            jsonList(result.getString(4)), jsonList(result.getString(5)));
+                    byUser.put(result.getString(1), PreferenceSignature.of(preferences));
+                }
+            }
+        }
+
+        Map<PreferenceSignature, List<String>> groups = new LinkedHashMap<>();
+        byUser.forEach((user, signature) -> groups.computeIfAbsent(signature, s -> new ArrayList<>()).add(user));
+        return groups;
+    }
+
+    // each signature ranked once, all of them at the same time
+    private Map<PreferenceSignature, List<Row>> rank(PricedUniverse universe, Iterable<PreferenceSignature> signatures) {
+        List<PreferenceSignature> order = new ArrayList<>();
+        List<Callable<List<Row>>> tasks = new ArrayList<>();
+        for (PreferenceSignature signature : signatures) {
+            order.add(signature);
+            tasks.add(() -> rows(universe, signature));
+        }
+
+        Map<PreferenceSignature, List<Row>> rows = new LinkedHashMap<>();
+        List<Future<List<Row>>> results = pool.invokeAll(tasks);
+        for (int i = 0; i < order.size(); i++) {
+            try {
+                rows.put(order.get(i), results.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while ranking", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("ranking failed for " + order.get(i), e.getCause());
+            }
+        }
+        return rows;
+    }
+
+    private List<Row> rows(PricedUniverse universe, PreferenceSignature signature) {
+        List<ScoredAsset> ranked = engine.rank(universe.universe(), signature.preferences(), limit);
+        List<Row> rows = new ArrayList<>(ranked.size());
+        for (ScoredAsset pick : ranked) {
+            Asset asset = pick.asset();
+            rows.add(new Row(asset.key(), asset.assetType(), asset.symbol(), asset.name(), universe.price(asset),
+                    pick.recommendationType(), pick.confidence(), pick.reasoning(), newsSummary(pick)));
+        }
+        return rows;
+    }
+
+    // the server's "... is up 1.23% today." line, when the day's move is known
+    private static String newsSummary(ScoredAsset pick) {
+        double momentum = pick.features().momentum();
+        if (Double.isNaN(momentum)) return null;
+        return String.format("%s (%s) is %s %.2f%% today.", pick.asset().name(), pick.asset().symbol(),
+                momentum > 0 ? "up" : "down", Math.abs(momentum) * 100);
+    }
+
+    private int write(Map<PreferenceSignature, List<String>> groups, Map<PreferenceSignature, List<Row>> rows,
+                      Instant now) throws SQLException {
+        Timestamp expiresAt = Timestamp.from(now.plus(TTL));
+        Set<Call> logged = new HashSet<>();
+        int written = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement(DELETE);
+                 PreparedStatement insert = connection.prepareStatement(INSERT)) {
+                List<String> chunk = new ArrayList<>(USERS_PER_COMMIT);
+                List<List<Row>> chunkRows = new ArrayList<>(USERS_PER_COMMIT);
+                for (Map.Entry<PreferenceSignature, List<String>> group : groups.entrySet()) {
+                    List<Row> signatureRows = rows.get(group.getKey());
+                    for (String user : group.getValue()) {
+                        chunk.add(user);
+                        chunkRows.add(signatureRows);
+                        if (chunk.size() == USERS_PER_COMMIT) {
+                            written += writeChunk(connection, delete, insert, chunk, chunkRows, expiresAt);
+                            logIssued(chunkRows, logged, now);
+                            chunk.clear();
+                            chunkRows.clear();
+                        }
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    written += writeChunk(connection, delete, insert, chunk, chunkRows, expiresAt);
+                    logIssued(chunkRows, logged, now);
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return written;
+    }
+
+    // one transaction: the chunk's old rows out, its new rows in
+    private static int writeChunk(Connection connection, PreparedStatement delete, PreparedStatement insert,
+                                  List<String> users, List<List<Row>> rows, Timestamp expiresAt) throws SQLException {
+        for (int i = 0; i < users.size(); i++) {
+            delete.setString(1, users.get(i));
+            delete.addBatch();
+            if ((i + 1) % BATCH_SIZE == 0) delete.executeBatch();
+        }
+        delete.executeBatch();
+
+        int pending = 0;
+        int written = 0;
+        for (int i = 0; i < users.size(); i++) {
+            for (Row row : rows.get(i)) {
+                insert.setString(1, UUID.randomUUID().toString());
+                insert.setString(2, users.get(i));
+                insert.setString(3, row.assetType());
+                insert.setString(4, row.symbol());
+                insert.setString(5, row.name());
+                if (Double.isNaN(row.price())) {
+                    insert.setNull(6, Types.DECIMAL);
+                } else {
+                    insert.setDouble(6, row.price());
+                }
+                insert.setString(7, row.recommendationType());
+                insert.setDouble(8, row.confidence());
+                insert.setString(9, row.reasoning());
+                insert.setString(10, row.newsSummary());
+                insert.setTimestamp(11, expiresAt);
+                insert.addBatch();
+                written++;
+                if (++pending == BATCH_SIZE) {
+                    insert.executeBatch();
+                    pending = 0;
+                }
+            }
+        }
+        if (pending > 0) insert.executeBatch();
+        connection.commit();
+        return written;
+    }
+
+    // one log row per distinct committed call, not per user, so a call made to a thousand users
+    // counts once when hit rates are worked out
+    private void logIssued(List<List<Row>> chunkRows, Set<Call> logged, Instant now) {
+        long issuedAt = now.toEpochMilli();
+        for (List<Row> userRows : chunkRows) {
+            for (Row row : userRows) {
+                Call call = new Call(row.key(), row.recommendationType(), row.confidence(), row.price());
+                if (logged.add(call)) {
+                    log.record(row.key(), issuedAt, row.recommendationType(), row.confidence(), row.price());
+                }
+            }
+        }
+    }
+
+    // the JSON columns hold arrays of strings; anything else reads as none
+    private static List<String> jsonList(String json) {
+        if (json == null || json.isBlank()) return List.of();
+        try {
+            JsonNode node = ApiJson.readTree(json);
+            // a column written as a JSON string holding the array
+            if (node.isTextual()) node = ApiJson.readTree(node.asText());
+            if (!node.isArray()) return List.of();
+            List<String> values = new ArrayList<>(node.size());
+            node.forEach(value -> values.add(value.asText()));
+            return values;
+        } catch (IOException e) {
+            System.err.println("bad preference list " + json + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * one run against the server's database, from the same DB_* environment variables, with
+     * the assets and their price history from the server's api (-Dcryptoadvisor.api.url or
+     * CRYPTOADVISOR_API_URL, localhost:3000 by default). the MySQL driver must be on the classpath.
+     * usage: RecommendationBatchJob [lead minutes]
+     */
+    public static void main(String[] args) throws Exception {
+        String host = System.getenv("DB_HOST");
+        String user = System.getenv("DB_USER");
+        String password = System.getenv("DB_PASSWORD");
+        String database = System.getenv("DB_NAME");
+        if (host == null || user == null || password == null || database == null) {
+            System.err.println("set DB_HOST, DB_USER, DB_PASSWORD and DB_NAME (and DB_PORT if not 3306)");
+            System.exit(2);
+        }
+        String port = System.getenv("DB_PORT") != null ? System.getenv("DB_PORT") : "3306";
+        Duration lead = args.length > 0 ? Duration.ofMinutes(Long.parseLong(args[0])) : DEFAULT_LEAD;
+
+        DataSource dataSource = new DriverDataSource("jdbc:mysql://" + host + ":" + port + "/" + database
+                + "?rewriteBatchedStatements=true", user, password);
+        Instant now = Instant.now();
+        ApiClient apiClient = ApiClient.getInstance();
+        PricedUniverse universe = PricedUniverse.fromServer(apiClient, PricedUniverse.serverAssets(apiClient),
+                now.toEpochMilli());
+        new RecommendationBatchJob(dataSource).run(universe, now, lead);
+        RecommendationLog.getInstance().flush();
+    }
+}
@@ -0,0 +1,191 @@
+package com.cryptoadvisor.chart;
+
+import com.cryptoadvisor.market.TickArchive;
+import com.cryptoadvisor.market.TickSeries;
+import com.cryptoadvisor.market.TickStore;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * one symbol's price history for a chart, as growable primitive columns.
+ * alongside the ticks it keeps the high, low and volume of every block of 16, 256, 4096, 65536
+ * and 1048576 ticks (about 7% more memory), so the OHLC of any range costs at most a hundred or
+ * so reads however many ticks it spans. that is what lets a chart of millions of ticks redraw
+ * every frame.
+ * append-only and not thread-safe: load it on one thread, then hand it to the fx thread.
+ */
+public final class ChartSeries implements TickSeries.Visitor {
+    private static final int INITIAL_CAPACITY = 1024;
+    // block sizes of the summary levels, as shifts
+    private static final int[] LEVEL_SHIFTS = {4, 8, 12, 16, 20};
+
+    private long[] times = new long[INITIAL_CAPACITY];
+    private double[] prices = new double[INITIAL_CAPACITY];
+    private double[] volumes = new double[INITIAL_CAPACITY];
+    private final double[][] blockHighs = new double[LEVEL_SHIFTS.length][];
+    private final double[][] blockLows = new double[LEVEL_SHIFTS.length][];
+    private final double[][] blockVolumes = new double[LEVEL_SHIFTS.length][];
+    private int size;
+
+    public ChartSeries() {
+        for (int level = 0; level < LEVEL_SHIFTS.length; level++) {
+            int blocks = blocks(INITIAL_CAPACITY, level);
+            blockHighs[level] = new double[blocks];
+            blockLows[level] = new double[blocks];
+            blockVolumes[level] = new double[blocks];
+        }
+    }
+
+    /**
+     * the symbol's archived ticks from the given time on, then the ones still in memory.
+     * the archive has the in-memory ticks too, so it is only read up to the first of those.
+     */
+    public static ChartSeries load(String symbol, TickArchive archive, TickStore ticks, long from) throws IOException {
+        ChartSeries series = new ChartSeries();
+        TickSeries live = ticks.series(symbol);
+        long liveFrom = live != null && live.size() > 0 ? live.firstTime() : Long.MAX_VALUE;
+        if (from < liveFrom) {
+            archive.reader().scanTicks(symbol, from, liveFrom, series);
+        }
+        if (live != null) {
+            live.forEach(Math.max(from, liveFrom), Long.MAX_VALUE, series);
+        }
+        return series;
+    }
+
+    /**
+     * adds a tick at the end; one older than the last is moved up to the last time
+     */
+    @Override
+    public void accept(long time, double price, double volume) {
+        append(time, price, volume);
+    }
+
+    public void append(long time, double price, double volume) {
+        if (size == times.length) grow();
+        if (size > 0 && time < times[size - 1]) {
+            time = times[size - 1];
+        }
+        times[size] = time;
+        prices[size] = price;
+        volumes[size] = volume;
+
+        for (int level = 0; level < LEVEL_SHIFTS.length; level++) {
+            int block = size >>> LEVEL_SHIFTS[level];
+            if ((size & ((1 << LEVEL_SHIFTS[level]) - 1)) == 0) {
+                blockHighs[level][block] = price;
+                blockLows[level][block] = price;
+                blockVolumes[level][block] = volume;
+            } else {
+                blockHighs[level][block] = Math.max(blockHighs[level][block], price);
+                blockLows[level][block] = Math.min(blockLows[level][block], price);
+                blockVolumes[level][block] += volume;
+            }
+        }
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long time(int index) {
+        return times[index];
+    }
+
+    public double price(int index) {
+        return prices[index];
+    }
+
+    public double volume(int index) {
+        return volumes[index];
+    }
+
+    /**
+     * Long.MIN_VALUE when empty
+     */
+    public long firstTime() {
+        return size == 0 ? Long.MIN_VALUE : times[0];
+    }
+
+    /**
+     * Long.MIN_VALUE when empty
+     */
+    public long lastTime() {
+        return size == 0 ? Long.MIN_VALUE : times[size - 1];
+    }
+
+    /**
+     * index of the first tick at or after time, size() if none
+     */
+    public int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * OHLC and volume of the ticks from index from up to (not including) to, written to the
+     * given bucket. from must be below to.
+     */
+    public void aggregate(int from, int to, OhlcBuckets out, int bucket) {
+        double high = Double.NEGATIVE_INFINITY;
+        double low = Double.POSITIVE_INFINITY;
+        double volume = 0;
+        int i = from;
+        next:
+        while (i < to) {
+            // the biggest block that starts here and fits, else a single tick
+            for (int level = LEVEL_SHIFTS.length - 1; level >= 0; level--) {
+                int blockSize = 1 << LEVEL_SHIFTS[level];
+                if ((i & (blockSize - 1)) == 0 && to - i >= blockSize) {
+                    int block = i >>> LEVEL_SHIFTS[level];
+                    high = Math.max(high, blockHighs[level][block]);
+                    low = Math.min(low, blockLows[level][block]);
+                    volume += blockVolumes[level][block];
+                    i += blockSize;
+                    continue next;
+                }
+            }
+            high = Math.max(high, prices[i]);
+            low = Math.min(low, prices[i]);
+            volume += volumes[i];
+            i++;
+        }
+        out.set(bucket, to - from, prices[from], high, low, prices[to - 1], volume);
+    }
+
+    public long heapBytes() {
+        long bytes = (long) times.length * (Long.BYTES + 2 * Double.BYTES);
+        for (int level = 0; level < LEVEL_SHIFTS.length; level++) {
+            bytes += (long) blockHighs[level].length * 3 * Double.BYTES;
+        }
+        return bytes;
+    }
+
+    private void grow() {
+        int length = times.length * 2;
+        times = Arrays.copyOf(times, length);
+        prices = Arrays.copyOf(prices, length);
+        volumes = Arrays.copyOf(volumes, length);
+        for (int level = 0; level < LEVEL_SHIFTS.length; level++) {
+            int blocks = blocks(length, level);
+            blockHighs[level] = Arrays.copyOf(blockHighs[level], blocks);
+            blockLows[level] = Arrays.copyOf(blockLows[level], blocks);
+            blockVolumes[level] = Arrays.copyOf(blockVolumes[level], blocks);
+        }
+    }
+
+    private static int blocks(int ticks, int level) {
+        return (ticks >>> LEVEL_SHIFTS[level]) + 1;
+    }
+}
@@ -0,0 +1,92 @@
+package com.cryptoadvisor.chart;
+
+/**
+ * cuts a ChartSeries down to what a few hundred pixels can show.
+ * buckets() is min-max: the OHLC of each time bucket, so no spike is lost however dense
+ * the data, at a cost that depends on the bucket count rather than the tick count.
+ * lttb() keeps the ticks that best preserve the line's shape (largest-triangle-three-buckets),
+ * for when there are a few ticks per pixel and a min-max envelope would look blocky.
+ * neither allocates once its output is big enough.
+ */
+public final class Downsampler {
+    private Downsampler() {
+    }
+
+    /**
+     * OHLC of the ticks in each of count buckets of step millis starting at from.
+     * returns the number of buckets that have ticks.
+     */
+    public static int buckets(ChartSeries series, long from, long step, int count, OhlcBuckets out) {
+        out.reset(count);
+        int filled = 0;
+        int low = series.lowerBound(from);
+        for (int bucket = 0; bucket < count && low < series.size(); bucket++) {
+            int high = series.lowerBound(from + (bucket + 1) * step);
+            if (high > low) {
+                series.aggregate(low, high, out, bucket);
+                filled++;
+            }
+            low = high;
+        }
+        return filled;
+    }
+
+    /**
+     * indices of about threshold ticks from index from up to (not including) to that keep the
+     * shape of the line, in order, written to out, which needs room for threshold of them.
+     * returns how many were written; every index when there are no more than threshold ticks.
+     */
+    public static int lttb(ChartSeries series, int from, int to, int threshold, int[] out) {
+        int n = to - from;
+        if (n <= threshold || threshold < 3) {
+            int count = Math.min(n, out.length);
+            for (int i = 0; i < count; i++) {
+                out[i] = from + i;
+            }
+            return count;
+        }
+
+        // x relative to the first tick so the doubles keep millisecond precision
+        long origin = series.time(from);
+        double every = (double) (n - 2) / (threshold - 2);
+        int written = 0;
+        int a = from;
+        out[written++] = a;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // average of the next bucket is the third corner
+            int averageStart = from + (int) ((bucket + 1) * every) + 1;
+            int averageEnd = Math.min(from + (int) ((bucket + 2) * every) + 1, to);
+            double averageX = 0;
+            double averageY = 0;
+            for (int i = averageStart; i < averageEnd; i++) {
+                averageX += series.time(i) - origin;
+                averageY += series.price(i);
+            }
+            int averageCount = averageEnd - averageStart;
+            averageX /= averageCount;
+            averageY /= averageCount;
+
+            // the tick of this bucket making the biggest triangle with the last pick
+            int rangeStart = from + (int) (bucket * every) + 1;
+            int rangeEnd = from + (int) ((bucket + 1) * every) + 1;
+            double ax = series.time(a) - origin;
+            double ay = series.price(a);
+            double maxArea = -1;
+            int picked = rangeStart;
+            for (int i = rangeStart; i < rangeEnd; i++) {
+                double area = Math.abs((ax - averageX) * (series.price(i) - ay)
+                        - (ax - (series.time(i) - origin)) * (averageY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    picked = i;
+                }
+            }
+            out[written++] = picked;
+            a = picked;
+        }
+
+        out[written++] = to - 1;
+        return written;
+    }
+}
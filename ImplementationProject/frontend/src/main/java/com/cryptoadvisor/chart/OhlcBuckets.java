@@ -0,0 +1,71 @@
+package com.cryptoadvisor.chart;
+
+import java.util.Arrays;
+
+/**
+ * reusable columns of OHLC buckets, filled by the Downsampler and drawn by the PriceChart.
+ * a bucket with no ticks has count 0 and NaN prices.
+ */
+public final class OhlcBuckets {
+    private int[] counts = new int[0];
+    private double[] opens = new double[0];
+    private double[] highs = new double[0];
+    private double[] lows = new double[0];
+    private double[] closes = new double[0];
+    private double[] volumes = new double[0];
+    private int size;
+
+    /**
+     * empties the buckets and makes room for the given number
+     */
+    public void reset(int buckets) {
+        if (counts.length < buckets) {
+            int length = Math.max(buckets, counts.length * 2);
+            counts = new int[length];
+            opens = new double[length];
+            highs = new double[length];
+            lows = new double[length];
+            closes = new double[length];
+            volumes = new double[length];
+        }
+        size = buckets;
+        Arrays.fill(counts, 0, buckets, 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count(int bucket) {
+        return counts[bucket];
+    }
+
+    public double open(int bucket) {
+        return counts[bucket] == 0 ? Double.NaN : opens[bucket];
+    }
+
+    public double high(int bucket) {
+        return counts[bucket] == 0 ? Double.NaN : highs[bucket];
+    }
+
+    public double low(int bucket) {
+        return counts[bucket] == 0 ? Double.NaN : lows[bucket];
+    }
+
+    public double close(int bucket) {
+        return counts[bucket] == 0 ? Double.NaN : closes[bucket];
+    }
+
+    public double volume(int bucket) {
+        return counts[bucket] == 0 ? 0 : volumes[bucket];
+    }
+
+    void set(int bucket, int count, double open, double high, double low, double close, double volume) {
+        counts[bucket] = count;
+        opens[bucket] = open;
+        highs[bucket] = high;
+        lows[bucket] = low;
+        closes[bucket] = close;
+        volumes[bucket] = volume;
+    }
+}
@@ -0,0 +1,488 @@
+package com.cryptoadvisor.chart;
+
+import com.cryptoadvisor.util.FrameMonitor;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * price chart drawn straight onto a canvas: a line or candlesticks, with volume underneath
+ * when the ticks have any. drag to pan, scroll to zoom around the cursor, double-click to
+ * see everything.
+ *
+ * a frame only reads what fits on screen: a line of a few ticks per pixel is thinned with
+ * lttb, anything denser becomes one min-max bucket per pixel column, and candles are sized
+ * to stay a few pixels wide. every frame is a few thousand series reads however long the
+ * series, and changes are coalesced into at most one redraw per pulse.
+ * fx thread only.
+ */
+public final class PriceChart extends Region {
+    public enum Mode { LINE, CANDLES }
+
+    private static final double PRICE_AXIS_WIDTH = 76;
+    private static final double TIME_AXIS_HEIGHT = 24;
+    private static final double PADDING = 10;
+    private static final double VOLUME_SHARE = 0.2;
+    // thinned with lttb up to this many ticks per pixel, min-max buckets beyond
+    private static final int LTTB_TICKS_PER_PIXEL = 8;
+    private static final double MIN_CANDLE_PIXELS = 7;
+    private static final double MIN_TIME_LABEL_PIXELS = 110;
+    private static final long MIN_SPAN_MILLIS = 10_000;
+
+    // candle sizes and time label spacings to pick from
+    private static final long[] STEPS = {
+            1_000, 5_000, 15_000, 30_000, 60_000, 300_000, 900_000, 1_800_000, 3_600_000,
+            4 * 3_600_000L, 12 * 3_600_000L, 86_400_000L, 7 * 86_400_000L, 30 * 86_400_000L};
+
+    private static final Color LINE_COLOR = Color.web("#1976D2");
+    private static final Color UP_COLOR = Color.web("#2E7D32");
+    private static final Color DOWN_COLOR = Color.web("#D32F2F");
+    private static final Color VOLUME_COLOR = Color.web("#90A4AE");
+    private static final Color GRID_COLOR = Color.web("#EEEEEE");
+    private static final Color TEXT_COLOR = Color.web("#666666");
+    private static final Color CROSSHAIR_COLOR = Color.web("#9E9E9E");
+    private static final Font LABEL_FONT = Font.font("System", 11);
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static final DateTimeFormatter SECONDS = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZONE);
+    private static final DateTimeFormatter MINUTES = DateTimeFormatter.ofPattern("HH:mm").withZone(ZONE);
+    private static final DateTimeFormatter DAYS = DateTimeFormatter.ofPattern("MMM d").withZone(ZONE);
+    private static final DateTimeFormatter CROSSHAIR = DateTimeFormatter.ofPattern("MMM d HH:mm:ss").withZone(ZONE);
+
+    private final Canvas canvas = new Canvas();
+    private ChartSeries series;
+    private Mode mode = Mode.LINE;
+    private long viewFrom;
+    private long viewTo;
+    // keep the newest tick in view as ticks arrive
+    private boolean following = true;
+    private double mouseX = Double.NaN;
+    private double mouseY = Double.NaN;
+    private double dragX;
+    private long dragFrom;
+
+    // reused every frame
+    private final OhlcBuckets buckets = new OhlcBuckets();
+    private final OhlcBuckets volumeBuckets = new OhlcBuckets();
+    private final OhlcBuckets range = new OhlcBuckets();
+    private int[] picks = new int[0];
+    private double[] xs = new double[0];
+    private double[] ys = new double[0];
+
+    // started by invalidate, draws once in the next pulse and stops
+    private final AnimationTimer redraw = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            FrameMonitor.run("chart/draw", PriceChart.this::draw);
+        }
+    };
+
+    public PriceChart() {
+        getChildren().add(canvas);
+        setMinSize(200, 150);
+
+        setOnMousePressed(e -> {
+            dragX = e.getX();
+            dragFrom = viewFrom;
+        });
+        setOnMouseDragged(e -> {
+            if (series == null) return;
+            long shift = (long) ((dragX - e.getX()) / pixelsPerMilli());
+            long span = viewTo - viewFrom;
+            viewFrom = dragFrom + shift;
+            viewTo = viewFrom + span;
+            following = viewTo >= series.lastTime();
+            mouseX = e.getX();
+            mouseY = e.getY();
+            invalidate();
+        });
+        setOnScroll(e -> {
+            if (series == null || e.getDeltaY() == 0) return;
+            long span = viewTo - viewFrom;
+            long newSpan = Math.max(MIN_SPAN_MILLIS, Math.min(maxSpan(), (long) (span * Math.pow(1.002, -e.getDeltaY()))));
+            // the time under the cursor stays put
+            double share = Math.max(0, Math.min(1, (e.getX() - PADDING) / plotWidth()));
+            long pivot = viewFrom + (long) (span * share);
+            viewFrom = pivot - (long) (newSpan * share);
+            viewTo = viewFrom + newSpan;
+            following = viewTo >= series.lastTime();
+            invalidate();
+        });
+        setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                fit();
+            }
+        });
+        setOnMouseMoved(e -> {
+            mouseX = e.getX();
+            mouseY = e.getY();
+            invalidate();
+        });
+        setOnMouseExited(e -> {
+            mouseX = Double.NaN;
+            mouseY = Double.NaN;
+            invalidate();
+        });
+    }
+
+    /**
+     * shows a new series, zoomed out to all of it
+     */
+    public void setSeries(ChartSeries series) {
+        this.series = series;
+        fit();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+        invalidate();
+    }
+
+    /**
+     * zooms to the given span ending at the newest tick
+     */
+    public void showLast(Duration span) {
+        if (series == null || series.size() == 0) return;
+        long millis = Math.max(MIN_SPAN_MILLIS, span.toMillis());
+        viewTo = series.lastTime() + millis / 50;
+        viewFrom = viewTo - millis;
+        following = true;
+        invalidate();
+    }
+
+    /**
+     * zooms out to the whole series
+     */
+    public void fit() {
+        if (series == null || series.size() == 0) {
+            invalidate();
+            return;
+        }
+        long span = Math.max(MIN_SPAN_MILLIS, series.lastTime() - series.firstTime());
+        viewFrom = series.firstTime() - span / 50;
+        viewTo = series.lastTime() + span / 50;
+        following = true;
+        invalidate();
+    }
+
+    /**
+     * call after appending to the series; scrolls along if the newest tick was in view
+     */
+    public void seriesChanged() {
+        if (series == null) return;
+        if (viewTo <= viewFrom) {
+            fit();
+            return;
+        }
+        long span = viewTo - viewFrom;
+        long margin = span / 50;
+        if (following && series.lastTime() > viewTo - margin) {
+            viewTo = series.lastTime() + margin;
+            viewFrom = viewTo - span;
+        }
+        invalidate();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        if (canvas.getWidth() != getWidth() || canvas.getHeight() != getHeight()) {
+            canvas.setWidth(getWidth());
+            canvas.setHeight(getHeight());
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        redraw.start();
+    }
+
+    private void draw() {
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        double width = canvas.getWidth();
+        double height = canvas.getHeight();
+        g.setFill(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setFont(LABEL_FONT);
+
+        if (series == null || series.size() == 0 || plotWidth() < 10) {
+            g.setFill(TEXT_COLOR);
+            g.setTextAlign(TextAlignment.CENTER);
+            g.setTextBaseline(VPos.CENTER);
+            g.fillText("No price history yet", width / 2, height / 2);
+            return;
+        }
+
+        int first = series.lowerBound(viewFrom);
+        int last = series.lowerBound(viewTo);
+        // one tick either side so the line runs off the edges
+        int lineFirst = Math.max(0, first - 1);
+        int lineLast = Math.min(series.size(), last + 1);
+        if (lineLast - lineFirst < 1) return;
+
+        // price scale from everything in view, volume pane only if there is volume
+        range.reset(1);
+        series.aggregate(lineFirst, lineLast, range, 0);
+        double low = range.low(0);
+        double high = range.high(0);
+        if (high - low < Math.abs(high) * 1e-6 + 1e-9) {
+            double pad = Math.max(Math.abs(high) * 0.01, 0.01);
+            low -= pad;
+            high += pad;
+        }
+        double pad = (high - low) * 0.06;
+        low -= pad;
+        high += pad;
+
+        double plotTop = PADDING;
+        double plotBottom = height - TIME_AXIS_HEIGHT;
+        boolean hasVolume = range.volume(0) > 0;
+        double priceBottom = hasVolume ? plotBottom - (plotBottom - plotTop) * VOLUME_SHARE - 6 : plotBottom;
+        double right = PADDING + plotWidth();
+
+        drawPriceGrid(g, low, high, plotTop, priceBottom, right);
+        drawTimeAxis(g, plotBottom, right);
+
+        g.save();
+        g.beginPath();
+        g.rect(PADDING, plotTop, plotWidth(), plotBottom - plotTop);
+        g.clip();
+
+        long candleStep = candleStep();
+        if (mode == Mode.CANDLES) {
+            drawCandles(g, candleStep, low, high, plotTop, priceBottom);
+        } else {
+            drawLine(g, lineFirst, lineLast, low, high, plotTop, priceBottom);
+        }
+        if (hasVolume) {
+            drawVolume(g, candleStep, priceBottom + 6, plotBottom);
+        }
+        g.restore();
+
+        drawLastPrice(g, low, high, plotTop, priceBottom, right);
+        drawCrosshair(g, low, high, plotTop, priceBottom, plotBottom, right);
+    }
+
+    private void drawLine(GraphicsContext g, int first, int last, double low, double high, double top, double bottom) {
+        int columns = (int) plotWidth();
+        int count;
+        if (last - first <= columns * LTTB_TICKS_PER_PIXEL) {
+            if (picks.length < columns) picks = new int[columns];
+            count = Downsampler.lttb(series, first, last, columns, picks);
+            ensurePoints(count);
+            for (int i = 0; i < count; i++) {
+                xs[i] = x(series.time(picks[i]));
+                ys[i] = y(series.price(picks[i]), low, high, top, bottom);
+            }
+        } else {
+            // one bucket per pixel column, drawn open -> low/high -> close so spikes survive
+            long step = Math.max(1, (viewTo - viewFrom) / columns);
+            Downsampler.buckets(series, viewFrom, step, columns + 1, buckets);
+            ensurePoints(4 * buckets.size());
+            count = 0;
+            for (int bucket = 0; bucket < buckets.size(); bucket++) {
+                if (buckets.count(bucket) == 0) continue;
+                double x = x(viewFrom + bucket * step + step / 2);
+                boolean rising = buckets.close(bucket) >= buckets.open(bucket);
+                count = addPoint(count, x, y(buckets.open(bucket), low, high, top, bottom));
+                count = addPoint(count, x, y(rising ? buckets.low(bucket) : buckets.high(bucket), low, high, top, bottom));
+                count = addPoint(count, x, y(rising ? buckets.high(bucket) : buckets.low(bucket), low, high, top, bottom));
+                count = addPoint(count, x, y(buckets.close(bucket), low, high, top, bottom));
+            }
+        }
+        g.setStroke(LINE_COLOR);
+        g.setLineWidth(1.5);
+        g.strokePolyline(xs, ys, count);
+    }
+
+    private void drawCandles(GraphicsContext g, long step, double low, double high, double top, double bottom) {
+        long start = Math.floorDiv(viewFrom, step) * step;
+        int count = (int) ((viewTo - start + step - 1) / step);
+        Downsampler.buckets(series, start, step, count, buckets);
+
+        double bodyWidth = Math.max(1, step * pixelsPerMilli() * 0.7);
+        g.setLineWidth(1);
+        for (int bucket = 0; bucket < buckets.size(); bucket++) {
+            if (buckets.count(bucket) == 0) continue;
+            double x = Math.floor(x(start + bucket * step + step / 2)) + 0.5;
+            double open = y(buckets.open(bucket), low, high, top, bottom);
+            double close = y(buckets.close(bucket), low, high, top, bottom);
+            Color color = buckets.close(bucket) >= buckets.open(bucket) ? UP_COLOR : DOWN_COLOR;
+            g.setStroke(color);
+            g.setFill(color);
+            g.strokeLine(x, y(buckets.high(bucket), low, high, top, bottom), x, y(buckets.low(bucket), low, high, top, bottom));
+            g.fillRect(x - bodyWidth / 2, Math.min(open, close), bodyWidth, Math.max(1, Math.abs(open - close)));
+        }
+    }
+
+    private void drawVolume(GraphicsContext g, long step, double top, double bottom) {
+        long start = Math.floorDiv(viewFrom, step) * step;
+        int count = (int) ((viewTo - start + step - 1) / step);
+        Downsampler.buckets(series, start, step, count, volumeBuckets);
+
+        double max = 0;
+        for (int bucket = 0; bucket < volumeBuckets.size(); bucket++) {
+            max = Math.max(max, volumeBuckets.volume(bucket));
+        }
+        if (max <= 0) return;
+
+        double barWidth = Math.max(1, step * pixelsPerMilli() * 0.7);
+        g.setFill(VOLUME_COLOR);
+        for (int bucket = 0; bucket < volumeBuckets.size(); bucket++) {
+            double volume = volumeBuckets.volume(bucket);
+            if (volume <= 0) continue;
+            double barHeight = (bottom - top) * volume / max;
+            double x = x(start + bucket * step + step / 2);
+            g.fillRect(x - barWidth / 2, bottom - barHeight, barWidth, barHeight);
+        }
+    }
+
+    private void drawPriceGrid(GraphicsContext g, double low, double high, double top, double bottom, double right) {
+        double step = niceStep((high - low) / Math.max(1, (bottom - top) / 50));
+        int decimals = Math.max(0, (int) -Math.floor(Math.log10(step)));
+        String format = "%,." + decimals + "f";
+        g.setLineWidth(1);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setTextBaseline(VPos.CENTER);
+        for (double price = Math.ceil(low / step) * step; price <= high; price += step) {
+            double y = Math.floor(y(price, low, high, top, bottom)) + 0.5;
+            g.setStroke(GRID_COLOR);
+            g.strokeLine(PADDING, y, right, y);
+            g.setFill(TEXT_COLOR);
+            g.fillText(String.format(format, price), right + 6, y);
+        }
+    }
+
+    private void drawTimeAxis(GraphicsContext g, double bottom, double right) {
+        long step = STEPS[STEPS.length - 1];
+        for (long candidate : STEPS) {
+            if (candidate * pixelsPerMilli() >= MIN_TIME_LABEL_PIXELS) {
+                step = candidate;
+                break;
+            }
+        }
+        DateTimeFormatter format = step < 60_000 ? SECONDS : step < 86_400_000L ? MINUTES : DAYS;
+        g.setLineWidth(1);
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.TOP);
+        for (long time = Math.floorDiv(viewFrom, step) * step + step; time < viewTo; time += step) {
+            double x = Math.floor(x(time)) + 0.5;
+            if (x < PADDING || x > right) continue;
+            g.setStroke(GRID_COLOR);
+            g.strokeLine(x, PADDING, x, bottom);
+            g.setFill(TEXT_COLOR);
+            g.fillText(format.format(Instant.ofEpochMilli(time)), x, bottom + 5);
+        }
+    }
+
+    private void drawLastPrice(GraphicsContext g, double low, double high, double top, double bottom, double right) {
+        double price = series.price(series.size() - 1);
+        if (price < low || price > high) return;
+        double y = y(price, low, high, top, bottom);
+        g.setStroke(LINE_COLOR);
+        g.setLineWidth(1);
+        g.setLineDashes(3, 3);
+        g.strokeLine(PADDING, y, right, y);
+        g.setLineDashes(null);
+        label(g, String.format("%,.2f", price), right + 2, y, LINE_COLOR);
+    }
+
+    private void drawCrosshair(GraphicsContext g, double low, double high, double top, double priceBottom,
+                               double plotBottom, double right) {
+        if (Double.isNaN(mouseX) || mouseX < PADDING || mouseX > right || mouseY < top || mouseY > plotBottom) return;
+
+        g.setStroke(CROSSHAIR_COLOR);
+        g.setLineWidth(1);
+        g.setLineDashes(4, 4);
+        g.strokeLine(mouseX, top, mouseX, plotBottom);
+        if (mouseY <= priceBottom) {
+            g.strokeLine(PADDING, mouseY, right, mouseY);
+        }
+        g.setLineDashes(null);
+
+        if (mouseY <= priceBottom) {
+            double price = low + (priceBottom - mouseY) / (priceBottom - top) * (high - low);
+            label(g, String.format("%,.2f", price), right + 2, mouseY, CROSSHAIR_COLOR);
+        }
+        long time = viewFrom + (long) ((mouseX - PADDING) / pixelsPerMilli());
+        String text = CROSSHAIR.format(Instant.ofEpochMilli(time));
+        g.setFill(CROSSHAIR_COLOR);
+        g.fillRect(mouseX - 50, plotBottom + 2, 100, TIME_AXIS_HEIGHT - 4);
+        g.setFill(Color.WHITE);
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(text, mouseX, plotBottom + TIME_AXIS_HEIGHT / 2);
+    }
+
+    private void label(GraphicsContext g, String text, double x, double y, Color background) {
+        g.setFill(background);
+        g.fillRect(x, y - 9, PRICE_AXIS_WIDTH - 4, 18);
+        g.setFill(Color.WHITE);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(text, x + 4, y);
+    }
+
+    // smallest candle that is still a few pixels wide
+    private long candleStep() {
+        for (long step : STEPS) {
+            if (step * pixelsPerMilli() >= MIN_CANDLE_PIXELS) return step;
+        }
+        return STEPS[STEPS.length - 1];
+    }
+
+    private long maxSpan() {
+        return Math.max(MIN_SPAN_MILLIS, (series.lastTime() - series.firstTime()) * 2) + 86_400_000L;
+    }
+
+    private double plotWidth() {
+        return canvas.getWidth() - PADDING - PRICE_AXIS_WIDTH;
+    }
+
+    private double pixelsPerMilli() {
+        return plotWidth() / Math.max(1, viewTo - viewFrom);
+    }
+
+    private double x(long time) {
+        return PADDING + (time - viewFrom) * pixelsPerMilli();
+    }
+
+    private static double y(double price, double low, double high, double top, double bottom) {
+        return bottom - (price - low) / (high - low) * (bottom - top);
+    }
+
+    private int addPoint(int count, double x, double y) {
+        xs[count] = x;
+        ys[count] = y;
+        return count + 1;
+    }
+
+    private void ensurePoints(int count) {
+        if (xs.length < count) {
+            xs = new double[count];
+            ys = new double[count];
+        }
+    }
+
+    // 1, 2 or 5 times a power of ten, at least raw
+    private static double niceStep(double raw) {
+        double magnitude = Math.pow(10, Math.floor(Math.log10(raw)));
+        double fraction = raw / magnitude;
+        return (fraction <= 1 ? 1 : fraction <= 2 ? 2 : fraction <= 5 ? 5 : 10) * magnitude;
+    }
+}
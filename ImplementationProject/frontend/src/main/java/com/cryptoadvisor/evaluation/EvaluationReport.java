@@ -0,0 +1,170 @@
+package com.cryptoadvisor.evaluation;
+
+import com.cryptoadvisor.scoring.ScoringWeights;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * how issued recommendations did, per horizon, recommendation type and confidence bucket.
+ * every recommendation is a call to buy, so its return is the realized price over the price at
+ * issue, less one, and a hit is a positive return. buckets are ten points of confidence wide.
+ * only sums are kept, so a report is the same size whether it covers ten rows or ten million.
+ */
+public final class EvaluationReport {
+    public static final int BUCKETS = 10;
+    private static final int TYPES = 2;
+
+    private final List<Duration> horizons;
+    // [horizon][type][bucket]
+    private final long[][][] counts;
+    private final long[][][] hits;
+    private final double[][][] returns;
+    private final double[][][] squares;
+    private final long[] pending;
+    private final long[] unresolved;
+    private long recommendations;
+
+    EvaluationReport(List<Duration> horizons) {
+        this.horizons = List.copyOf(horizons);
+        int size = horizons.size();
+        counts = new long[size][TYPES][BUCKETS];
+        hits = new long[size][TYPES][BUCKETS];
+        returns = new double[size][TYPES][BUCKETS];
+        squares = new double[size][TYPES][BUCKETS];
+        pending = new long[size];
+        unresolved = new long[size];
+    }
+
+    /**
+     * one cell of the report; meanReturn and deviation are fractions, NaN with no rows
+     */
+    public record Cell(long count, long hits, double meanReturn, double deviation) {
+
+        public double hitRate() {
+            return count > 0 ? (double) hits / count : Double.NaN;
+        }
+    }
+
+    public List<Duration> horizons() {
+        return horizons;
+    }
+
+    /**
+     * recommendations read, whether or not any horizon could be judged
+     */
+    public long recommendations() {
+        return recommendations;
+    }
+
+    /**
+     * rows whose horizon hasn't passed yet
+     */
+    public long pending(int horizon) {
+        return pending[horizon];
+    }
+
+    /**
+     * rows with no price or confidence at issue, or no price between issue and the horizon
+     */
+    public long unresolved(int horizon) {
+        return unresolved[horizon];
+    }
+
+    /**
+     * bucket of a 0-100 confidence score
+     */
+    public static int bucket(double confidence) {
+        return Math.max(0, Math.min(BUCKETS - 1, (int) (confidence / (100 / BUCKETS))));
+    }
+
+    /**
+     * one type ("Day Trade", "Long-Term", or null for both) and bucket (-1 for all)
+     */
+    public Cell cell(int horizon, String recommendationType, int bucket) {
+        long count = 0;
+        long hit = 0;
+        double sum = 0;
+        double sumSquares = 0;
+        for (int type = 0; type < TYPES; type++) {
+            if (recommendationType != null && RecommendationLog.typeCode(recommendationType) != type) continue;
+            for (int b = 0; b < BUCKETS; b++) {
+                if (bucket >= 0 && bucket != b) continue;
+                count += counts[horizon][type][b];
+                hit += hits[horizon][type][b];
+                sum += returns[horizon][type][b];
+                sumSquares += squares[horizon][type][b];
+            }
+        }
+        if (count == 0) return new Cell(0, 0, Double.NaN, Double.NaN);
+        double mean = sum / count;
+        double variance = count > 1 ? Math.max(0, (sumSquares - sum * mean) / (count - 1)) : Double.NaN;
+        return new Cell(count, hit, mean, Math.sqrt(variance));
+    }
+
+    /**
+     * a text table: per horizon, each type by bucket then the totals
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%,d recommendations%n", recommendations));
+        for (int h = 0; h < horizons.size(); h++) {
+            out.append(String.format("%nafter %s (%,d pending, %,d unresolved)%n", label(horizons.get(h)), pending[h], unresolved[h]));
+            out.append(String.format("%-10s %-9s %10s %8s %10s %10s%n", "type", "conf", "count", "hit", "mean", "stdev"));
+            for (String type : List.of(ScoringWeights.DAY_TRADE_TYPE, ScoringWeights.LONG_TERM_TYPE)) {
+                for (int b = 0; b < BUCKETS; b++) {
+                    Cell cell = cell(h, type, b);
+                    if (cell.count() > 0) row(out, type, (b * 100 / BUCKETS) + "-" + ((b + 1) * 100 / BUCKETS), cell);
+                }
+                row(out, type, "all", cell(h, type, -1));
+            }
+            row(out, "all", "all", cell(h, null, -1));
+        }
+        return out.toString();
+    }
+
+    private static void row(StringBuilder out, String type, String bucket, Cell cell) {
+        out.append(String.format("%-10s %-9s %,10d %7.1f%% %9.2f%% %9.2f%%%n", type, bucket, cell.count(),
+                cell.hitRate() * 100, cell.meanReturn() * 100, cell.deviation() * 100));
+    }
+
+    private static String label(Duration horizon) {
+        return horizon.toDays() > 0 && horizon.toHours() % 24 == 0 ? horizon.toDays() + "d" : horizon.toHours() + "h";
+    }
+
+    void countRecommendations(int count) {
+        recommendations += count;
+    }
+
+    void add(int horizon, int type, double confidence, double realizedReturn) {
+        int b = bucket(confidence);
+        counts[horizon][type][b]++;
+        if (realizedReturn > 0) hits[horizon][type][b]++;
+        returns[horizon][type][b] += realizedReturn;
+        squares[horizon][type][b] += realizedReturn * realizedReturn;
+    }
+
+    void addPending(int horizon) {
+        pending[horizon]++;
+    }
+
+    void addUnresolved(int horizon) {
+        unresolved[horizon]++;
+    }
+
+    void merge(EvaluationReport other) {
+        recommendations += other.recommendations;
+        for (int h = 0; h < horizons.size(); h++) {
+            pending[h] += other.pending[h];
+            unresolved[h] += other.unresolved[h];
+            for (int type = 0; type < TYPES; type++) {
+                for (int b = 0; b < BUCKETS; b++) {
+                    counts[h][type][b] += other.counts[h][type][b];
+                    hits[h][type][b] += other.hits[h][type][b];
+                    returns[h][type][b] += other.returns[h][type][b];
+                    squares[h][type][b] += other.squares[h][type][b];
+                }
+            }
+        }
+    }
+}
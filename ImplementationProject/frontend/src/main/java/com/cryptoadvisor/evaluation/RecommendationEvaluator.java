@@ -0,0 +1,222 @@
+package com.cryptoadvisor.evaluation;
+
+import com.cryptoadvisor.market.ArchiveReader;
+import com.cryptoadvisor.market.TickSeries;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * joins logged recommendations against the archived ticks that came after them.
+ *
+ * the realized price at a horizon is the last tick at or before issue + horizon, as long as it
+ * came after the issue and is no older than the horizon (or three days, for long horizons over
+ * a weekend); otherwise the row is unresolved for that horizon, as is one with no confidence
+ * score. rows logged without a price take the last tick in the hour before issue.
+ *
+ * symbols are evaluated in parallel and each one a day of recommendations at a time: the day's
+ * rows are read into a buffer and every horizon is one forward pass over the ticks in that
+ * day's window, merged against the rows' targets in time order. memory is a day's rows of one
+ * symbol per thread, however many millions there are in all.
+ */
+public final class RecommendationEvaluator {
+    public static final List<Duration> DEFAULT_HORIZONS = List.of(Duration.ofHours(1), Duration.ofDays(1), Duration.ofDays(7));
+
+    private static final long DAY_MILLIS = Duration.ofDays(1).toMillis();
+    private static final long MAX_STALE_MILLIS = Duration.ofDays(3).toMillis();
+    private static final long ENTRY_STALE_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final ArchiveReader reader;
+    private final List<Duration> horizons;
+    private final ForkJoinPool pool;
+
+    public RecommendationEvaluator(ArchiveReader reader) {
+        this(reader, DEFAULT_HORIZONS, ForkJoinPool.commonPool());
+    }
+
+    public RecommendationEvaluator(ArchiveReader reader, List<Duration> horizons, ForkJoinPool pool) {
+        this.reader = reader;
+        this.horizons = List.copyOf(horizons);
+        this.pool = pool;
+    }
+
+    /**
+     * recommendations issued in from <= time < to, judged with the ticks known as of asOf
+     */
+    public EvaluationReport evaluate(long from, long to, long asOf) throws IOException {
+        List<Callable<EvaluationReport>> tasks = new ArrayList<>();
+        for (String symbol : reader.symbols()) {
+            tasks.add(() -> evaluate(symbol, from, to, asOf));
+        }
+
+        // merged in symbol order so the sums come out the same on every run
+        EvaluationReport report = new EvaluationReport(horizons);
+        for (Future<EvaluationReport> result : pool.invokeAll(tasks)) {
+            try {
+                report.merge(result.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("interrupted while evaluating", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException io) throw io;
+                throw new IllegalStateException("evaluation failed", e.getCause());
+            }
+        }
+        return report;
+    }
+
+    private EvaluationReport evaluate(String symbol, long from, long to, long asOf) throws IOException {
+        EvaluationReport report = new EvaluationReport(horizons);
+        DayRows rows = new DayRows();
+        for (LocalDate day : reader.days(symbol, RecommendationLog.SERIES)) {
+            long dayStart = day.toEpochDay() * DAY_MILLIS;
+            long start = Math.max(from, dayStart);
+            long end = Math.min(to, dayStart + DAY_MILLIS);
+            if (start >= end) continue;
+
+            rows.clear();
+            reader.scanRows(symbol, RecommendationLog.SERIES, start, end, rows);
+            if (rows.count == 0) continue;
+            report.countRecommendations(rows.count);
+            fillEntryPrices(symbol, rows);
+            for (int h = 0; h < horizons.size(); h++) {
+                judge(symbol, rows, h, asOf, report);
+            }
+        }
+        return report;
+    }
+
+    // rows logged without a usable price get the last tick in the hour before them
+    private void fillEntryPrices(String symbol, DayRows rows) throws IOException {
+        boolean missing = false;
+        for (int i = 0; i < rows.count && !missing; i++) {
+            missing = !(rows.prices[i] > 0);
+        }
+        if (!missing) return;
+
+        long[] targets = rows.times;
+        Merge merge = new Merge(targets, rows.count, (i, time, price) -> {
+            if (!(rows.prices[i] > 0)) {
+                rows.prices[i] = time != Long.MIN_VALUE && targets[i] - time <= ENTRY_STALE_MILLIS ? price : Double.NaN;
+            }
+        });
+        reader.scanTicks(symbol, targets[0] - ENTRY_STALE_MILLIS, targets[rows.count - 1] + 1, merge);
+        merge.finish();
+    }
+
+    private void judge(String symbol, DayRows rows, int h, long asOf, EvaluationReport report) throws IOException {
+        long horizon = horizons.get(h).toMillis();
+        long stale = Math.min(horizon, MAX_STALE_MILLIS);
+        long[] targets = rows.targets;
+        int due = 0;
+        for (int i = 0; i < rows.count; i++) {
+            targets[i] = rows.times[i] + horizon;
+            if (targets[i] <= asOf) due++;
+        }
+        // targets are in time order, so the pending ones are at the end
+        for (int i = due; i < rows.count; i++) {
+            report.addPending(h);
+        }
+        if (due == 0) return;
+
+        Merge merge = new Merge(targets, due, (i, time, price) -> {
+            double entry = rows.prices[i];
+            if (time > rows.times[i] && targets[i] - time <= stale && entry > 0 && !Double.isNaN(rows.confidences[i])) {
+                report.add(h, rows.types[i], rows.confidences[i], price / entry - 1);
+            } else {
+                report.addUnresolved(h);
+            }
+        });
+        reader.scanTicks(symbol, targets[0] - stale, targets[due - 1] + 1, merge);
+        merge.finish();
+    }
+
+    // what a row's target resolved to: the last tick at or before it, time MIN_VALUE if none
+    @FunctionalInterface
+    private interface Resolved {
+        void accept(int row, long time, double price);
+    }
+
+    // walks the ticks and the sorted targets together
+    private static final class Merge implements TickSeries.Visitor {
+        private final long[] targets;
+        private final int count;
+        private final Resolved resolved;
+        private int next;
+        private long lastTime = Long.MIN_VALUE;
+        private double lastPrice = Double.NaN;
+
+        Merge(long[] targets, int count, Resolved resolved) {
+            this.targets = targets;
+            this.count = count;
+            this.resolved = resolved;
+        }
+
+        @Override
+        public void accept(long time, double price, double volume) {
+            while (next < count && targets[next] < time) {
+                resolved.accept(next++, lastTime, lastPrice);
+            }
+            lastTime = time;
+            lastPrice = price;
+        }
+
+        void finish() {
+            while (next < count) {
+                resolved.accept(next++, lastTime, lastPrice);
+            }
+        }
+    }
+
+    // one symbol's rows for one day, reused from day to day
+    private static final class DayRows implements ArchiveReader.RowVisitor {
+        long[] times = new long[64];
+        long[] targets = new long[64];
+        int[] types = new int[64];
+        double[] confidences = new double[64];
+        double[] prices = new double[64];
+        int count;
+
+        void clear() {
+            count = 0;
+        }
+
+        @Override
+        public void accept(long time, double[] values) {
+            if (count == times.length) {
+                int capacity = count * 2;
+                times = Arrays.copyOf(times, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+                types = Arrays.copyOf(types, capacity);
+                confidences = Arrays.copyOf(confidences, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+            }
+            times[count] = time;
+            types[count] = (int) values[RecommendationLog.TYPE] == RecommendationLog.DAY_TRADE
+                    ? RecommendationLog.DAY_TRADE : RecommendationLog.LONG_TERM;
+            confidences[count] = values[RecommendationLog.CONFIDENCE];
+            prices[count] = values[RecommendationLog.PRICE];
+            count++;
+        }
+    }
+
+    /**
+     * prints the report for the last N days (default 90) of the local archive
+     * usage: RecommendationEvaluator [days]
+     */
+    public static void main(String[] args) throws IOException {
+        int days = args.length > 0 ? Integer.parseInt(args[0]) : 90;
+        long now = System.currentTimeMillis();
+        EvaluationReport report = new RecommendationEvaluator(RecommendationLog.getInstance().reader())
+                .evaluate(now - days * DAY_MILLIS, now, now);
+        System.out.print(report.format());
+    }
+}
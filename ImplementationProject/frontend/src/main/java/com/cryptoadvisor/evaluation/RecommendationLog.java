@@ -0,0 +1,123 @@
+package com.cryptoadvisor.evaluation;
+
+import com.cryptoadvisor.market.ArchiveReader;
+import com.cryptoadvisor.market.ArchiveSeries;
+import com.cryptoadvisor.market.ArchiveWriter;
+import com.cryptoadvisor.market.TickArchive;
+import com.cryptoadvisor.metrics.Counter;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.cryptoadvisor.model.Recommendation;
+import com.cryptoadvisor.prices.PriceKey;
+import com.cryptoadvisor.scoring.ScoringWeights;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * every recommendation issued, kept for evaluating later.
+ * rows live in the tick archive next to the symbol's prices, as a "recommendations" series of
+ * (type, confidence, price) at the time of issue, so they outlast the server deleting or
+ * expiring the row and a symbol's calls can be read in time order alongside its ticks.
+ * append-only; nothing is ever rewritten.
+ */
+public final class RecommendationLog {
+    public static final ArchiveSeries SERIES = new ArchiveSeries("recommendations", 3, 0);
+
+    // what the type column holds
+    static final int LONG_TERM = 0;
+    static final int DAY_TRADE = 1;
+
+    // columns
+    static final int TYPE = 0;
+    static final int CONFIDENCE = 1;
+    static final int PRICE = 2;
+
+    // the server's expires_at, to work out when an api row was issued
+    private static final Duration TTL = Duration.ofHours(24);
+
+    private static final RecommendationLog INSTANCE = new RecommendationLog(TickArchive.getInstance());
+
+    private final TickArchive archive;
+    private final Counter logged = MetricsRegistry.get().counter("evaluation.logged");
+    private final Counter failed = MetricsRegistry.get().counter("evaluation.failed");
+    private final Counter late = MetricsRegistry.get().counter("evaluation.late");
+
+    public RecommendationLog(TickArchive archive) {
+        this.archive = archive;
+    }
+
+    public static RecommendationLog getInstance() {
+        return INSTANCE;
+    }
+
+    public ArchiveReader reader() {
+        return archive.reader();
+    }
+
+    /**
+     * logs one issued recommendation; price is NaN (or 0, as the server sends when its lookup
+     * failed) if unknown. a failed write is logged and counted, never thrown; a row older than
+     * the asset's last is refused by the archive and counted in evaluation.late.
+     * synchronized like recordIssued, so its check against the last logged time sees every row.
+     */
+    public synchronized void record(PriceKey key, long issuedAt, String recommendationType, double confidence, double price) {
+        try {
+            boolean appended = archive.writer(key.toString(), SERIES).appendRow(issuedAt, typeCode(recommendationType), confidence, price);
+            (appended ? logged : late).increment();
+        } catch (UncheckedIOException e) {
+            recordFailed(e);
+        }
+    }
+
+    /**
+     * logs the rows of an /api/recommendations response that are newer than anything logged
+     * for their asset, so the same rows loaded again are not counted twice
+     */
+    public synchronized void recordIssued(List<Recommendation> recommendations) {
+        for (Recommendation rec : recommendations) {
+            PriceKey key = PriceKey.of(rec);
+            long issuedAt = issuedAt(rec);
+            if (key == null || issuedAt == Long.MIN_VALUE) continue;
+            try {
+                ArchiveWriter writer = archive.writer(key.toString(), SERIES);
+                if (issuedAt <= writer.lastTime()) continue;
+                writer.appendRow(issuedAt, typeCode(rec.recommendationType()), rec.confidenceScore(), rec.currentPrice());
+                logged.increment();
+            } catch (UncheckedIOException e) {
+                recordFailed(e);
+            }
+        }
+    }
+
+    public void flush() {
+        archive.flush();
+    }
+
+    static int typeCode(String recommendationType) {
+        return ScoringWeights.DAY_TRADE_TYPE.equals(recommendationType) ? DAY_TRADE : LONG_TERM;
+    }
+
+    static String typeName(int code) {
+        return code == DAY_TRADE ? ScoringWeights.DAY_TRADE_TYPE : ScoringWeights.LONG_TERM_TYPE;
+    }
+
+    // expires_at less the server's lifetime; the api doesn't send created_at
+    private static long issuedAt(Recommendation rec) {
+        if (rec.expiresAt() == null) return Long.MIN_VALUE;
+        try {
+            return Instant.parse(rec.expiresAt()).minus(TTL).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return Long.MIN_VALUE;
+        }
+    }
+
+    private void recordFailed(UncheckedIOException e) {
+        if (failed.get() == 0) {
+            System.err.println("Recommendation log write failed: " + e.getMessage());
+        }
+        failed.increment();
+    }
+}
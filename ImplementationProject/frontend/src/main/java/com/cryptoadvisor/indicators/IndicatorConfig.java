@@ -0,0 +1,33 @@
+package com.cryptoadvisor.indicators;
+
+/**
+ * indicator periods, in updates (ticks or bars). the SMA window is also the Bollinger window.
+ */
+public record IndicatorConfig(
+        int smaPeriod,
+        int emaPeriod,
+        int rsiPeriod,
+        int macdFast,
+        int macdSlow,
+        int macdSignal,
+        double bollingerWidth,
+        int atrPeriod
+) {
+    public static final IndicatorConfig DEFAULTS = new IndicatorConfig(20, 20, 14, 12, 26, 9, 2.0, 14);
+
+    public IndicatorConfig {
+        if (smaPeriod < 2 || emaPeriod < 1 || rsiPeriod < 1 || macdFast < 1 || macdSignal < 1 || atrPeriod < 1) {
+            throw new IllegalArgumentException("indicator periods must be positive (SMA at least 2)");
+        }
+        if (macdFast >= macdSlow) {
+            throw new IllegalArgumentException("MACD fast period must be shorter than the slow one");
+        }
+    }
+
+    /**
+     * updates before every indicator has a value
+     */
+    public int warmUp() {
+        return Math.max(Math.max(smaPeriod, emaPeriod), Math.max(Math.max(rsiPeriod + 1, atrPeriod), macdSlow + macdSignal - 1));
+    }
+}
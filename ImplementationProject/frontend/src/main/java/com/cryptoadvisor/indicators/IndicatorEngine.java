@@ -0,0 +1,291 @@
+package com.cryptoadvisor.indicators;
+
+import java.util.Arrays;
+
+/**
+ * SMA, EMA, RSI, MACD, Bollinger bands, ATR and VWAP kept up to date per symbol as prices
+ * arrive, for symbol ids from a SymbolTable.
+ *
+ * every update is O(1) and allocates nothing: state lives in one primitive array per field,
+ * indexed by symbol id. the SMA and the Bollinger bands share one window of closes with
+ * running sums; the EMAs, MACD, RSI and ATR are recursive and need no window at all.
+ * EMAs start as the plain mean of what they have seen until their period is reached, and
+ * RSI and ATR use Wilder's smoothing. VWAP restarts each UTC day.
+ * getters return NaN until the indicator has seen enough updates.
+ *
+ * not thread-safe: one thread updates, and readers on other threads need to synchronize
+ * with it (LiveIndicators does).
+ */
+public final class IndicatorEngine {
+    private static final long DAY_MILLIS = 86_400_000L;
+    // window sums are rebuilt from the window this often (in full turns of the window) so
+    // rounding from adding and subtracting can't build up
+    private static final int RESUM_TURNS = 64;
+
+    private final IndicatorConfig config;
+    private final int capacity;
+    private final int window;
+    private final double emaAlpha;
+    private final double fastAlpha;
+    private final double slowAlpha;
+    private final double signalAlpha;
+
+    private final long[] samples;
+    private final long[] lastTime;
+    private final double[] close;
+
+    // shared SMA/Bollinger window, stored relative to shift to keep the sum of squares precise
+    private final double[] values;
+    private final int[] head;
+    private final int[] turns;
+    private final double[] shift;
+    private final double[] sum;
+    private final double[] sumSq;
+
+    private final double[] ema;
+    private final double[] emaFast;
+    private final double[] emaSlow;
+    private final double[] macdSignal;
+    private final double[] avgGain;
+    private final double[] avgLoss;
+    private final double[] atr;
+
+    private final long[] vwapDay;
+    private final double[] priceVolume;
+    private final double[] volume;
+
+    public IndicatorEngine(int capacity, IndicatorConfig config) {
+        this.config = config;
+        this.capacity = capacity;
+        this.window = config.smaPeriod();
+        this.emaAlpha = 2.0 / (config.emaPeriod() + 1);
+        this.fastAlpha = 2.0 / (config.macdFast() + 1);
+        this.slowAlpha = 2.0 / (config.macdSlow() + 1);
+        this.signalAlpha = 2.0 / (config.macdSignal() + 1);
+
+        samples = new long[capacity];
+        lastTime = new long[capacity];
+        close = new double[capacity];
+        values = new double[Math.multiplyExact(capacity, window)];
+        head = new int[capacity];
+        turns = new int[capacity];
+        shift = new double[capacity];
+        sum = new double[capacity];
+        sumSq = new double[capacity];
+        ema = new double[capacity];
+        emaFast = new double[capacity];
+        emaSlow = new double[capacity];
+        macdSignal = new double[capacity];
+        avgGain = new double[capacity];
+        avgLoss = new double[capacity];
+        atr = new double[capacity];
+        vwapDay = new long[capacity];
+        priceVolume = new double[capacity];
+        volume = new double[capacity];
+    }
+
+    public IndicatorConfig config() {
+        return config;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * a trade or quote: high, low and close are all the price
+     */
+    public void update(int id, long time, double price, double tradedVolume) {
+        update(id, time, price, price, price, tradedVolume);
+    }
+
+    /**
+     * a bar, or a tick with high == low == close
+     */
+    public void update(int id, long time, double high, double low, double price, double tradedVolume) {
+        long n = ++samples[id];
+        double previous = close[id];
+
+        updateWindow(id, n, price);
+
+        ema[id] = smooth(ema[id], price, n, config.emaPeriod(), emaAlpha);
+        emaFast[id] = smooth(emaFast[id], price, n, config.macdFast(), fastAlpha);
+        emaSlow[id] = smooth(emaSlow[id], price, n, config.macdSlow(), slowAlpha);
+        macdSignal[id] = smooth(macdSignal[id], emaFast[id] - emaSlow[id], n, config.macdSignal(), signalAlpha);
+
+        // rsi works on changes, so it starts one update later
+        if (n > 1) {
+            double change = price - previous;
+            avgGain[id] = wilder(avgGain[id], Math.max(change, 0), n - 1, config.rsiPeriod());
+            avgLoss[id] = wilder(avgLoss[id], Math.max(-change, 0), n - 1, config.rsiPeriod());
+        }
+
+        double range = high - low;
+        if (n > 1) {
+            range = Math.max(range, Math.max(Math.abs(high - previous), Math.abs(low - previous)));
+        }
+        atr[id] = wilder(atr[id], range, n, config.atrPeriod());
+
+        long day = Math.floorDiv(time, DAY_MILLIS);
+        if (n == 1 || day != vwapDay[id]) {
+            vwapDay[id] = day;
+            priceVolume[id] = 0;
+            volume[id] = 0;
+        }
+        priceVolume[id] += (high + low + price) / 3 * tradedVolume;
+        volume[id] += tradedVolume;
+
+        close[id] = price;
+        lastTime[id] = time;
+    }
+
+    /**
+     * forgets a symbol, e.g. before replaying its history from the start
+     */
+    public void reset(int id) {
+        samples[id] = 0;
+        head[id] = 0;
+        turns[id] = 0;
+        sum[id] = 0;
+        sumSq[id] = 0;
+        ema[id] = 0;
+        emaFast[id] = 0;
+        emaSlow[id] = 0;
+        macdSignal[id] = 0;
+        avgGain[id] = 0;
+        avgLoss[id] = 0;
+        atr[id] = 0;
+        priceVolume[id] = 0;
+        volume[id] = 0;
+        Arrays.fill(values, id * window, (id + 1) * window, 0);
+    }
+
+    public long samples(int id) {
+        return samples[id];
+    }
+
+    public boolean isWarm(int id) {
+        return samples[id] >= config.warmUp();
+    }
+
+    public long lastTime(int id) {
+        return samples[id] == 0 ? Long.MIN_VALUE : lastTime[id];
+    }
+
+    public double price(int id) {
+        return samples[id] == 0 ? Double.NaN : close[id];
+    }
+
+    public double sma(int id) {
+        return samples[id] < window ? Double.NaN : shift[id] + sum[id] / window;
+    }
+
+    public double standardDeviation(int id) {
+        if (samples[id] < window) return Double.NaN;
+        double mean = sum[id] / window;
+        return Math.sqrt(Math.max(0, sumSq[id] / window - mean * mean));
+    }
+
+    public double bollingerUpper(int id) {
+        return sma(id) + config.bollingerWidth() * standardDeviation(id);
+    }
+
+    public double bollingerLower(int id) {
+        return sma(id) - config.bollingerWidth() * standardDeviation(id);
+    }
+
+    public double ema(int id) {
+        return samples[id] < config.emaPeriod() ? Double.NaN : ema[id];
+    }
+
+    public double macd(int id) {
+        return samples[id] < config.macdSlow() ? Double.NaN : emaFast[id] - emaSlow[id];
+    }
+
+    public double macdSignal(int id) {
+        return samples[id] < config.macdSlow() + config.macdSignal() - 1 ? Double.NaN : macdSignal[id];
+    }
+
+    public double macdHistogram(int id) {
+        return macd(id) - macdSignal(id);
+    }
+
+    /**
+     * 0 to 100; 50 when the price hasn't moved at all
+     */
+    public double rsi(int id) {
+        if (samples[id] <= config.rsiPeriod()) return Double.NaN;
+        double gain = avgGain[id];
+        double loss = avgLoss[id];
+        if (loss == 0) return gain == 0 ? 50 : 100;
+        return 100 - 100 / (1 + gain / loss);
+    }
+
+    public double atr(int id) {
+        return samples[id] < config.atrPeriod() ? Double.NaN : atr[id];
+    }
+
+    /**
+     * volume-weighted typical price since the start of the UTC day, NaN without volume
+     */
+    public double vwap(int id) {
+        return volume[id] > 0 ? priceVolume[id] / volume[id] : Double.NaN;
+    }
+
+    public IndicatorSnapshot snapshot(int id) {
+        return new IndicatorSnapshot(samples[id], price(id), sma(id), ema(id), rsi(id), macd(id), macdSignal(id),
+                bollingerUpper(id), bollingerLower(id), atr(id), vwap(id), config);
+    }
+
+    private void updateWindow(int id, long n, double price) {
+        int base = id * window;
+        int slot = head[id];
+        if (n == 1) {
+            shift[id] = price;
+        }
+        double x = price - shift[id];
+        if (n > window) {
+            double old = values[base + slot];
+            sum[id] -= old;
+            sumSq[id] -= old * old;
+        }
+        values[base + slot] = x;
+        sum[id] += x;
+        sumSq[id] += x * x;
+
+        if (++slot < window) {
+            head[id] = slot;
+            return;
+        }
+        head[id] = 0;
+        if (++turns[id] == RESUM_TURNS) {
+            turns[id] = 0;
+            resum(id, base);
+        }
+    }
+
+    // re-centres the window on its current mean and adds it up again from scratch
+    private void resum(int id, int base) {
+        double mean = sum[id] / window;
+        double total = 0;
+        double squares = 0;
+        for (int i = base; i < base + window; i++) {
+            double x = values[i] - mean;
+            values[i] = x;
+            total += x;
+            squares += x * x;
+        }
+        shift[id] += mean;
+        sum[id] = total;
+        sumSq[id] = squares;
+    }
+
+    // plain running mean until the period is reached, then the usual exponential smoothing
+    private static double smooth(double average, double value, long n, int period, double alpha) {
+        return n <= period ? average + (value - average) / n : average + (value - average) * alpha;
+    }
+
+    private static double wilder(double average, double value, long n, int period) {
+        return n <= period ? average + (value - average) / n : average + (value - average) / period;
+    }
+}
@@ -0,0 +1,50 @@
+package com.cryptoadvisor.indicators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * one symbol's indicators at a point in time; NaN where there isn't enough data yet
+ */
+public record IndicatorSnapshot(
+        long samples,
+        double price,
+        double sma,
+        double ema,
+        double rsi,
+        double macd,
+        double macdSignal,
+        double bollingerUpper,
+        double bollingerLower,
+        double atr,
+        double vwap,
+        IndicatorConfig config
+) {
+    public double macdHistogram() {
+        return macd - macdSignal;
+    }
+
+    /**
+     * short text for a card, e.g. "RSI 71 overbought · MACD ▲ · 1.2% above SMA20".
+     * empty until at least one indicator has a value.
+     */
+    public String summary() {
+        List<String> parts = new ArrayList<>(4);
+        if (!Double.isNaN(rsi)) {
+            String zone = rsi >= 70 ? " overbought" : rsi <= 30 ? " oversold" : "";
+            parts.add(String.format("RSI %.0f%s", rsi, zone));
+        }
+        if (!Double.isNaN(macdSignal)) {
+            parts.add(macdHistogram() >= 0 ? "MACD ▲" : "MACD ▼");
+        }
+        if (!Double.isNaN(sma) && sma != 0) {
+            double distance = (price - sma) / sma * 100;
+            parts.add(String.format("%.1f%% %s SMA%d", Math.abs(distance), distance >= 0 ? "above" : "below", config.smaPeriod()));
+        }
+        if (!Double.isNaN(bollingerUpper) && bollingerUpper > bollingerLower) {
+            if (price >= bollingerUpper) parts.add("at upper band");
+            else if (price <= bollingerLower) parts.add("at lower band");
+        }
+        return String.join(" · ", parts);
+    }
+}
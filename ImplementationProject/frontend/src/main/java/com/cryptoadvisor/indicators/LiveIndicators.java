@@ -0,0 +1,74 @@
+package com.cryptoadvisor.indicators;
+
+import com.cryptoadvisor.market.ArchiveReader;
+import com.cryptoadvisor.market.TickArchive;
+import com.cryptoadvisor.market.TickStore;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * indicators over the live price stream, with symbol ids shared with the TickStore.
+ * the first tick of a symbol replays its last two archived days first, so signals are
+ * there straight away instead of after a few dozen live ticks.
+ * updated on the price stream thread and read from the fx thread. each update publishes an
+ * immutable snapshot, so a read never waits on an update, even one replaying the archive.
+ */
+public final class LiveIndicators {
+    private static final long SEED_MILLIS = 2 * 86_400_000L;
+
+    private static final LiveIndicators INSTANCE = new LiveIndicators(TickStore.getInstance(),
+            TickArchive.getInstance(), IndicatorConfig.DEFAULTS);
+
+    private final TickStore ticks;
+    private final TickArchive archive;
+    private final IndicatorEngine engine;
+    // guarded by this
+    private final BitSet seeded = new BitSet();
+    // by symbol id, the snapshot after that symbol's latest update
+    private final AtomicReferenceArray<IndicatorSnapshot> published;
+
+    public LiveIndicators(TickStore ticks, TickArchive archive, IndicatorConfig config) {
+        this.ticks = ticks;
+        this.archive = archive;
+        this.engine = new IndicatorEngine(ticks.maxSymbols(), config);
+        this.published = new AtomicReferenceArray<>(engine.capacity());
+    }
+
+    public static LiveIndicators getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void update(String symbol, long time, double price, double volume) {
+        int id = ticks.id(symbol);
+        if (id < 0) return;
+
+        if (!seeded.get(id)) {
+            seeded.set(id);
+            seed(symbol, id, time);
+        }
+        engine.update(id, time, price, volume);
+        published.set(id, engine.snapshot(id));
+    }
+
+    /**
+     * null if nothing has been seen for the symbol yet
+     */
+    public IndicatorSnapshot snapshot(String symbol) {
+        int id = ticks.symbols().id(symbol);
+        if (id < 0 || id >= published.length()) return null;
+        return published.get(id);
+    }
+
+    private void seed(String symbol, int id, long before) {
+        ArchiveReader reader = archive.reader();
+        try {
+            reader.scanTicks(symbol, before - SEED_MILLIS, before, (time, price, volume) -> engine.update(id, time, price, volume));
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Could not seed indicators for " + symbol + ": " + e.getMessage());
+            engine.reset(id);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.cryptoadvisor.market;
+
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiException;
+import com.cryptoadvisor.api.ApiJson;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * fills the archive from /api/prices/history: hourly points for crypto, daily closes for
+ * stocks. only whole days before anything already archived for a symbol are written, so it
+ * is safe to run again.
+ *
+ * mvn -q compile exec:java -Dexec.mainClass=com.cryptoadvisor.market.ArchiveBackfill \
+ *     -Dexec.args="--days=90 [crypto:bitcoin stock:AAPL ...]"
+ *
+ * without symbols, everything the backend lists at /api/prices/symbols is backfilled.
+ */
+public final class ArchiveBackfill {
+    private final ApiClient apiClient;
+    private final TickArchive archive;
+
+    public ArchiveBackfill(ApiClient apiClient, TickArchive archive) {
+        this.apiClient = apiClient;
+        this.archive = archive;
+    }
+
+    /**
+     * returns the number of ticks written
+     */
+    public int backfill(String symbol, int days) throws IOException, InterruptedException {
+        JsonNode points = get("/api/prices/history?symbol=" + URLEncoder.encode(symbol, StandardCharsets.UTF_8)
+                + "&days=" + days).path("points");
+
+        // stop at the first archived day, and at today, which live ticks may still be filling
+        long now = System.currentTimeMillis();
+        long first = archive.reader().firstTime(symbol, ArchiveSeries.TICKS);
+        long cutoff = Math.floorDiv(first == Long.MIN_VALUE ? now : Math.min(first, now), ArchiveWriter.DAY_MILLIS)
+                * ArchiveWriter.DAY_MILLIS;
+
+        int written = 0;
+        ArchiveWriter writer = new ArchiveWriter(TickArchive.seriesDir(archive.root(), symbol, ArchiveSeries.TICKS),
+                ArchiveSeries.TICKS, TickArchive.TICK_SEGMENT_ROWS, false);
+        try {
+            for (JsonNode point : points) {
+                long time = point.path(0).asLong();
+                if (time >= cutoff) break;
+                if (writer.appendTick(time, point.path(1).asDouble(), point.path(2).asDouble())) {
+                    written++;
+                }
+            }
+        } finally {
+            writer.finish();
+        }
+        return written;
+    }
+
+    public List<String> symbols() throws IOException, InterruptedException {
+        List<String> symbols = new ArrayList<>();
+        get("/api/prices/symbols").path("symbols").forEach(symbol -> symbols.add(symbol.asText()));
+        return symbols;
+    }
+
+    private JsonNode get(String path) throws IOException, InterruptedException {
+        HttpResponse<String> response = apiClient.send(apiClient.getRequest(path));
+        if (response.statusCode() != 200) {
+            throw new ApiException(response.statusCode(), path + " returned " + response.statusCode());
+        }
+        return ApiJson.readTree(response.body());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int days = 90;
+        List<String> symbols = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--days=")) {
+                days = Integer.parseInt(arg.substring("--days=".length()));
+            } else if (arg.startsWith("--")) {
+                throw new IllegalArgumentException("unknown option " + arg);
+            } else {
+                symbols.add(arg);
+            }
+        }
+
+        TickArchive archive = TickArchive.getInstance();
+        ArchiveBackfill backfill = new ArchiveBackfill(ApiClient.getInstance(), archive);
+        if (symbols.isEmpty()) {
+            symbols = backfill.symbols();
+        }
+        System.out.println("Backfilling " + symbols.size() + " symbols, " + days + " days, into " + archive.root());
+        for (String symbol : symbols) {
+            try {
+                System.out.println(symbol + ": " + backfill.backfill(symbol, days) + " ticks");
+            } catch (IOException e) {
+                System.err.println(symbol + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.cryptoadvisor.market;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * range scans over the archive.
+ * segments are mapped one at a time and read in place, so a scan over gigabytes of history
+ * only ever holds the pages it is touching. days outside the range are skipped by file name
+ * and the sparse index finds the first row without reading the times before it.
+ * a scan sees the rows that were committed when it reached each segment.
+ */
+public final class ArchiveReader {
+    private final Path root;
+
+    ArchiveReader(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * called back once per bar, oldest first
+     */
+    @FunctionalInterface
+    public interface BarVisitor {
+        void accept(long time, double open, double high, double low, double close, double volume);
+    }
+
+    /**
+     * called back once per row of any series, oldest first; values is reused between calls
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void accept(long time, double[] values);
+    }
+
+    /**
+     * symbols that have anything archived, e.g. crypto:bitcoin
+     */
+    public List<String> symbols() throws IOException {
+        List<String> symbols = new ArrayList<>();
+        for (Path type : list(root)) {
+            for (Path id : list(type)) {
+                symbols.add(type.getFileName() + ":" + id.getFileName());
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * UTC days with at least one segment
+     */
+    public List<LocalDate> days(String symbol, ArchiveSeries series) throws IOException {
+        List<LocalDate> days = new ArrayList<>();
+        for (Path segment : segments(TickArchive.seriesDir(root, symbol, series))) {
+            LocalDate day = LocalDate.ofEpochDay(ArchiveWriter.dayOf(segment.getFileName().toString()));
+            if (days.isEmpty() || !days.get(days.size() - 1).equals(day)) days.add(day);
+        }
+        return days;
+    }
+
+    /**
+     * calls the visitor for each tick with from <= time < to and returns how many there were
+     */
+    public long scanTicks(String symbol, long from, long to, TickSeries.Visitor visitor) throws IOException {
+        long rows = 0;
+        for (ArchiveSegment segment : overlapping(symbol, ArchiveSeries.TICKS, from, to)) {
+            int count = segment.count();
+            for (int row = segment.lowerBound(from, count); row < count; row++) {
+                long time = segment.time(row);
+                if (time >= to) return rows;
+                visitor.accept(time, segment.value(0, row), segment.value(1, row));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * calls the visitor for each bar opening in from <= time < to and returns how many there were
+     */
+    public long scanBars(String symbol, ArchiveSeries series, long from, long to, BarVisitor visitor) throws IOException {
+        if (!series.isBars()) {
+            throw new IllegalArgumentException(series.name() + " is not a bar series");
+        }
+        long rows = 0;
+        for (ArchiveSegment segment : overlapping(symbol, series, from, to)) {
+            int count = segment.count();
+            for (int row = segment.lowerBound(from, count); row < count; row++) {
+                long time = segment.time(row);
+                if (time >= to) return rows;
+                visitor.accept(time, segment.value(0, row), segment.value(1, row),
+                        segment.value(2, row), segment.value(3, row), segment.value(4, row));
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * calls the visitor for each row of the series with from <= time < to and returns how many there were
+     */
+    public long scanRows(String symbol, ArchiveSeries series, long from, long to, RowVisitor visitor) throws IOException {
+        double[] values = new double[series.columns()];
+        long rows = 0;
+        for (ArchiveSegment segment : overlapping(symbol, series, from, to)) {
+            int count = segment.count();
+            for (int row = segment.lowerBound(from, count); row < count; row++) {
+                long time = segment.time(row);
+                if (time >= to) return rows;
+                for (int column = 0; column < values.length; column++) {
+                    values[column] = segment.value(column, row);
+                }
+                visitor.accept(time, values);
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * earliest archived time for the series, Long.MIN_VALUE if there is none
+     */
+    public long firstTime(String symbol, ArchiveSeries series) throws IOException {
+        for (Path file : segments(TickArchive.seriesDir(root, symbol, series))) {
+            ArchiveSegment segment = ArchiveSegment.open(file, false);
+            if (segment.count() > 0) return segment.firstTime();
+        }
+        return Long.MIN_VALUE;
+    }
+
+    // mapped lazily as the scan gets to them, so stopping early maps nothing more
+    private Iterable<ArchiveSegment> overlapping(String symbol, ArchiveSeries series, long from, long to) throws IOException {
+        if (from >= to) return List.of();
+
+        long firstDay = Math.floorDiv(from, ArchiveWriter.DAY_MILLIS);
+        long lastDay = Math.floorDiv(to - 1, ArchiveWriter.DAY_MILLIS);
+        List<Path> files = new ArrayList<>();
+        for (Path file : segments(TickArchive.seriesDir(root, symbol, series))) {
+            long day = ArchiveWriter.dayOf(file.getFileName().toString());
+            if (day >= firstDay && day <= lastDay) files.add(file);
+        }
+        return () -> files.stream().map(file -> {
+            try {
+                return ArchiveSegment.open(file, false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).iterator();
+    }
+
+    /**
+     * segment files of a series directory in time order (the names sort by day, then sequence)
+     */
+    static List<Path> segments(Path dir) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        for (Path file : list(dir)) {
+            if (file.getFileName().toString().endsWith(".seg")) segments.add(file);
+        }
+        return segments;
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        } catch (NoSuchFileException e) {
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.cryptoadvisor.market;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * one archive file: the rows of one symbol for one UTC day, memory-mapped.
+ *
+ * layout (big-endian), everything at a fixed offset so a row is written in place:
+ *   header   64 bytes: magic, version, columns, capacity, index stride, resolution, day,
+ *            row count, sealed flag, first and last time
+ *   index    time of every stride-th row, so a lookup only touches one block of the times
+ *   times    capacity longs
+ *   columns  capacity doubles per column
+ * a row is written column by column and only counts once the row count is bumped, so a
+ * reader never sees a half-written row: the count is stored after a release fence and read
+ * before an acquire fence. a sealed file is complete and has no spare capacity.
+ */
+final class ArchiveSegment {
+    static final int MAGIC = 0x43415441; // "CATA"
+    static final short VERSION = 1;
+    static final int INDEX_STRIDE = 4096;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int VERSION_AT = 4;
+    private static final int COLUMNS_AT = 6;
+    private static final int CAPACITY_AT = 8;
+    private static final int STRIDE_AT = 12;
+    private static final int RESOLUTION_AT = 16;
+    private static final int DAY_AT = 24;
+    private static final int COUNT_AT = 32;
+    private static final int SEALED_AT = 36;
+    private static final int FIRST_TIME_AT = 40;
+    private static final int LAST_TIME_AT = 48;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int columns;
+    private final int capacity;
+    private final int stride;
+    private final int timesAt;
+    private final int columnsAt;
+
+    private ArchiveSegment(Path file, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not an archive segment: " + file);
+        }
+        if (buffer.getShort(VERSION_AT) != VERSION) {
+            throw new IOException("unsupported archive version " + buffer.getShort(VERSION_AT) + ": " + file);
+        }
+        this.columns = buffer.getShort(COLUMNS_AT);
+        this.capacity = buffer.getInt(CAPACITY_AT);
+        this.stride = buffer.getInt(STRIDE_AT);
+        this.timesAt = HEADER_BYTES + indexSlots(capacity, stride) * Long.BYTES;
+        this.columnsAt = timesAt + capacity * Long.BYTES;
+        if (columns < 0 || capacity < 0 || stride <= 0 || fileSize(columns, capacity, stride) > buffer.capacity()) {
+            throw new IOException("corrupt archive header: " + file);
+        }
+    }
+
+    static ArchiveSegment create(Path file, ArchiveSeries series, long day, int capacity) throws IOException {
+        return create(file, series.columns(), series.resolutionMillis(), day, capacity);
+    }
+
+    private static ArchiveSegment create(Path file, int columns, long resolution, long day, int capacity) throws IOException {
+        long size = fileSize(columns, capacity, INDEX_STRIDE);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segment of " + capacity + " rows is over 2 GB");
+        }
+        // set up under another name and moved into place, so a reader never finds the file
+        // before its header is written
+        Path staging = file.resolveSibling(file.getFileName() + ".new");
+        Files.deleteIfExists(staging);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(staging, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // mapping past the end grows the file; untouched pages stay sparse on disk
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putShort(VERSION_AT, VERSION);
+            buffer.putShort(COLUMNS_AT, (short) columns);
+            buffer.putInt(CAPACITY_AT, capacity);
+            buffer.putInt(STRIDE_AT, INDEX_STRIDE);
+            buffer.putLong(RESOLUTION_AT, resolution);
+            buffer.putLong(DAY_AT, day);
+            buffer.putInt(COUNT_AT, 0);
+            buffer.putInt(SEALED_AT, 0);
+            buffer.putLong(FIRST_TIME_AT, Long.MIN_VALUE);
+            buffer.putLong(LAST_TIME_AT, Long.MIN_VALUE);
+        }
+        try {
+            Files.move(staging, file, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(staging, file);
+        }
+        return new ArchiveSegment(file, buffer);
+    }
+
+    static ArchiveSegment open(Path file, boolean writable) throws IOException {
+        StandardOpenOption[] options = writable
+                ? new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[] {StandardOpenOption.READ};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+            return new ArchiveSegment(file, channel.map(mode, 0, channel.size()));
+        }
+    }
+
+    /**
+     * writes a sealed copy holding just the rows, so a finished day takes no spare space
+     */
+    void compactTo(Path target) throws IOException {
+        int count = count();
+        ArchiveSegment copy = create(target, columns, resolutionMillis(), day(), count);
+        for (int row = 0; row < count; row++) {
+            copy.writeTime(row, time(row));
+            for (int column = 0; column < columns; column++) {
+                copy.writeValue(column, row, value(column, row));
+            }
+        }
+        if (count > 0) copy.commit(count, lastTime());
+        copy.buffer.putInt(SEALED_AT, 1);
+        copy.force();
+    }
+
+    Path file() {
+        return file;
+    }
+
+    int columns() {
+        return columns;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    long resolutionMillis() {
+        return buffer.getLong(RESOLUTION_AT);
+    }
+
+    long day() {
+        return buffer.getLong(DAY_AT);
+    }
+
+    int count() {
+        int count = buffer.getInt(COUNT_AT);
+        // rows below the count are not read before the count itself
+        VarHandle.acquireFence();
+        return count;
+    }
+
+    boolean isSealed() {
+        return buffer.getInt(SEALED_AT) != 0;
+    }
+
+    boolean isFull() {
+        return count() >= capacity;
+    }
+
+    long firstTime() {
+        return buffer.getLong(FIRST_TIME_AT);
+    }
+
+    long lastTime() {
+        return buffer.getLong(LAST_TIME_AT);
+    }
+
+    long time(int row) {
+        return buffer.getLong(timesAt + row * Long.BYTES);
+    }
+
+    double value(int column, int row) {
+        return buffer.getDouble(columnAt(column) + row * Double.BYTES);
+    }
+
+    void writeTime(int row, long time) {
+        buffer.putLong(timesAt + row * Long.BYTES, time);
+        if (row % stride == 0) {
+            buffer.putLong(HEADER_BYTES + (row / stride) * Long.BYTES, time);
+        }
+    }
+
+    void writeValue(int column, int row, double value) {
+        buffer.putDouble(columnAt(column) + row * Double.BYTES, value);
+    }
+
+    /**
+     * makes rows below count visible to readers
+     */
+    void commit(int count, long lastTime) {
+        if (firstTime() == Long.MIN_VALUE) {
+            buffer.putLong(FIRST_TIME_AT, time(0));
+        }
+        buffer.putLong(LAST_TIME_AT, lastTime);
+        // the row's values are in place before the count that covers them
+        VarHandle.releaseFence();
+        buffer.putInt(COUNT_AT, count);
+    }
+
+    /**
+     * first row below count with a time at or after the given one, count if none.
+     * the index narrows the search to one stride of the times column.
+     */
+    int lowerBound(long time, int count) {
+        int blocks = (count + stride - 1) / stride;
+        int low = 0;
+        int high = blocks;
+        // first block whose first time is at or after the target
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(HEADER_BYTES + mid * Long.BYTES) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        if (low == 0) return 0;
+
+        // the answer is in the block before it, or is that block's first row
+        int from = (low - 1) * stride;
+        int to = Math.min(count, low * stride);
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (time(mid) < time) {
+                from = mid + 1;
+            } else {
+                to = mid;
+            }
+        }
+        return from;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    private int columnAt(int column) {
+        return columnsAt + column * capacity * Double.BYTES;
+    }
+
+    private static int indexSlots(int capacity, int stride) {
+        return Math.max(1, (capacity + stride - 1) / stride);
+    }
+
+    private static long fileSize(int columns, int capacity, int stride) {
+        return HEADER_BYTES + (long) indexSlots(capacity, stride) * Long.BYTES
+                + (long) capacity * (Long.BYTES + (long) columns * Double.BYTES);
+    }
+}
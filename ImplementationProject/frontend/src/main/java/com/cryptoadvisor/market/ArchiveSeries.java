@@ -0,0 +1,29 @@
+package com.cryptoadvisor.market;
+
+import java.time.Duration;
+
+/**
+ * what an archive directory holds: raw ticks (price, volume) or bars of one resolution
+ * (open, high, low, close, volume). columns is the number of double columns after the time.
+ */
+public record ArchiveSeries(String name, int columns, long resolutionMillis) {
+    public static final ArchiveSeries TICKS = new ArchiveSeries("ticks", 2, 0);
+
+    public ArchiveSeries {
+        if (!name.matches("[a-z0-9-]+")) {
+            throw new IllegalArgumentException("bad series name " + name);
+        }
+    }
+
+    public static ArchiveSeries bars(Duration resolution) {
+        long millis = resolution.toMillis();
+        if (millis < 1000 || millis % 1000 != 0) {
+            throw new IllegalArgumentException("bar resolution must be whole seconds, got " + resolution);
+        }
+        return new ArchiveSeries("bars-" + millis / 1000 + "s", 5, millis);
+    }
+
+    public boolean isBars() {
+        return resolutionMillis > 0;
+    }
+}
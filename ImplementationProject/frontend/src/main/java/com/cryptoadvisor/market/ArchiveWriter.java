@@ -0,0 +1,226 @@
+package com.cryptoadvisor.market;
+
+import com.cryptoadvisor.util.BackgroundExecutor;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * appends one symbol's rows of one series to its archive directory.
+ * rows go into the segment for their UTC day; a new segment is started when the day changes
+ * or the current one is full, and the one left behind is sealed (rewritten without its spare
+ * capacity) on a background thread, so an append never waits for the copy. until the sealed
+ * copy replaces it the unsealed file reads the same. an unsealed segment from an earlier run
+ * is picked up where it stopped.
+ * rows are kept in time order: one older than the last row is refused, as TickSeries does, so
+ * the archive and the in-memory ticks fed from the same stream never disagree.
+ */
+public final class ArchiveWriter implements Closeable {
+    static final long DAY_MILLIS = 86_400_000L;
+
+    private final Path dir;
+    private final ArchiveSeries series;
+    private final int segmentCapacity;
+
+    // guarded by this
+    private ArchiveSegment current;
+    private int sequence;
+    private long lastTime = Long.MIN_VALUE;
+    // seals of segments left behind, one after another
+    private CompletableFuture<Void> sealing = CompletableFuture.completedFuture(null);
+
+    ArchiveWriter(Path dir, ArchiveSeries series, int segmentCapacity) throws IOException {
+        this(dir, series, segmentCapacity, true);
+    }
+
+    /**
+     * without resume the writer starts new segments even if the directory has some, which
+     * is how backfill writes days before the ones already there
+     */
+    ArchiveWriter(Path dir, ArchiveSeries series, int segmentCapacity, boolean resume) throws IOException {
+        this.dir = dir;
+        this.series = series;
+        this.segmentCapacity = segmentCapacity;
+        Files.createDirectories(dir);
+        if (resume) resume();
+    }
+
+    public ArchiveSeries series() {
+        return series;
+    }
+
+    /**
+     * false, and nothing written, if the row is older than the last one; likewise below
+     */
+    public synchronized boolean appendTick(long time, double price, double volume) {
+        requireColumns(2);
+        int row = rowFor(time);
+        if (row < 0) return false;
+        current.writeTime(row, lastTime);
+        current.writeValue(0, row, price);
+        current.writeValue(1, row, volume);
+        current.commit(row + 1, lastTime);
+        return true;
+    }
+
+    public synchronized boolean appendBar(long time, double open, double high, double low, double close, double volume) {
+        requireColumns(5);
+        int row = rowFor(time);
+        if (row < 0) return false;
+        current.writeTime(row, lastTime);
+        current.writeValue(0, row, open);
+        current.writeValue(1, row, high);
+        current.writeValue(2, row, low);
+        current.writeValue(3, row, close);
+        current.writeValue(4, row, volume);
+        current.commit(row + 1, lastTime);
+        return true;
+    }
+
+    /**
+     * a row of any series, one value per column
+     */
+    public synchronized boolean appendRow(long time, double... values) {
+        requireColumns(values.length);
+        int row = rowFor(time);
+        if (row < 0) return false;
+        current.writeTime(row, lastTime);
+        for (int column = 0; column < values.length; column++) {
+            current.writeValue(column, row, values[column]);
+        }
+        current.commit(row + 1, lastTime);
+        return true;
+    }
+
+    /**
+     * time of the last row written, Long.MIN_VALUE if none
+     */
+    public synchronized long lastTime() {
+        return lastTime;
+    }
+
+    /**
+     * writes the current segment's pages out to disk
+     */
+    public synchronized void flush() {
+        if (current != null) current.force();
+    }
+
+    /**
+     * the current segment stays unsealed so the next run can carry on with it.
+     * waits for segments already left behind to be sealed.
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+        current = null;
+        sealing.join();
+    }
+
+    /**
+     * seals the current segment; for writers that won't add to its day again
+     */
+    synchronized void finish() throws IOException {
+        sealing.join();
+        if (current == null) return;
+        seal(current);
+        current = null;
+    }
+
+    static String fileName(long day, int sequence) {
+        return String.format("%s.%03d.seg", LocalDate.ofEpochDay(day), sequence);
+    }
+
+    static long dayOf(String fileName) {
+        return LocalDate.parse(fileName.substring(0, fileName.indexOf('.'))).toEpochDay();
+    }
+
+    private void requireColumns(int columns) {
+        if (series.columns() != columns) {
+            throw new IllegalStateException(series.name() + " has " + series.columns() + " value columns, not " + columns);
+        }
+    }
+
+    // moves to the right segment for the time and returns the row to write, with lastTime set;
+    // -1 for a row older than the last
+    private int rowFor(long time) {
+        if (time < lastTime) return -1;
+        lastTime = time;
+        long day = Math.floorDiv(lastTime, DAY_MILLIS);
+        try {
+            if (current == null) {
+                open(day, 0);
+            } else if (current.day() != day) {
+                sealLater(current);
+                open(day, 0);
+            } else if (current.isFull()) {
+                sealLater(current);
+                open(day, sequence + 1);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("can't roll archive segment in " + dir, e);
+        }
+        return current.count();
+    }
+
+    private void open(long day, int sequence) throws IOException {
+        // a sealed segment of this day may already be there from an earlier run
+        Path file = dir.resolve(fileName(day, sequence));
+        while (Files.exists(file)) {
+            file = dir.resolve(fileName(day, ++sequence));
+        }
+        current = ArchiveSegment.create(file, series, day, segmentCapacity);
+        this.sequence = sequence;
+    }
+
+    // nothing writes to the segment any more, so it can be copied without the lock
+    private void sealLater(ArchiveSegment segment) {
+        sealing = sealing.thenRunAsync(() -> {
+            try {
+                seal(segment);
+            } catch (IOException e) {
+                System.err.println("Could not seal archive segment " + segment.file() + ": " + e.getMessage());
+            }
+        }, BackgroundExecutor.shared());
+    }
+
+    private void seal(ArchiveSegment segment) throws IOException {
+        Path file = segment.file();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.deleteIfExists(tmp);
+        segment.compactTo(tmp);
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            // e.g. still mapped by a reader on windows; the unsealed file is just as readable
+            System.err.println("Could not seal archive segment " + file + ": " + e.getMessage());
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    private void resume() throws IOException {
+        List<Path> segments = ArchiveReader.segments(dir);
+        if (segments.isEmpty()) return;
+
+        Path last = segments.get(segments.size() - 1);
+        ArchiveSegment segment = ArchiveSegment.open(last, true);
+        if (segment.count() > 0) {
+            lastTime = segment.lastTime();
+        }
+        String name = last.getFileName().toString();
+        sequence = Integer.parseInt(name.substring(name.indexOf('.') + 1, name.lastIndexOf('.')));
+        if (!segment.isSealed() && segment.columns() == series.columns()) {
+            current = segment;
+        }
+    }
+}
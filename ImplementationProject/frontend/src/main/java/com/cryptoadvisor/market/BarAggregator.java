@@ -0,0 +1,204 @@
+package com.cryptoadvisor.market;
+
+import com.cryptoadvisor.metrics.Counter;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * builds OHLC bars at several resolutions at once from one tick stream, one pass per tick.
+ * bars are aligned to the UTC epoch (so 1d bars are UTC days) and held per symbol id in
+ * BarSeries that charts and indicators read directly.
+ *
+ * a bar stays open until the newest tick time seen for its symbol (the watermark) passes its
+ * end plus the late-tick tolerance; then it is closed for good and handed to the listener.
+ * a tick up to the tolerance behind the watermark still lands in its bar; an older one is
+ * dropped and counted. with no ticks, bars close on the next tick or advanceTo.
+ *
+ * ticks must come from one thread at a time; the series can be read from any thread.
+ */
+public final class BarAggregator {
+    public static final List<Duration> DEFAULT_RESOLUTIONS = List.of(
+            Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofHours(1), Duration.ofDays(1));
+    // bars kept per resolution: an hour of 1s, a day of 1m, a week of 5m, 90 days of 1h, two years of 1d
+    private static final int[] DEFAULT_CAPACITIES = {3_600, 1_440, 2_016, 2_160, 730};
+    private static final Duration DEFAULT_TOLERANCE = Duration.ofSeconds(5);
+
+    private static final BarAggregator INSTANCE = createDefault();
+
+    /**
+     * called on the ticking thread as each bar closes
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void barClosed(int symbol, int resolution, long time, double open, double high, double low, double close, double volume);
+    }
+
+    private final long[] resolutions;
+    private final int[] capacities;
+    private final long toleranceMillis;
+    private final Listener listener;
+
+    // guarded by this for writes
+    private final BarSeries[][] series;
+    private final long[] watermarks;
+    private final Counter dropped = new Counter();
+
+    public BarAggregator(int maxSymbols, List<Duration> resolutions, int[] capacities, Duration tolerance, Listener listener) {
+        if (resolutions.size() != capacities.length) {
+            throw new IllegalArgumentException("one capacity per resolution");
+        }
+        this.resolutions = new long[resolutions.size()];
+        for (int i = 0; i < this.resolutions.length; i++) {
+            this.resolutions[i] = resolutions.get(i).toMillis();
+            if (this.resolutions[i] <= 0) {
+                throw new IllegalArgumentException("resolution must be positive, got " + resolutions.get(i));
+            }
+        }
+        this.capacities = capacities.clone();
+        this.toleranceMillis = tolerance.toMillis();
+        this.listener = listener;
+        this.series = new BarSeries[maxSymbols][];
+        this.watermarks = new long[maxSymbols];
+        Arrays.fill(watermarks, Long.MIN_VALUE);
+    }
+
+    /**
+     * bars for the live price stream, by TickStore symbol id. bars of a minute and longer
+     * are archived to the TickArchive as they close.
+     */
+    public static BarAggregator getInstance() {
+        return INSTANCE;
+    }
+
+    private static BarAggregator createDefault() {
+        TickStore ticks = TickStore.getInstance();
+        TickArchive archive = TickArchive.getInstance();
+        ArchiveSeries[] archived = new ArchiveSeries[DEFAULT_RESOLUTIONS.size()];
+        for (int i = 0; i < archived.length; i++) {
+            Duration resolution = DEFAULT_RESOLUTIONS.get(i);
+            archived[i] = resolution.compareTo(Duration.ofMinutes(1)) >= 0 ? ArchiveSeries.bars(resolution) : null;
+        }
+        BarAggregator aggregator = new BarAggregator(ticks.maxSymbols(), DEFAULT_RESOLUTIONS, DEFAULT_CAPACITIES, DEFAULT_TOLERANCE,
+                (symbol, resolution, time, open, high, low, close, volume) -> {
+                    if (archived[resolution] != null) {
+                        archive.recordBar(ticks.symbols().name(symbol), archived[resolution], time, open, high, low, close, volume);
+                    }
+                });
+        MetricsRegistry metrics = MetricsRegistry.get();
+        metrics.gauge("market.bars.bytes").bind(aggregator::heapBytes);
+        metrics.gauge("market.bars.dropped").bind(aggregator.dropped::get);
+        return aggregator;
+    }
+
+    public int resolutionCount() {
+        return resolutions.length;
+    }
+
+    public long resolutionMillis(int resolution) {
+        return resolutions[resolution];
+    }
+
+    /**
+     * index of the resolution, -1 if it isn't built
+     */
+    public int resolutionIndex(Duration resolution) {
+        long millis = resolution.toMillis();
+        for (int i = 0; i < resolutions.length; i++) {
+            if (resolutions[i] == millis) return i;
+        }
+        return -1;
+    }
+
+    public long toleranceMillis() {
+        return toleranceMillis;
+    }
+
+    /**
+     * false if the tick was too late to use
+     */
+    public synchronized boolean onTick(int symbol, long time, double price, double volume) {
+        if (symbol < 0 || symbol >= series.length) return false;
+
+        long watermark = watermarks[symbol];
+        if (watermark != Long.MIN_VALUE && time < watermark - toleranceMillis) {
+            dropped.increment();
+            return false;
+        }
+
+        BarSeries[] bars = seriesFor(symbol);
+        boolean used = true;
+        for (int r = 0; r < resolutions.length; r++) {
+            long barTime = time - Math.floorMod(time, resolutions[r]);
+            used &= bars[r].add(barTime, time, price, volume);
+        }
+        if (!used) dropped.increment();
+
+        if (time > watermark) {
+            watermarks[symbol] = time;
+            for (int r = 0; r < resolutions.length; r++) {
+                bars[r].closeUpTo(time, toleranceMillis, symbol, r, listener);
+            }
+        }
+        return used;
+    }
+
+    /**
+     * moves every symbol's watermark up to the given time, closing the bars that ends.
+     * for quiet symbols whose bars would otherwise wait for their next tick.
+     */
+    public synchronized void advanceTo(long time) {
+        for (int symbol = 0; symbol < series.length; symbol++) {
+            BarSeries[] bars = series[symbol];
+            if (bars == null || watermarks[symbol] >= time) continue;
+
+            watermarks[symbol] = time;
+            for (int r = 0; r < resolutions.length; r++) {
+                bars[r].closeUpTo(time, toleranceMillis, symbol, r, listener);
+            }
+        }
+    }
+
+    /**
+     * null until the symbol's first tick
+     */
+    public BarSeries series(int symbol, int resolution) {
+        BarSeries[] bars;
+        synchronized (this) {
+            bars = symbol >= 0 && symbol < series.length ? series[symbol] : null;
+        }
+        return bars != null ? bars[resolution] : null;
+    }
+
+    public long droppedTicks() {
+        return dropped.get();
+    }
+
+    /**
+     * heap held by the bar columns, including unused room
+     */
+    public synchronized long heapBytes() {
+        long total = 0;
+        for (BarSeries[] bars : series) {
+            if (bars == null) continue;
+            for (BarSeries resolution : bars) {
+                total += resolution.heapBytes();
+            }
+        }
+        return total;
+    }
+
+    private BarSeries[] seriesFor(int symbol) {
+        BarSeries[] bars = series[symbol];
+        if (bars == null) {
+            bars = new BarSeries[resolutions.length];
+            for (int r = 0; r < bars.length; r++) {
+                bars[r] = new BarSeries(resolutions[r], capacities[r]);
+            }
+            series[symbol] = bars;
+        }
+        return bars;
+    }
+}
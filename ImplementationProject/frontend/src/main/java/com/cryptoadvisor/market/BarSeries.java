@@ -0,0 +1,325 @@
+package com.cryptoadvisor.market;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * OHLC bars of one resolution for one symbol, in a fixed-capacity ring of primitive columns,
+ * oldest dropped first. filled by a BarAggregator.
+ * the newest few bars may still be open (taking ticks, or waiting out the late-tick
+ * tolerance); every bar before them is closed and won't change again.
+ * columns start small and double up to the capacity, like TickSeries.
+ */
+public final class BarSeries {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private final long resolutionMillis;
+    private final int capacity;
+
+    // guarded by lock
+    private long[] times;
+    private double[] opens;
+    private double[] highs;
+    private double[] lows;
+    private double[] closes;
+    private double[] volumes;
+    // times of the ticks that set each open and close, so a late tick lands in the right place
+    private long[] openTimes;
+    private long[] closeTimes;
+    private int head;
+    private int size;
+    private int open;
+
+    BarSeries(long resolutionMillis, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, got " + capacity);
+        }
+        this.resolutionMillis = resolutionMillis;
+        this.capacity = capacity;
+        int initial = Math.min(capacity, INITIAL_CAPACITY);
+        times = new long[initial];
+        opens = new double[initial];
+        highs = new double[initial];
+        lows = new double[initial];
+        closes = new double[initial];
+        volumes = new double[initial];
+        openTimes = new long[initial];
+        closeTimes = new long[initial];
+    }
+
+    public long resolutionMillis() {
+        return resolutionMillis;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * bars held, open ones included
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * bars that are final, oldest first; always a prefix of the series
+     */
+    public int closedSize() {
+        long stamp = lock.readLock();
+        try {
+            return size - open;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * open time of the newest bar, Long.MIN_VALUE when empty
+     */
+    public long lastTime() {
+        long stamp = lock.readLock();
+        try {
+            return size == 0 ? Long.MIN_VALUE : times[slot(size - 1)];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * number of bars opening in from <= time < to
+     */
+    public int count(long from, long to) {
+        long stamp = lock.readLock();
+        try {
+            return Math.max(0, lowerBound(to) - lowerBound(from));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * copies the bars opening in from <= time < to into the given columns, oldest first, and
+     * returns how many were copied. any column may be null; copying stops when the shortest
+     * of the others is full.
+     */
+    public int copy(long from, long to, long[] timesOut, double[] opensOut, double[] highsOut,
+            double[] lowsOut, double[] closesOut, double[] volumesOut) {
+        int room = room(timesOut, Integer.MAX_VALUE);
+        room = room(opensOut, room);
+        room = room(highsOut, room);
+        room = room(lowsOut, room);
+        room = room(closesOut, room);
+        room = room(volumesOut, room);
+
+        long stamp = lock.readLock();
+        try {
+            int first = lowerBound(from);
+            int count = Math.min(room, Math.max(0, lowerBound(to) - first));
+            if (count == 0) return 0;
+
+            // at most two runs: up to the end of the arrays, then from slot 0
+            int start = slot(first);
+            int run = Math.min(count, times.length - start);
+            copyRun(start, 0, run, timesOut, opensOut, highsOut, lowsOut, closesOut, volumesOut);
+            if (run < count) {
+                copyRun(0, run, count - run, timesOut, opensOut, highsOut, lowsOut, closesOut, volumesOut);
+            }
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * calls the visitor for each bar opening in from <= time < to. the aggregator waits
+     * until it returns, so keep it short.
+     */
+    public void forEach(long from, long to, ArchiveReader.BarVisitor visitor) {
+        long stamp = lock.readLock();
+        try {
+            int last = lowerBound(to);
+            for (int i = lowerBound(from); i < last; i++) {
+                int slot = slot(i);
+                visitor.accept(times[slot], opens[slot], highs[slot], lows[slot], closes[slot], volumes[slot]);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // aggregator side, always from the aggregator's one writing thread
+
+    /**
+     * folds a tick into the open bar starting at barTime, opening it if needed.
+     * returns false if that bar is already closed or has fallen out of the ring.
+     */
+    boolean add(long barTime, long time, double price, double volume) {
+        long stamp = lock.writeLock();
+        try {
+            // the open bars are the newest few, so look from the end
+            int index = size - 1;
+            while (index >= size - open && times[slot(index)] > barTime) {
+                index--;
+            }
+            if (index >= size - open && times[slot(index)] == barTime) {
+                int slot = slot(index);
+                highs[slot] = Math.max(highs[slot], price);
+                lows[slot] = Math.min(lows[slot], price);
+                volumes[slot] += volume;
+                if (time < openTimes[slot]) {
+                    opens[slot] = price;
+                    openTimes[slot] = time;
+                }
+                if (time >= closeTimes[slot]) {
+                    closes[slot] = price;
+                    closeTimes[slot] = time;
+                }
+                return true;
+            }
+            if (index >= 0 && index < size - open && times[slot(index)] >= barTime) {
+                // belongs to a closed bar
+                return false;
+            }
+            return insertAfter(index, barTime, time, price, volume);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * closes open bars, oldest first, while their end plus the tolerance is at or before the
+     * watermark, handing each to the listener
+     */
+    void closeUpTo(long watermark, long toleranceMillis, int symbol, int resolution, BarAggregator.Listener listener) {
+        // only this thread writes, so it can look before taking the lock; usually nothing is due
+        while (open > 0 && times[slot(size - open)] + resolutionMillis + toleranceMillis <= watermark) {
+            long barTime;
+            double o, h, l, c, v;
+            long stamp = lock.writeLock();
+            try {
+                int slot = slot(size - open);
+                barTime = times[slot];
+                open--;
+                o = opens[slot];
+                h = highs[slot];
+                l = lows[slot];
+                c = closes[slot];
+                v = volumes[slot];
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            // outside the lock so the listener can read this series
+            if (listener != null) {
+                listener.barClosed(symbol, resolution, barTime, o, h, l, c, v);
+            }
+        }
+    }
+
+    long heapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) times.length * (3 * Long.BYTES + 5 * Double.BYTES);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // opens a bar right after the given index (-1 for the front); only open bars can be after it
+    private boolean insertAfter(int index, long barTime, long time, double price, double volume) {
+        if (size == times.length && !grow()) {
+            // full, and the new bar would be the oldest, so the first to go
+            if (index < 0) return false;
+            // drop the oldest bar
+            if (open == size) open--;
+            head = head + 1 == times.length ? 0 : head + 1;
+            size--;
+            index--;
+        }
+        int at = index + 1;
+        for (int i = size; i > at; i--) {
+            int to = slot(i);
+            int from = slot(i - 1);
+            times[to] = times[from];
+            opens[to] = opens[from];
+            highs[to] = highs[from];
+            lows[to] = lows[from];
+            closes[to] = closes[from];
+            volumes[to] = volumes[from];
+            openTimes[to] = openTimes[from];
+            closeTimes[to] = closeTimes[from];
+        }
+        int slot = slot(at);
+        times[slot] = barTime;
+        opens[slot] = price;
+        highs[slot] = price;
+        lows[slot] = price;
+        closes[slot] = price;
+        volumes[slot] = volume;
+        openTimes[slot] = time;
+        closeTimes[slot] = time;
+        size++;
+        open++;
+        return true;
+    }
+
+    private void copyRun(int slot, int offset, int length, long[] timesOut, double[] opensOut, double[] highsOut,
+            double[] lowsOut, double[] closesOut, double[] volumesOut) {
+        if (timesOut != null) System.arraycopy(times, slot, timesOut, offset, length);
+        if (opensOut != null) System.arraycopy(opens, slot, opensOut, offset, length);
+        if (highsOut != null) System.arraycopy(highs, slot, highsOut, offset, length);
+        if (lowsOut != null) System.arraycopy(lows, slot, lowsOut, offset, length);
+        if (closesOut != null) System.arraycopy(closes, slot, closesOut, offset, length);
+        if (volumesOut != null) System.arraycopy(volumes, slot, volumesOut, offset, length);
+    }
+
+    private static int room(long[] column, int room) {
+        return column == null ? room : Math.min(room, column.length);
+    }
+
+    private static int room(double[] column, int room) {
+        return column == null ? room : Math.min(room, column.length);
+    }
+
+    // first bar (oldest = 0) opening at or after time, size if none
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[slot(mid)] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slot(int index) {
+        int slot = head + index;
+        return slot >= times.length ? slot - times.length : slot;
+    }
+
+    // only reached before the ring first wraps, so head is still 0
+    private boolean grow() {
+        if (times.length == capacity) return false;
+
+        int length = (int) Math.min(capacity, times.length * 2L);
+        times = Arrays.copyOf(times, length);
+        opens = Arrays.copyOf(opens, length);
+        highs = Arrays.copyOf(highs, length);
+        lows = Arrays.copyOf(lows, length);
+        closes = Arrays.copyOf(closes, length);
+        volumes = Arrays.copyOf(volumes, length);
+        openTimes = Arrays.copyOf(openTimes, length);
+        closeTimes = Arrays.copyOf(closeTimes, length);
+        return true;
+    }
+}
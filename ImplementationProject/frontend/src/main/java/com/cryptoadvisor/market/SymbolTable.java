@@ -0,0 +1,59 @@
+package com.cryptoadvisor.market;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * interns symbol names (crypto:bitcoin, stock:AAPL) to dense ids from 0 up, so per-symbol
+ * state can live in plain arrays indexed by id. ids are never reused.
+ * look a symbol up once and keep the id; the lookup itself is a hash map get.
+ */
+public final class SymbolTable {
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private volatile int size;
+
+    /**
+     * id for the symbol, assigning the next free one the first time it is seen
+     */
+    public int intern(String symbol) {
+        Integer id = ids.get(symbol);
+        if (id != null) return id;
+
+        synchronized (this) {
+            id = ids.get(symbol);
+            if (id != null) return id;
+
+            int next = size;
+            String[] current = names;
+            if (next == current.length) {
+                current = Arrays.copyOf(current, next * 2);
+            }
+            current[next] = symbol;
+            names = current;
+            // published after the name so a reader that finds the id can resolve it
+            ids.put(symbol, next);
+            size = next + 1;
+            return next;
+        }
+    }
+
+    /**
+     * id for a symbol already interned, -1 otherwise
+     */
+    public int id(String symbol) {
+        Integer id = ids.get(symbol);
+        return id == null ? -1 : id;
+    }
+
+    public String name(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("no symbol with id " + id);
+        }
+        return names[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
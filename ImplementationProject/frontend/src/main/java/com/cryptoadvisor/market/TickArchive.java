@@ -0,0 +1,139 @@
+package com.cryptoadvisor.market;
+
+import com.cryptoadvisor.metrics.Counter;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.cryptoadvisor.util.AppPaths;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * price history on disk, kept across runs without a database.
+ * laid out as archive/<type>/<id>/<series>/<yyyy-MM-dd>.<n>.seg under the data directory,
+ * e.g. archive/crypto/bitcoin/ticks/2024-03-01.000.seg; see ArchiveSegment for the file format.
+ * live prices are recorded as ticks, and as bars as the BarAggregator closes them;
+ * ArchiveBackfill fills in earlier months from the backend.
+ * turn recording off with -Dcryptoadvisor.archive.enabled=false
+ */
+public final class TickArchive implements Closeable {
+    // ~6 MB mapped per tick segment, enough for a tick every 0.33 s all day
+    static final int TICK_SEGMENT_ROWS = 1 << 18;
+    // sparse series such as issued recommendations
+    static final int EVENT_SEGMENT_ROWS = 1 << 12;
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("cryptoadvisor.archive.enabled", "true"));
+    private static final TickArchive INSTANCE = createDefault();
+
+    private final Path root;
+    private final Map<String, ArchiveWriter> writers = new ConcurrentHashMap<>();
+    private final Counter recorded = MetricsRegistry.get().counter("archive.recorded");
+    private final Counter failed = MetricsRegistry.get().counter("archive.failed");
+    private final Counter late = MetricsRegistry.get().counter("archive.late");
+
+    public TickArchive(Path root) {
+        this.root = root;
+    }
+
+    public static TickArchive getInstance() {
+        return INSTANCE;
+    }
+
+    private static TickArchive createDefault() {
+        TickArchive archive = new TickArchive(AppPaths.dataDir().resolve("archive"));
+        Runtime.getRuntime().addShutdownHook(new Thread(archive::close, "archive-flush"));
+        return archive;
+    }
+
+    public Path root() {
+        return root;
+    }
+
+    public ArchiveReader reader() {
+        return new ArchiveReader(root);
+    }
+
+    /**
+     * writer for one symbol's series, opened on first use and kept until close
+     */
+    public ArchiveWriter writer(String symbol, ArchiveSeries series) {
+        return writers.computeIfAbsent(symbol + "/" + series.name(), key -> {
+            try {
+                return new ArchiveWriter(seriesDir(root, symbol, series), series, segmentRows(series));
+            } catch (IOException e) {
+                throw new UncheckedIOException("can't open archive for " + symbol, e);
+            }
+        });
+    }
+
+    /**
+     * records a live tick; a failed write is logged and counted, never thrown. a tick older
+     * than the symbol's last is dropped and counted, as the TickStore does.
+     */
+    public void record(String symbol, long time, double price, double volume) {
+        if (!ENABLED) return;
+        try {
+            count(writer(symbol, ArchiveSeries.TICKS).appendTick(time, price, volume));
+        } catch (UncheckedIOException e) {
+            recordFailed(e);
+        }
+    }
+
+    /**
+     * records a closed live bar, the same way
+     */
+    public void recordBar(String symbol, ArchiveSeries series, long time, double open, double high, double low, double close, double volume) {
+        if (!ENABLED) return;
+        try {
+            count(writer(symbol, series).appendBar(time, open, high, low, close, volume));
+        } catch (UncheckedIOException e) {
+            recordFailed(e);
+        }
+    }
+
+    private void count(boolean appended) {
+        (appended ? recorded : late).increment();
+    }
+
+    private void recordFailed(UncheckedIOException e) {
+        // the first failure is enough in the log
+        if (failed.get() == 0) {
+            System.err.println("Archive write failed: " + e.getMessage());
+        }
+        failed.increment();
+    }
+
+    public void flush() {
+        writers.values().forEach(ArchiveWriter::flush);
+    }
+
+    @Override
+    public void close() {
+        writers.values().forEach(ArchiveWriter::close);
+        writers.clear();
+    }
+
+    static Path seriesDir(Path root, String symbol, ArchiveSeries series) {
+        int colon = symbol.indexOf(':');
+        if (colon <= 0 || colon == symbol.length() - 1) {
+            throw new IllegalArgumentException("expected type:id, got " + symbol);
+        }
+        return root.resolve(safeName(symbol.substring(0, colon)))
+                .resolve(safeName(symbol.substring(colon + 1)))
+                .resolve(series.name());
+    }
+
+    // a day of bars is a fixed number of rows; ticks and other rows roll over to a new segment when full
+    static int segmentRows(ArchiveSeries series) {
+        if (!series.isBars()) return ArchiveSeries.TICKS.equals(series) ? TICK_SEGMENT_ROWS : EVENT_SEGMENT_ROWS;
+        return (int) Math.min(TICK_SEGMENT_ROWS, (ArchiveWriter.DAY_MILLIS + series.resolutionMillis() - 1) / series.resolutionMillis());
+    }
+
+    private static String safeName(String part) {
+        String safe = part.replaceAll("[^A-Za-z0-9._-]", "_");
+        return safe.startsWith(".") ? "_" + safe.substring(1) : safe;
+    }
+}
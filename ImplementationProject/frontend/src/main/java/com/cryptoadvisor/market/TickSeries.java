@@ -0,0 +1,268 @@
+package com.cryptoadvisor.market;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * ticks for one symbol in a fixed-capacity ring, oldest overwritten first.
+ * time (epoch millis), price and volume sit in parallel primitive arrays. they start small
+ * and double up to the capacity; after that an append writes in place and allocates nothing.
+ * ticks stay in time order: one older than the newest is refused rather than restamped.
+ * appends are serialised by a lock; the newest values can be read without taking it.
+ */
+public final class TickSeries {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final StampedLock lock = new StampedLock();
+    private final int capacity;
+
+    // guarded by lock
+    private long[] times;
+    private double[] prices;
+    private double[] volumes;
+    // ring slot of the oldest tick
+    private int head;
+    private int size;
+    private long appended;
+
+    TickSeries(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+        int initial = Math.min(capacity, INITIAL_CAPACITY);
+        times = new long[initial];
+        prices = new double[initial];
+        volumes = new double[initial];
+    }
+
+    /**
+     * called back once per tick, oldest first
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(long time, double price, double volume);
+    }
+
+    /**
+     * false, and nothing stored, if the tick is older than the newest one
+     */
+    public boolean append(long time, double price, double volume) {
+        long stamp = lock.writeLock();
+        try {
+            if (size > 0 && time < times[slot(size - 1)]) {
+                return false;
+            }
+            int slot;
+            if (size < times.length || grow()) {
+                slot = slot(size);
+                size++;
+            } else {
+                // full: the oldest slot becomes the newest
+                slot = head;
+                head = head + 1 == times.length ? 0 : head + 1;
+            }
+            times[slot] = time;
+            prices[slot] = price;
+            volumes[slot] = volume;
+            appended++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int current = size;
+        if (lock.validate(stamp)) return current;
+
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * ticks ever appended, including those since overwritten
+     */
+    public long appended() {
+        long stamp = lock.readLock();
+        try {
+            return appended;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * time of the newest tick, Long.MIN_VALUE when empty
+     */
+    public long lastTime() {
+        long stamp = lock.tryOptimisticRead();
+        long value = newestTime(times, head, size);
+        if (lock.validate(stamp)) return value;
+
+        stamp = lock.readLock();
+        try {
+            return newestTime(times, head, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * price of the newest tick, NaN when empty
+     */
+    public double lastPrice() {
+        long stamp = lock.tryOptimisticRead();
+        double value = newestPrice(times, prices, head, size);
+        if (lock.validate(stamp)) return value;
+
+        stamp = lock.readLock();
+        try {
+            return newestPrice(times, prices, head, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * time of the oldest tick still held, Long.MIN_VALUE when empty
+     */
+    public long firstTime() {
+        long stamp = lock.readLock();
+        try {
+            return size == 0 ? Long.MIN_VALUE : times[head];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * number of ticks with from <= time < to
+     */
+    public int count(long from, long to) {
+        long stamp = lock.readLock();
+        try {
+            return Math.max(0, lowerBound(to) - lowerBound(from));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * copies the ticks with from <= time < to into the given arrays, oldest first, and returns
+     * how many were copied. any of the arrays may be null; copying stops when the shortest
+     * of the others is full.
+     */
+    public int copy(long from, long to, long[] timesOut, double[] pricesOut, double[] volumesOut) {
+        int room = Integer.MAX_VALUE;
+        if (timesOut != null) room = Math.min(room, timesOut.length);
+        if (pricesOut != null) room = Math.min(room, pricesOut.length);
+        if (volumesOut != null) room = Math.min(room, volumesOut.length);
+
+        long stamp = lock.readLock();
+        try {
+            int first = lowerBound(from);
+            int count = Math.min(room, Math.max(0, lowerBound(to) - first));
+            if (count == 0) return 0;
+
+            // at most two runs: up to the end of the arrays, then from slot 0
+            int start = slot(first);
+            int run = Math.min(count, times.length - start);
+            copyRun(start, 0, run, timesOut, pricesOut, volumesOut);
+            if (run < count) {
+                copyRun(0, run, count - run, timesOut, pricesOut, volumesOut);
+            }
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * calls the visitor for each tick with from <= time < to. appends to this series wait
+     * until it returns, so the visitor must not append here itself.
+     */
+    public void forEach(long from, long to, Visitor visitor) {
+        long stamp = lock.readLock();
+        try {
+            int last = lowerBound(to);
+            for (int i = lowerBound(from); i < last; i++) {
+                int slot = slot(i);
+                visitor.accept(times[slot], prices[slot], volumes[slot]);
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * bytes held by the columns right now
+     */
+    public long heapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) times.length * TickStore.BYTES_PER_TICK;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void copyRun(int slot, int offset, int length, long[] timesOut, double[] pricesOut, double[] volumesOut) {
+        if (timesOut != null) System.arraycopy(times, slot, timesOut, offset, length);
+        if (pricesOut != null) System.arraycopy(prices, slot, pricesOut, offset, length);
+        if (volumesOut != null) System.arraycopy(volumes, slot, volumesOut, offset, length);
+    }
+
+    // first tick (oldest = 0) at or after time, size if none
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[slot(mid)] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int slot(int index) {
+        int slot = head + index;
+        return slot >= times.length ? slot - times.length : slot;
+    }
+
+    // only reached before the ring first wraps, so head is still 0
+    private boolean grow() {
+        if (times.length == capacity) return false;
+
+        int length = (int) Math.min(capacity, times.length * 2L);
+        times = Arrays.copyOf(times, length);
+        prices = Arrays.copyOf(prices, length);
+        volumes = Arrays.copyOf(volumes, length);
+        return true;
+    }
+
+    // the optimistic readers may see fields from different appends; % keeps them in bounds
+    // until validate throws the value away
+    private static long newestTime(long[] times, int head, int size) {
+        if (size == 0) return Long.MIN_VALUE;
+        return times[(int) (((long) head + size - 1) % times.length)];
+    }
+
+    private static double newestPrice(long[] times, double[] prices, int head, int size) {
+        if (size == 0) return Double.NaN;
+        int length = Math.min(times.length, prices.length);
+        return prices[(int) (((long) head + size - 1) % length)];
+    }
+}
@@ -0,0 +1,138 @@
+package com.cryptoadvisor.market;
+
+import com.cryptoadvisor.metrics.Counter;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * in-memory price history for this session, one TickSeries per symbol.
+ * memory is bounded up front: at most maxSymbols series of ticksPerSymbol ticks, 24 bytes
+ * each (timestamp, price, volume). series are created on their first tick and grow as ticks
+ * arrive, so a quiet symbol costs a few kilobytes. the defaults keep about an hour per
+ * symbol at a tick a second, well short of a trading day.
+ * ticks for symbols past the limit are dropped and counted, as are ticks older than their
+ * symbol's newest.
+ */
+public final class TickStore {
+    public static final int BYTES_PER_TICK = Long.BYTES + Double.BYTES + Double.BYTES;
+
+    // 128 symbols x 4096 ticks, at most ~12 MB: about 68 minutes of history per symbol at one
+    // tick a second. a trading day at that rate is ~23400 ticks, so 256 symbols for a whole day
+    // would take ~144 MB; raise the limits only with that kind of heap to spare
+    private static final int DEFAULT_MAX_SYMBOLS = Integer.getInteger("cryptoadvisor.market.maxSymbols", 128);
+    private static final int DEFAULT_TICKS_PER_SYMBOL = Integer.getInteger("cryptoadvisor.market.ticksPerSymbol", 4096);
+
+    private static final TickStore INSTANCE = createDefault();
+
+    private final SymbolTable symbols = new SymbolTable();
+    private final AtomicReferenceArray<TickSeries> series;
+    private final int ticksPerSymbol;
+    private final Counter dropped = new Counter();
+    private final Counter late = new Counter();
+
+    public TickStore(int maxSymbols, int ticksPerSymbol) {
+        if (maxSymbols <= 0 || ticksPerSymbol <= 0) {
+            throw new IllegalArgumentException("maxSymbols and ticksPerSymbol must be positive");
+        }
+        this.series = new AtomicReferenceArray<>(maxSymbols);
+        this.ticksPerSymbol = ticksPerSymbol;
+    }
+
+    /**
+     * session-wide store fed by the live price stream
+     */
+    public static TickStore getInstance() {
+        return INSTANCE;
+    }
+
+    private static TickStore createDefault() {
+        TickStore store = new TickStore(DEFAULT_MAX_SYMBOLS, DEFAULT_TICKS_PER_SYMBOL);
+        MetricsRegistry metrics = MetricsRegistry.get();
+        metrics.gauge("market.symbols").bind(store.symbols::size);
+        metrics.gauge("market.ticks.bytes").bind(store::heapBytes);
+        metrics.gauge("market.ticks.dropped").bind(store.dropped::get);
+        metrics.gauge("market.ticks.late").bind(store.late::get);
+        return store;
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    /**
+     * id to append by; -1 if the store is already holding its limit of symbols
+     */
+    public int id(String symbol) {
+        int id = symbols.id(symbol);
+        if (id >= 0) return id < maxSymbols() ? id : -1;
+        if (symbols.size() >= maxSymbols()) return -1;
+
+        id = symbols.intern(symbol);
+        return id < maxSymbols() ? id : -1;
+    }
+
+    /**
+     * false if the tick was dropped: too many symbols, or older than the symbol's newest tick
+     */
+    public boolean append(String symbol, long time, double price, double volume) {
+        return append(id(symbol), time, price, volume);
+    }
+
+    public boolean append(int id, long time, double price, double volume) {
+        if (id < 0 || id >= maxSymbols()) {
+            dropped.increment();
+            return false;
+        }
+        TickSeries target = series.get(id);
+        if (target == null) {
+            series.compareAndSet(id, null, new TickSeries(ticksPerSymbol));
+            target = series.get(id);
+        }
+        if (!target.append(time, price, volume)) {
+            late.increment();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * null until the symbol's first tick
+     */
+    public TickSeries series(String symbol) {
+        int id = symbols.id(symbol);
+        return id >= 0 && id < maxSymbols() ? series.get(id) : null;
+    }
+
+    public TickSeries series(int id) {
+        return id >= 0 && id < maxSymbols() ? series.get(id) : null;
+    }
+
+    public int maxSymbols() {
+        return series.length();
+    }
+
+    public int ticksPerSymbol() {
+        return ticksPerSymbol;
+    }
+
+    /**
+     * upper bound on the heap the tick columns can take
+     */
+    public long maxHeapBytes() {
+        return (long) maxSymbols() * ticksPerSymbol * BYTES_PER_TICK;
+    }
+
+    /**
+     * heap the tick columns take now
+     */
+    public long heapBytes() {
+        long total = 0;
+        int count = Math.min(symbols.size(), maxSymbols());
+        for (int i = 0; i < count; i++) {
+            TickSeries current = series.get(i);
+            if (current != null) total += current.heapBytes();
+        }
+        return total;
+    }
+}
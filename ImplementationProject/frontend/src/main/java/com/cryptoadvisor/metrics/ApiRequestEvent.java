@@ -0,0 +1,37 @@
+package com.cryptoadvisor.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * jfr event for one http exchange, from send until the body has arrived
+ */
+@Name("com.cryptoadvisor.ApiRequest")
+@Label("API Request")
+@Category({"CryptoAdvisor", "Network"})
+@Description("One HTTP exchange with the backend, from send until the body has arrived")
+@StackTrace(false)
+public class ApiRequestEvent extends Event {
+    @Label("Method")
+    public String method;
+
+    @Label("Endpoint")
+    @Description("Request path with ids folded into {id}")
+    public String endpoint;
+
+    @Label("Status")
+    public int status;
+
+    @Label("Outcome")
+    @Description("Status class (2xx, 4xx, ...), error or cancelled")
+    public String outcome;
+
+    @Label("Response Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,22 @@
+package com.cryptoadvisor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * monotonically increasing count
+ */
+public final class Counter {
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    public long get() {
+        return value.sum();
+    }
+}
@@ -0,0 +1,29 @@
+package com.cryptoadvisor.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * jfr event for decoding one response body into model records
+ */
+@Name("com.cryptoadvisor.Decode")
+@Label("Decode")
+@Category({"CryptoAdvisor", "Decode"})
+@Description("Decoding one response body into model records")
+@StackTrace(false)
+public class DecodeEvent extends Event {
+    @Label("Field")
+    @Description("Top level field that was read, e.g. recommendations")
+    public String field;
+
+    @Label("Items")
+    public int items;
+
+    @Label("Body Length")
+    @Description("Length of the body in characters")
+    public int length;
+}
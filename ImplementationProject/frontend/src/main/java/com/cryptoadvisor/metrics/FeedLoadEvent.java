@@ -0,0 +1,26 @@
+package com.cryptoadvisor.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * jfr event spanning one home feed load, from the requests going out until every section
+ * has rendered
+ */
+@Name("com.cryptoadvisor.FeedLoad")
+@Label("Feed Load")
+@Category({"CryptoAdvisor", "Render"})
+@Description("One home feed load, from the requests going out until every section has rendered")
+@StackTrace(false)
+public class FeedLoadEvent extends Event {
+    @Label("From Snapshot")
+    @Description("A saved feed was on screen before the requests went out")
+    public boolean fromSnapshot;
+
+    @Label("Sections With Content")
+    public int sectionsWithContent;
+}
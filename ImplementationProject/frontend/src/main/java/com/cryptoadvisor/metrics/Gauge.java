@@ -0,0 +1,37 @@
+package com.cryptoadvisor.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * current value that goes up and down, e.g. requests in flight.
+ * either set directly or read from a supplier when sampled.
+ */
+public final class Gauge {
+    private final AtomicLong value = new AtomicLong();
+    private volatile LongSupplier source;
+
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    public void decrement() {
+        value.decrementAndGet();
+    }
+
+    public void set(long newValue) {
+        value.set(newValue);
+    }
+
+    /**
+     * sample the supplier instead of the stored value
+     */
+    public void bind(LongSupplier supplier) {
+        source = supplier;
+    }
+
+    public long get() {
+        LongSupplier supplier = source;
+        return supplier != null ? supplier.getAsLong() : value.get();
+    }
+}
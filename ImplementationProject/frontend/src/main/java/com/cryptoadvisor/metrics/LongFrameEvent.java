@@ -0,0 +1,36 @@
+package com.cryptoadvisor.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * jfr event for an fx frame over the long-frame threshold and the task it is blamed on
+ */
+@Name("com.cryptoadvisor.LongFrame")
+@Label("Long Frame")
+@Category({"CryptoAdvisor", "Render"})
+@Description("An FX frame over the long-frame threshold: queued runLater work plus the pulse's CSS and layout")
+@StackTrace(false)
+public class LongFrameEvent extends Event {
+    @Label("Frame Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long frameTime;
+
+    @Label("Pulse Time")
+    @Description("CSS and layout part of the frame")
+    @Timespan(Timespan.NANOSECONDS)
+    public long pulseTime;
+
+    @Label("Culprit")
+    @Description("Slowest 'screen/task' before the pulse, or layout if none came close")
+    public String culprit;
+
+    @Label("Culprit Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long culpritTime;
+}
@@ -0,0 +1,92 @@
+package com.cryptoadvisor.metrics;
+
+/**
+ * jmx views of the registry's series, one mbean per series under com.cryptoadvisor
+ */
+public final class MetricsMXBeans {
+
+    private MetricsMXBeans() {
+    }
+
+    public interface HistogramMXBean {
+        long getCount();
+
+        double getMean();
+
+        long getP50();
+
+        long getP90();
+
+        long getP99();
+
+        long getMax();
+
+        void reset();
+    }
+
+    public interface CounterMXBean {
+        long getCount();
+    }
+
+    public interface GaugeMXBean {
+        long getValue();
+    }
+
+    public interface RegistryMXBean {
+        String dump();
+
+        void resetHistograms();
+    }
+
+    record HistogramView(Histogram histogram) implements HistogramMXBean {
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        public long getP50() {
+            return histogram.percentile(50);
+        }
+
+        public long getP90() {
+            return histogram.percentile(90);
+        }
+
+        public long getP99() {
+            return histogram.percentile(99);
+        }
+
+        public long getMax() {
+            return histogram.getMax();
+        }
+
+        public void reset() {
+            histogram.reset();
+        }
+    }
+
+    record CounterView(Counter counter) implements CounterMXBean {
+        public long getCount() {
+            return counter.get();
+        }
+    }
+
+    record GaugeView(Gauge gauge) implements GaugeMXBean {
+        public long getValue() {
+            return gauge.get();
+        }
+    }
+
+    record RegistryView(MetricsRegistry registry) implements RegistryMXBean {
+        public String dump() {
+            return registry.dump();
+        }
+
+        public void resetHistograms() {
+            registry.resetHistograms();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.cryptoadvisor.metrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * process-wide metrics.
+ * a series is a name plus key=value tags, e.g. api.latency.micros{endpoint=/api/news,status=2xx}.
+ * each series is created on first use and registered as an mbean under com.cryptoadvisor,
+ * so jconsole or jcmd can read it while the app runs.
+ */
+public final class MetricsRegistry {
+    private static final String DOMAIN = "com.cryptoadvisor";
+    private static final MetricsRegistry INSTANCE = new MetricsRegistry();
+
+    // sorted so the dump groups series by name
+    private final Map<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+    private final Map<String, Counter> counters = new ConcurrentSkipListMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    private ScheduledExecutorService dumper;
+
+    private MetricsRegistry() {
+        register(DOMAIN + ":type=Metrics", new MetricsMXBeans.RegistryView(this));
+    }
+
+    public static MetricsRegistry get() {
+        return INSTANCE;
+    }
+
+    /**
+     * tags are alternating keys and values
+     */
+    public Histogram histogram(String name, String... tags) {
+        String id = seriesId(name, tags);
+        Histogram histogram = histograms.get(id);
+        if (histogram != null) return histogram;
+        return histograms.computeIfAbsent(id, k -> {
+            Histogram created = new Histogram();
+            register(objectName("Histogram", name, tags), new MetricsMXBeans.HistogramView(created));
+            return created;
+        });
+    }
+
+    public Counter counter(String name, String... tags) {
+        String id = seriesId(name, tags);
+        Counter counter = counters.get(id);
+        if (counter != null) return counter;
+        return counters.computeIfAbsent(id, k -> {
+            Counter created = new Counter();
+            register(objectName("Counter", name, tags), new MetricsMXBeans.CounterView(created));
+            return created;
+        });
+    }
+
+    public Gauge gauge(String name, String... tags) {
+        String id = seriesId(name, tags);
+        Gauge gauge = gauges.get(id);
+        if (gauge != null) return gauge;
+        return gauges.computeIfAbsent(id, k -> {
+            Gauge created = new Gauge();
+            register(objectName("Gauge", name, tags), new MetricsMXBeans.GaugeView(created));
+            return created;
+        });
+    }
+
+    public void resetHistograms() {
+        histograms.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * every series as plain text, one per line
+     */
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        out.append("# cryptoadvisor metrics ").append(Instant.now()).append('\n');
+
+        out.append(String.format("%-80s %8s %10s %10s %10s %10s %10s%n",
+                "histogram", "count", "mean", "p50", "p90", "p99", "max"));
+        histograms.forEach((id, h) -> out.append(String.format("%-80s %8d %10.0f %10d %10d %10d %10d%n",
+                id, h.getCount(), h.getMean(), h.percentile(50), h.percentile(90), h.percentile(99), h.getMax())));
+
+        out.append(String.format("%n%-80s %8s%n", "counter", "count"));
+        counters.forEach((id, c) -> out.append(String.format("%-80s %8d%n", id, c.get())));
+
+        out.append(String.format("%n%-80s %8s%n", "gauge", "value"));
+        gauges.forEach((id, g) -> out.append(String.format("%-80s %8d%n", id, g.get())));
+        return out.toString();
+    }
+
+    /**
+     * rewrites the file with the current dump every interval, and once more at exit
+     */
+    public synchronized void startDump(Path file, Duration interval) {
+        if (dumper != null) return;
+
+        dumper = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("metrics-dump").daemon().factory());
+        long millis = interval.toMillis();
+        dumper.scheduleAtFixedRate(() -> writeDump(file), millis, millis, TimeUnit.MILLISECONDS);
+        Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().unstarted(() -> writeDump(file)));
+        System.out.println("metrics dump: " + file + " every " + interval.toSeconds() + "s");
+    }
+
+    private void writeDump(Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.writeString(temp, dump());
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("metrics dump failed: " + e.getMessage());
+        }
+    }
+
+    private void register(String objectName, Object mbean) {
+        try {
+            server.registerMBean(mbean, new ObjectName(objectName));
+        } catch (JMException e) {
+            // metrics still work without jmx
+            System.err.println("mbean register failed: " + objectName + " " + e.getMessage());
+        }
+    }
+
+    private static String seriesId(String name, String... tags) {
+        if (tags.length == 0) return name;
+        StringBuilder id = new StringBuilder(name).append('{');
+        for (int i = 0; i + 1 < tags.length; i += 2) {
+            if (i > 0) id.append(',');
+            id.append(tags[i]).append('=').append(tags[i + 1]);
+        }
+        return id.append('}').toString();
+    }
+
+    private static String objectName(String type, String name, String... tags) {
+        StringBuilder objectName = new StringBuilder(DOMAIN)
+                .append(":type=").append(type)
+                .append(",name=").append(name);
+        for (int i = 0; i + 1 < tags.length; i += 2) {
+            objectName.append(',').append(tags[i]).append('=').append(ObjectName.quote(tags[i + 1]));
+        }
+        return objectName.toString();
+    }
+}
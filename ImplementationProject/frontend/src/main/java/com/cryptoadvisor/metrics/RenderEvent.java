@@ -0,0 +1,45 @@
+package com.cryptoadvisor.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * jfr event for one render pass: the list update on the fx thread plus the layout pulse
+ * that builds and binds its cells
+ */
+@Name("com.cryptoadvisor.Render")
+@Label("Render")
+@Category({"CryptoAdvisor", "Render"})
+@Description("A list update on the FX thread and the layout pulse that builds its cells")
+@StackTrace(false)
+public class RenderEvent extends Event {
+    @Label("Screen")
+    public String screen;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Changes")
+    @Description("Rows inserted, moved, replaced or removed by the update")
+    public int changes;
+
+    @Label("Cards Created")
+    public long cardsCreated;
+
+    @Label("Cells Bound")
+    public long cellsBound;
+
+    @Label("Nodes Added")
+    @Description("Change in the number of scene graph nodes under the list")
+    public int nodesAdded;
+
+    @Label("FX Update Time")
+    @Description("Time the update itself held the FX thread, before layout")
+    @Timespan(Timespan.NANOSECONDS)
+    public long fxTime;
+}
@@ -0,0 +1,423 @@
+package com.cryptoadvisor.mock;
+
+import com.cryptoadvisor.api.ApiJson;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * in-process stand-in for server.js, for measuring the client without MySQL or the market apis.
+ * serves seeded fixture data for the endpoints the app uses, with configurable latency,
+ * jitter, error rate and payload size. the same config and request order give the same responses.
+ *
+ * run standalone with e.g. {@code --port=3000 --latency-ms=80 --jitter-ms=40 --error-rate=0.05 --items=200}
+ */
+public final class MockBackend implements AutoCloseable {
+    static final String TOKEN = "mock-token";
+
+    private static final Pattern REPLIES = Pattern.compile("/api/forums/([^/]+)/replies");
+    private static final Pattern CRYPTO_PRICE = Pattern.compile("/api/crypto/price/([^/]+)");
+    private static final Pattern STOCK_PRICE = Pattern.compile("/api/stocks/price/([^/]+)");
+    private static final Duration PRICE_TICK = Duration.ofMillis(500);
+
+    private final MockConfig config;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper mapper = ApiJson.mapper();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+
+    // list payloads are built once; forums change when posts are created
+    private final byte[] recommendationsBody;
+    private final byte[] newsBody;
+    private volatile byte[] forumsBody;
+    private final List<Map<String, Object>> forums;
+    private final Map<String, List<Map<String, Object>>> postedReplies = new ConcurrentHashMap<>();
+    private final Map<String, Double> prices = new ConcurrentHashMap<>();
+
+    private MockBackend(MockConfig config) throws IOException {
+        this.config = config;
+        this.recommendationsBody = json(Map.of("recommendations", MockData.recommendations(config.seed(), config.items())));
+
+        Map<String, Object> news = new LinkedHashMap<>();
+        news.put("news", MockData.news(config.seed(), config.items()));
+        news.put("assetType", "both");
+        news.put("lastUpdated", "2025-11-01T10:15:00.000Z");
+        this.newsBody = json(news);
+
+        this.forums = new ArrayList<>(MockData.forums(config.seed(), config.items()));
+        this.forumsBody = json(Map.of("forums", forums));
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", config.port()), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/", this::handle);
+    }
+
+    public static MockBackend start(MockConfig config) throws IOException {
+        MockBackend backend = new MockBackend(config);
+        backend.server.start();
+        return backend;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * pass this as -Dcryptoadvisor.api.url to point the app at the mock
+     */
+    public String getBaseUrl() {
+        return "http://localhost:" + getPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getErrorCount() {
+        return errorCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long requestNumber = requestCount.incrementAndGet();
+            // per-request randomness from the seed and the request number, not from thread timing
+            Random random = new Random(config.seed() * 31 + requestNumber);
+
+            delay(random);
+
+            if (random.nextDouble() < config.errorRate()) {
+                errorCount.incrementAndGet();
+                sendJson(exchange, 500, Map.of("message", "Internal server error"));
+                return;
+            }
+
+            route(exchange, random);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void delay(Random random) throws InterruptedException {
+        long latency = config.latency().toMillis();
+        long jitter = config.jitter().toMillis();
+        long millis = latency + (jitter > 0 ? (long) ((random.nextDouble() * 2 - 1) * jitter) : 0);
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private void route(HttpExchange exchange, Random random) throws IOException, InterruptedException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        Matcher matcher;
+
+        if (path.equals("/")) {
+            sendJson(exchange, 200, Map.of("message", "CryptoAdvisor mock backend", "status", "running"));
+        } else if (path.equals("/api/auth/login") && method.equals("POST")) {
+            login(exchange, 200, "Login successful");
+        } else if (path.equals("/api/auth/register") && method.equals("POST")) {
+            login(exchange, 201, "User registered successfully");
+        } else if (path.equals("/api/user/preferences")) {
+            if (!authorized(exchange)) return;
+            if (method.equals("POST")) {
+                sendJson(exchange, 201, Map.of("message", "Preferences saved successfully"));
+            } else {
+                sendJson(exchange, 200, Map.of("preferences", MockData.preferences()));
+            }
+        } else if (path.equals("/api/recommendations")) {
+            if (!authorized(exchange)) return;
+            sendCached(exchange, recommendationsBody, 30);
+        } else if (path.equals("/api/news")) {
+            if (!authorized(exchange)) return;
+            sendCached(exchange, newsBody, 60);
+        } else if (path.equals("/api/forums")) {
+            if (method.equals("POST")) {
+                if (!authorized(exchange)) return;
+                createForum(exchange);
+            } else {
+                sendCached(exchange, forumsBody, 10);
+            }
+        } else if ((matcher = REPLIES.matcher(path)).matches()) {
+            String forumId = matcher.group(1);
+            if (method.equals("POST")) {
+                if (!authorized(exchange)) return;
+                createReply(exchange, forumId);
+            } else {
+                List<Map<String, Object>> replies = new ArrayList<>(MockData.replies(config.seed(), forumId, Math.min(config.items(), 10)));
+                replies.addAll(postedReplies.getOrDefault(forumId, List.of()));
+                sendJson(exchange, 200, Map.of("replies", replies));
+            }
+        } else if (path.equals("/api/quotes")) {
+            quotes(exchange, random);
+        } else if (path.equals("/api/prices/symbols")) {
+            sendJson(exchange, 200, Map.of("symbols", MockData.symbols(), "assets", MockData.assets()));
+        } else if (path.equals("/api/prices/history")) {
+            history(exchange);
+        } else if (path.equals("/api/prices/stream")) {
+            streamPrices(exchange, random);
+        } else if ((matcher = CRYPTO_PRICE.matcher(path)).matches()) {
+            String id = matcher.group(1).toLowerCase();
+            sendJson(exchange, 200, quote("id", id, id, random));
+        } else if ((matcher = STOCK_PRICE.matcher(path)).matches()) {
+            String symbol = matcher.group(1).toUpperCase();
+            sendJson(exchange, 200, quote("symbol", symbol, symbol, random));
+        } else {
+            sendJson(exchange, 404, Map.of("message", "Route not found"));
+        }
+    }
+
+    private void login(HttpExchange exchange, int status, String message) throws IOException {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("user_id", MockData.USER_ID);
+        user.put("user_name", MockData.USER_NAME);
+        user.put("user_email", MockData.USER_EMAIL);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", message);
+        body.put("token", TOKEN);
+        body.put("user", user);
+        sendJson(exchange, status, body);
+    }
+
+    private void createForum(HttpExchange exchange) throws IOException {
+        JsonNode request = readBody(exchange);
+        String forumId = UUID.randomUUID().toString();
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("forum_id", forumId);
+        row.put("user_id", MockData.USER_ID);
+        row.put("title", request.path("title").asText(""));
+        row.put("content", request.path("content").asText(""));
+        row.put("created_at", Instant.now().toString());
+        row.put("author_name", MockData.USER_NAME);
+
+        synchronized (forums) {
+            // newest first, like the real ORDER BY created_at DESC
+            forums.add(0, row);
+            forumsBody = json(Map.of("forums", forums));
+        }
+        sendJson(exchange, 201, Map.of("message", "Forum post created successfully", "forum_id", forumId));
+    }
+
+    private void createReply(HttpExchange exchange, String forumId) throws IOException {
+        JsonNode request = readBody(exchange);
+        String replyId = UUID.randomUUID().toString();
+
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("reply_id", replyId);
+        row.put("forum_id", forumId);
+        row.put("content", request.path("content").asText(""));
+        row.put("author_name", MockData.USER_NAME);
+        row.put("created_at", Instant.now().toString());
+        postedReplies.computeIfAbsent(forumId, id -> new CopyOnWriteArrayList<>()).add(row);
+
+        sendJson(exchange, 201, Map.of("message", "Reply created successfully", "reply_id", replyId));
+    }
+
+    // small random walk per asset so repeated polls see prices move
+    private Map<String, Object> quote(String idField, String idValue, String id, Random random) {
+        double base = MockData.basePrice(id);
+        double previous = prices.getOrDefault(id, base);
+        double price = Math.max(0.0001, previous * (1 + (random.nextDouble() - 0.5) * 0.002));
+        prices.put(id, price);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put(idField, idValue);
+        body.put("price", price);
+        body.put("change", price - base);
+        body.put("changePercent", (price - base) / base * 100);
+        body.put("cached", false);
+        return body;
+    }
+
+    // server-sent events: a price event per symbol every tick until the client hangs up
+    private void streamPrices(HttpExchange exchange, Random random) throws IOException, InterruptedException {
+        List<String> symbols = queryList(exchange, "symbols");
+        if (symbols.isEmpty()) {
+            sendJson(exchange, 400, Map.of("message", "symbols required, e.g. crypto:bitcoin,stock:AAPL"));
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            while (true) {
+                for (String symbol : symbols) {
+                    int colon = symbol.indexOf(':');
+                    if (colon < 0) continue;
+                    boolean crypto = symbol.startsWith("crypto:");
+                    String id = crypto ? symbol.substring(colon + 1).toLowerCase() : symbol.substring(colon + 1).toUpperCase();
+                    Map<String, Object> quote = quote("symbol", (crypto ? "crypto:" : "stock:") + id, id, random);
+                    out.write(("event: price\ndata: " + mapper.writeValueAsString(quote) + "\n\n").getBytes(StandardCharsets.UTF_8));
+                }
+                out.flush();
+                Thread.sleep(PRICE_TICK.toMillis());
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    // same shape as server.js: quotes for the symbols it knows, the rest under missing
+    private void quotes(HttpExchange exchange, Random random) throws IOException {
+        List<String> symbols = queryList(exchange, "symbols");
+        if (symbols.isEmpty()) {
+            sendJson(exchange, 400, Map.of("message", "symbols required, e.g. crypto:bitcoin,stock:AAPL"));
+            return;
+        }
+
+        List<Map<String, Object>> quotes = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+        for (String symbol : symbols) {
+            int colon = symbol.indexOf(':');
+            boolean crypto = symbol.startsWith("crypto:");
+            if (colon < 0 || (!crypto && !symbol.startsWith("stock:"))) {
+                missing.add(symbol);
+                continue;
+            }
+            String id = crypto ? symbol.substring(colon + 1).toLowerCase() : symbol.substring(colon + 1).toUpperCase();
+            quotes.add(quote("symbol", (crypto ? "crypto:" : "stock:") + id, id, random));
+        }
+        sendJson(exchange, 200, Map.of("quotes", quotes, "missing", missing));
+    }
+
+    private void history(HttpExchange exchange) throws IOException {
+        List<String> symbol = queryList(exchange, "symbol");
+        if (symbol.size() != 1 || !(symbol.get(0).startsWith("crypto:") || symbol.get(0).startsWith("stock:"))) {
+            sendJson(exchange, 400, Map.of("message", "symbol required, e.g. crypto:bitcoin or stock:AAPL"));
+            return;
+        }
+        List<String> daysParam = queryList(exchange, "days");
+        int days = 30;
+        if (!daysParam.isEmpty()) {
+            try {
+                days = Math.min(365, Math.max(1, Integer.parseInt(daysParam.get(0))));
+            } catch (NumberFormatException e) {
+                sendJson(exchange, 400, Map.of("message", "days must be a whole number, e.g. 90"));
+                return;
+            }
+        }
+        sendJson(exchange, 200, Map.of("symbol", symbol.get(0),
+                "points", MockData.history(config.seed(), symbol.get(0), days, System.currentTimeMillis())));
+    }
+
+    private static List<String> queryList(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return List.of();
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0 && pair.substring(0, eq).equals(name)) {
+                String value = URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                return Arrays.stream(value.split(",")).map(String::trim).filter(v -> !v.isEmpty()).toList();
+            }
+        }
+        return List.of();
+    }
+
+    private boolean authorized(HttpExchange exchange) throws IOException {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            sendJson(exchange, 401, Map.of("message", "Access token required"));
+            return false;
+        }
+        if (!header.substring("Bearer ".length()).equals(TOKEN)) {
+            sendJson(exchange, 403, Map.of("message", "Invalid or expired token"));
+            return false;
+        }
+        return true;
+    }
+
+    // same caching headers as the real feed endpoints, including 304 on a matching etag
+    private void sendCached(HttpExchange exchange, byte[] body, int maxAgeSeconds) throws IOException {
+        String etag = "W/\"" + Integer.toHexString(Arrays.hashCode(body)) + "-" + body.length + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        exchange.getResponseHeaders().set("Cache-Control",
+                "private, max-age=" + maxAgeSeconds + ", stale-while-revalidate=600");
+
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return;
+        }
+        send(exchange, 200, body);
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        send(exchange, status, json(body));
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return mapper.readTree(in.readAllBytes());
+        }
+    }
+
+    private byte[] json(Object value) throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    public static void main(String[] args) throws IOException {
+        MockConfig config = MockConfig.defaults();
+        long latencyMs = 0;
+        long jitterMs = 0;
+        for (String arg : args) {
+            String[] parts = arg.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("expected --name=value, got " + arg);
+            }
+            switch (parts[0]) {
+                case "--port" -> config = config.withPort(Integer.parseInt(parts[1]));
+                case "--latency-ms" -> latencyMs = Long.parseLong(parts[1]);
+                case "--jitter-ms" -> jitterMs = Long.parseLong(parts[1]);
+                case "--error-rate" -> config = config.withErrorRate(Double.parseDouble(parts[1]));
+                case "--items" -> config = config.withItems(Integer.parseInt(parts[1]));
+                case "--seed" -> config = config.withSeed(Long.parseLong(parts[1]));
+                default -> throw new IllegalArgumentException("unknown option " + parts[0]);
+            }
+        }
+        config = config.withLatency(Duration.ofMillis(latencyMs), Duration.ofMillis(jitterMs));
+
+        MockBackend backend = start(config);
+        System.out.println("Mock backend on " + backend.getBaseUrl() + " " + config);
+        Runtime.getRuntime().addShutdownHook(new Thread(backend::close));
+    }
+}
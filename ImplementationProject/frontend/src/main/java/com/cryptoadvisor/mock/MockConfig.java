@@ -0,0 +1,45 @@
+package com.cryptoadvisor.mock;
+
+import java.time.Duration;
+
+/**
+ * knobs for the mock backend.
+ * latency is added to every response, plus or minus a uniform jitter; errorRate is the share of
+ * requests answered with a 500; items is how many records each list endpoint returns.
+ */
+public record MockConfig(int port, Duration latency, Duration jitter, double errorRate, int items, long seed) {
+
+    public MockConfig {
+        if (port < 0) throw new IllegalArgumentException("port must be >= 0");
+        if (latency.isNegative() || jitter.isNegative()) throw new IllegalArgumentException("latency and jitter must be >= 0");
+        if (errorRate < 0 || errorRate > 1) throw new IllegalArgumentException("errorRate must be between 0 and 1");
+        if (items < 0) throw new IllegalArgumentException("items must be >= 0");
+    }
+
+    /**
+     * same port as the real backend, no delay, no errors, 20 items
+     */
+    public static MockConfig defaults() {
+        return new MockConfig(3000, Duration.ZERO, Duration.ZERO, 0, 20, 42);
+    }
+
+    public MockConfig withPort(int port) {
+        return new MockConfig(port, latency, jitter, errorRate, items, seed);
+    }
+
+    public MockConfig withLatency(Duration latency, Duration jitter) {
+        return new MockConfig(port, latency, jitter, errorRate, items, seed);
+    }
+
+    public MockConfig withErrorRate(double errorRate) {
+        return new MockConfig(port, latency, jitter, errorRate, items, seed);
+    }
+
+    public MockConfig withItems(int items) {
+        return new MockConfig(port, latency, jitter, errorRate, items, seed);
+    }
+
+    public MockConfig withSeed(long seed) {
+        return new MockConfig(port, latency, jitter, errorRate, items, seed);
+    }
+}
@@ -0,0 +1,192 @@
+package com.cryptoadvisor.mock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * fixture records shaped like the backend's rows, generated from a seed.
+ * the same seed and item count always give the same payloads.
+ */
+final class MockData {
+    // symbol, name, coingecko id, base price
+    private static final Object[][] CRYPTO = {
+        {"BTC", "Bitcoin", "bitcoin", 43_000.0}, {"ETH", "Ethereum", "ethereum", 2_300.0},
+        {"SOL", "Solana", "solana", 95.0}, {"ADA", "Cardano", "cardano", 0.55},
+        {"DOGE", "Dogecoin", "dogecoin", 0.08}, {"XRP", "XRP", "ripple", 0.6}
+    };
+    // symbol, name, no coingecko id, base price, industry
+    private static final Object[][] STOCKS = {
+        {"AAPL", "Apple Inc.", null, 190.0, "Technology"}, {"MSFT", "Microsoft Corporation", null, 370.0, "Technology"},
+        {"NVDA", "NVIDIA Corporation", null, 480.0, "Technology"}, {"JPM", "JPMorgan Chase & Co.", null, 170.0, "Finance"},
+        {"XOM", "Exxon Mobil Corporation", null, 104.0, "Energy"}, {"PFE", "Pfizer Inc.", null, 29.0, "Healthcare"}
+    };
+    private static final String[] SOURCES = {"Reuters", "Bloomberg", "CoinDesk", "MarketWatch"};
+    private static final String CREATED_AT = "2025-11-01T10:15:00.000Z";
+
+    static final String USER_ID = "00000000-0000-4000-8000-000000000001";
+    static final String USER_NAME = "mockuser";
+    static final String USER_EMAIL = "mock@example.com";
+
+    private MockData() {
+    }
+
+    static List<Map<String, Object>> recommendations(long seed, int count) {
+        Random random = new Random(seed);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean crypto = i % 2 == 0;
+            Object[] asset = crypto ? CRYPTO[i / 2 % CRYPTO.length] : STOCKS[i / 2 % STOCKS.length];
+            double price = (double) asset[3] * (0.9 + random.nextDouble() * 0.2);
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("recommendation_id", uuid(random));
+            row.put("user_id", USER_ID);
+            row.put("asset_type", crypto ? "crypto" : "stocks");
+            row.put("asset_symbol", asset[0]);
+            row.put("asset_name", asset[1]);
+            // mysql DECIMAL columns arrive as strings
+            row.put("current_price", String.format("%.8f", price));
+            row.put("recommendation_type", i % 3 == 0 ? "Day Trade" : "Long-Term");
+            row.put("confidence_score", String.format("%.2f", 70 + random.nextDouble() * 30));
+            row.put("reasoning", "Strong fundamentals and positive market sentiment for " + asset[1] + ".");
+            row.put("news_summary", "Recent coverage of " + asset[1] + " has been favourable.");
+            row.put("created_at", CREATED_AT);
+            row.put("expires_at", "2025-12-01T10:15:00.000Z");
+            row.put("coingecko_id", asset[2]);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    static List<Map<String, Object>> news(long seed, int count) {
+        Random random = new Random(seed + 1);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("title", "Headline " + i + " moves the market");
+            row.put("summary", "Analysts said the move reflected shifting expectations for rates and earnings.");
+            row.put("url", "https://news.example.com/articles/" + i);
+            row.put("source", SOURCES[i % SOURCES.length]);
+            row.put("date", CREATED_AT);
+            row.put("type", random.nextBoolean() ? "crypto" : "stocks");
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    static List<Map<String, Object>> forums(long seed, int count) {
+        Random random = new Random(seed + 2);
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("forum_id", uuid(random));
+            row.put("user_id", USER_ID);
+            row.put("title", "Thoughts on position " + i);
+            row.put("content", "Holding this for a few months and wondering how others see the next quarter.");
+            row.put("created_at", CREATED_AT);
+            row.put("author_name", "user" + i % 50);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    static List<Map<String, Object>> replies(long seed, String forumId, int count) {
+        Random random = new Random(seed + forumId.hashCode());
+        List<Map<String, Object>> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("reply_id", uuid(random));
+            row.put("forum_id", forumId);
+            row.put("content", "Reply " + i + ": agreed, watching the same levels.");
+            row.put("author_name", "user" + i % 50);
+            row.put("created_at", CREATED_AT);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    static Map<String, Object> preferences() {
+        Map<String, Object> prefs = new LinkedHashMap<>();
+        prefs.put("preferred_asset_type", "both");
+        prefs.put("investment_type", "Long-Term");
+        prefs.put("industries", List.of("Technology", "Finance"));
+        prefs.put("cryptocurrencies", List.of("bitcoin", "ethereum"));
+        return prefs;
+    }
+
+    /**
+     * base price for a crypto id or stock symbol, 100 if unknown
+     */
+    static double basePrice(String idOrSymbol) {
+        for (Object[] asset : CRYPTO) {
+            if (asset[2].equals(idOrSymbol)) return (double) asset[3];
+        }
+        for (Object[] asset : STOCKS) {
+            if (asset[0].equals(idOrSymbol)) return (double) asset[3];
+        }
+        return 100.0;
+    }
+
+    /**
+     * every asset the fixtures know, as quote symbols
+     */
+    static List<String> symbols() {
+        List<String> symbols = new ArrayList<>();
+        for (Object[] asset : CRYPTO) symbols.add("crypto:" + asset[2]);
+        for (Object[] asset : STOCKS) symbols.add("stock:" + asset[0]);
+        return symbols;
+    }
+
+    /**
+     * the same assets with their ticker, name and, for stocks, industry, like the backend's
+     * /api/prices/symbols assets
+     */
+    static List<Map<String, Object>> assets() {
+        List<Map<String, Object>> assets = new ArrayList<>();
+        for (Object[] asset : CRYPTO) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("symbol", "crypto:" + asset[2]);
+            row.put("ticker", asset[0]);
+            row.put("name", asset[1]);
+            assets.add(row);
+        }
+        for (Object[] asset : STOCKS) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("symbol", "stock:" + asset[0]);
+            row.put("ticker", asset[0]);
+            row.put("name", asset[1]);
+            row.put("industry", asset[4]);
+            assets.add(row);
+        }
+        return assets;
+    }
+
+    /**
+     * [time, price, volume] points up to now, hourly for crypto and daily for stocks, like
+     * the backend. a random walk seeded by the symbol, so the same call gives the same history.
+     */
+    static List<double[]> history(long seed, String symbol, int days, long now) {
+        boolean crypto = symbol.startsWith("crypto:");
+        String id = symbol.substring(symbol.indexOf(':') + 1);
+        long step = crypto ? 3_600_000L : 86_400_000L;
+        int points = (int) (days * 86_400_000L / step);
+        Random random = new Random(seed * 31 + id.hashCode());
+
+        List<double[]> rows = new ArrayList<>(points);
+        double price = basePrice(id);
+        long end = now - now % step;
+        for (int i = points - 1; i >= 0; i--) {
+            price = Math.max(0.0001, price * (1 + random.nextGaussian() * 0.01));
+            rows.add(new double[] {end - i * step, price, 1_000_000 * (0.5 + random.nextDouble())});
+        }
+        return rows;
+    }
+
+    private static String uuid(Random random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
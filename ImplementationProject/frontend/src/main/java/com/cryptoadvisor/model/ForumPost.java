@@ -0,0 +1,13 @@
+package com.cryptoadvisor.model;
+
+/**
+ * forum post from /api/forums
+ */
+public record ForumPost(
+        String forumId,
+        String userId,
+        String title,
+        String content,
+        String authorName,
+        String createdAt) {
+}
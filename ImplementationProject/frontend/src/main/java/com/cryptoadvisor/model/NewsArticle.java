@@ -0,0 +1,13 @@
+package com.cryptoadvisor.model;
+
+/**
+ * news item from /api/news. type is "crypto" or "stocks".
+ */
+public record NewsArticle(
+        String title,
+        String summary,
+        String url,
+        String source,
+        String date,
+        String type) {
+}
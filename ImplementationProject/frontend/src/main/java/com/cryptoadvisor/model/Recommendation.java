@@ -0,0 +1,34 @@
+package com.cryptoadvisor.model;
+
+/**
+ * recommendation row from /api/recommendations.
+ * currentPrice and confidenceScore are NaN when the backend sent none.
+ */
+public record Recommendation(
+        String recommendationId,
+        String assetType,
+        String assetSymbol,
+        String assetName,
+        double currentPrice,
+        String recommendationType,
+        double confidenceScore,
+        String reasoning,
+        String newsSummary,
+        String coingeckoId,
+        String predictionMessage,
+        String expiresAt) {
+
+    public boolean isCrypto() {
+        return "crypto".equalsIgnoreCase(assetType);
+    }
+
+    public boolean hasPrice() {
+        return !Double.isNaN(currentPrice);
+    }
+
+    public Recommendation withCurrentPrice(double price) {
+        return new Recommendation(recommendationId, assetType, assetSymbol, assetName, price,
+                recommendationType, confidenceScore, reasoning, newsSummary, coingeckoId,
+                predictionMessage, expiresAt);
+    }
+}
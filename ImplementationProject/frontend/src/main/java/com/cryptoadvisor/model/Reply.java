@@ -0,0 +1,12 @@
+package com.cryptoadvisor.model;
+
+/**
+ * forum reply from /api/forums/{id}/replies
+ */
+public record Reply(
+        String replyId,
+        String forumId,
+        String content,
+        String authorName,
+        String createdAt) {
+}
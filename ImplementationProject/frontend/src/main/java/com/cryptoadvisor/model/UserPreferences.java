@@ -0,0 +1,18 @@
+package com.cryptoadvisor.model;
+
+import java.util.List;
+
+/**
+ * saved preferences from /api/user/preferences
+ */
+public record UserPreferences(
+        String preferredAssetType,
+        String investmentType,
+        List<String> industries,
+        List<String> cryptocurrencies) {
+
+    public UserPreferences {
+        industries = industries == null ? List.of() : List.copyOf(industries);
+        cryptocurrencies = cryptocurrencies == null ? List.of() : List.copyOf(cryptocurrencies);
+    }
+}
@@ -0,0 +1,59 @@
+package com.cryptoadvisor.prices;
+
+import com.cryptoadvisor.model.Recommendation;
+
+/**
+ * one priced asset: a CoinGecko id for crypto, a ticker for stocks.
+ * written as crypto:bitcoin or stock:AAPL on the wire.
+ */
+public record PriceKey(String assetType, String id) {
+    public static final String CRYPTO = "crypto";
+    public static final String STOCK = "stock";
+
+    public PriceKey {
+        if (!CRYPTO.equals(assetType) && !STOCK.equals(assetType)) {
+            throw new IllegalArgumentException("unknown asset type " + assetType);
+        }
+        id = CRYPTO.equals(assetType) ? id.toLowerCase() : id.toUpperCase();
+    }
+
+    public static PriceKey crypto(String coingeckoId) {
+        return new PriceKey(CRYPTO, coingeckoId);
+    }
+
+    public static PriceKey stock(String symbol) {
+        return new PriceKey(STOCK, symbol);
+    }
+
+    /**
+     * null if the recommendation has nothing to look a price up by
+     */
+    public static PriceKey of(Recommendation recommendation) {
+        if (recommendation.isCrypto()) {
+            String id = recommendation.coingeckoId();
+            return id != null && !id.isBlank() ? crypto(id) : null;
+        }
+        String symbol = recommendation.assetSymbol();
+        return symbol != null && !symbol.isBlank() ? stock(symbol) : null;
+    }
+
+    public static PriceKey parse(String text) {
+        int colon = text.indexOf(':');
+        if (colon <= 0 || colon == text.length() - 1) {
+            throw new IllegalArgumentException("expected type:id, got " + text);
+        }
+        return new PriceKey(text.substring(0, colon), text.substring(colon + 1));
+    }
+
+    /**
+     * single-asset price endpoint
+     */
+    public String path() {
+        return CRYPTO.equals(assetType) ? "/api/crypto/price/" + id : "/api/stocks/price/" + id;
+    }
+
+    @Override
+    public String toString() {
+        return assetType + ":" + id;
+    }
+}
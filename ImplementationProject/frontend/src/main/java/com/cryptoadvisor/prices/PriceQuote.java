@@ -0,0 +1,7 @@
+package com.cryptoadvisor.prices;
+
+/**
+ * latest price for one asset; change is over the last 24h where the source has it
+ */
+public record PriceQuote(PriceKey key, double price, double change, double changePercent) {
+}
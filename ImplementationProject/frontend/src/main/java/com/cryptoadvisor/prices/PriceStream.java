@@ -0,0 +1,277 @@
+package com.cryptoadvisor.prices;
+
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.indicators.LiveIndicators;
+import com.cryptoadvisor.market.BarAggregator;
+import com.cryptoadvisor.market.TickArchive;
+import com.cryptoadvisor.market.TickStore;
+import com.cryptoadvisor.metrics.Counter;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.cryptoadvisor.util.BackgroundExecutor;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * live prices for whatever assets are subscribed.
+ * one server-sent event stream (/api/prices/stream) carries every subscribed asset; if the
+ * backend has no stream the assets are polled in one batched request instead and the stream
+ * is retried later.
+ * a price is only passed on when it differs from the last one seen for that asset, and is
+ * then also kept as a tick in the TickStore and the on-disk TickArchive, and fed to the
+ * BarAggregator and the LiveIndicators.
+ * listeners are called on a background thread.
+ */
+public final class PriceStream {
+    private static final Duration POLL_INTERVAL = Duration.ofSeconds(15);
+    // how long to poll before trying the stream again
+    private static final Duration STREAM_RETRY = Duration.ofSeconds(60);
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+
+    private static final PriceStream INSTANCE = new PriceStream(ApiClient.getInstance(), QuoteBatcher.getInstance(),
+            TickStore.getInstance(), TickArchive.getInstance(),
+            BarAggregator.getInstance(), LiveIndicators.getInstance());
+
+    private final ApiClient apiClient;
+    private final QuoteBatcher quoteBatcher;
+    private final TickStore ticks;
+    private final TickArchive archive;
+    private final BarAggregator bars;
+    private final LiveIndicators indicators;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Map<PriceKey, PriceQuote> lastQuotes = new ConcurrentHashMap<>();
+    private final Counter quotes = MetricsRegistry.get().counter("prices.quotes");
+    private final Counter unchanged = MetricsRegistry.get().counter("prices.unchanged");
+
+    // guarded by this
+    private final Map<PriceKey, Integer> refCounts = new HashMap<>();
+    private Thread worker;
+    private volatile boolean streaming;
+
+    PriceStream(ApiClient apiClient, QuoteBatcher quoteBatcher, TickStore ticks, TickArchive archive,
+            BarAggregator bars, LiveIndicators indicators) {
+        this.apiClient = apiClient;
+        this.quoteBatcher = quoteBatcher;
+        this.ticks = ticks;
+        this.archive = archive;
+        this.bars = bars;
+        this.indicators = indicators;
+        MetricsRegistry.get().gauge("prices.streaming").bind(() -> streaming ? 1 : 0);
+    }
+
+    public static PriceStream getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * listener gets every new price for the given assets until the subscription is closed,
+     * starting with the last known price of any asset that is already being watched
+     */
+    public Subscription subscribe(Collection<PriceKey> keys, Consumer<PriceQuote> listener) {
+        Subscription subscription = new Subscription(Set.copyOf(keys), listener);
+        subscriptions.add(subscription);
+        synchronized (this) {
+            boolean changed = false;
+            for (PriceKey key : subscription.keys) {
+                changed |= refCounts.merge(key, 1, Integer::sum) == 1;
+            }
+            if (changed) restart();
+        }
+
+        List<PriceQuote> known = new ArrayList<>();
+        for (PriceKey key : subscription.keys) {
+            PriceQuote quote = lastQuotes.get(key);
+            if (quote != null) known.add(quote);
+        }
+        if (!known.isEmpty()) {
+            BackgroundExecutor.shared().execute(() -> known.forEach(subscription::deliver));
+        }
+        return subscription;
+    }
+
+    /**
+     * true while prices arrive over the event stream rather than by polling
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    private synchronized void unsubscribe(Subscription subscription) {
+        if (!subscriptions.remove(subscription)) return;
+        boolean changed = false;
+        for (PriceKey key : subscription.keys) {
+            if (refCounts.merge(key, -1, Integer::sum) == 0) {
+                refCounts.remove(key);
+                lastQuotes.remove(key);
+                changed = true;
+            }
+        }
+        if (changed) restart();
+    }
+
+    // the worker serves one fixed set of assets, so a new set means a new worker
+    private void restart() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+            streaming = false;
+        }
+        if (refCounts.isEmpty()) return;
+
+        Set<PriceKey> keys = Set.copyOf(refCounts.keySet());
+        worker = Thread.ofVirtual().name("price-stream").start(() -> run(keys));
+    }
+
+    private void run(Set<PriceKey> keys) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    stream(keys);
+                    Thread.sleep(RECONNECT_DELAY);
+                } catch (IOException | UncheckedIOException e) {
+                    if (Thread.currentThread().isInterrupted()) return;
+                    System.err.println("Price stream unavailable, polling: " + e.getMessage());
+                    poll(keys, STREAM_RETRY);
+                }
+            }
+        } catch (InterruptedException e) {
+            // resubscribed or nothing left to watch
+        } finally {
+            setStreaming(false);
+        }
+    }
+
+    // only the current worker speaks for the stream; a replaced one can still be winding
+    // down after its successor has connected
+    private synchronized void setStreaming(boolean value) {
+        if (worker == Thread.currentThread()) {
+            streaming = value;
+        }
+    }
+
+    // reads events until the server ends the stream
+    private void stream(Set<PriceKey> keys) throws IOException, InterruptedException {
+        String symbols = keys.stream().map(PriceKey::toString).sorted().collect(Collectors.joining(","));
+        HttpRequest request = apiClient.request("/api/prices/stream?symbols=" + URLEncoder.encode(symbols, StandardCharsets.UTF_8))
+                .setHeader("Accept", "text/event-stream")
+                .GET()
+                .build();
+
+        HttpResponse<Stream<String>> response = apiClient.openLines(request);
+        try (Stream<String> lines = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("status " + response.statusCode());
+            }
+            setStreaming(true);
+
+            String event = null;
+            StringBuilder data = new StringBuilder();
+            Iterator<String> it = lines.iterator();
+            while (it.hasNext()) {
+                String line = it.next();
+                if (line.isEmpty()) {
+                    // blank line ends an event
+                    if ("price".equals(event) && data.length() > 0) {
+                        JsonNode node = ApiJson.readTree(data.toString());
+                        publish(QuoteBatcher.toQuote(PriceKey.parse(node.path("symbol").asText()), node));
+                    }
+                    event = null;
+                    data.setLength(0);
+                } else if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    if (data.length() > 0) data.append('\n');
+                    data.append(line.substring(5).trim());
+                }
+                // ':' comments are keep-alives
+            }
+        } finally {
+            setStreaming(false);
+        }
+    }
+
+    // every asset in one batched request per round
+    private void poll(Set<PriceKey> keys, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                quoteBatcher.quotes(keys).join().values().forEach(this::publish);
+            } catch (RuntimeException e) {
+                System.err.println("Price poll failed: " + e.getMessage());
+            }
+            Thread.sleep(POLL_INTERVAL);
+        }
+    }
+
+    private void publish(PriceQuote quote) {
+        if (quote == null) return;
+
+        quotes.increment();
+        PriceKey key = quote.key();
+        PriceQuote previous = lastQuotes.put(key, quote);
+        if (previous != null && previous.price() == quote.price()) {
+            unchanged.increment();
+            return;
+        }
+        // quotes carry no traded volume
+        String symbol = key.toString();
+        long now = System.currentTimeMillis();
+        int id = ticks.id(symbol);
+        ticks.append(id, now, quote.price(), 0);
+        bars.onTick(id, now, quote.price(), 0);
+        archive.record(symbol, now, quote.price(), 0);
+        indicators.update(symbol, now, quote.price(), 0);
+
+        for (Subscription subscription : subscriptions) {
+            if (subscription.keys.contains(key)) {
+                subscription.deliver(quote);
+            }
+        }
+    }
+
+    public final class Subscription implements AutoCloseable {
+        private final Set<PriceKey> keys;
+        private final Consumer<PriceQuote> listener;
+
+        private Subscription(Set<PriceKey> keys, Consumer<PriceQuote> listener) {
+            this.keys = keys;
+            this.listener = listener;
+        }
+
+        public Set<PriceKey> keys() {
+            return keys;
+        }
+
+        @Override
+        public void close() {
+            unsubscribe(this);
+        }
+
+        private void deliver(PriceQuote quote) {
+            try {
+                listener.accept(quote);
+            } catch (RuntimeException e) {
+                System.err.println("Price listener failed: " + e.getMessage());
+            }
+        }
+    }
+}
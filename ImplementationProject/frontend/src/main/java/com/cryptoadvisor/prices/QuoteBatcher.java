@@ -0,0 +1,201 @@
+package com.cryptoadvisor.prices;
+
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiException;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.metrics.Histogram;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * collects single quote lookups for a few milliseconds and sends them as one
+ * /api/quotes request, then hands each caller its own quote.
+ * a batch goes out when the window closes or as soon as it is full. the same asset asked for
+ * twice in one window is only sent once. against a backend without /api/quotes it falls back
+ * to one request per asset.
+ */
+public final class QuoteBatcher {
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(5);
+    public static final int DEFAULT_MAX_BATCH = 50;
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("quote-batcher").daemon().factory());
+    private static final QuoteBatcher INSTANCE = new QuoteBatcher(ApiClient.getInstance(), DEFAULT_WINDOW, DEFAULT_MAX_BATCH);
+
+    private final ApiClient apiClient;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final Histogram batchSizes = MetricsRegistry.get().histogram("prices.batch.size");
+
+    // guarded by this
+    private Map<PriceKey, CompletableFuture<PriceQuote>> pending = new LinkedHashMap<>();
+    private long batchNumber;
+    private volatile boolean batchUnsupported;
+
+    public QuoteBatcher(ApiClient apiClient, Duration window, int maxBatch) {
+        if (maxBatch < 1) throw new IllegalArgumentException("maxBatch must be at least 1");
+        this.apiClient = apiClient;
+        this.windowNanos = window.toNanos();
+        this.maxBatch = maxBatch;
+    }
+
+    public static QuoteBatcher getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * completes with the quote, or exceptionally with an ApiException (404) if the backend
+     * has no price for the asset. cancelling the returned future doesn't affect other callers.
+     */
+    public CompletableFuture<PriceQuote> quote(PriceKey key) {
+        CompletableFuture<PriceQuote> shared;
+        Map<PriceKey, CompletableFuture<PriceQuote>> full = null;
+        synchronized (this) {
+            shared = pending.get(key);
+            if (shared == null) {
+                shared = new CompletableFuture<>();
+                pending.put(key, shared);
+                if (pending.size() >= maxBatch) {
+                    full = takePending();
+                } else if (pending.size() == 1) {
+                    long batch = batchNumber;
+                    TIMER.schedule(() -> flush(batch), windowNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return shared.copy();
+    }
+
+    /**
+     * quotes for all the assets that have one; assets without a price are left out
+     */
+    public CompletableFuture<Map<PriceKey, PriceQuote>> quotes(Collection<PriceKey> keys) {
+        List<CompletableFuture<PriceQuote>> lookups = new ArrayList<>();
+        for (PriceKey key : keys) {
+            lookups.add(quote(key).exceptionally(error -> null));
+        }
+        return CompletableFuture.allOf(lookups.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            Map<PriceKey, PriceQuote> result = new LinkedHashMap<>();
+            for (CompletableFuture<PriceQuote> lookup : lookups) {
+                PriceQuote quote = lookup.join();
+                if (quote != null) {
+                    result.put(quote.key(), quote);
+                }
+            }
+            return result;
+        });
+    }
+
+    // the window of the given batch has closed; a batch that filled up early is already gone
+    private void flush(long batch) {
+        Map<PriceKey, CompletableFuture<PriceQuote>> due;
+        synchronized (this) {
+            if (batch != batchNumber || pending.isEmpty()) return;
+            due = takePending();
+        }
+        send(due);
+    }
+
+    private Map<PriceKey, CompletableFuture<PriceQuote>> takePending() {
+        Map<PriceKey, CompletableFuture<PriceQuote>> taken = pending;
+        pending = new LinkedHashMap<>();
+        batchNumber++;
+        return taken;
+    }
+
+    private void send(Map<PriceKey, CompletableFuture<PriceQuote>> batch) {
+        batchSizes.record(batch.size());
+        if (batchUnsupported) {
+            sendSingly(batch);
+            return;
+        }
+
+        String symbols = batch.keySet().stream().map(PriceKey::toString).collect(Collectors.joining(","));
+        String path = "/api/quotes?symbols=" + URLEncoder.encode(symbols, StandardCharsets.UTF_8);
+        apiClient.sendAsync(apiClient.getRequest(path)).whenComplete((response, error) -> {
+            if (error != null) {
+                failAll(batch, error);
+            } else if (response.statusCode() == 404) {
+                // older backend without the batch route; /api/quotes itself answers 200 with a missing list
+                System.out.println("No /api/quotes on the backend, fetching quotes one by one");
+                batchUnsupported = true;
+                sendSingly(batch);
+            } else if (response.statusCode() != 200) {
+                failAll(batch, new ApiException(response.statusCode(), response.body()));
+            } else {
+                demultiplex(batch, response.body());
+            }
+        });
+    }
+
+    private void demultiplex(Map<PriceKey, CompletableFuture<PriceQuote>> batch, String body) {
+        try {
+            JsonNode quotes = ApiJson.readTree(body).path("quotes");
+            for (JsonNode node : quotes) {
+                PriceKey key = PriceKey.parse(node.path("symbol").asText());
+                CompletableFuture<PriceQuote> future = batch.get(key);
+                PriceQuote quote = toQuote(key, node);
+                if (future != null && quote != null) {
+                    future.complete(quote);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            failAll(batch, e);
+            return;
+        }
+        // whatever the server didn't answer has no price
+        batch.forEach((key, future) -> future.completeExceptionally(new ApiException(404, "No price for " + key)));
+    }
+
+    private void sendSingly(Map<PriceKey, CompletableFuture<PriceQuote>> batch) {
+        batch.forEach((key, future) -> apiClient.sendAsync(apiClient.getRequest(key.path())).whenComplete((response, error) -> {
+            if (error != null) {
+                future.completeExceptionally(error);
+                return;
+            }
+            try {
+                PriceQuote quote = response.statusCode() == 200 ? toQuote(key, ApiJson.readTree(response.body())) : null;
+                if (quote != null) {
+                    future.complete(quote);
+                } else {
+                    future.completeExceptionally(new ApiException(response.statusCode(), "No price for " + key));
+                }
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+        }));
+    }
+
+    private static void failAll(Map<PriceKey, CompletableFuture<PriceQuote>> batch, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        batch.values().forEach(future -> future.completeExceptionally(cause));
+    }
+
+    /**
+     * quote from a price body ({price, change, changePercent}), null without a numeric price
+     */
+    static PriceQuote toQuote(PriceKey key, JsonNode node) {
+        JsonNode price = node.get("price");
+        if (price == null || !price.isNumber()) return null;
+        return new PriceQuote(key, price.asDouble(), node.path("change").asDouble(0), node.path("changePercent").asDouble(0));
+    }
+}
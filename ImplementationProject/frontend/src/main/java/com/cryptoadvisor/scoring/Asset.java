@@ -0,0 +1,37 @@
+package com.cryptoadvisor.scoring;
+
+import com.cryptoadvisor.prices.PriceKey;
+
+/**
+ * something that can be recommended: a stock with its industry, or a coin (no industry).
+ * the key's id is the CoinGecko id for coins and the ticker for stocks.
+ */
+public record Asset(PriceKey key, String symbol, String name, String industry) {
+
+    public Asset {
+        if (key == null) {
+            throw new IllegalArgumentException("asset needs a price key");
+        }
+        if (symbol == null || symbol.isBlank()) symbol = key.id().toUpperCase();
+        if (name == null || name.isBlank()) name = symbol;
+    }
+
+    public static Asset stock(String symbol, String name, String industry) {
+        return new Asset(PriceKey.stock(symbol), symbol, name, industry);
+    }
+
+    public static Asset crypto(String coingeckoId, String symbol, String name) {
+        return new Asset(PriceKey.crypto(coingeckoId), symbol, name, null);
+    }
+
+    public boolean isCrypto() {
+        return PriceKey.CRYPTO.equals(key.assetType());
+    }
+
+    /**
+     * asset_type as the recommendations table has it
+     */
+    public String assetType() {
+        return isCrypto() ? "crypto" : "stocks";
+    }
+}
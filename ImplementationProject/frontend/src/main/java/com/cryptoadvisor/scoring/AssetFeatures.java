@@ -0,0 +1,41 @@
+package com.cryptoadvisor.scoring;
+
+/**
+ * what an asset is scored on, from its recent daily closes and the news about it.
+ * momentum is the last day's return and trend the return over TREND_DAYS, both as fractions;
+ * volatility is the standard deviation of daily log returns over the same window; sentiment
+ * runs from -1 (negative news) to 1. NaN for anything unknown, which scores as average.
+ */
+public record AssetFeatures(double momentum, double trend, double volatility, double sentiment) {
+    public static final int TREND_DAYS = 30;
+
+    public static final AssetFeatures UNKNOWN = new AssetFeatures(Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+
+    /**
+     * features from the first count daily closes, oldest first
+     */
+    public static AssetFeatures fromCloses(double[] closes, int count, double sentiment) {
+        if (count < 2) {
+            return new AssetFeatures(Double.NaN, Double.NaN, Double.NaN, sentiment);
+        }
+        int last = count - 1;
+        int first = Math.max(0, last - TREND_DAYS);
+        double momentum = closes[last] / closes[last - 1] - 1;
+        double trend = closes[last] / closes[first] - 1;
+
+        // two passes over at most TREND_DAYS returns, so no precision is lost to a running sum
+        int returns = last - first;
+        double mean = 0;
+        for (int i = first + 1; i <= last; i++) {
+            mean += Math.log(closes[i] / closes[i - 1]);
+        }
+        mean /= returns;
+        double squares = 0;
+        for (int i = first + 1; i <= last; i++) {
+            double deviation = Math.log(closes[i] / closes[i - 1]) - mean;
+            squares += deviation * deviation;
+        }
+        double volatility = returns > 1 ? Math.sqrt(squares / (returns - 1)) : Double.NaN;
+        return new AssetFeatures(momentum, trend, volatility, sentiment);
+    }
+}
@@ -0,0 +1,132 @@
+package com.cryptoadvisor.scoring;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * the assets a ScoringEngine picks from, with their features.
+ * each feature is turned into a z-score across the universe once, up front (clamped to
+ * +-3 so one outlier can't swamp the rest), so a score says how an asset compares with the
+ * others rather than depending on units. immutable, and safe to share between threads.
+ */
+public final class AssetUniverse {
+    private static final double MAX_Z = 3;
+
+    private final Asset[] assets;
+    private final AssetFeatures[] features;
+    // lower-cased for matching preferences; industry is null for coins
+    private final String[] industries;
+    private final String[] ids;
+    private final boolean[] crypto;
+
+    private final double[] momentum;
+    private final double[] trend;
+    private final double[] volatility;
+    private final double[] sentiment;
+
+    /**
+     * features.get(i) belongs to assets.get(i)
+     */
+    public AssetUniverse(List<Asset> assets, List<AssetFeatures> features) {
+        if (assets.size() != features.size()) {
+            throw new IllegalArgumentException("one set of features per asset");
+        }
+        int size = assets.size();
+        this.assets = assets.toArray(new Asset[0]);
+        this.features = features.toArray(new AssetFeatures[0]);
+        industries = new String[size];
+        ids = new String[size];
+        crypto = new boolean[size];
+        double[] rawMomentum = new double[size];
+        double[] rawTrend = new double[size];
+        double[] rawVolatility = new double[size];
+        double[] rawSentiment = new double[size];
+        for (int i = 0; i < size; i++) {
+            Asset asset = this.assets[i];
+            AssetFeatures f = this.features[i] != null ? this.features[i] : AssetFeatures.UNKNOWN;
+            this.features[i] = f;
+            industries[i] = asset.industry() != null ? asset.industry().toLowerCase(Locale.ROOT) : null;
+            ids[i] = asset.key().id().toLowerCase(Locale.ROOT);
+            crypto[i] = asset.isCrypto();
+            rawMomentum[i] = f.momentum();
+            rawTrend[i] = f.trend();
+            rawVolatility[i] = f.volatility();
+            rawSentiment[i] = f.sentiment();
+        }
+        momentum = zScores(rawMomentum);
+        trend = zScores(rawTrend);
+        volatility = zScores(rawVolatility);
+        sentiment = zScores(rawSentiment);
+    }
+
+    public int size() {
+        return assets.length;
+    }
+
+    public Asset asset(int index) {
+        return assets[index];
+    }
+
+    public AssetFeatures features(int index) {
+        return features[index];
+    }
+
+    boolean isCrypto(int index) {
+        return crypto[index];
+    }
+
+    String industry(int index) {
+        return industries[index];
+    }
+
+    String id(int index) {
+        return ids[index];
+    }
+
+    double momentum(int index) {
+        return momentum[index];
+    }
+
+    double trend(int index) {
+        return trend[index];
+    }
+
+    double volatility(int index) {
+        return volatility[index];
+    }
+
+    double sentiment(int index) {
+        return sentiment[index];
+    }
+
+    // unknown values score 0, the average
+    private static double[] zScores(double[] values) {
+        double sum = 0;
+        int known = 0;
+        for (double value : values) {
+            if (Double.isFinite(value)) {
+                sum += value;
+                known++;
+            }
+        }
+        double[] z = new double[values.length];
+        if (known < 2) return z;
+
+        double mean = sum / known;
+        double squares = 0;
+        for (double value : values) {
+            if (Double.isFinite(value)) {
+                squares += (value - mean) * (value - mean);
+            }
+        }
+        double deviation = Math.sqrt(squares / (known - 1));
+        if (deviation == 0) return z;
+
+        for (int i = 0; i < values.length; i++) {
+            if (Double.isFinite(values[i])) {
+                z[i] = Math.max(-MAX_Z, Math.min(MAX_Z, (values[i] - mean) / deviation));
+            }
+        }
+        return z;
+    }
+}
@@ -0,0 +1,37 @@
+package com.cryptoadvisor.scoring;
+
+/**
+ * one ranked pick for a user. score is the weighted sum of the feature z-scores and
+ * confidence maps it onto 0-100 (50 is an average asset).
+ */
+public record ScoredAsset(Asset asset, AssetFeatures features, String recommendationType, double score, double confidence) {
+
+    /**
+     * a sentence or two on why, in the style of the server's recommendation reasoning
+     */
+    public String reasoning() {
+        StringBuilder text = new StringBuilder(asset.name());
+        boolean dayTrade = ScoringWeights.DAY_TRADE_TYPE.equals(recommendationType);
+        double move = dayTrade ? features.momentum() : features.trend();
+        if (Double.isNaN(move)) {
+            text.append(" has too little price history to judge its momentum.");
+        } else {
+            text.append(String.format(" is %s %.2f%% %s", move >= 0 ? "up" : "down", Math.abs(move) * 100,
+                    dayTrade ? "on the day" : "over the last " + AssetFeatures.TREND_DAYS + " days"));
+            double volatility = features.volatility();
+            if (Double.isNaN(volatility)) {
+                text.append('.');
+            } else {
+                String level = volatility < 0.01 ? "low" : volatility < 0.03 ? "moderate" : "high";
+                text.append(String.format(" with %s volatility (%.1f%% a day).", level, volatility * 100));
+            }
+        }
+        double sentiment = features.sentiment();
+        if (!Double.isNaN(sentiment)) {
+            text.append(" News sentiment is ")
+                    .append(sentiment > 0.2 ? "positive" : sentiment < -0.2 ? "negative" : "mixed")
+                    .append('.');
+        }
+        return text.toString();
+    }
+}
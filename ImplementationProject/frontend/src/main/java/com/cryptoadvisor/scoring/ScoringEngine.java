@@ -0,0 +1,187 @@
+package com.cryptoadvisor.scoring;
+
+import com.cryptoadvisor.model.UserPreferences;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * ranks an AssetUniverse for one user's preferences.
+ *
+ * the asset type, industries and coins pick the candidates the way the server does: stocks
+ * for "stocks" or "both", limited to the chosen industries if there are any, and coins for
+ * "crypto" or "both", limited to the chosen coins if there are any. each candidate is scored
+ * on the universe's feature z-scores with the weights for the investment type.
+ *
+ * the universe is split into ranges scored in parallel on a fork-join pool; each range keeps
+ * its own top picks and the pools of picks are merged pairwise on the way back up. ties go
+ * to the asset listed first, and nothing is summed across threads, so the same universe and
+ * preferences give exactly the same ranking on any number of cores.
+ */
+public final class ScoringEngine {
+    // assets a task scores itself rather than splitting further
+    private static final int LEAF_SIZE = 1024;
+
+    private final ForkJoinPool pool;
+
+    public ScoringEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ScoringEngine(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * the best limit candidates, best first
+     */
+    public List<ScoredAsset> rank(AssetUniverse universe, UserPreferences preferences, int limit) {
+        if (limit <= 0 || universe.size() == 0) return List.of();
+
+        Profile profile = Profile.of(preferences);
+        double[] scores = new double[universe.size()];
+        int[] top = pool.invoke(new RankTask(universe, profile, scores, limit, 0, universe.size()));
+
+        List<ScoredAsset> ranked = new ArrayList<>(top.length);
+        for (int index : top) {
+            ranked.add(new ScoredAsset(universe.asset(index), universe.features(index), profile.recommendationType(),
+                    scores[index], confidence(scores[index])));
+        }
+        return ranked;
+    }
+
+    /**
+     * score of one asset under the given weights
+     */
+    public static double score(AssetUniverse universe, int index, ScoringWeights weights) {
+        return weights.momentum() * universe.momentum(index)
+                + weights.trend() * universe.trend(index)
+                + weights.volatility() * universe.volatility(index)
+                + weights.sentiment() * universe.sentiment(index);
+    }
+
+    /**
+     * logistic squash of a score onto 0-100
+     */
+    public static double confidence(double score) {
+        return 100 / (1 + Math.exp(-score));
+    }
+
+    // the preferences in the form the scoring loop wants
+    private record Profile(boolean stocks, boolean crypto, Set<String> industries, Set<String> coins,
+                           ScoringWeights weights, String recommendationType) {
+
+        static Profile of(UserPreferences preferences) {
+            String assetType = preferences.preferredAssetType() != null
+                    ? preferences.preferredAssetType().toLowerCase(Locale.ROOT) : "both";
+            String investmentType = preferences.investmentType() != null
+                    ? preferences.investmentType() : ScoringWeights.LONG_TERM_TYPE;
+            return new Profile(!"crypto".equals(assetType), !"stocks".equals(assetType),
+                    lowerCase(preferences.industries()), lowerCase(preferences.cryptocurrencies()),
+                    ScoringWeights.forInvestmentType(investmentType), investmentType);
+        }
+
+        boolean wants(AssetUniverse universe, int index) {
+            if (universe.isCrypto(index)) {
+                return crypto && (coins.isEmpty() || coins.contains(universe.id(index)));
+            }
+            return stocks && (industries.isEmpty() || industries.contains(universe.industry(index)));
+        }
+
+        private static Set<String> lowerCase(List<String> values) {
+            Set<String> set = new HashSet<>();
+            for (String value : values) {
+                if (value != null) set.add(value.toLowerCase(Locale.ROOT));
+            }
+            return set;
+        }
+    }
+
+    // top picks of one range of the universe, as indices best first
+    private static final class RankTask extends RecursiveTask<int[]> {
+        private final AssetUniverse universe;
+        private final Profile profile;
+        private final double[] scores;
+        private final int limit;
+        private final int from;
+        private final int to;
+
+        RankTask(AssetUniverse universe, Profile profile, double[] scores, int limit, int from, int to) {
+            this.universe = universe;
+            this.profile = profile;
+            this.scores = scores;
+            this.limit = limit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= LEAF_SIZE) {
+                return scoreRange();
+            }
+            int middle = (from + to) >>> 1;
+            RankTask left = new RankTask(universe, profile, scores, limit, from, middle);
+            RankTask right = new RankTask(universe, profile, scores, limit, middle, to);
+            left.fork();
+            int[] rightTop = right.compute();
+            return merge(left.join(), rightTop);
+        }
+
+        private int[] scoreRange() {
+            int[] top = new int[Math.min(limit, to - from)];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                if (!profile.wants(universe, i)) continue;
+                scores[i] = score(universe, i, profile.weights());
+                count = insert(top, count, i);
+            }
+            return count == top.length ? top : Arrays.copyOf(top, count);
+        }
+
+        // keeps top sorted best first and at most its length
+        private int insert(int[] top, int count, int index) {
+            if (count == top.length && !better(index, top[count - 1])) return count;
+
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (better(index, top[mid])) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            int moved = Math.min(count, top.length - 1) - low;
+            System.arraycopy(top, low, top, low + 1, moved);
+            top[low] = index;
+            return Math.min(count + 1, top.length);
+        }
+
+        private int[] merge(int[] a, int[] b) {
+            int[] merged = new int[Math.min(limit, a.length + b.length)];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < merged.length; k++) {
+                if (j == b.length || (i < a.length && better(a[i], b[j]))) {
+                    merged[k] = a[i++];
+                } else {
+                    merged[k] = b[j++];
+                }
+            }
+            return merged;
+        }
+
+        // higher score first, then the earlier asset
+        private boolean better(int a, int b) {
+            return scores[a] > scores[b] || (scores[a] == scores[b] && a < b);
+        }
+    }
+}
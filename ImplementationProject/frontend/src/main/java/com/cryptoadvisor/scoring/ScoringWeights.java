@@ -0,0 +1,22 @@
+package com.cryptoadvisor.scoring;
+
+/**
+ * how much each feature's z-score counts towards an asset's score.
+ * a day trader wants assets that are moving today, and movement itself is welcome;
+ * a long-term investor wants a steady climb, so volatility counts against.
+ */
+public record ScoringWeights(double momentum, double trend, double volatility, double sentiment) {
+    public static final String DAY_TRADE_TYPE = "Day Trade";
+    public static final String LONG_TERM_TYPE = "Long-Term";
+
+    public static final ScoringWeights DAY_TRADE = new ScoringWeights(1.0, 0.25, 0.35, 0.5);
+    public static final ScoringWeights LONG_TERM = new ScoringWeights(0.2, 1.0, -0.6, 0.4);
+
+    /**
+     * weights for a user_preferences investment_type; anything but Day Trade is long-term,
+     * as on the server
+     */
+    public static ScoringWeights forInvestmentType(String investmentType) {
+        return DAY_TRADE_TYPE.equals(investmentType) ? DAY_TRADE : LONG_TERM;
+    }
+}
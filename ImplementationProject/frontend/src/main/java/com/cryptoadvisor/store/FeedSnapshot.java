@@ -0,0 +1,23 @@
+package com.cryptoadvisor.store;
+
+import com.cryptoadvisor.model.ForumPost;
+import com.cryptoadvisor.model.NewsArticle;
+import com.cryptoadvisor.model.Recommendation;
+
+import java.util.List;
+
+/**
+ * last decoded home feed, kept on disk so the next start can draw it before the network answers
+ */
+public record FeedSnapshot(
+        long savedAtMillis,
+        List<Recommendation> recommendations,
+        List<NewsArticle> articles,
+        List<ForumPost> forums) {
+
+    public FeedSnapshot {
+        recommendations = List.copyOf(recommendations);
+        articles = List.copyOf(articles);
+        forums = List.copyOf(forums);
+    }
+}
@@ -0,0 +1,193 @@
+package com.cryptoadvisor.store;
+
+import com.cryptoadvisor.model.ForumPost;
+import com.cryptoadvisor.model.NewsArticle;
+import com.cryptoadvisor.model.Recommendation;
+import com.cryptoadvisor.util.AppPaths;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * binary feed snapshot, one file per user.
+ *
+ * layout (big-endian): magic, version, saved-at millis, then recommendations, articles and
+ * forums, each as a count followed by records. strings are a UTF-8 byte length (-1 for null)
+ * and the bytes; numbers are doubles.
+ * reads memory-map the file; writes go to a temp file that is moved into place.
+ */
+public final class FeedSnapshotStore {
+    private static final int MAGIC = 0x43414653; // "CAFS"
+    private static final short VERSION = 1;
+
+    private final Path file;
+
+    public FeedSnapshotStore(Path file) {
+        this.file = file;
+    }
+
+    public static FeedSnapshotStore forUser(String userId) {
+        // user ids are uuids, but keep the file name safe whatever they are
+        String safeId = userId.replaceAll("[^A-Za-z0-9_-]", "_");
+        return new FeedSnapshotStore(AppPaths.dataDir().resolve("feed-" + safeId + ".snapshot"));
+    }
+
+    /**
+     * returns null if there is no snapshot or it can't be read
+     */
+    public FeedSnapshot load() {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            System.err.println("Discarding unreadable feed snapshot " + file + ": " + e);
+            delete();
+            return null;
+        }
+    }
+
+    public void save(FeedSnapshot snapshot) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), "feed-", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out, snapshot);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Could not delete feed snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static void write(DataOutputStream out, FeedSnapshot snapshot) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(snapshot.savedAtMillis());
+
+        out.writeInt(snapshot.recommendations().size());
+        for (Recommendation rec : snapshot.recommendations()) {
+            writeString(out, rec.recommendationId());
+            writeString(out, rec.assetType());
+            writeString(out, rec.assetSymbol());
+            writeString(out, rec.assetName());
+            out.writeDouble(rec.currentPrice());
+            writeString(out, rec.recommendationType());
+            out.writeDouble(rec.confidenceScore());
+            writeString(out, rec.reasoning());
+            writeString(out, rec.newsSummary());
+            writeString(out, rec.coingeckoId());
+            writeString(out, rec.predictionMessage());
+            writeString(out, rec.expiresAt());
+        }
+
+        out.writeInt(snapshot.articles().size());
+        for (NewsArticle article : snapshot.articles()) {
+            writeString(out, article.title());
+            writeString(out, article.summary());
+            writeString(out, article.url());
+            writeString(out, article.source());
+            writeString(out, article.date());
+            writeString(out, article.type());
+        }
+
+        out.writeInt(snapshot.forums().size());
+        for (ForumPost forum : snapshot.forums()) {
+            writeString(out, forum.forumId());
+            writeString(out, forum.userId());
+            writeString(out, forum.title());
+            writeString(out, forum.content());
+            writeString(out, forum.authorName());
+            writeString(out, forum.createdAt());
+        }
+    }
+
+    private static FeedSnapshot read(ByteBuffer in) {
+        if (in.getInt() != MAGIC || in.getShort() != VERSION) {
+            throw new IllegalArgumentException("not a version " + VERSION + " feed snapshot");
+        }
+        long savedAt = in.getLong();
+
+        int recCount = count(in);
+        List<Recommendation> recommendations = new ArrayList<>(recCount);
+        for (int i = 0; i < recCount; i++) {
+            recommendations.add(new Recommendation(
+                    readString(in), readString(in), readString(in), readString(in), in.getDouble(),
+                    readString(in), in.getDouble(), readString(in), readString(in), readString(in),
+                    readString(in), readString(in)));
+        }
+
+        int articleCount = count(in);
+        List<NewsArticle> articles = new ArrayList<>(articleCount);
+        for (int i = 0; i < articleCount; i++) {
+            articles.add(new NewsArticle(readString(in), readString(in), readString(in),
+                    readString(in), readString(in), readString(in)));
+        }
+
+        int forumCount = count(in);
+        List<ForumPost> forums = new ArrayList<>(forumCount);
+        for (int i = 0; i < forumCount; i++) {
+            forums.add(new ForumPost(readString(in), readString(in), readString(in),
+                    readString(in), readString(in), readString(in)));
+        }
+
+        return new FeedSnapshot(savedAt, recommendations, articles, forums);
+    }
+
+    // a bad count would otherwise pre-size a huge list
+    private static int count(ByteBuffer in) {
+        int count = in.getInt();
+        if (count < 0 || count > in.remaining()) {
+            throw new IllegalArgumentException("bad record count " + count);
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) return null;
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,77 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.model.NewsArticle;
+import javafx.geometry.Insets;
+import javafx.scene.control.Hyperlink;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.net.URI;
+
+/**
+ * article card for the home feed, re-bound per list cell
+ */
+public class ArticleCard extends VBox {
+    private final Label tagLabel = new Label();
+    private final Hyperlink titleLink = new Hyperlink();
+    private final Text summaryText = new Text();
+    private final Text sourceText = new Text();
+    
+    private NewsArticle article;
+    
+    public ArticleCard() {
+        super(10);
+        
+        // blue card
+        setPadding(new Insets(15));
+        setStyle("-fx-background-color: #E3F2FD; -fx-background-radius: 8; -fx-border-color: #2196F3; -fx-border-radius: 8; -fx-border-width: 2;");
+        
+        // clickable title
+        titleLink.setFont(Font.font("System", FontWeight.BOLD, 16));
+        titleLink.setTextFill(Color.web("#0D47A1"));
+        titleLink.setStyle("-fx-border-width: 0; -fx-padding: 0;");
+        titleLink.setWrapText(true);
+        titleLink.setMaxWidth(900);
+        titleLink.setOnAction(e -> openArticle());
+        
+        // summary
+        summaryText.setFont(Font.font("System", 13));
+        summaryText.setFill(Color.web("#555555"));
+        summaryText.setWrappingWidth(900);
+        
+        // source
+        sourceText.setFont(Font.font("System", 11));
+        sourceText.setFill(Color.web("#888888"));
+        sourceText.setStyle("-fx-font-style: italic;");
+        
+        getChildren().addAll(tagLabel, titleLink, summaryText, sourceText);
+    }
+    
+    public void bind(NewsArticle article) {
+        this.article = article;
+        
+        // tag
+        boolean isStocks = "stocks".equalsIgnoreCase(article.type());
+        tagLabel.setText(isStocks ? "📊 STOCKS ARTICLE" : "🪙 CRYPTO ARTICLE");
+        tagLabel.setStyle(String.format("-fx-background-color: %s; -fx-text-fill: white; -fx-padding: 4 10; -fx-background-radius: 4; -fx-font-size: 10; -fx-font-weight: bold;", isStocks ? "#2196F3" : "#FF9800"));
+        
+        titleLink.setText(article.title() != null ? article.title() : "No title");
+        titleLink.setVisited(false);
+        summaryText.setText(article.summary() != null ? article.summary() : "");
+        sourceText.setText("Source: " + (article.source() != null ? article.source() : "Unknown"));
+    }
+    
+    private void openArticle() {
+        try {
+            if (article != null && article.url() != null && !article.url().isEmpty()) {
+                java.awt.Desktop.getDesktop().browse(new URI(article.url()));
+            }
+        } catch (Exception ex) {
+            System.err.println("Error opening URL: " + ex.getMessage());
+        }
+    }
+}
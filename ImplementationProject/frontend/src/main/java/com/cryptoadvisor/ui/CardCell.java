@@ -0,0 +1,42 @@
+package com.cryptoadvisor.ui;
+
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * list cell that builds one card the first time it is used and re-binds it afterwards,
+ * so a list only ever holds as many cards as it has visible cells
+ */
+public class CardCell<T, C extends Node> extends ListCell<T> {
+    private final Supplier<C> cardFactory;
+    private final BiConsumer<C, T> binder;
+    private C card;
+    
+    public CardCell(Supplier<C> cardFactory, BiConsumer<C, T> binder) {
+        this.cardFactory = cardFactory;
+        this.binder = binder;
+        setStyle("-fx-background-color: transparent; -fx-padding: 0 0 15 0;");
+    }
+    
+    @Override
+    protected void updateItem(T item, boolean empty) {
+        super.updateItem(item, empty);
+        setText(null);
+        
+        if (empty || item == null) {
+            setGraphic(null);
+            return;
+        }
+        
+        if (card == null) {
+            card = cardFactory.get();
+            RenderTrace.cardCreated();
+        }
+        binder.accept(card, item);
+        RenderTrace.cellBound();
+        setGraphic(card);
+    }
+}
@@ -0,0 +1,220 @@
+package com.cryptoadvisor.ui;
+
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.*;
+import javafx.scene.layout.*;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.stage.Stage;
+import com.cryptoadvisor.chart.ChartSeries;
+import com.cryptoadvisor.chart.PriceChart;
+import com.cryptoadvisor.market.TickArchive;
+import com.cryptoadvisor.market.TickSeries;
+import com.cryptoadvisor.market.TickStore;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.cryptoadvisor.model.Recommendation;
+import com.cryptoadvisor.prices.PriceKey;
+import com.cryptoadvisor.util.ScreenScope;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * price chart for one recommendation, from the archived and live ticks on this machine.
+ * keeps streaming the asset's price while open, so the chart moves with it.
+ */
+public class ChartScreen {
+    // how far back the archive is read
+    private static final Duration HISTORY = Duration.ofDays(365);
+    
+    private static final Map<String, Duration> RANGES = new LinkedHashMap<>();
+    static {
+        RANGES.put("1H", Duration.ofHours(1));
+        RANGES.put("1D", Duration.ofDays(1));
+        RANGES.put("1W", Duration.ofDays(7));
+        RANGES.put("1M", Duration.ofDays(30));
+        RANGES.put("1Y", Duration.ofDays(365));
+    }
+    
+    private Stage primaryStage;
+    private final Recommendation recommendation;
+    private final PriceKey priceKey;
+    private final ScreenScope scope = new ScreenScope("chart");
+    private final PriceChart chart = new PriceChart();
+    private final PriceTicker priceTicker = new PriceTicker(scope, quotes -> appendLiveTicks());
+    private final List<Button> modeButtons = new ArrayList<>();
+    
+    // fx thread only, null until loaded
+    private ChartSeries series;
+    private Label statusLabel;
+    
+    public ChartScreen(Stage primaryStage, Recommendation recommendation) {
+        this.primaryStage = primaryStage;
+        this.recommendation = recommendation;
+        this.priceKey = PriceKey.of(recommendation);
+    }
+    
+    public void show() {
+        // main
+        VBox mainContainer = new VBox(20);
+        mainContainer.setAlignment(Pos.TOP_CENTER);
+        mainContainer.setPadding(new Insets(20));
+        mainContainer.setStyle("-fx-background-color: #f5f5f5;");
+        
+        // header
+        HBox headerContainer = new HBox(15);
+        headerContainer.setAlignment(Pos.CENTER_LEFT);
+        headerContainer.setPadding(new Insets(15, 20, 15, 20));
+        headerContainer.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+        
+        String symbol = recommendation.assetSymbol() != null ? recommendation.assetSymbol() : "N/A";
+        Text title = new Text((recommendation.isCrypto() ? "🪙 " : "📈 ") + symbol);
+        title.setFont(Font.font("System", FontWeight.BOLD, 26));
+        title.setFill(Color.web("#1976D2"));
+        
+        Text name = new Text(recommendation.assetName() != null ? recommendation.assetName() : "");
+        name.setFont(Font.font("System", 14));
+        name.setFill(Color.web("#666666"));
+        
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        
+        Button homeButton = new Button("Home");
+        homeButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 5;");
+        homeButton.setOnAction(e -> showHomeScreen());
+        
+        headerContainer.getChildren().addAll(title, name, spacer, homeButton);
+        
+        // toolbar
+        HBox toolbar = new HBox(8);
+        toolbar.setAlignment(Pos.CENTER_LEFT);
+        
+        for (PriceChart.Mode mode : PriceChart.Mode.values()) {
+            Button modeButton = new Button(mode == PriceChart.Mode.LINE ? "Line" : "Candles");
+            modeButton.setUserData(mode);
+            modeButton.setOnAction(e -> setMode(mode));
+            modeButtons.add(modeButton);
+            toolbar.getChildren().add(modeButton);
+        }
+        
+        Region toolbarSpacer = new Region();
+        HBox.setHgrow(toolbarSpacer, Priority.ALWAYS);
+        toolbar.getChildren().add(toolbarSpacer);
+        
+        for (Map.Entry<String, Duration> range : RANGES.entrySet()) {
+            toolbar.getChildren().add(rangeButton(range.getKey(), () -> chart.showLast(range.getValue())));
+        }
+        toolbar.getChildren().add(rangeButton("All", chart::fit));
+        
+        // status
+        statusLabel = new Label("Loading price history...");
+        statusLabel.setFont(Font.font("System", 14));
+        statusLabel.setTextFill(Color.web("#666666"));
+        
+        Text hint = new Text("Drag to pan, scroll to zoom, double-click to see everything");
+        hint.setFont(Font.font("System", 11));
+        hint.setFill(Color.web("#888888"));
+        hint.setStyle("-fx-font-style: italic;");
+        
+        // chart container
+        VBox chartContainer = new VBox(12);
+        chartContainer.setPadding(new Insets(20));
+        chartContainer.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+        VBox.setVgrow(chart, Priority.ALWAYS);
+        chartContainer.getChildren().addAll(toolbar, statusLabel, chart, hint);
+        VBox.setVgrow(chartContainer, Priority.ALWAYS);
+        
+        mainContainer.getChildren().addAll(headerContainer, chartContainer);
+        setMode(PriceChart.Mode.LINE);
+        
+        // scene
+        Scene scene = new Scene(mainContainer, 1000, 750);
+        scope.bindTo(scene);
+        primaryStage.setScene(scene);
+        primaryStage.setTitle("CryptoAdvisor - " + symbol);
+        primaryStage.setResizable(true);
+        primaryStage.show();
+        
+        loadHistory();
+    }
+    
+    private void loadHistory() {
+        if (priceKey == null) {
+            showStatus("No price history for this asset.");
+            return;
+        }
+        
+        String symbol = priceKey.toString();
+        scope.fork(() -> {
+            long start = System.nanoTime();
+            long from = System.currentTimeMillis() - HISTORY.toMillis();
+            ChartSeries loaded = ChartSeries.load(symbol, TickArchive.getInstance(), TickStore.getInstance(), from);
+            MetricsRegistry metrics = MetricsRegistry.get();
+            metrics.histogram("chart.load.micros").record((System.nanoTime() - start) / 1_000);
+            metrics.histogram("chart.load.ticks").record(loaded.size());
+            
+            scope.runLater("history", () -> {
+                series = loaded;
+                chart.setSeries(loaded);
+                // ticks that came in while loading
+                appendLiveTicks();
+                showStatus(loaded.size() == 0 ? "No price history yet, waiting for live prices..." : null);
+            });
+        });
+        
+        // keeps the price streaming while the chart is open
+        priceTicker.watch(Set.of(priceKey));
+    }
+    
+    // copies ticks newer than the chart's last one from the tick store
+    private void appendLiveTicks() {
+        if (series == null) return;
+        
+        TickSeries live = TickStore.getInstance().series(priceKey.toString());
+        if (live == null) return;
+        
+        int before = series.size();
+        long after = series.size() == 0 ? Long.MIN_VALUE : series.lastTime() + 1;
+        live.forEach(after, Long.MAX_VALUE, series);
+        if (series.size() > before) {
+            showStatus(null);
+            chart.seriesChanged();
+        }
+    }
+    
+    private void setMode(PriceChart.Mode mode) {
+        chart.setMode(mode);
+        for (Button button : modeButtons) {
+            boolean selected = button.getUserData() == mode;
+            button.setStyle(String.format("-fx-background-color: %s; -fx-text-fill: %s; -fx-font-weight: bold; -fx-background-radius: 5;",
+                    selected ? "#1976D2" : "#E3F2FD", selected ? "white" : "#1976D2"));
+        }
+    }
+    
+    private Button rangeButton(String text, Runnable action) {
+        Button button = new Button(text);
+        button.setStyle("-fx-background-color: #EEEEEE; -fx-text-fill: #333333; -fx-font-weight: bold; -fx-background-radius: 5;");
+        button.setOnAction(e -> action.run());
+        return button;
+    }
+    
+    private void showStatus(String message) {
+        boolean visible = message != null;
+        statusLabel.setText(visible ? message : "");
+        statusLabel.setVisible(visible);
+        statusLabel.setManaged(visible);
+    }
+    
+    private void showHomeScreen() {
+        HomeScreen homeScreen = new HomeScreen(primaryStage);
+        homeScreen.show();
+    }
+}
@@ -0,0 +1,211 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.model.Recommendation;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.Separator;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.util.function.Consumer;
+
+/**
+ * home feed cell. keeps at most one node of each row kind and re-binds it,
+ * so the scene graph size depends on the visible cells, not on the feed length.
+ */
+public class FeedCell extends ListCell<FeedItem> {
+    private final Consumer<Recommendation> onOpenRecommendation;
+    private final Runnable onViewForums;
+    
+    // created on first use
+    private RecommendationCard recommendationCard;
+    private ArticleCard articleCard;
+    private ForumCard forumCard;
+    private Text headerText;
+    private Separator divider;
+    private HBox loadingBox;
+    private Text loadingText;
+    private VBox errorBox;
+    private Text errorText;
+    private Runnable retry;
+    private VBox emptyBox;
+    private Text emptyIcon;
+    private Text emptyMessage;
+    private Text emptyHint;
+    private Text noteText;
+    
+    public FeedCell(Consumer<Recommendation> onOpenRecommendation, Runnable onViewForums) {
+        this.onOpenRecommendation = onOpenRecommendation;
+        this.onViewForums = onViewForums;
+        setStyle("-fx-background-color: transparent; -fx-padding: 0 0 15 0;");
+    }
+    
+    @Override
+    protected void updateItem(FeedItem item, boolean empty) {
+        super.updateItem(item, empty);
+        setText(null);
+        if (empty || item == null) {
+            setGraphic(null);
+            return;
+        }
+        setGraphic(nodeFor(item));
+        RenderTrace.cellBound();
+    }
+    
+    private Node nodeFor(FeedItem item) {
+        if (item instanceof FeedItem.RecommendationRow row) {
+            if (recommendationCard == null) {
+                recommendationCard = new RecommendationCard(onOpenRecommendation);
+                RenderTrace.cardCreated();
+            }
+            recommendationCard.bind(row.recommendation());
+            recommendationCard.bindPrice(row.priceProperty());
+            recommendationCard.bindSignals(row.signalsProperty());
+            return recommendationCard;
+        }
+        if (item instanceof FeedItem.ArticleRow row) {
+            if (articleCard == null) {
+                articleCard = new ArticleCard();
+                RenderTrace.cardCreated();
+            }
+            articleCard.bind(row.article());
+            return articleCard;
+        }
+        if (item instanceof FeedItem.ForumRow row) {
+            if (forumCard == null) {
+                forumCard = new ForumCard(onViewForums);
+                RenderTrace.cardCreated();
+            }
+            forumCard.bind(row.forum());
+            return forumCard;
+        }
+        if (item instanceof FeedItem.Header header) {
+            return header(header.text());
+        }
+        if (item instanceof FeedItem.Divider) {
+            if (divider == null) {
+                divider = new Separator();
+                divider.setPadding(new Insets(10, 0, 10, 0));
+            }
+            return divider;
+        }
+        if (item instanceof FeedItem.Loading loading) {
+            return loading(loading.message());
+        }
+        if (item instanceof FeedItem.Error error) {
+            return error(error.message(), error.retry());
+        }
+        if (item instanceof FeedItem.Empty emptyState) {
+            return emptyState(emptyState.icon(), emptyState.message(), emptyState.hint());
+        }
+        if (item instanceof FeedItem.Note note) {
+            return note(note.text());
+        }
+        return null;
+    }
+    
+    private Node header(String text) {
+        if (headerText == null) {
+            headerText = new Text();
+            headerText.setFont(Font.font("System", FontWeight.BOLD, 18));
+            headerText.setFill(Color.web("#333333"));
+        }
+        headerText.setText(text);
+        return headerText;
+    }
+    
+    private Node loading(String message) {
+        if (loadingBox == null) {
+            loadingBox = new HBox(10);
+            loadingBox.setAlignment(Pos.CENTER_LEFT);
+            
+            ProgressIndicator loadingIndicator = new ProgressIndicator();
+            loadingIndicator.setPrefSize(24, 24);
+            loadingText = new Text();
+            loadingText.setFont(Font.font("System", 14));
+            loadingText.setFill(Color.web("#666666"));
+            
+            loadingBox.getChildren().addAll(loadingIndicator, loadingText);
+        }
+        loadingText.setText(message);
+        return loadingBox;
+    }
+    
+    private Node error(String message, Runnable retryAction) {
+        if (errorBox == null) {
+            errorBox = new VBox(10);
+            errorBox.setAlignment(Pos.CENTER);
+            errorBox.setPadding(new Insets(20));
+            
+            Text icon = new Text("⚠️");
+            icon.setFont(Font.font(32));
+            
+            errorText = new Text();
+            errorText.setFont(Font.font("System", 14));
+            errorText.setFill(Color.RED);
+            errorText.setTextAlignment(TextAlignment.CENTER);
+            errorText.setWrappingWidth(400);
+            
+            Button retryButton = new Button("Retry");
+            retryButton.setStyle("-fx-background-color: #1976D2; -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 5;");
+            retryButton.setOnAction(e -> {
+                if (retry != null) {
+                    retry.run();
+                }
+            });
+            
+            errorBox.getChildren().addAll(icon, errorText, retryButton);
+        }
+        errorText.setText(message);
+        retry = retryAction;
+        return errorBox;
+    }
+    
+    private Node emptyState(String icon, String message, String hint) {
+        if (emptyBox == null) {
+            // yellow card
+            emptyBox = new VBox(15);
+            emptyBox.setAlignment(Pos.CENTER);
+            emptyBox.setPadding(new Insets(30));
+            emptyBox.setStyle("-fx-background-color: #FFF8E1; -fx-background-radius: 8; -fx-border-color: #FFC107; -fx-border-radius: 8; -fx-border-width: 2;");
+            
+            emptyIcon = new Text();
+            emptyIcon.setFont(Font.font(48));
+            
+            emptyMessage = new Text();
+            emptyMessage.setFont(Font.font("System", FontWeight.BOLD, 16));
+            emptyMessage.setFill(Color.web("#666666"));
+            
+            emptyHint = new Text();
+            emptyHint.setFont(Font.font("System", 13));
+            emptyHint.setFill(Color.web("#888888"));
+            emptyHint.setTextAlignment(TextAlignment.CENTER);
+            emptyHint.setWrappingWidth(400);
+            
+            emptyBox.getChildren().addAll(emptyIcon, emptyMessage, emptyHint);
+        }
+        emptyIcon.setText(icon);
+        emptyMessage.setText(message);
+        emptyHint.setText(hint);
+        return emptyBox;
+    }
+    
+    private Node note(String text) {
+        if (noteText == null) {
+            noteText = new Text();
+            noteText.setFont(Font.font("System", 14));
+            noteText.setFill(Color.web("#999999"));
+        }
+        noteText.setText(text);
+        return noteText;
+    }
+}
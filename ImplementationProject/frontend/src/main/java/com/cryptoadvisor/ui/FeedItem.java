@@ -0,0 +1,138 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.model.ForumPost;
+import com.cryptoadvisor.model.NewsArticle;
+import com.cryptoadvisor.model.Recommendation;
+import com.cryptoadvisor.prices.PriceKey;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+
+/**
+ * one row of the home feed list.
+ * key() identifies the row across refreshes so FeedReconciler can update it in place.
+ */
+public sealed interface FeedItem {
+    
+    String key();
+    
+    record Header(String text) implements FeedItem {
+        public String key() {
+            return "header:" + text;
+        }
+    }
+    
+    record Divider(String id) implements FeedItem {
+        public String key() {
+            return "divider:" + id;
+        }
+    }
+    
+    record Loading(String message) implements FeedItem {
+        public String key() {
+            return "loading:" + message;
+        }
+    }
+    
+    record Error(String message, Runnable retry) implements FeedItem {
+        public String key() {
+            return "error:" + message;
+        }
+    }
+    
+    record Empty(String icon, String message, String hint) implements FeedItem {
+        public String key() {
+            return "empty:" + message;
+        }
+    }
+    
+    record Note(String text) implements FeedItem {
+        public String key() {
+            return "note:" + text;
+        }
+    }
+    
+    /**
+     * recommendation row. the price and the live indicator summary are observable so a
+     * refresh that only moves them updates the card's text without re-binding the card.
+     */
+    final class RecommendationRow implements FeedItem {
+        private Recommendation recommendation;
+        private final ReadOnlyDoubleWrapper price;
+        private final ReadOnlyStringWrapper signals = new ReadOnlyStringWrapper("");
+        private final PriceKey priceKey;
+        // set once a streamed price has replaced the one the recommendation was generated with
+        private boolean live;
+        
+        public RecommendationRow(Recommendation recommendation) {
+            this.recommendation = recommendation;
+            this.price = new ReadOnlyDoubleWrapper(recommendation.currentPrice());
+            this.priceKey = PriceKey.of(recommendation);
+        }
+        
+        public Recommendation recommendation() {
+            return recommendation;
+        }
+        
+        public ReadOnlyDoubleProperty priceProperty() {
+            return price.getReadOnlyProperty();
+        }
+        
+        /**
+         * e.g. "RSI 62 · MACD ▲ · 0.4% above SMA20", empty until there is live data
+         */
+        public ReadOnlyStringProperty signalsProperty() {
+            return signals.getReadOnlyProperty();
+        }
+        
+        /**
+         * asset to stream a live price for, or null
+         */
+        public PriceKey priceKey() {
+            return priceKey;
+        }
+        
+        public String key() {
+            // rows saved before recommendation_id existed fall back to the symbol
+            String id = recommendation.recommendationId();
+            return "rec:" + (id != null ? id : recommendation.assetType() + "/" + recommendation.assetSymbol());
+        }
+        
+        /**
+         * true if the two rows only differ in price
+         */
+        boolean hasSameDetails(RecommendationRow other) {
+            return recommendation.withCurrentPrice(0).equals(other.recommendation.withCurrentPrice(0));
+        }
+        
+        void updatePrice(Recommendation latest) {
+            recommendation = latest;
+            // a refreshed recommendation still carries its generation-time price
+            if (!live) {
+                price.set(latest.currentPrice());
+            }
+        }
+        
+        void setLivePrice(double livePrice) {
+            live = true;
+            price.set(livePrice);
+        }
+        
+        void setSignals(String summary) {
+            signals.set(summary);
+        }
+    }
+    
+    record ArticleRow(NewsArticle article) implements FeedItem {
+        public String key() {
+            return "article:" + (article.url() != null ? article.url() : article.title());
+        }
+    }
+    
+    record ForumRow(ForumPost forum) implements FeedItem {
+        public String key() {
+            return "forum:" + forum.forumId();
+        }
+    }
+}
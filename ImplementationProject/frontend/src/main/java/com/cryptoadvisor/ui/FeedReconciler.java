@@ -0,0 +1,96 @@
+package com.cryptoadvisor.ui;
+
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * keyed diff of feed rows onto a ListView's items.
+ * unchanged rows are left alone so their cells, and the scroll position, survive a refresh.
+ */
+public final class FeedReconciler {
+    
+    private FeedReconciler() {
+    }
+    
+    /**
+     * makes items equal to target with the fewest list edits.
+     * returns how many rows were inserted, removed, moved or changed.
+     */
+    public static int reconcile(ObservableList<FeedItem> items, List<FeedItem> target) {
+        List<String> targetKeys = uniqueKeys(target);
+        List<String> currentKeys = uniqueKeys(items);
+        Set<String> wanted = new HashSet<>(targetKeys);
+        int touched = 0;
+        
+        // removals, back to front so indices stay valid
+        for (int i = items.size() - 1; i >= 0; i--) {
+            if (!wanted.contains(currentKeys.get(i))) {
+                items.remove(i);
+                currentKeys.remove(i);
+                touched++;
+            }
+        }
+        
+        // every position before i already matches, so a key found later is a move
+        for (int i = 0; i < target.size(); i++) {
+            FeedItem next = target.get(i);
+            String key = targetKeys.get(i);
+            
+            if (i < items.size() && currentKeys.get(i).equals(key)) {
+                touched += update(items, i, next);
+                continue;
+            }
+            
+            int from = currentKeys.indexOf(key);
+            if (from > i) {
+                FeedItem moved = items.remove(from);
+                currentKeys.remove(from);
+                items.add(i, moved);
+                currentKeys.add(i, key);
+                update(items, i, next);
+            } else {
+                items.add(i, next);
+                currentKeys.add(i, key);
+            }
+            touched++;
+        }
+        return touched;
+    }
+    
+    private static int update(List<FeedItem> items, int index, FeedItem next) {
+        FeedItem current = items.get(index);
+        if (current.equals(next)) return 0;
+        
+        // same recommendation with a new price: only the price text changes
+        if (current instanceof FeedItem.RecommendationRow currentRow
+                && next instanceof FeedItem.RecommendationRow nextRow
+                && currentRow.hasSameDetails(nextRow)) {
+            if (Double.compare(currentRow.priceProperty().get(), nextRow.priceProperty().get()) == 0) {
+                return 0;
+            }
+            currentRow.updatePrice(nextRow.recommendation());
+            return 1;
+        }
+        
+        items.set(index, next);
+        return 1;
+    }
+    
+    // repeated keys (e.g. two sections showing the same error) get an occurrence suffix
+    private static List<String> uniqueKeys(List<FeedItem> rows) {
+        List<String> keys = new ArrayList<>(rows.size());
+        Map<String, Integer> seen = new HashMap<>();
+        for (FeedItem row : rows) {
+            String key = row.key();
+            int count = seen.merge(key, 1, Integer::sum);
+            keys.add(count == 1 ? key : key + "#" + count);
+        }
+        return keys;
+    }
+}
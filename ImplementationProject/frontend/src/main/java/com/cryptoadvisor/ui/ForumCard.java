@@ -0,0 +1,62 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.model.ForumPost;
+import javafx.geometry.Insets;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+/**
+ * forum post card for the home feed, re-bound per list cell
+ */
+public class ForumCard extends VBox {
+    private final Text titleText = new Text();
+    private final Text contentText = new Text();
+    private final Text authorText = new Text();
+    
+    public ForumCard(Runnable onViewDiscussion) {
+        super(10);
+        
+        // purple card
+        setPadding(new Insets(15));
+        setStyle("-fx-background-color: #F3E5F5; -fx-background-radius: 8; -fx-border-color: #9C27B0; -fx-border-radius: 8; -fx-border-width: 2;");
+        
+        // tag
+        Label tagLabel = new Label("💬 FORUM POST");
+        tagLabel.setStyle("-fx-background-color: #9C27B0; -fx-text-fill: white; -fx-padding: 4 10; -fx-background-radius: 4; -fx-font-size: 10; -fx-font-weight: bold;");
+        
+        // title
+        titleText.setFont(Font.font("System", FontWeight.BOLD, 16));
+        titleText.setFill(Color.web("#6A1B9A"));
+        titleText.setWrappingWidth(900);
+        
+        // content
+        contentText.setFont(Font.font("System", 13));
+        contentText.setFill(Color.web("#555555"));
+        contentText.setWrappingWidth(900);
+        
+        // author
+        authorText.setFont(Font.font("System", 11));
+        authorText.setFill(Color.web("#888888"));
+        authorText.setStyle("-fx-font-style: italic;");
+        
+        // button
+        Button viewButton = new Button("View Discussion");
+        viewButton.setStyle("-fx-background-color: #9C27B0; -fx-text-fill: white; -fx-font-size: 11; -fx-padding: 5 15; -fx-background-radius: 4;");
+        viewButton.setOnAction(e -> onViewDiscussion.run());
+        
+        getChildren().addAll(tagLabel, titleText, contentText, authorText, viewButton);
+    }
+    
+    public void bind(ForumPost forum) {
+        String content = forum.content() != null ? forum.content() : "";
+        
+        titleText.setText(forum.title() != null ? forum.title() : "");
+        contentText.setText(content.length() > 200 ? content.substring(0, 200) + "..." : content);
+        authorText.setText("Posted by: " + (forum.authorName() != null ? forum.authorName() : "Unknown"));
+    }
+}
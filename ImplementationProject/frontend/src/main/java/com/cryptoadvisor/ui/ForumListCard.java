@@ -0,0 +1,59 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.model.ForumPost;
+import javafx.geometry.Insets;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.function.Consumer;
+
+/**
+ * forum post card for the forums screen, re-bound per list cell
+ */
+public class ForumListCard extends VBox {
+    private final Text titleText = new Text();
+    private final Text contentText = new Text();
+    private final Text authorText = new Text();
+    
+    private ForumPost forum;
+    
+    public ForumListCard(Consumer<ForumPost> onOpen) {
+        super(10);
+        setPadding(new Insets(15));
+        setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8; -fx-border-color: #dee2e6; -fx-border-radius: 8; -fx-cursor: hand;");
+        
+        // title
+        titleText.setFont(Font.font("System", FontWeight.BOLD, 16));
+        titleText.setFill(Color.web("#1976D2"));
+        
+        // content preview
+        contentText.setFont(Font.font("System", 12));
+        contentText.setFill(Color.web("#666666"));
+        contentText.setWrappingWidth(900);
+        
+        // author
+        authorText.setFont(Font.font("System", 11));
+        authorText.setFill(Color.web("#999999"));
+        
+        getChildren().addAll(titleText, contentText, authorText);
+        
+        // click to view
+        setOnMouseClicked(e -> {
+            if (forum != null) {
+                onOpen.accept(forum);
+            }
+        });
+    }
+    
+    public void bind(ForumPost forum) {
+        this.forum = forum;
+        String content = forum.content() != null ? forum.content() : "";
+        
+        titleText.setText(forum.title() != null ? forum.title() : "");
+        contentText.setText(content.length() > 150 ? content.substring(0, 150) + "..." : content);
+        authorText.setText("By: " + (forum.authorName() != null ? forum.authorName() : "Unknown"));
+    }
+}
@@ -1,6 +1,5 @@
 package com.cryptoadvisor.ui;
 
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -14,30 +13,35 @@ import javafx.stage.Stage;
 import javafx.stage.Modality;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
-import com.cryptoadvisor.util.TokenManager;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.api.ApiResponse;
+import com.cryptoadvisor.model.ForumPost;
+import com.cryptoadvisor.model.Reply;
+import com.cryptoadvisor.util.BackgroundExecutor;
+import com.cryptoadvisor.util.FrameMonitor;
+import com.cryptoadvisor.util.ScreenScope;
 
 /**
  * forums screen
  */
 public class ForumsScreen {
     private Stage primaryStage;
-    private final HttpClient httpClient;
-    private static final String API_BASE_URL = "http://localhost:3000";
+    private final ApiClient apiClient;
+    private final ScreenScope scope = new ScreenScope("forums");
     
     private VBox forumsContainer;
+    private ListView<ForumPost> forumList;
+    private Label placeholderLabel;
     
     public ForumsScreen(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        this.apiClient = ApiClient.getInstance();
     }
     
     public void show() {
@@ -74,19 +78,24 @@ public class ForumsScreen {
         forumsContainer.setPadding(new Insets(20));
         forumsContainer.setStyle("-fx-background-color: white; -fx-background-radius: 10;");
         
-        Label loadingLabel = new Label("Loading forums...");
-        forumsContainer.getChildren().add(loadingLabel);
+        VBox.setVgrow(forumsContainer, Priority.ALWAYS);
+        
+        // virtualized list, cells re-bind a pooled card
+        placeholderLabel = new Label("Loading forums...");
+        forumList = new ListView<>();
+        forumList.setCellFactory(list -> new CardCell<>(() -> new ForumListCard(this::showForumDetails), ForumListCard::bind));
+        forumList.setFocusTraversable(false);
+        forumList.setStyle("-fx-background-color: transparent; -fx-control-inner-background: white;");
+        forumList.setPlaceholder(placeholderLabel);
+        VBox.setVgrow(forumList, Priority.ALWAYS);
+        forumsContainer.getChildren().add(forumList);
         
         // add elements
         mainContainer.getChildren().addAll(headerContainer, forumsContainer);
         
-        // scrollable
-        ScrollPane scrollPane = new ScrollPane(mainContainer);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setFitToHeight(true);
-        
         // scene
-        Scene scene = new Scene(scrollPane, 1000, 700);
+        Scene scene = new Scene(mainContainer, 1000, 700);
+        scope.bindTo(scene);
         primaryStage.setScene(scene);
         primaryStage.setTitle("CryptoAdvisor - Forums");
         primaryStage.setResizable(true);
@@ -97,99 +106,73 @@ public class ForumsScreen {
     }
     
     private void loadForums() {
-        new Thread(() -> {
-            try {
-                System.out.println("loading forums");
-                
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/forums"))
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                
-                System.out.println("forums status: " + response.statusCode());
-                
-                Platform.runLater(() -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            displayForums(response.body());
-                        } catch (Exception e) {
-                            System.err.println("parse error");
-                            e.printStackTrace();
-                        }
-                    }
-                });
-                
-            } catch (IOException | InterruptedException e) {
-                System.err.println("connection error");
-                e.printStackTrace();
-            }
-        }).start();
-    }
-    
-    private void displayForums(String jsonResponse) {
-        forumsContainer.getChildren().clear();
+        System.out.println("loading forums");
+        
+        // an expired cached copy is shown at once while the request revalidates it. both are
+        // decoded on a background thread; servedStale completes once the cached list is queued
+        CompletableFuture<Boolean> servedStale = new CompletableFuture<>();
+        AtomicBoolean hadStale = new AtomicBoolean();
+        CompletableFuture<ApiResponse> request = apiClient.getCached("/api/forums", stale -> {
+            hadStale.set(true);
+            BackgroundExecutor.shared().execute(() -> servedStale.complete(showForumsResponse(stale)));
+        });
+        if (!hadStale.get()) {
+            servedStale.complete(false);
+        }
         
-        try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(jsonResponse);
-            JsonNode forumsArray = rootNode.get("forums");
-            
-            if (forumsArray == null || !forumsArray.isArray() || forumsArray.size() == 0) {
-                Label noForums = new Label("No forum posts yet. Be the first to create one!");
-                forumsContainer.getChildren().add(noForums);
+        // async so a fresh cache hit, which completes at once, isn't decoded on the fx thread
+        scope.track(request).whenCompleteAsync((response, error) -> {
+            boolean shownStale = servedStale.join();
+            if (error != null) {
+                System.err.println("connection error");
+                error.printStackTrace();
                 return;
             }
             
-            System.out.println("forums found: " + forumsArray.size());
+            System.out.println("forums status: " + response.statusCode() + " (" + response.source() + ")");
             
-            for (JsonNode forum : forumsArray) {
-                String forumId = forum.get("forum_id").asText();
-                String forumTitle = forum.get("title").asText();
-                String content = forum.get("content").asText();
-                String authorName = forum.get("author_name").asText();
-                
-                VBox forumCard = createForumCard(forumId, forumTitle, content, authorName);
-                forumsContainer.getChildren().add(forumCard);
+            // the stale copy on screen is still current
+            if (response.source() == ApiResponse.Source.NOT_MODIFIED && shownStale) {
+                return;
             }
-            
-        } catch (Exception e) {
-            System.err.println("display error");
+            showForumsResponse(response);
+        }, BackgroundExecutor.shared());
+    }
+    
+    // decodes on the calling background thread and queues the list for the fx thread;
+    // false if there was nothing to show
+    private boolean showForumsResponse(ApiResponse response) {
+        if (response.statusCode() != 200) return false;
+        try {
+            List<ForumPost> forums = ApiJson.decodeForums(response.body());
+            scope.runLater("forums", () -> displayForums(forums));
+            return true;
+        } catch (IOException e) {
+            System.err.println("parse error");
             e.printStackTrace();
+            return false;
         }
     }
     
-    private VBox createForumCard(String forumId, String title, String content, String author) {
-        VBox card = new VBox(10);
-        card.setPadding(new Insets(15));
-        card.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8; -fx-border-color: #dee2e6; -fx-border-radius: 8; -fx-cursor: hand;");
-        
-        // title
-        Text titleText = new Text(title);
-        titleText.setFont(Font.font("System", FontWeight.BOLD, 16));
-        titleText.setFill(Color.web("#1976D2"));
-        
-        // content preview
-        Text contentText = new Text(content.length() > 150 ? content.substring(0, 150) + "..." : content);
-        contentText.setFont(Font.font("System", 12));
-        contentText.setFill(Color.web("#666666"));
-        contentText.setWrappingWidth(900);
-        
-        // author
-        Text authorText = new Text("By: " + author);
-        authorText.setFont(Font.font("System", 11));
-        authorText.setFill(Color.web("#999999"));
-        
-        card.getChildren().addAll(titleText, contentText, authorText);
-        
-        // click to view
-        card.setOnMouseClicked(e -> showForumDetails(forumId, title, content, author));
+    private void displayForums(List<ForumPost> forums) {
+        if (forums.isEmpty()) {
+            placeholderLabel.setText("No forum posts yet. Be the first to create one!");
+        } else {
+            System.out.println("forums found: " + forums.size());
+        }
         
-        return card;
+        RenderTrace.run("forums", forumList, forums.size(), () -> {
+            forumList.getItems().setAll(forums);
+            return forums.size();
+        });
     }
     
-    private void showForumDetails(String forumId, String title, String content, String author) {
+    private void showForumDetails(ForumPost forum) {
+        String forumId = forum.forumId();
+        String title = forum.title() != null ? forum.title() : "";
+        String content = forum.content() != null ? forum.content() : "";
+        String author = forum.authorName() != null ? forum.authorName() : "Unknown";
+        
         Stage dialog = new Stage();
         dialog.initModality(Modality.APPLICATION_MODAL);
         dialog.initOwner(primaryStage);
@@ -239,63 +222,54 @@ public class ForumsScreen {
         scrollPane.setFitToWidth(true);
         
         Scene dialogScene = new Scene(scrollPane, 600, 500);
+        FrameMonitor.attach(dialogScene);
         dialog.setScene(dialogScene);
         dialog.setTitle("Forum Post");
         dialog.show();
     }
     
     private void loadReplies(String forumId, VBox container) {
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
                 System.out.println("loading replies");
                 
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/forums/" + forumId + "/replies"))
-                        .GET()
-                        .build();
+                HttpRequest request = apiClient.getRequest("/api/forums/" + forumId + "/replies");
                 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            //341 logic for forums to display
-                            ObjectMapper mapper = new ObjectMapper();
-                            JsonNode rootNode = mapper.readTree(response.body());
-                            JsonNode repliesArray = rootNode.get("replies");
-                            
-                            if (repliesArray != null && repliesArray.isArray()) {
-                                System.out.println("replies: " + repliesArray.size());
-                                
-                                for (JsonNode reply : repliesArray) {
-                                    String replyContent = reply.get("content").asText();
-                                    String replyAuthor = reply.get("author_name").asText();
-                                    
-                                    VBox replyCard = new VBox(5);
-                                    replyCard.setPadding(new Insets(10));
-                                    replyCard.setStyle("-fx-background-color: #e9ecef; -fx-background-radius: 5;");
-                                    
-                                    Text contentText = new Text(replyContent);
-                                    contentText.setWrappingWidth(500);
-                                    
-                                    Text authorText = new Text("- " + replyAuthor);
-                                    authorText.setFont(Font.font("System", 10));
-                                    authorText.setFill(Color.web("#666666"));
-                                    
-                                    replyCard.getChildren().addAll(contentText, authorText);
-                                    container.getChildren().add(replyCard);
-                                }
-                            }
-                        } catch (Exception e) {
-                            System.err.println("replies parse error");
-                        }
+                if (response.statusCode() == 200) {
+                    //341 logic for forums to display
+                    List<Reply> replies;
+                    try {
+                        replies = ApiJson.decodeReplies(response.body());
+                    } catch (IOException e) {
+                        System.err.println("replies parse error");
+                        return;
                     }
-                });
+                    System.out.println("replies: " + replies.size());
+                    
+                    // long threads are built a frame budget at a time
+                    scope.runChunked("replies", replies, reply -> {
+                        VBox replyCard = new VBox(5);
+                        replyCard.setPadding(new Insets(10));
+                        replyCard.setStyle("-fx-background-color: #e9ecef; -fx-background-radius: 5;");
+                        
+                        Text contentText = new Text(reply.content() != null ? reply.content() : "");
+                        contentText.setWrappingWidth(500);
+                        
+                        Text authorText = new Text("- " + reply.authorName());
+                        authorText.setFont(Font.font("System", 10));
+                        authorText.setFill(Color.web("#666666"));
+                        
+                        replyCard.getChildren().addAll(contentText, authorText);
+                        container.getChildren().add(replyCard);
+                    });
+                }
                 
             } catch (IOException | InterruptedException e) {
                 System.err.println("replies load error");
             }
-        }).start();
+        });
     }
     
     private void postReply(String forumId, String content, VBox repliesContainer, Stage dialog) {
@@ -304,22 +278,17 @@ public class ForumsScreen {
             return;
         }
         
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
                 System.out.println("posting reply");
                 
                 String requestBody = String.format("{\"content\":\"%s\"}", content.replace("\"", "\\\""));
                 
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/forums/" + forumId + "/replies"))
-                        .header("Content-Type", "application/json")
-                        .header("Authorization", "Bearer " + TokenManager.getAuthToken())
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
+                HttpRequest request = apiClient.postRequest("/api/forums/" + forumId + "/replies", requestBody);
                 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     if (response.statusCode() == 201) {
                         System.out.println("reply posted");
                         dialog.close();
@@ -330,7 +299,7 @@ public class ForumsScreen {
             } catch (IOException | InterruptedException e) {
                 System.err.println("post error");
             }
-        }).start();
+        });
     }
     
     private void showCreateDialog() {
@@ -368,23 +337,18 @@ public class ForumsScreen {
             return;
         }
         
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
                 System.out.println("creating forum");
                 
                 String requestBody = String.format("{\"title\":\"%s\",\"content\":\"%s\"}", 
                     title.replace("\"", "\\\""), content.replace("\"", "\\\""));
                 
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/forums"))
-                        .header("Content-Type", "application/json")
-                        .header("Authorization", "Bearer " + TokenManager.getAuthToken())
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
+                HttpRequest request = apiClient.postRequest("/api/forums", requestBody);
                 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     if (response.statusCode() == 201) {
                         System.out.println("forum created");
                         dialog.close();
@@ -395,7 +359,7 @@ public class ForumsScreen {
             } catch (IOException | InterruptedException e) {
                 System.err.println("create error");
             }
-        }).start();
+        });
     }
     
     private void showHomeScreen() {
@@ -1,6 +1,5 @@
 package com.cryptoadvisor.ui;
 
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -11,37 +10,75 @@ import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 import javafx.scene.text.Text;
 import javafx.stage.Stage;
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiException;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.api.ApiResponse;
+import com.cryptoadvisor.evaluation.RecommendationLog;
+import com.cryptoadvisor.indicators.IndicatorSnapshot;
+import com.cryptoadvisor.indicators.LiveIndicators;
+import com.cryptoadvisor.metrics.FeedLoadEvent;
+import com.cryptoadvisor.model.ForumPost;
+import com.cryptoadvisor.model.NewsArticle;
+import com.cryptoadvisor.model.Recommendation;
+import com.cryptoadvisor.prices.PriceKey;
+import com.cryptoadvisor.prices.PriceQuote;
+import com.cryptoadvisor.store.FeedSnapshot;
+import com.cryptoadvisor.store.FeedSnapshotStore;
+import com.cryptoadvisor.util.BackgroundExecutor;
+import com.cryptoadvisor.util.ScreenScope;
 import com.cryptoadvisor.util.TokenManager;
+import com.fasterxml.jackson.core.JsonProcessingException;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * home screen
  */
 public class HomeScreen {
     private Stage primaryStage;
-    private final HttpClient httpClient;
-    private static final String API_BASE_URL = "http://localhost:3000";
+    private final ApiClient apiClient;
+    private final ScreenScope scope = new ScreenScope("home");
     private VBox contentContainer;
+    private ListView<FeedItem> feedList;
+    private final EnumMap<Section, List<FeedItem>> sectionRows = new EnumMap<>(Section.class);
+    private boolean showWelcome;
+    // bumped on every load so late responses from an older load are dropped
+    private int feedGeneration = 0;
+    
+    // last decoded feed, written to disk for the next start; null when the user id is unknown
+    private final FeedSnapshotStore snapshotStore;
+    private List<Recommendation> latestRecommendations = List.of();
+    private List<NewsArticle> latestArticles = List.of();
+    private List<ForumPost> latestForums = List.of();
+    private boolean snapshotDirty;
+    
+    // live prices for the recommendation cards
+    private final PriceTicker priceTicker = new PriceTicker(scope, this::applyPrices);
+    
+    private enum Section { RECOMMENDATIONS, ARTICLES, FORUMS }
     
     public HomeScreen(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        this.apiClient = ApiClient.getInstance();
+        String userId = TokenManager.getUserId();
+        this.snapshotStore = userId != null ? FeedSnapshotStore.forUser(userId) : null;
     }
     
     public void show() {
-        // scroll pane
-        ScrollPane scrollPane = new ScrollPane();
-        scrollPane.setFitToWidth(true);
-        scrollPane.setStyle("-fx-background: #f5f5f5; -fx-background-color: #f5f5f5;");
-        
         // main
         VBox mainContainer = new VBox(20);
         mainContainer.setAlignment(Pos.TOP_CENTER);
@@ -71,7 +108,7 @@ public class HomeScreen {
         createForumButton.setOnAction(e -> showCreateForumDialog());
         
         Button refreshButton = createNavButton("🔄 Refresh", "#4CAF50");
-        refreshButton.setOnAction(e -> loadUnifiedFeed());
+        refreshButton.setOnAction(e -> loadUnifiedFeed(true));
         
         Button logoutButton = createNavButton("Logout", "#f44336");
         logoutButton.setOnAction(e -> handleLogout());
@@ -83,28 +120,68 @@ public class HomeScreen {
         contentContainer.setAlignment(Pos.TOP_CENTER);
         contentContainer.setPadding(new Insets(30));
         contentContainer.setStyle("-fx-background-color: white; -fx-background-radius: 10; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.1), 10, 0, 0, 2);");
+        VBox.setVgrow(contentContainer, Priority.ALWAYS);
+        
+        // feed title
+        Text feedTitle = new Text("🌟 Your Personalized Feed");
+        feedTitle.setFont(Font.font("System", FontWeight.BOLD, 24));
+        feedTitle.setFill(Color.web("#1976D2"));
         
-        // loading
-        ProgressIndicator loadingIndicator = new ProgressIndicator();
-        loadingIndicator.setPrefSize(50, 50);
-        Text loadingText = new Text("Loading your personalized feed...");
-        loadingText.setFont(Font.font("System", 14));
-        loadingText.setFill(Color.web("#666666"));
+        // virtualized feed, cells recycle their cards while scrolling
+        feedList = new ListView<>();
+        feedList.setCellFactory(list -> new FeedCell(this::openRecommendation, this::showForumsScreen));
+        feedList.setFocusTraversable(false);
+        feedList.setStyle("-fx-background-color: transparent; -fx-control-inner-background: white; -fx-padding: 10 0 0 0;");
+        VBox.setVgrow(feedList, Priority.ALWAYS);
         
-        contentContainer.getChildren().addAll(loadingIndicator, loadingText);
+        contentContainer.getChildren().addAll(feedTitle, feedList);
         
         mainContainer.getChildren().addAll(headerContainer, contentContainer);
-        scrollPane.setContent(mainContainer);
         
         // scene
-        Scene scene = new Scene(scrollPane, 1000, 750);
+        Scene scene = new Scene(mainContainer, 1000, 750);
+        scope.bindTo(scene);
         primaryStage.setScene(scene);
         primaryStage.setTitle("CryptoAdvisor - Home");
         primaryStage.setResizable(true);
         primaryStage.show();
         
+        // last session's feed first, so nothing waits on the backend for a first paint
+        showSnapshot();
+        
         // load feed
-        loadUnifiedFeed();
+        loadUnifiedFeed(false);
+    }
+    
+    private void showSnapshot() {
+        if (snapshotStore == null) return;
+        
+        FeedSnapshot snapshot = snapshotStore.load();
+        if (snapshot == null) return;
+        
+        latestRecommendations = snapshot.recommendations();
+        latestArticles = snapshot.articles();
+        latestForums = snapshot.forums();
+        sectionRows.put(Section.RECOMMENDATIONS, recommendationRows(latestRecommendations));
+        sectionRows.put(Section.ARTICLES, articleRows(latestArticles));
+        sectionRows.put(Section.FORUMS, forumRows(latestForums));
+        refreshFeedList();
+    }
+    
+    // written off the fx thread; not tied to the screen scope so leaving the screen doesn't lose it
+    private void saveSnapshot() {
+        if (snapshotStore == null || !snapshotDirty) return;
+        snapshotDirty = false;
+        
+        FeedSnapshot snapshot = new FeedSnapshot(System.currentTimeMillis(),
+                latestRecommendations, latestArticles, latestForums);
+        BackgroundExecutor.shared().execute(() -> {
+            try {
+                snapshotStore.save(snapshot);
+            } catch (IOException e) {
+                System.err.println("Could not save feed snapshot: " + e.getMessage());
+            }
+        });
     }
     
     private Button createNavButton(String text, String color) {
@@ -119,554 +196,303 @@ public class HomeScreen {
         return button;
     }
     
-    private void loadUnifiedFeed() {
-        contentContainer.getChildren().clear();
-        
-        // loading
-        ProgressIndicator loadingIndicator = new ProgressIndicator();
-        loadingIndicator.setPrefSize(50, 50);
-        Text loadingText = new Text("Loading your personalized feed...");
-        loadingText.setFont(Font.font("System", 14));
-        loadingText.setFill(Color.web("#666666"));
-        
-        contentContainer.getChildren().addAll(loadingIndicator, loadingText);
-        
-        new Thread(() -> {
-            try {
-                // fetch recs
-                HttpRequest recRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/recommendations"))
-                        .header("Authorization", "Bearer " + TokenManager.getAuthToken())
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> recResponse = httpClient.send(recRequest, HttpResponse.BodyHandlers.ofString());
-                
-                // fetch news
-                HttpRequest newsRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/news"))
-                        .header("Authorization", "Bearer " + TokenManager.getAuthToken())
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> newsResponse = httpClient.send(newsRequest, HttpResponse.BodyHandlers.ofString());
-                
-                // fetch forums
-                HttpRequest forumsRequest = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/forums"))
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> forumsResponse = httpClient.send(forumsRequest, HttpResponse.BodyHandlers.ofString());
-                
-                String finalRecResponse = recResponse.body();
-                String finalNewsResponse = newsResponse.body();
-                String finalForumsResponse = forumsResponse.body();
-                
-                Platform.runLater(() -> displayUnifiedFeed(finalRecResponse, finalNewsResponse, finalForumsResponse));
-                
-            } catch (IOException | InterruptedException e) {
-                Platform.runLater(() -> showError("Connection error. Please check if backend is running."));
-                e.printStackTrace();
+    // revalidate asks the server even for sections whose cached copy is still fresh
+    private void loadUnifiedFeed(boolean revalidate) {
+        int generation = ++feedGeneration;
+        showWelcome = false;
+        FeedLoadEvent loadEvent = new FeedLoadEvent();
+        loadEvent.begin();
+        loadEvent.fromSnapshot = hasContent(Section.RECOMMENDATIONS) || hasContent(Section.ARTICLES)
+                || hasContent(Section.FORUMS);
+        
+        // fan out all three requests at once; sections fill in independently as they arrive
+        CompletableFuture<Boolean> recs = loadRecommendations(generation, revalidate);
+        CompletableFuture<Boolean> articles = loadArticles(generation, revalidate);
+        CompletableFuture<Boolean> forums = loadForums(generation, revalidate);
+        
+        // completed on the fx thread by loadSection, so this runs there too
+        CompletableFuture.allOf(recs, articles, forums).thenRun(() -> {
+            loadEvent.end();
+            if (loadEvent.shouldCommit()) {
+                loadEvent.sectionsWithContent = (recs.join() ? 1 : 0) + (articles.join() ? 1 : 0) + (forums.join() ? 1 : 0);
+                loadEvent.commit();
             }
-        }).start();
+            saveSnapshot();
+            if (generation != feedGeneration) return;
+            if (!recs.join() && !articles.join() && !forums.join()) {
+                showWelcome = true;
+                refreshFeedList();
+            }
+        });
     }
     
-    private void displayUnifiedFeed(String recommendationsJson, String newsJson, String forumsJson) {
-        contentContainer.getChildren().clear();
-        
-        // header
-        Text feedTitle = new Text("🌟 Your Personalized Feed");
-        feedTitle.setFont(Font.font("System", FontWeight.BOLD, 24));
-        feedTitle.setFill(Color.web("#1976D2"));
-        contentContainer.getChildren().add(feedTitle);
-        
-        VBox feedContainer = new VBox(15);
-        feedContainer.setPadding(new Insets(10, 0, 0, 0));
+    private CompletableFuture<Boolean> loadRecommendations(int generation, boolean revalidate) {
+        return loadSection(generation, revalidate, Section.RECOMMENDATIONS, "Loading recommendations...", "/api/recommendations",
+                ApiJson::decodeRecommendations, this::recommendationRows, recs -> {
+                    latestRecommendations = recs;
+                    // kept for checking later how the calls did; not tied to the screen so a
+                    // write is never interrupted halfway
+                    BackgroundExecutor.shared().execute(() -> RecommendationLog.getInstance().recordIssued(recs));
+                }, () -> loadRecommendations(feedGeneration, true));
+    }
+    
+    private CompletableFuture<Boolean> loadArticles(int generation, boolean revalidate) {
+        return loadSection(generation, revalidate, Section.ARTICLES, "Loading articles...", "/api/news",
+                ApiJson::decodeNews, this::articleRows, articles -> latestArticles = articles,
+                () -> loadArticles(feedGeneration, true));
+    }
+    
+    private CompletableFuture<Boolean> loadForums(int generation, boolean revalidate) {
+        return loadSection(generation, revalidate, Section.FORUMS, "Loading forums...", "/api/forums",
+                ApiJson::decodeForums, this::forumRows, forums -> latestForums = forums,
+                () -> loadForums(feedGeneration, true));
+    }
+    
+    /**
+     * loads one feed section through the response cache and renders it on the fx thread.
+     * an expired cached copy, or with revalidate any cached copy, is drawn straight away while
+     * the request revalidates it.
+     * onLoaded gets each list that came from the server rather than a stale copy.
+     * completes once the server has answered (or failed), never on the stale copy alone, with
+     * true if the section ended up with content.
+     */
+    private <T> CompletableFuture<Boolean> loadSection(int generation, boolean revalidate, Section section, String loadingMessage,
+                                                       String path, ApiJson.Decoder<List<T>> decoder,
+                                                       Function<List<T>, List<FeedItem>> toRows,
+                                                       Consumer<List<T>> onLoaded, Runnable retry) {
+        // a refresh keeps the current cards on screen until the new rows are diffed in
+        if (!hasContent(section)) {
+            setSection(section, List.of(new FeedItem.Loading(loadingMessage)));
+        }
         
-        boolean hasContent = false;
+        CompletableFuture<Boolean> rendered = new CompletableFuture<>();
         
-        // recommendations - separate stocks and crypto
-        if (recommendationsJson.contains("\"asset_symbol\"")) {
-            // Parse all recommendations first
-            java.util.List<RecommendationItem> stockRecs = new java.util.ArrayList<>();
-            java.util.List<RecommendationItem> cryptoRecs = new java.util.ArrayList<>();
-            
-            // Better parsing: find each recommendation object
-            String[] recs = recommendationsJson.split("\"asset_symbol\":\"");
-            for (int i = 1; i < recs.length; i++) {
-                String rec = recs[i];
+        // the stale copy is decoded off the fx thread too; servedStale completes once its rows
+        // are queued for the fx thread (true), or there was none or it was unreadable (false)
+        CompletableFuture<Boolean> servedStale = new CompletableFuture<>();
+        AtomicBoolean hadStale = new AtomicBoolean();
+        CompletableFuture<ApiResponse> request = apiClient.getCached(path, revalidate, stale -> {
+            hadStale.set(true);
+            BackgroundExecutor.shared().execute(() -> {
                 try {
-                    String symbol = rec.substring(0, rec.indexOf("\""));
-                    
-                    // Need to look backwards to find asset_type - it comes before asset_symbol in JSON
-                    // Get the full recommendation object by looking at previous part + current part
-                    String fullRec = (i > 0 ? recs[i-1] : "") + "\"asset_symbol\":\"" + rec;
-                    
-                    String name = extractValue(rec, "\"asset_name\":\"");
-                    
-                    // Try multiple strategies to find asset_type
-                    String assetType = extractValue(fullRec, "\"asset_type\":\"");
-                    if (assetType.equals("N/A") || assetType.isEmpty()) {
-                        // Try searching in current rec as well (in case it's after asset_symbol)
-                        assetType = extractValue(rec, "\"asset_type\":\"");
-                    }
-                    if (assetType.equals("N/A") || assetType.isEmpty()) {
-                        // Last resort: search in the original JSON around this position
-                        int symbolPos = recommendationsJson.indexOf("\"asset_symbol\":\"" + symbol);
-                        if (symbolPos > 0) {
-                            // Look backwards up to 200 chars to find asset_type
-                            int searchStart = Math.max(0, symbolPos - 200);
-                            String searchArea = recommendationsJson.substring(searchStart, symbolPos);
-                            assetType = extractValue(searchArea, "\"asset_type\":\"");
-                        }
-                    }
-                    
-                    // Extract CoinGecko ID for crypto
-                    String coingeckoId = extractValue(fullRec, "\"coingecko_id\":\"");
-                    if (coingeckoId.equals("N/A") || coingeckoId.isEmpty()) {
-                        coingeckoId = extractValue(rec, "\"coingecko_id\":\"");
+                    List<T> decoded = decoder.decode(stale.body());
+                    scope.runLater(section.name().toLowerCase(), () -> {
+                        if (generation != feedGeneration) return;
+                        setSection(section, toRows.apply(decoded));
+                    });
+                    servedStale.complete(true);
+                } catch (IOException e) {
+                    System.err.println("Ignoring unreadable cached " + path + ": " + e.getMessage());
+                    servedStale.complete(false);
+                }
+            });
+        });
+        if (!hadStale.get()) {
+            servedStale.complete(false);
+        }
+        
+        // tracked so leaving the screen cancels the request. async even for a fresh cache hit,
+        // which completes at once and would otherwise be decoded right here on the fx thread
+        scope.track(request)
+                .thenApplyAsync(response -> {
+                    // 4xx bodies are a json message and decode to an empty section
+                    if (response.statusCode() >= 500) {
+                        throw new CompletionException(new ApiException(response.statusCode(), response.body()));
                     }
-                    
-                    // Extract prediction message
-                    String predictionMessage = extractValue(fullRec, "\"prediction_message\":\"");
-                    if (predictionMessage.equals("N/A") || predictionMessage.isEmpty()) {
-                        predictionMessage = extractValue(rec, "\"prediction_message\":\"");
+                    // the stale copy on screen is still current
+                    if (response.source() == ApiResponse.Source.NOT_MODIFIED && servedStale.join()) {
+                        return null;
                     }
-                    
-                    // Debug output
-                    System.out.println("Parsing recommendation - Symbol: " + symbol + ", AssetType: " + assetType + ", Name: " + name + ", CoinGeckoID: " + coingeckoId);
-                    String type = extractValue(rec, "\"recommendation_type\":\"");
-                    String reasoning = extractValue(rec, "\"reasoning\":\"");
-                    
-                    // extract price
-                    String price = "N/A";
                     try {
-                        int priceIdx = rec.indexOf("\"current_price\":");
-                        if (priceIdx != -1) {
-                            int start = priceIdx + "\"current_price\":".length();
-                            int end = rec.indexOf(",", start);
-                            if (end == -1) end = rec.indexOf("}", start);
-                            if (end != -1) {
-                                String priceStr = rec.substring(start, end).trim();
-                                // remove quotes
-                                priceStr = priceStr.replace("\"", "");
-                                double priceVal = Double.parseDouble(priceStr);
-                                price = String.format("%.2f", priceVal);
+                        return decoder.decode(response.body());
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, BackgroundExecutor.shared())
+                // queued after the stale rows, so they never land on top of these
+                .whenCompleteAsync((decoded, error) -> {
+                    boolean stale = servedStale.join();
+                    scope.runLater(section.name().toLowerCase(), () -> {
+                        // a newer load replaced this section
+                        if (generation != feedGeneration) {
+                            rendered.complete(false);
+                            return;
+                        }
+                        
+                        if (error != null) {
+                            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                            System.err.println("Feed request failed: " + path + " - " + cause.getMessage());
+                            // keep the cached rows rather than replacing them with an error
+                            if (!stale) {
+                                setSection(section, List.of(new FeedItem.Error(errorMessage(cause), retry)));
                             }
+                            rendered.complete(false);
+                        } else if (decoded != null) {
+                            onLoaded.accept(decoded);
+                            snapshotDirty = true;
+                            setSection(section, toRows.apply(decoded));
+                            rendered.complete(!decoded.isEmpty());
+                        } else {
+                            // not modified: the stale rows drawn before this are the answer
+                            rendered.complete(hasContent(section));
                         }
-                    } catch (Exception e) {
-                        System.err.println("Error parsing price for " + symbol + ": " + e.getMessage());
-                    }
-                    
-                    RecommendationItem item = new RecommendationItem(symbol, name, price, type, reasoning, assetType, coingeckoId, predictionMessage);
-                    
-                    // Default to stocks if asset_type is not found (backward compatibility)
-                    if (assetType.equals("N/A") || assetType.isEmpty()) {
-                        System.out.println("Warning: asset_type not found for " + symbol + ", defaulting to stocks");
-                        assetType = "stocks";
-                    }
-                    
-                    if ("crypto".equalsIgnoreCase(assetType)) {
-                        cryptoRecs.add(item);
-                        System.out.println("✓ Added Crypto: " + symbol + " | Price: $" + price + " | Type: " + assetType);
-                    } else {
-                        stockRecs.add(item);
-                        System.out.println("✓ Added Stock: " + symbol + " | Price: $" + price + " | Type: " + assetType);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing recommendation: " + e.getMessage());
-                    e.printStackTrace();
-                }
-            }
-            
-            // Display stocks
-            if (!stockRecs.isEmpty()) {
-                Text stockHeader = new Text("💼 Recommended Stocks");
-                stockHeader.setFont(Font.font("System", FontWeight.BOLD, 18));
-                stockHeader.setFill(Color.web("#333333"));
-                feedContainer.getChildren().add(stockHeader);
-                
-                for (RecommendationItem item : stockRecs) {
-                    VBox recCard = createRecommendationCard(item.symbol, item.name, item.price, item.type, item.reasoning, "stocks", null, item.predictionMessage);
-                    feedContainer.getChildren().add(recCard);
-                    hasContent = true;
-                }
-            }
-            
-            // Display crypto
-            if (!cryptoRecs.isEmpty()) {
-                if (!stockRecs.isEmpty()) {
-                    Separator sep = new Separator();
-                    sep.setPadding(new Insets(10, 0, 10, 0));
-                    feedContainer.getChildren().add(sep);
-                }
-                
-                Text cryptoHeader = new Text("🪙 Recommended Cryptocurrencies");
-                cryptoHeader.setFont(Font.font("System", FontWeight.BOLD, 18));
-                cryptoHeader.setFill(Color.web("#333333"));
-                feedContainer.getChildren().add(cryptoHeader);
-                
-                for (RecommendationItem item : cryptoRecs) {
-                    VBox recCard = createRecommendationCard(item.symbol, item.name, item.price, item.type, item.reasoning, "crypto", item.coingeckoId, item.predictionMessage);
-                    feedContainer.getChildren().add(recCard);
-                    hasContent = true;
-                }
-            }
-        } else {
-            VBox emptyRecs = createEmptyStateCard("📊", "No recommendations yet!", 
-                "Set your investment preferences to receive personalized recommendations.");
-            feedContainer.getChildren().add(emptyRecs);
-        }
-        
-        // separator
-        Separator sep1 = new Separator();
-        sep1.setPadding(new Insets(10, 0, 10, 0));
-        feedContainer.getChildren().add(sep1);
-        
-        // articles
-        Text newsHeader = new Text("📰 Latest Articles");
-        newsHeader.setFont(Font.font("System", FontWeight.BOLD, 18));
-        newsHeader.setFill(Color.web("#333333"));
-        feedContainer.getChildren().add(newsHeader);
-        
-        if (newsJson.contains("\"title\"")) {
-            String[] articles = newsJson.split("\"title\":\"");
-            for (int i = 1; i < articles.length; i++) {
-                String article = articles[i];
-                try {
-                    String title = article.substring(0, article.indexOf("\""));
-                    String summary = extractValue(article, "\"summary\":\"");
-                    String source = extractValue(article, "\"source\":\"");
-                    String type = extractValue(article, "\"type\":\"");
-                    String url = extractValue(article, "\"url\":\"");
-                    
-                    VBox articleCard = createArticleCard(title, summary, source, type, url);
-                    feedContainer.getChildren().add(articleCard);
-                    hasContent = true;
-                } catch (Exception e) {
-                    System.err.println("Error parsing article: " + e.getMessage());
-                }
-            }
-        } else {
-            Text noNews = new Text("No articles available at the moment.");
-            noNews.setFont(Font.font("System", 14));
-            noNews.setFill(Color.web("#999999"));
-            feedContainer.getChildren().add(noNews);
+                    });
+                }, BackgroundExecutor.shared());
+        return rendered;
+    }
+    
+    private String errorMessage(Throwable cause) {
+        if (cause instanceof ApiException apiError) {
+            return "Server error (" + apiError.getStatusCode() + "). Please try again.";
         }
-        
-        // separator
-        Separator sep2 = new Separator();
-        sep2.setPadding(new Insets(10, 0, 10, 0));
-        feedContainer.getChildren().add(sep2);
-        
-        // forums
-        Text forumsHeader = new Text("💬 Community Forums");
-        forumsHeader.setFont(Font.font("System", FontWeight.BOLD, 18));
-        forumsHeader.setFill(Color.web("#333333"));
-        feedContainer.getChildren().add(forumsHeader);
-        
-        if (forumsJson.contains("\"forum_id\"")) {
-            String[] forums = forumsJson.split("\"title\":\"");
-            for (int i = 1; i < forums.length; i++) {
-                String forum = forums[i];
-                try {
-                    String title = forum.substring(0, forum.indexOf("\""));
-                    String content = extractValue(forum, "\"content\":\"");
-                    String author = extractValue(forum, "\"author_name\":\"");
-                    
-                    VBox forumCard = createForumCard(title, content, author);
-                    feedContainer.getChildren().add(forumCard);
-                    hasContent = true;
-                } catch (Exception e) {
-                    System.err.println("Error parsing forum: " + e.getMessage());
-                }
-            }
-        } else {
-            Text noForums = new Text("No forum posts available. Be the first to start a discussion!");
-            noForums.setFont(Font.font("System", 14));
-            noForums.setFill(Color.web("#999999"));
-            feedContainer.getChildren().add(noForums);
-        }
-        
-        contentContainer.getChildren().add(feedContainer);
-        
-        if (!hasContent) {
-            VBox emptyState = createEmptyStateCard("🌟", "Welcome to CryptoAdvisor!", 
-                "Set your preferences to get personalized recommendations and explore articles and forums.");
-            contentContainer.getChildren().add(emptyState);
+        if (cause instanceof JsonProcessingException) {
+            return "Could not read the server response. Please try again.";
         }
+        return "Connection error. Please check if backend is running.";
     }
     
-    private String extractValue(String json, String key) {
-        try {
-            int start = json.indexOf(key);
-            if (start == -1) return "N/A";
-            start += key.length();
-            
-            int end;
-            if (key.contains("\"")) {
-                end = json.indexOf("\"", start);
-            } else {
-                end = json.indexOf(",", start);
-                if (end == -1) end = json.indexOf("}", start);
+    private boolean hasContent(Section section) {
+        List<FeedItem> rows = sectionRows.get(section);
+        if (rows == null) return false;
+        for (FeedItem row : rows) {
+            if (row instanceof FeedItem.RecommendationRow || row instanceof FeedItem.ArticleRow
+                    || row instanceof FeedItem.ForumRow) {
+                return true;
             }
-            
-            if (end == -1) return "N/A";
-            return json.substring(start, end).trim();
-        } catch (Exception e) {
-            return "N/A";
         }
+        return false;
     }
     
-    // Helper class for recommendations
-    private static class RecommendationItem {
-        String symbol, name, price, type, reasoning, assetType, coingeckoId, predictionMessage;
-        RecommendationItem(String symbol, String name, String price, String type, String reasoning, String assetType, String coingeckoId, String predictionMessage) {
-            this.symbol = symbol;
-            this.name = name;
-            this.price = price;
-            this.type = type;
-            this.reasoning = reasoning;
-            this.assetType = assetType;
-            this.coingeckoId = coingeckoId;
-            this.predictionMessage = predictionMessage;
-        }
+    private void setSection(Section section, List<FeedItem> rows) {
+        sectionRows.put(section, rows);
+        refreshFeedList();
     }
     
-    private VBox createRecommendationCard(String symbol, String name, String price, String type, String reasoning, String assetType, String coingeckoId, String predictionMessage) {
-        // Different colors for stocks vs crypto
-        boolean isCrypto = "crypto".equalsIgnoreCase(assetType);
-        String bgColor = isCrypto ? "#FFF3E0" : "#E8F5E9"; // Orange for crypto, green for stocks
-        String borderColor = isCrypto ? "#FF9800" : "#4CAF50"; // Orange for crypto, green for stocks
-        String tagBgColor = isCrypto ? "#FF9800" : "#4CAF50";
-        String tagText = isCrypto ? "🪙 CRYPTO RECOMMENDATION" : "📈 STOCK RECOMMENDATION";
-        
-        VBox card = new VBox(10);
-        card.setPadding(new Insets(15));
-        card.setStyle(String.format("-fx-background-color: %s; -fx-background-radius: 8; -fx-border-color: %s; -fx-border-radius: 8; -fx-border-width: 2; -fx-cursor: hand;", bgColor, borderColor));
-        
-        // click to view chart - different URLs for stocks vs crypto
-        card.setOnMouseClicked(e -> {
-            try {
-                String url;
-                if (isCrypto) {
-                    // CoinGecko URL for crypto - use CoinGecko ID if available, otherwise fallback to symbol
-                    if (coingeckoId != null && !coingeckoId.equals("N/A") && !coingeckoId.isEmpty()) {
-                        url = "https://www.coingecko.com/en/coins/" + coingeckoId.toLowerCase();
-                    } else {
-                        // Fallback: try to construct from symbol (may not work for all cryptos)
-                        url = "https://www.coingecko.com/en/coins/" + symbol.toLowerCase();
-                    }
-                } else {
-                    // Yahoo Finance for stocks
-                    url = "https://finance.yahoo.com/quote/" + symbol;
-                }
-                System.out.println("Opening URL: " + url);
-                java.awt.Desktop.getDesktop().browse(new URI(url));
-            } catch (Exception ex) {
-                System.err.println("Error opening chart: " + ex.getMessage());
-                ex.printStackTrace();
-            }
-        });
-        
-        // tag
-        Label tagLabel = new Label(tagText);
-        tagLabel.setStyle(String.format("-fx-background-color: %s; -fx-text-fill: white; -fx-padding: 4 10; -fx-background-radius: 4; -fx-font-size: 10; -fx-font-weight: bold;", tagBgColor));
-        
-        // header
-        HBox header = new HBox(15);
-        header.setAlignment(Pos.CENTER_LEFT);
-        header.setPadding(new Insets(5, 0, 0, 0));
-        
-        Text symbolText = new Text(symbol);
-        symbolText.setFont(Font.font("System", FontWeight.BOLD, 20));
-        symbolText.setFill(Color.web("#1976D2"));
-        
-        Text nameText = new Text(name);
-        nameText.setFont(Font.font("System", 14));
-        nameText.setFill(Color.web("#666666"));
-        
-        Region spacer3 = new Region();
-        HBox.setHgrow(spacer3, Priority.ALWAYS);
+    // lays the three sections out in feed order
+    private void refreshFeedList() {
+        List<FeedItem> rows = new ArrayList<>(sectionRows.getOrDefault(Section.RECOMMENDATIONS, List.of()));
         
-        // price top right
-        VBox priceBox = new VBox(2);
-        priceBox.setAlignment(Pos.CENTER_RIGHT);
+        rows.add(new FeedItem.Divider("articles"));
+        rows.add(new FeedItem.Header("📰 Latest Articles"));
+        rows.addAll(sectionRows.getOrDefault(Section.ARTICLES, List.of()));
         
-        Text priceLabel = new Text("Current Price");
-        priceLabel.setFont(Font.font("System", 10));
-        priceLabel.setFill(Color.web("#888888"));
+        rows.add(new FeedItem.Divider("forums"));
+        rows.add(new FeedItem.Header("💬 Community Forums"));
+        rows.addAll(sectionRows.getOrDefault(Section.FORUMS, List.of()));
         
-        Text priceText = new Text("$" + price);
-        priceText.setFont(Font.font("System", FontWeight.BOLD, 20));
-        priceText.setFill(Color.web("#2E7D32"));
-        
-        priceBox.getChildren().addAll(priceLabel, priceText);
-        
-        header.getChildren().addAll(symbolText, nameText, spacer3, priceBox);
-        
-        // type
-        Label typeLabel = new Label(type);
-        typeLabel.setStyle("-fx-background-color: #BBDEFB; -fx-text-fill: #0D47A1; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 11; -fx-font-weight: bold;");
-        
-        // reasoning
-        Text reasoningText = new Text(reasoning);
-        reasoningText.setFont(Font.font("System", 13));
-        reasoningText.setFill(Color.web("#555555"));
-        reasoningText.setWrappingWidth(900);
-        
-        // hint - different for stocks vs crypto
-        String hintMessage = isCrypto ? "💡 Click to view on CoinGecko" : "💡 Click to view chart on Yahoo Finance";
-        String hintColor = isCrypto ? "#E65100" : "#2E7D32";
-        Text hintText = new Text(hintMessage);
-        hintText.setFont(Font.font("System", 11));
-        hintText.setFill(Color.web(hintColor));
-        hintText.setStyle("-fx-font-style: italic;");
-        
-        card.getChildren().addAll(tagLabel, header, typeLabel, reasoningText, hintText);
+        if (showWelcome) {
+            rows.add(new FeedItem.Empty("🌟", "Welcome to CryptoAdvisor!", 
+                "Set your preferences to get personalized recommendations and explore articles and forums."));
+        }
         
-        return card;
+        // keyed diff so unchanged cards and the scroll position are left alone
+        RenderTrace.run("home", feedList, rows.size(), () -> FeedReconciler.reconcile(feedList.getItems(), rows));
+        // new rows start from the generation-time price until they get the latest one
+        applyPrices(priceTicker.latest());
     }
     
-    private VBox createArticleCard(String title, String summary, String source, String type, String url) {
-        // blue card
-        VBox card = new VBox(10);
-        card.setPadding(new Insets(15));
-        card.setStyle("-fx-background-color: #E3F2FD; -fx-background-radius: 8; -fx-border-color: #2196F3; -fx-border-radius: 8; -fx-border-width: 2;");
-        
-        // tag
-        String tagText = type.equalsIgnoreCase("stocks") ? "📊 STOCKS ARTICLE" : "🪙 CRYPTO ARTICLE";
-        String tagColor = type.equalsIgnoreCase("stocks") ? "#2196F3" : "#FF9800";
-        
-        Label tagLabel = new Label(tagText);
-        tagLabel.setStyle(String.format("-fx-background-color: %s; -fx-text-fill: white; -fx-padding: 4 10; -fx-background-radius: 4; -fx-font-size: 10; -fx-font-weight: bold;", tagColor));
-        
-        // clickable title
-        Hyperlink titleLink = new Hyperlink(title);
-        titleLink.setFont(Font.font("System", FontWeight.BOLD, 16));
-        titleLink.setTextFill(Color.web("#0D47A1"));
-        titleLink.setStyle("-fx-border-width: 0; -fx-padding: 0;");
-        titleLink.setWrapText(true);
-        titleLink.setMaxWidth(900);
-        titleLink.setOnAction(e -> {
-            try {
-                if (url != null && !url.isEmpty()) {
-                    java.awt.Desktop.getDesktop().browse(new URI(url));
+    private void applyPrices(Map<PriceKey, PriceQuote> quotes) {
+        if (quotes.isEmpty()) return;
+        for (FeedItem item : feedList.getItems()) {
+            if (item instanceof FeedItem.RecommendationRow row && row.priceKey() != null) {
+                PriceQuote quote = quotes.get(row.priceKey());
+                if (quote != null) {
+                    row.setLivePrice(quote.price());
+                    IndicatorSnapshot signals = LiveIndicators.getInstance().snapshot(row.priceKey().toString());
+                    if (signals != null) {
+                        row.setSignals(signals.summary());
+                    }
                 }
-            } catch (Exception ex) {
-                System.err.println("Error opening URL: " + ex.getMessage());
             }
-        });
-        
-        // summary
-        Text summaryText = new Text(summary);
-        summaryText.setFont(Font.font("System", 13));
-        summaryText.setFill(Color.web("#555555"));
-        summaryText.setWrappingWidth(900);
-        
-        // source
-        Text sourceText = new Text("Source: " + source);
-        sourceText.setFont(Font.font("System", 11));
-        sourceText.setFill(Color.web("#888888"));
-        sourceText.setStyle("-fx-font-style: italic;");
-        
-        card.getChildren().addAll(tagLabel, titleLink, summaryText, sourceText);
-        
-        return card;
+        }
     }
     
-    private VBox createForumCard(String title, String content, String author) {
-        // purple card
-        VBox card = new VBox(10);
-        card.setPadding(new Insets(15));
-        card.setStyle("-fx-background-color: #F3E5F5; -fx-background-radius: 8; -fx-border-color: #9C27B0; -fx-border-radius: 8; -fx-border-width: 2;");
-        
-        // tag
-        Label tagLabel = new Label("💬 FORUM POST");
-        tagLabel.setStyle("-fx-background-color: #9C27B0; -fx-text-fill: white; -fx-padding: 4 10; -fx-background-radius: 4; -fx-font-size: 10; -fx-font-weight: bold;");
-        
-        // title
-        Text titleText = new Text(title);
-        titleText.setFont(Font.font("System", FontWeight.BOLD, 16));
-        titleText.setFill(Color.web("#6A1B9A"));
-        titleText.setWrappingWidth(900);
+    private List<FeedItem> recommendationRows(List<Recommendation> recommendations) {
+        // stream prices for exactly the cards about to be shown
+        Set<PriceKey> priceKeys = new HashSet<>();
+        for (Recommendation rec : recommendations) {
+            PriceKey key = PriceKey.of(rec);
+            if (key != null) {
+                priceKeys.add(key);
+            }
+        }
+        priceTicker.watch(priceKeys);
         
-        // content
-        String displayContent = content.length() > 200 ? content.substring(0, 200) + "..." : content;
-        Text contentText = new Text(displayContent);
-        contentText.setFont(Font.font("System", 13));
-        contentText.setFill(Color.web("#555555"));
-        contentText.setWrappingWidth(900);
-        
-        // author
-        Text authorText = new Text("Posted by: " + author);
-        authorText.setFont(Font.font("System", 11));
-        authorText.setFill(Color.web("#888888"));
-        authorText.setStyle("-fx-font-style: italic;");
-        
-        // button
-        Button viewButton = new Button("View Discussion");
-        viewButton.setStyle("-fx-background-color: #9C27B0; -fx-text-fill: white; -fx-font-size: 11; -fx-padding: 5 15; -fx-background-radius: 4;");
-        viewButton.setOnAction(e -> showForumsScreen());
-        
-        card.getChildren().addAll(tagLabel, titleText, contentText, authorText, viewButton);
-        
-        return card;
-    }
-    
-    private VBox createEmptyStateCard(String icon, String message, String hint) {
-        // yellow card
-        VBox emptyState = new VBox(15);
-        emptyState.setAlignment(Pos.CENTER);
-        emptyState.setPadding(new Insets(30));
-        emptyState.setStyle("-fx-background-color: #FFF8E1; -fx-background-radius: 8; -fx-border-color: #FFC107; -fx-border-radius: 8; -fx-border-width: 2;");
+        if (recommendations.isEmpty()) {
+            return List.of(new FeedItem.Empty("📊", "No recommendations yet!", 
+                "Set your investment preferences to receive personalized recommendations."));
+        }
         
-        Text emptyIcon = new Text(icon);
-        emptyIcon.setFont(Font.font(48));
+        // separate stocks and crypto; anything without a crypto asset_type is treated as a stock
+        List<Recommendation> stockRecs = new ArrayList<>();
+        List<Recommendation> cryptoRecs = new ArrayList<>();
+        for (Recommendation rec : recommendations) {
+            if (rec.isCrypto()) {
+                cryptoRecs.add(rec);
+            } else {
+                stockRecs.add(rec);
+            }
+        }
+        System.out.println("Recommendations: " + stockRecs.size() + " stocks, " + cryptoRecs.size() + " crypto");
         
-        Text emptyMessage = new Text(message);
-        emptyMessage.setFont(Font.font("System", FontWeight.BOLD, 16));
-        emptyMessage.setFill(Color.web("#666666"));
+        List<FeedItem> rows = new ArrayList<>();
         
-        Text emptyHint = new Text(hint);
-        emptyHint.setFont(Font.font("System", 13));
-        emptyHint.setFill(Color.web("#888888"));
-        emptyHint.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-        emptyHint.setWrappingWidth(400);
+        // stocks
+        if (!stockRecs.isEmpty()) {
+            rows.add(new FeedItem.Header("💼 Recommended Stocks"));
+            for (Recommendation rec : stockRecs) {
+                rows.add(new FeedItem.RecommendationRow(rec));
+            }
+        }
         
-        emptyState.getChildren().addAll(emptyIcon, emptyMessage, emptyHint);
+        // crypto
+        if (!cryptoRecs.isEmpty()) {
+            if (!stockRecs.isEmpty()) {
+                rows.add(new FeedItem.Divider("crypto"));
+            }
+            rows.add(new FeedItem.Header("🪙 Recommended Cryptocurrencies"));
+            for (Recommendation rec : cryptoRecs) {
+                rows.add(new FeedItem.RecommendationRow(rec));
+            }
+        }
         
-        return emptyState;
+        return rows;
     }
     
-    private void showError(String message) {
-        contentContainer.getChildren().clear();
-        
-        VBox errorBox = new VBox(15);
-        errorBox.setAlignment(Pos.CENTER);
-        errorBox.setPadding(new Insets(40));
-        
-        Text errorIcon = new Text("⚠️");
-        errorIcon.setFont(Font.font(48));
-        
-        Text errorText = new Text(message);
-        errorText.setFont(Font.font("System", 14));
-        errorText.setFill(Color.RED);
-        errorText.setTextAlignment(javafx.scene.text.TextAlignment.CENTER);
-        errorText.setWrappingWidth(400);
+    private List<FeedItem> articleRows(List<NewsArticle> articles) {
+        if (articles.isEmpty()) {
+            return List.of(new FeedItem.Note("No articles available at the moment."));
+        }
         
-        Button retryButton = new Button("Retry");
-        retryButton.setStyle("-fx-background-color: #1976D2; -fx-text-fill: white; -fx-font-weight: bold; -fx-background-radius: 5;");
-        retryButton.setOnAction(e -> loadUnifiedFeed());
+        List<FeedItem> rows = new ArrayList<>(articles.size());
+        for (NewsArticle article : articles) {
+            rows.add(new FeedItem.ArticleRow(article));
+        }
+        return rows;
+    }
+    
+    private List<FeedItem> forumRows(List<ForumPost> forums) {
+        if (forums.isEmpty()) {
+            return List.of(new FeedItem.Note("No forum posts available. Be the first to start a discussion!"));
+        }
         
-        errorBox.getChildren().addAll(errorIcon, errorText, retryButton);
-        contentContainer.getChildren().add(errorBox);
+        List<FeedItem> rows = new ArrayList<>(forums.size());
+        for (ForumPost forum : forums) {
+            rows.add(new FeedItem.ForumRow(forum));
+        }
+        return rows;
+    }
+    
+    // click to view chart
+    private void openRecommendation(Recommendation rec) {
+        ChartScreen chartScreen = new ChartScreen(primaryStage, rec);
+        chartScreen.show();
     }
     
     private void handleLogout() {
         // token management
         TokenManager.clearAll();
+        apiClient.getCache().clear();
         
         // login screen
         LoginScreen loginScreen = new LoginScreen(primaryStage);
@@ -746,7 +572,7 @@ public class HomeScreen {
     }
     
     private void createForumPost(String title, String content, Stage dialog) {
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
                 String requestBody = String.format(
                     "{\"title\":\"%s\",\"content\":\"%s\"}",
@@ -754,19 +580,14 @@ public class HomeScreen {
                     content.replace("\"", "\\\"").replace("\n", "\\n")
                 );
                 
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/forums"))
-                        .header("Content-Type", "application/json")
-                        .header("Authorization", "Bearer " + TokenManager.getAuthToken())
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
+                HttpRequest request = apiClient.postRequest("/api/forums", requestBody);
                 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     if (response.statusCode() == 201) {
                         dialog.close();
-                        loadUnifiedFeed(); // refresh feed
+                        loadUnifiedFeed(false); // refresh feed
                         
                         Alert success = new Alert(Alert.AlertType.INFORMATION);
                         success.setTitle("Success");
@@ -782,7 +603,7 @@ public class HomeScreen {
                     }
                 });
             } catch (Exception e) {
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     Alert error = new Alert(Alert.AlertType.ERROR);
                     error.setTitle("Error");
                     error.setHeaderText(null);
@@ -790,7 +611,7 @@ public class HomeScreen {
                     error.showAndWait();
                 });
             }
-        }).start();
+        });
     }
     
     private void showNewsScreen() {
@@ -1,6 +1,5 @@
 package com.cryptoadvisor.ui;
 
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,29 +12,25 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.util.ScreenScope;
 import com.cryptoadvisor.util.TokenManager;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * login screen
  */
 public class LoginScreen {
     private Stage primaryStage;
-    private final HttpClient httpClient;
-    // api url
-    private static final String API_BASE_URL = "http://localhost:3000";
+    private final ApiClient apiClient;
+    private final ScreenScope scope = new ScreenScope("login");
     
     public LoginScreen(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        this.apiClient = ApiClient.getInstance();
     }
     
     public void show() {
@@ -113,6 +108,7 @@ public class LoginScreen {
         
         // Create scene
         Scene scene = new Scene(mainContainer, 500, 600);
+        scope.bindTo(scene);
         primaryStage.setScene(scene);
         primaryStage.setTitle("CryptoAdvisor - Login");
         primaryStage.setResizable(false);
@@ -133,40 +129,37 @@ public class LoginScreen {
         showMessage("Logging in...", false);
         
         // Make API call to backend
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
                 String requestBody = String.format("{\"user_email\":\"%s\",\"user_password\":\"%s\"}", email, password);
                 
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/auth/login"))
-                        .header("Content-Type", "application/json")
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
+                HttpRequest request = apiClient.postRequest("/api/auth/login", requestBody);
                 //341 logic
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     if (response.statusCode() == 200) {
                         try {
                             // grab token
-                            ObjectMapper mapper = new ObjectMapper();
-                            JsonNode jsonNode = mapper.readTree(response.body());
+                            JsonNode jsonNode = ApiJson.readTree(response.body());
                             String token = jsonNode.get("token").asText();
                             
                             //  local storage
                             TokenManager.setAuthToken(token);
                             
+                            // who is logged in, used to find their saved feed
+                            JsonNode user = jsonNode.path("user");
+                            TokenManager.setUserId(user.path("user_id").asText(null));
+                            TokenManager.setUserName(user.path("user_name").asText(null));
+                            TokenManager.setUserEmail(user.path("user_email").asText(null));
+                            
                             showMessage("Login successful!", false);
                             
                             // check preferences
-                            new Thread(() -> {
-                                try {
-                                    Thread.sleep(500);
-                                    checkPreferencesAndRedirect(token);
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
-                                }
-                            }).start();
+                            scope.fork(() -> {
+                                Thread.sleep(500);
+                                checkPreferencesAndRedirect();
+                            });
                         } catch (Exception e) {
                             showMessage("Error processing login response", true);
                         }
@@ -177,24 +170,20 @@ public class LoginScreen {
                 });
                 
             } catch (IOException | InterruptedException e) {
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     showMessage("Connection error. Please check if backend server is running.", true);
                 });
             }
-        }).start();
+        });
     }
     
-    private void checkPreferencesAndRedirect(String token) {
+    private void checkPreferencesAndRedirect() {
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(API_BASE_URL + "/api/user/preferences"))
-                    .header("Authorization", "Bearer " + token)
-                    .GET()
-                    .build();
+            HttpRequest request = apiClient.getRequest("/api/user/preferences");
             
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> response = apiClient.send(request);
             
-            Platform.runLater(() -> {
+            scope.runLater(() -> {
                 if (response.statusCode() == 200) {
                     // prefs exist
                     showHomeScreen();
@@ -204,7 +193,7 @@ public class LoginScreen {
                 }
             });
         } catch (IOException | InterruptedException e) {
-            Platform.runLater(() -> showPreferencesScreen());
+            scope.runLater(() -> showPreferencesScreen());
         }
     }
     
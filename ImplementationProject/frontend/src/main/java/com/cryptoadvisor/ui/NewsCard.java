@@ -0,0 +1,78 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.model.NewsArticle;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+/**
+ * news card for the news screen, re-bound per list cell
+ */
+public class NewsCard extends VBox {
+    private final Label typeBadge = new Label();
+    private final Text titleText = new Text();
+    private final Text summaryText = new Text();
+    private final Text sourceText = new Text();
+    
+    public NewsCard() {
+        super(10);
+        setPadding(new Insets(15));
+        setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8; -fx-border-color: #dee2e6; -fx-border-radius: 8;");
+        
+        // type badge
+        HBox headerRow = new HBox(15);
+        headerRow.setAlignment(Pos.CENTER_LEFT);
+        
+        typeBadge.setFont(Font.font("System", FontWeight.BOLD, 10));
+        
+        headerRow.getChildren().add(typeBadge);
+        
+        // title
+        titleText.setFont(Font.font("System", FontWeight.BOLD, 14));
+        titleText.setFill(Color.web("#1976D2"));
+        titleText.setWrappingWidth(800);
+        
+        // summary
+        summaryText.setFont(Font.font("System", 12));
+        summaryText.setFill(Color.web("#666666"));
+        summaryText.setWrappingWidth(800);
+        
+        // source
+        HBox footerRow = new HBox(20);
+        footerRow.setAlignment(Pos.CENTER_LEFT);
+        
+        sourceText.setFont(Font.font("System", 11));
+        sourceText.setFill(Color.web("#666666"));
+        
+        footerRow.getChildren().add(sourceText);
+        
+        getChildren().addAll(headerRow, titleText, summaryText, footerRow);
+    }
+    
+    public void bind(NewsArticle article) {
+        String type = article.type() != null ? article.type() : "news";
+        
+        typeBadge.setText(type.toUpperCase());
+        typeBadge.setStyle(getTypeBadgeStyle(type));
+        titleText.setText(article.title() != null ? article.title() : "No title");
+        summaryText.setText(article.summary() != null ? article.summary() : "");
+        sourceText.setText("Source: " + (article.source() != null ? article.source() : "Unknown"));
+    }
+    
+    private String getTypeBadgeStyle(String type) {
+        switch (type.toLowerCase()) {
+            case "crypto":
+                return "-fx-background-color: #f7931a; -fx-text-fill: white; -fx-background-radius: 3; -fx-padding: 2 8;";
+            case "stocks":
+                return "-fx-background-color: #1976D2; -fx-text-fill: white; -fx-background-radius: 3; -fx-padding: 2 8;";
+            default:
+                return "-fx-background-color: #6c757d; -fx-text-fill: white; -fx-background-radius: 3; -fx-padding: 2 8;";
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package com.cryptoadvisor.ui;
 
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,31 +12,33 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.util.BackgroundExecutor;
+import com.cryptoadvisor.util.ScreenScope;
 import com.cryptoadvisor.util.TokenManager;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.api.ApiResponse;
+import com.cryptoadvisor.model.NewsArticle;
 
 /**
  * news screen
  */
 public class NewsScreen {
     private Stage primaryStage;
-    private final HttpClient httpClient;
-    private static final String API_BASE_URL = "http://localhost:3000";
+    private final ApiClient apiClient;
+    private final ScreenScope scope = new ScreenScope("news");
     
     private VBox newsContainer;
     private Label statusLabel;
+    private Text newsHeader;
+    private ListView<NewsArticle> newsList;
     
     public NewsScreen(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        this.apiClient = ApiClient.getInstance();
     }
     
     public void show() {
@@ -80,19 +81,30 @@ public class NewsScreen {
         statusLabel.setTextFill(Color.web("#666666"));
         statusLabel.setAlignment(Pos.CENTER);
         
-        newsContainer.getChildren().add(statusLabel);
+        // header
+        newsHeader = new Text("Latest Market News");
+        newsHeader.setFont(Font.font("System", FontWeight.BOLD, 18));
+        newsHeader.setFill(Color.web("#333333"));
+        newsHeader.setVisible(false);
+        newsHeader.setManaged(false);
+        
+        // virtualized list, cells re-bind a pooled card
+        newsList = new ListView<>();
+        newsList.setCellFactory(list -> new CardCell<>(NewsCard::new, NewsCard::bind));
+        newsList.setFocusTraversable(false);
+        newsList.setStyle("-fx-background-color: transparent; -fx-control-inner-background: white;");
+        newsList.setPlaceholder(new Label(""));
+        VBox.setVgrow(newsList, Priority.ALWAYS);
+        
+        newsContainer.getChildren().addAll(statusLabel, newsHeader, newsList);
+        VBox.setVgrow(newsContainer, Priority.ALWAYS);
         
         // add elements
         mainContainer.getChildren().addAll(headerContainer, newsContainer);
         
-        // scrollable
-        ScrollPane scrollPane = new ScrollPane(mainContainer);
-        scrollPane.setFitToWidth(true);
-        scrollPane.setFitToHeight(true);
-        scrollPane.setStyle("-fx-background-color: transparent;");
-        
         // scene
-        Scene scene = new Scene(scrollPane, 1000, 700);
+        Scene scene = new Scene(mainContainer, 1000, 700);
+        scope.bindTo(scene);
         primaryStage.setScene(scene);
         primaryStage.setTitle("CryptoAdvisor - News");
         primaryStage.setResizable(true);
@@ -105,181 +117,127 @@ public class NewsScreen {
     private void loadNews() {
         statusLabel.setText("Loading news...");
         statusLabel.setTextFill(Color.web("#666666"));
+        statusLabel.setVisible(true);
+        
+        System.out.println("news request");
+        System.out.println("token: " + (getAuthToken() != null ? "yes" : "no"));
+        
+        // an expired cached copy is shown at once while the request revalidates it. both are
+        // decoded on a background thread; servedStale completes once the cached cards are queued
+        CompletableFuture<Boolean> servedStale = new CompletableFuture<>();
+        AtomicBoolean hadStale = new AtomicBoolean();
+        CompletableFuture<ApiResponse> request = apiClient.getCached("/api/news", stale -> {
+            hadStale.set(true);
+            BackgroundExecutor.shared().execute(() -> {
+                List<NewsArticle> cached = decodeNews(stale);
+                if (cached != null) {
+                    scope.runLater("news", () -> displayNews(cached));
+                }
+                servedStale.complete(cached != null);
+            });
+        });
+        if (!hadStale.get()) {
+            servedStale.complete(false);
+        }
         
-        new Thread(() -> {
-            try {
-                System.out.println("news request");
-                System.out.println("token: " + (getAuthToken() != null ? "yes" : "no"));
-                
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/news"))
-                        .header("Authorization", "Bearer " + getAuthToken())
-                        .GET()
-                        .build();
-                
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-                
-                System.out.println("status: " + response.statusCode());
-                System.out.println("body: " + response.body());
-                
-                Platform.runLater(() -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            displayNews(response.body());
-                        } catch (Exception e) {
-                            System.err.println("parse error");
-                            e.printStackTrace();
-                            statusLabel.setText("Error parsing news");
-                            statusLabel.setTextFill(Color.RED);
-                            showSampleNews();
-                        }
-                    } else if (response.statusCode() == 404) {
-                        System.out.println("no prefs");
-                        statusLabel.setText("Please set your preferences first to see personalized news");
-                        statusLabel.setTextFill(Color.ORANGE);
-                        showSampleNews();
-                    } else {
-                        System.out.println("bad status");
-                        statusLabel.setText("Error loading news. Showing sample news.");
-                        statusLabel.setTextFill(Color.ORANGE);
-                        showSampleNews();
-                    }
-                });
-                
-            } catch (IOException | InterruptedException e) {
+        // async so a fresh cache hit, which completes at once, isn't decoded on the fx thread
+        scope.track(request).whenCompleteAsync((response, error) -> {
+            boolean shownStale = servedStale.join();
+            if (error != null) {
                 System.err.println("connection error");
-                e.printStackTrace();
-                Platform.runLater(() -> {
+                error.printStackTrace();
+                scope.runLater(() -> {
+                    // the cached copy beats sample news
+                    if (shownStale) return;
                     statusLabel.setText("Connection error. Showing sample news.");
                     statusLabel.setTextFill(Color.ORANGE);
                     showSampleNews();
                 });
-            }
-        }).start();
-    }
-    
-    private void displayNews(String jsonResponse) {
-        // clear
-        newsContainer.getChildren().clear();
-        
-        try {
-            System.out.println("parsing news");
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode rootNode = mapper.readTree(jsonResponse);
-            JsonNode newsArray = rootNode.get("news");
-            
-            if (newsArray == null || !newsArray.isArray() || newsArray.size() == 0) {
-                System.out.println("no news");
-                statusLabel.setText("No news available at the moment");
-                statusLabel.setTextFill(Color.ORANGE);
                 return;
             }
             
-            System.out.println("found " + newsArray.size());
-            
-            // header
-            Text header = new Text("Latest Market News");
-            header.setFont(Font.font("System", FontWeight.BOLD, 18));
-            header.setFill(Color.web("#333333"));
-            newsContainer.getChildren().add(header);
+            System.out.println("status: " + response.statusCode() + " (" + response.source() + ")");
             
-            // parse news
-            for (JsonNode newsItem : newsArray) {
-                String type = newsItem.has("type") ? newsItem.get("type").asText() : "news";
-                String title = newsItem.has("title") ? newsItem.get("title").asText() : "No title";
-                String summary = newsItem.has("summary") ? newsItem.get("summary").asText() : "";
-                String source = newsItem.has("source") ? newsItem.get("source").asText() : "Unknown";
-                
-                VBox newsCard = createNewsCard(type, title, summary, source);
-                newsContainer.getChildren().add(newsCard);
+            // the stale copy on screen is still current
+            if (response.source() == ApiResponse.Source.NOT_MODIFIED && shownStale) {
+                return;
             }
             
-            // hide status
-            statusLabel.setVisible(false);
+            // decode here so the fx thread only builds cards
+            List<NewsArticle> articles = response.statusCode() == 200 ? decodeNews(response) : null;
             
-        } catch (Exception e) {
-            System.err.println("display error");
+            scope.runLater("news", () -> {
+                if (response.statusCode() == 200) {
+                    if (articles != null) {
+                        displayNews(articles);
+                    } else {
+                        statusLabel.setText("Error parsing news");
+                        statusLabel.setTextFill(Color.RED);
+                        showSampleNews();
+                    }
+                } else if (response.statusCode() == 404) {
+                    System.out.println("no prefs");
+                    statusLabel.setText("Please set your preferences first to see personalized news");
+                    statusLabel.setTextFill(Color.ORANGE);
+                    showSampleNews();
+                } else {
+                    System.out.println("bad status");
+                    statusLabel.setText("Error loading news. Showing sample news.");
+                    statusLabel.setTextFill(Color.ORANGE);
+                    showSampleNews();
+                }
+            });
+        }, BackgroundExecutor.shared());
+    }
+    
+    private List<NewsArticle> decodeNews(ApiResponse response) {
+        try {
+            return ApiJson.decodeNews(response.body());
+        } catch (IOException e) {
+            System.err.println("parse error");
             e.printStackTrace();
-            statusLabel.setText("Error displaying news");
-            statusLabel.setTextFill(Color.RED);
+            return null;
         }
     }
     
-    
-    private void showSampleNews() {
-        newsContainer.getChildren().clear();
-        
-        // sample data
-        String[][] sampleNews = {
-            {"crypto", "Bitcoin Surges Past $50,000 as Institutional Adoption Grows", "Bitcoin reached new heights as major corporations continue to add BTC to their balance sheets.", "CryptoNews"},
-            {"stocks", "Tech Stocks Rally on Strong Earnings Reports", "Major technology companies report better-than-expected quarterly earnings.", "StockNews"},
-            {"crypto", "Ethereum 2.0 Upgrade Shows Promising Results", "The latest Ethereum network upgrade is showing significant improvements in transaction speed and costs.", "CryptoNews"},
-            {"stocks", "Federal Reserve Signals Potential Rate Changes", "The Fed's latest statements indicate possible adjustments to interest rate policies.", "StockNews"}
-        };
+    private void displayNews(List<NewsArticle> articles) {
+        if (articles.isEmpty()) {
+            System.out.println("no news");
+            statusLabel.setText("No news available at the moment");
+            statusLabel.setTextFill(Color.ORANGE);
+            setNews(List.of());
+            return;
+        }
         
-        Text header = new Text("Latest Market News");
-        header.setFont(Font.font("System", FontWeight.BOLD, 18));
-        header.setFill(Color.web("#333333"));
+        System.out.println("found " + articles.size());
         
-        newsContainer.getChildren().add(header);
+        setNews(articles);
         
-        for (String[] news : sampleNews) {
-            VBox newsCard = createNewsCard(news[0], news[1], news[2], news[3]);
-            newsContainer.getChildren().add(newsCard);
-        }
+        // hide status
+        statusLabel.setVisible(false);
     }
     
-    private VBox createNewsCard(String type, String title, String summary, String source) {
-        VBox card = new VBox(10);
-        card.setPadding(new Insets(15));
-        card.setStyle("-fx-background-color: #f8f9fa; -fx-background-radius: 8; -fx-border-color: #dee2e6; -fx-border-radius: 8;");
-        
-        // type badge
-        HBox headerRow = new HBox(15);
-        headerRow.setAlignment(Pos.CENTER_LEFT);
-        
-        Label typeBadge = new Label(type.toUpperCase());
-        typeBadge.setStyle(getTypeBadgeStyle(type));
-        typeBadge.setFont(Font.font("System", FontWeight.BOLD, 10));
-        
-        headerRow.getChildren().add(typeBadge);
-        
-        // title
-        Text titleText = new Text(title);
-        titleText.setFont(Font.font("System", FontWeight.BOLD, 14));
-        titleText.setFill(Color.web("#1976D2"));
-        titleText.setWrappingWidth(800);
-        
-        // summary
-        Text summaryText = new Text(summary);
-        summaryText.setFont(Font.font("System", 12));
-        summaryText.setFill(Color.web("#666666"));
-        summaryText.setWrappingWidth(800);
-        
-        // source
-        HBox footerRow = new HBox(20);
-        footerRow.setAlignment(Pos.CENTER_LEFT);
-        
-        Text sourceText = new Text("Source: " + source);
-        sourceText.setFont(Font.font("System", 11));
-        sourceText.setFill(Color.web("#666666"));
-        
-        footerRow.getChildren().add(sourceText);
-        
-        card.getChildren().addAll(headerRow, titleText, summaryText, footerRow);
-        
-        return card;
+    
+    private void showSampleNews() {
+        // sample data
+        List<NewsArticle> sampleNews = List.of(
+            new NewsArticle("Bitcoin Surges Past $50,000 as Institutional Adoption Grows", "Bitcoin reached new heights as major corporations continue to add BTC to their balance sheets.", null, "CryptoNews", null, "crypto"),
+            new NewsArticle("Tech Stocks Rally on Strong Earnings Reports", "Major technology companies report better-than-expected quarterly earnings.", null, "StockNews", null, "stocks"),
+            new NewsArticle("Ethereum 2.0 Upgrade Shows Promising Results", "The latest Ethereum network upgrade is showing significant improvements in transaction speed and costs.", null, "CryptoNews", null, "crypto"),
+            new NewsArticle("Federal Reserve Signals Potential Rate Changes", "The Fed's latest statements indicate possible adjustments to interest rate policies.", null, "StockNews", null, "stocks")
+        );
+        
+        setNews(sampleNews);
     }
     
-    private String getTypeBadgeStyle(String type) {
-        switch (type.toLowerCase()) {
-            case "crypto":
-                return "-fx-background-color: #f7931a; -fx-text-fill: white; -fx-background-radius: 3; -fx-padding: 2 8;";
-            case "stocks":
-                return "-fx-background-color: #1976D2; -fx-text-fill: white; -fx-background-radius: 3; -fx-padding: 2 8;";
-            default:
-                return "-fx-background-color: #6c757d; -fx-text-fill: white; -fx-background-radius: 3; -fx-padding: 2 8;";
-        }
+    private void setNews(List<NewsArticle> articles) {
+        boolean hasNews = !articles.isEmpty();
+        newsHeader.setVisible(hasNews);
+        newsHeader.setManaged(hasNews);
+        RenderTrace.run("news", newsList, articles.size(), () -> {
+            newsList.getItems().setAll(articles);
+            return articles.size();
+        });
     }
     
     private String getAuthToken() {
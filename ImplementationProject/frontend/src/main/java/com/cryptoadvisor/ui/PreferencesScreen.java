@@ -1,6 +1,5 @@
 package com.cryptoadvisor.ui;
 
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,31 +12,29 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
-import com.cryptoadvisor.util.TokenManager;
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.model.UserPreferences;
+import com.cryptoadvisor.util.ScreenScope;
 
 /**
  * preferences screen
  */
 public class PreferencesScreen {
     private Stage primaryStage;
-    private final HttpClient httpClient;
-    private static final String API_BASE_URL = "http://localhost:3000";
+    private final ApiClient apiClient;
+    private final ScreenScope scope = new ScreenScope("preferences");
     
     private Label statusLabel;
     
     public PreferencesScreen(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        this.apiClient = ApiClient.getInstance();
     }
     
     // Store UI elements for updating
@@ -207,6 +204,7 @@ public class PreferencesScreen {
         
         // Create scene
         Scene scene = new Scene(scrollPane, 800, 700);
+        scope.bindTo(scene);
         primaryStage.setScene(scene);
         primaryStage.setTitle("CryptoAdvisor - Set Preferences");
         primaryStage.setResizable(true);
@@ -217,136 +215,69 @@ public class PreferencesScreen {
     }
     
     private void loadExistingPreferences() {
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/user/preferences"))
-                        .header("Authorization", "Bearer " + getAuthToken())
-                        .GET()
-                        .build();
+                HttpRequest request = apiClient.getRequest("/api/user/preferences");
                 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
-                    if (response.statusCode() == 200) {
-                        try {
-                            String responseBody = response.body();
-                            System.out.println("Preferences response: " + responseBody);
-                            
-                            // Parse preferences from JSON
-                            String preferredAssetType = extractValue(responseBody, "\"preferred_asset_type\":\"");
-                            String investmentType = extractValue(responseBody, "\"investment_type\":\"");
-                            String industriesJson = extractValue(responseBody, "\"industries\":");
-                            
-                            // Set asset type
-                            if (!preferredAssetType.equals("N/A")) {
-                                if ("stocks".equals(preferredAssetType)) {
-                                    stocksOption.setSelected(true);
-                                } else if ("crypto".equals(preferredAssetType)) {
-                                    cryptoOption.setSelected(true);
-                                } else if ("both".equals(preferredAssetType)) {
-                                    bothOption.setSelected(true);
-                                }
-                            }
-                            
-                            // Set investment type
-                            if (!investmentType.equals("N/A")) {
-                                if ("Long-Term".equals(investmentType)) {
-                                    longTermOption.setSelected(true);
-                                } else if ("Day Trade".equals(investmentType)) {
-                                    dayTradeOption.setSelected(true);
-                                }
-                            }
-                            
-                            // Parse and set industries
-                            if (!industriesJson.equals("N/A") && industriesJson != null && !industriesJson.isEmpty()) {
-                                // Extract industries array from JSON
-                                if (industriesJson.trim().startsWith("[")) {
-                                    // Find the full array
-                                    int arrayStart = responseBody.indexOf("\"industries\":[");
-                                    if (arrayStart != -1) {
-                                        arrayStart = responseBody.indexOf("[", arrayStart);
-                                        int arrayEnd = responseBody.indexOf("]", arrayStart);
-                                        if (arrayEnd != -1) {
-                                            String industriesArrayStr = responseBody.substring(arrayStart + 1, arrayEnd);
-                                            // Split by comma and clean up quotes
-                                            String[] industriesArray = industriesArrayStr.split(",");
-                                            
-                                            for (String industry : industriesArray) {
-                                                industry = industry.trim().replace("\"", "").replace("'", "");
-                                                if (!industry.isEmpty()) {
-                                                    for (CheckBox checkBox : industryCheckBoxes) {
-                                                        if (checkBox.getText().equals(industry)) {
-                                                            checkBox.setSelected(true);
-                                                            break;
-                                                        }
-                                                    }
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                            
-                            System.out.println("Loaded preferences: AssetType=" + preferredAssetType + ", InvestmentType=" + investmentType);
-                            
-                        } catch (Exception e) {
-                            System.err.println("Error parsing preferences: " + e.getMessage());
-                            e.printStackTrace();
-                        }
-                    } else if (response.statusCode() == 404) {
-                        // No preferences found - that's okay, use defaults
-                        System.out.println("No existing preferences found, using defaults");
-                    } else {
-                        System.err.println("Failed to load preferences: " + response.statusCode() + " - " + response.body());
+                if (response.statusCode() == 200) {
+                    System.out.println("Preferences response: " + response.body());
+                    
+                    UserPreferences preferences;
+                    try {
+                        preferences = ApiJson.decodePreferences(response.body());
+                    } catch (IOException e) {
+                        System.err.println("Error parsing preferences: " + e.getMessage());
+                        e.printStackTrace();
+                        return;
                     }
-                });
+                    
+                    if (preferences != null) {
+                        scope.runLater(() -> applyPreferences(preferences));
+                    }
+                } else if (response.statusCode() == 404) {
+                    // No preferences found - that's okay, use defaults
+                    System.out.println("No existing preferences found, using defaults");
+                } else {
+                    System.err.println("Failed to load preferences: " + response.statusCode() + " - " + response.body());
+                }
                 
             } catch (IOException | InterruptedException e) {
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     System.err.println("Error loading preferences: " + e.getMessage());
                 });
                 e.printStackTrace();
             }
-        }).start();
+        });
     }
     
-    private String extractValue(String json, String key) {
-        try {
-            int start = json.indexOf(key);
-            if (start == -1) return "N/A";
-            start += key.length();
-            
-            int end;
-            if (key.contains("\"")) {
-                end = json.indexOf("\"", start);
-            } else {
-                // For arrays, find the closing bracket
-                if (json.charAt(start) == '[') {
-                    int bracketCount = 0;
-                    end = start;
-                    while (end < json.length()) {
-                        if (json.charAt(end) == '[') bracketCount++;
-                        if (json.charAt(end) == ']') {
-                            bracketCount--;
-                            if (bracketCount == 0) {
-                                end++;
-                                break;
-                            }
-                        }
-                        end++;
-                    }
-                } else {
-                    end = json.indexOf(",", start);
-                    if (end == -1) end = json.indexOf("}", start);
-                }
-            }
-            
-            if (end == -1) return "N/A";
-            return json.substring(start, end).trim();
-        } catch (Exception e) {
-            return "N/A";
+    private void applyPreferences(UserPreferences preferences) {
+        String preferredAssetType = preferences.preferredAssetType();
+        String investmentType = preferences.investmentType();
+        
+        // Set asset type
+        if ("stocks".equals(preferredAssetType)) {
+            stocksOption.setSelected(true);
+        } else if ("crypto".equals(preferredAssetType)) {
+            cryptoOption.setSelected(true);
+        } else if ("both".equals(preferredAssetType)) {
+            bothOption.setSelected(true);
         }
+        
+        // Set investment type
+        if ("Long-Term".equals(investmentType)) {
+            longTermOption.setSelected(true);
+        } else if ("Day Trade".equals(investmentType)) {
+            dayTradeOption.setSelected(true);
+        }
+        
+        // Set industries
+        for (CheckBox checkBox : industryCheckBoxes) {
+            checkBox.setSelected(preferences.industries().contains(checkBox.getText()));
+        }
+        
+        System.out.println("Loaded preferences: AssetType=" + preferredAssetType + ", InvestmentType=" + investmentType);
     }
     
     private void handleSavePreferences(ToggleGroup assetToggleGroup, ToggleGroup investmentToggleGroup, List<CheckBox> industryCheckBoxes) {
@@ -383,7 +314,7 @@ public class PreferencesScreen {
         showMessage("Saving preferences...", false);
         
         // Make API call
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
                 // Build JSON manually
                 StringBuilder industriesJson = new StringBuilder("[");
@@ -402,45 +333,34 @@ public class PreferencesScreen {
                 
                 System.out.println("Sending preferences: " + requestBody);
                 
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/user/preferences"))
-                        .header("Content-Type", "application/json")
-                        .header("Authorization", "Bearer " + getAuthToken())
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
+                HttpRequest request = apiClient.postRequest("/api/user/preferences", requestBody);
                 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     if (response.statusCode() == 201) {
+                        // recommendations and news depend on the preferences
+                        apiClient.getCache().clear();
                         showMessage("✓ Preferences saved successfully!", false);
                         statusLabel.setTextFill(Color.GREEN);
                         
                         // Navigate to home screen after a short delay
-                        new Thread(() -> {
-                            try {
-                                Thread.sleep(1500);
-                                Platform.runLater(() -> showHomeScreen());
-                            } catch (InterruptedException e) {
-                                Thread.currentThread().interrupt();
-                            }
-                        }).start();
+                        scope.fork(() -> {
+                            Thread.sleep(1500);
+                            scope.runLater(() -> showHomeScreen());
+                        });
                     } else {
                         showMessage("Failed to save preferences: " + response.body(), true);
                     }
                 });
                 
             } catch (IOException | InterruptedException e) {
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     showMessage("Connection error. Please check if backend server is running.", true);
                 });
                 e.printStackTrace();
             }
-        }).start();
-    }
-    
-    private String getAuthToken() {
-        return TokenManager.getAuthToken();
+        });
     }
     
     private void showMessage(String message, boolean isError) {
@@ -0,0 +1,113 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.metrics.Counter;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import com.cryptoadvisor.prices.PriceKey;
+import com.cryptoadvisor.prices.PriceQuote;
+import com.cryptoadvisor.prices.PriceStream;
+import com.cryptoadvisor.util.FrameMonitor;
+import com.cryptoadvisor.util.ScreenScope;
+import javafx.animation.AnimationTimer;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * live prices for one screen, handed to the fx thread at most once per pulse.
+ * quotes that arrive between pulses are coalesced per asset with the latest winning,
+ * so dozens of tickers cost one update per asset per frame however fast they tick.
+ */
+final class PriceTicker {
+    private static final Counter APPLIED = MetricsRegistry.get().counter("prices.applied");
+    private static final Counter FRAMES = MetricsRegistry.get().counter("prices.frames");
+
+    private final ScreenScope scope;
+    private final Consumer<Map<PriceKey, PriceQuote>> onFrame;
+    private final Map<PriceKey, PriceQuote> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    // fx thread only
+    private final Map<PriceKey, PriceQuote> latest = new HashMap<>();
+    private PriceStream.Subscription subscription;
+
+    // started when quotes are waiting; runs once, in the next pulse, then stops
+    private final AnimationTimer flush = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            if (scope.isOpen()) {
+                FrameMonitor.run("prices", PriceTicker.this::flush);
+            }
+        }
+    };
+
+    /**
+     * onFrame gets the assets whose price changed since the last frame
+     */
+    PriceTicker(ScreenScope scope, Consumer<Map<PriceKey, PriceQuote>> onFrame) {
+        this.scope = scope;
+        this.onFrame = onFrame;
+        scope.onClose(this::unsubscribe);
+    }
+
+    /**
+     * follows exactly these assets from now on. fx thread.
+     */
+    void watch(Set<PriceKey> keys) {
+        if (!scope.isOpen()) return;
+        if (subscription != null && subscription.keys().equals(keys)) return;
+
+        // subscribe before closing the old one so shared assets keep streaming
+        PriceStream.Subscription previous = subscription;
+        subscription = keys.isEmpty() ? null : PriceStream.getInstance().subscribe(keys, this::offer);
+        if (previous != null) {
+            previous.close();
+        }
+        latest.keySet().retainAll(keys);
+    }
+
+    /**
+     * last price seen for each watched asset. fx thread.
+     */
+    Map<PriceKey, PriceQuote> latest() {
+        return Collections.unmodifiableMap(latest);
+    }
+
+    // any thread
+    private void offer(PriceQuote quote) {
+        pending.put(quote.key(), quote);
+        if (scheduled.compareAndSet(false, true)) {
+            scope.runLater("prices", flush::start);
+        }
+    }
+
+    private void flush() {
+        // cleared first so a quote arriving mid-drain schedules the next frame
+        scheduled.set(false);
+        Map<PriceKey, PriceQuote> batch = new HashMap<>();
+        for (PriceKey key : pending.keySet()) {
+            PriceQuote quote = pending.remove(key);
+            if (quote != null) {
+                batch.put(key, quote);
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        latest.putAll(batch);
+        FRAMES.increment();
+        APPLIED.add(batch.size());
+        onFrame.accept(batch);
+    }
+
+    private void unsubscribe() {
+        PriceStream.Subscription current = subscription;
+        if (current != null) {
+            current.close();
+        }
+    }
+}
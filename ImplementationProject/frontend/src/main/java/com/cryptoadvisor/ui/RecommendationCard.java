@@ -0,0 +1,181 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.model.Recommendation;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableStringValue;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.function.Consumer;
+
+/**
+ * recommendation card for the home feed.
+ * built once per list cell and re-bound as the cell scrolls to other recommendations.
+ */
+public class RecommendationCard extends VBox {
+    private final Label tagLabel = new Label();
+    private final Text symbolText = new Text();
+    private final Text nameText = new Text();
+    private final Text priceText = new Text();
+    private final Label typeLabel = new Label();
+    private final Text signalsText = new Text();
+    private final Text reasoningText = new Text();
+    private final Text hintText = new Text();
+    
+    private Recommendation recommendation;
+    private ObservableDoubleValue boundPrice;
+    private final InvalidationListener priceListener = obs -> setPrice(boundPrice.get());
+    private ObservableStringValue boundSignals;
+    private final InvalidationListener signalsListener = obs -> setSignals(boundSignals.get());
+    // null until first bind, then whether the crypto styling is applied
+    private Boolean styledAsCrypto;
+    
+    public RecommendationCard(Consumer<Recommendation> onOpen) {
+        super(10);
+        setPadding(new Insets(15));
+        
+        // click to view chart
+        setOnMouseClicked(e -> {
+            if (recommendation != null) {
+                onOpen.accept(recommendation);
+            }
+        });
+        
+        // header
+        HBox header = new HBox(15);
+        header.setAlignment(Pos.CENTER_LEFT);
+        header.setPadding(new Insets(5, 0, 0, 0));
+        
+        symbolText.setFont(Font.font("System", FontWeight.BOLD, 20));
+        symbolText.setFill(Color.web("#1976D2"));
+        
+        nameText.setFont(Font.font("System", 14));
+        nameText.setFill(Color.web("#666666"));
+        
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+        
+        // price top right
+        VBox priceBox = new VBox(2);
+        priceBox.setAlignment(Pos.CENTER_RIGHT);
+        
+        Text priceLabel = new Text("Current Price");
+        priceLabel.setFont(Font.font("System", 10));
+        priceLabel.setFill(Color.web("#888888"));
+        
+        priceText.setFont(Font.font("System", FontWeight.BOLD, 20));
+        priceText.setFill(Color.web("#2E7D32"));
+        
+        priceBox.getChildren().addAll(priceLabel, priceText);
+        
+        header.getChildren().addAll(symbolText, nameText, spacer, priceBox);
+        
+        // type
+        typeLabel.setStyle("-fx-background-color: #BBDEFB; -fx-text-fill: #0D47A1; -fx-padding: 5 10; -fx-background-radius: 12; -fx-font-size: 11; -fx-font-weight: bold;");
+        
+        // live indicators, hidden until there are some
+        signalsText.setFont(Font.font("System", FontWeight.BOLD, 12));
+        signalsText.setFill(Color.web("#37474F"));
+        setSignals("");
+        
+        // reasoning
+        reasoningText.setFont(Font.font("System", 13));
+        reasoningText.setFill(Color.web("#555555"));
+        reasoningText.setWrappingWidth(900);
+        
+        // hint
+        hintText.setFont(Font.font("System", 11));
+        hintText.setStyle("-fx-font-style: italic;");
+        
+        getChildren().addAll(tagLabel, header, typeLabel, signalsText, reasoningText, hintText);
+    }
+    
+    public void bind(Recommendation rec) {
+        this.recommendation = rec;
+        
+        boolean isCrypto = rec.isCrypto();
+        if (styledAsCrypto == null || styledAsCrypto != isCrypto) {
+            applyAssetStyle(isCrypto);
+        }
+        
+        symbolText.setText(rec.assetSymbol() != null ? rec.assetSymbol() : "N/A");
+        nameText.setText(rec.assetName() != null ? rec.assetName() : "");
+        setPrice(rec.hasPrice() ? rec.currentPrice() : Double.NaN);
+        typeLabel.setText(rec.recommendationType() != null ? rec.recommendationType() : "Long-Term");
+        reasoningText.setText(rec.reasoning() != null ? rec.reasoning() : "");
+    }
+    
+    /**
+     * follows a live price, so a feed refresh can move the price without re-binding the card
+     */
+    public void bindPrice(ObservableDoubleValue price) {
+        if (boundPrice == price) return;
+        if (boundPrice != null) {
+            boundPrice.removeListener(priceListener);
+        }
+        boundPrice = price;
+        if (price != null) {
+            price.addListener(priceListener);
+            setPrice(price.get());
+        }
+    }
+    
+    /**
+     * follows the live indicator summary the same way
+     */
+    public void bindSignals(ObservableStringValue signals) {
+        if (boundSignals == signals) return;
+        if (boundSignals != null) {
+            boundSignals.removeListener(signalsListener);
+        }
+        boundSignals = signals;
+        if (signals != null) {
+            signals.addListener(signalsListener);
+            setSignals(signals.get());
+        } else {
+            setSignals("");
+        }
+    }
+    
+    public Recommendation getRecommendation() {
+        return recommendation;
+    }
+    
+    public void setPrice(double price) {
+        priceText.setText(Double.isNaN(price) ? "$N/A" : String.format("$%.2f", price));
+    }
+    
+    private void setSignals(String summary) {
+        boolean hasSignals = summary != null && !summary.isEmpty();
+        signalsText.setText(hasSignals ? "📊 " + summary : "");
+        signalsText.setVisible(hasSignals);
+        signalsText.setManaged(hasSignals);
+    }
+    
+    // only touches css when a cell switches between a stock and a crypto recommendation
+    private void applyAssetStyle(boolean isCrypto) {
+        styledAsCrypto = isCrypto;
+        
+        // Different colors for stocks vs crypto
+        String bgColor = isCrypto ? "#FFF3E0" : "#E8F5E9"; // Orange for crypto, green for stocks
+        String borderColor = isCrypto ? "#FF9800" : "#4CAF50"; // Orange for crypto, green for stocks
+        
+        setStyle(String.format("-fx-background-color: %s; -fx-background-radius: 8; -fx-border-color: %s; -fx-border-radius: 8; -fx-border-width: 2; -fx-cursor: hand;", bgColor, borderColor));
+        
+        tagLabel.setText(isCrypto ? "🪙 CRYPTO RECOMMENDATION" : "📈 STOCK RECOMMENDATION");
+        tagLabel.setStyle(String.format("-fx-background-color: %s; -fx-text-fill: white; -fx-padding: 4 10; -fx-background-radius: 4; -fx-font-size: 10; -fx-font-weight: bold;", borderColor));
+        
+        hintText.setText("💡 Click to view price chart");
+        hintText.setFill(Color.web(isCrypto ? "#E65100" : "#2E7D32"));
+    }
+}
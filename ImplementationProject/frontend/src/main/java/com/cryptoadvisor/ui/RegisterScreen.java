@@ -1,6 +1,5 @@
 package com.cryptoadvisor.ui;
 
-import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,28 +12,25 @@ import javafx.scene.text.Text;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.Duration;
+import com.cryptoadvisor.api.ApiClient;
+import com.cryptoadvisor.api.ApiJson;
+import com.cryptoadvisor.util.ScreenScope;
 import com.cryptoadvisor.util.TokenManager;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * register screen
  */
 public class RegisterScreen {
     private Stage primaryStage;
-    private final HttpClient httpClient;
-    private static final String API_BASE_URL = "http://localhost:3000";
+    private final ApiClient apiClient;
+    private final ScreenScope scope = new ScreenScope("register");
     
     public RegisterScreen(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        this.apiClient = ApiClient.getInstance();
     }
     
     public void show() {
@@ -137,6 +133,7 @@ public class RegisterScreen {
         
         // Create scene
         Scene scene = new Scene(mainContainer, 500, 700);
+        scope.bindTo(scene);
         primaryStage.setScene(scene);
         primaryStage.setTitle("CryptoAdvisor - Register");
         primaryStage.setResizable(false);
@@ -170,41 +167,38 @@ public class RegisterScreen {
         showMessage("Creating account...", false);
         
         // Make API call to backend
-        new Thread(() -> {
+        scope.fork(() -> {
             try {
                 String requestBody = String.format("{\"user_name\":\"%s\",\"user_email\":\"%s\",\"user_password\":\"%s\"}", 
                     username, email, password);
                 
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(API_BASE_URL + "/api/auth/register"))
-                        .header("Content-Type", "application/json")
-                        .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                        .build();
+                HttpRequest request = apiClient.postRequest("/api/auth/register", requestBody);
                 
-                HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+                HttpResponse<String> response = apiClient.send(request);
                 
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     if (response.statusCode() == 201) {
                         try {
                             // Parse the response to get the token
-                            ObjectMapper mapper = new ObjectMapper();
-                            JsonNode jsonNode = mapper.readTree(response.body());
+                            JsonNode jsonNode = ApiJson.readTree(response.body());
                             String token = jsonNode.get("token").asText();
                             
                             // Store the token
                             TokenManager.setAuthToken(token);
                             
+                            // who is logged in, used to find their saved feed
+                            JsonNode user = jsonNode.path("user");
+                            TokenManager.setUserId(user.path("user_id").asText(null));
+                            TokenManager.setUserName(user.path("user_name").asText(null));
+                            TokenManager.setUserEmail(user.path("user_email").asText(null));
+                            
                             showMessage("Account created successfully! Redirecting...", false);
                             
                             // Navigate to preferences screen after registration
-                            new Thread(() -> {
-                                try {
-                                    Thread.sleep(1500);
-                                    Platform.runLater(() -> showPreferencesScreen());
-                                } catch (InterruptedException e) {
-                                    Thread.currentThread().interrupt();
-                                }
-                            }).start();
+                            scope.fork(() -> {
+                                Thread.sleep(1500);
+                                scope.runLater(() -> showPreferencesScreen());
+                            });
                         } catch (Exception e) {
                             showMessage("Error processing registration response", true);
                         }
@@ -219,11 +213,11 @@ public class RegisterScreen {
                 });
                 
             } catch (IOException | InterruptedException e) {
-                Platform.runLater(() -> {
+                scope.runLater(() -> {
                     showMessage("Connection error. Please check if backend server is running.", true);
                 });
             }
-        }).start();
+        });
     }
     
     private void showMessage(String message, boolean isError) {
@@ -0,0 +1,87 @@
+package com.cryptoadvisor.ui;
+
+import com.cryptoadvisor.metrics.RenderEvent;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.util.function.IntSupplier;
+
+/**
+ * wraps a list update in a jfr RenderEvent.
+ * cells are built in the layout pulse after the update, so the event stays open until that
+ * pulse has finished and counts the cards created and cells bound in between.
+ * fx thread only; costs nothing beyond the update itself while the event is disabled.
+ */
+final class RenderTrace {
+    // bumped by the cells; only touched on the fx thread
+    private static long cardsCreated;
+    private static long cellsBound;
+
+    private RenderTrace() {
+    }
+
+    static void cardCreated() {
+        cardsCreated++;
+    }
+
+    static void cellBound() {
+        cellsBound++;
+    }
+
+    /**
+     * runs the update, which returns how many rows it changed
+     */
+    static void run(String screen, Parent list, int rows, IntSupplier update) {
+        RenderEvent event = new RenderEvent();
+        if (!event.isEnabled()) {
+            update.getAsInt();
+            return;
+        }
+
+        event.begin();
+        event.screen = screen;
+        event.rows = rows;
+        long createdBefore = cardsCreated;
+        long boundBefore = cellsBound;
+        int nodesBefore = countNodes(list);
+        long start = System.nanoTime();
+        event.changes = update.getAsInt();
+        event.fxTime = System.nanoTime() - start;
+
+        Runnable finish = () -> {
+            event.end();
+            if (event.shouldCommit()) {
+                event.cardsCreated = cardsCreated - createdBefore;
+                event.cellsBound = cellsBound - boundBefore;
+                event.nodesAdded = countNodes(list) - nodesBefore;
+                event.commit();
+            }
+        };
+        Scene scene = list.getScene();
+        if (scene == null) {
+            finish.run();
+        } else {
+            scene.addPostLayoutPulseListener(new AfterLayout(scene, finish));
+        }
+    }
+
+    private static int countNodes(Node node) {
+        int count = 1;
+        if (node instanceof Parent parent) {
+            for (Node child : parent.getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    // one-shot post-layout listener
+    private record AfterLayout(Scene scene, Runnable action) implements Runnable {
+        @Override
+        public void run() {
+            scene.removePostLayoutPulseListener(this);
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.cryptoadvisor.util;
+
+import java.nio.file.Path;
+
+/**
+ * where the app keeps files between runs.
+ * override with -Dcryptoadvisor.data.dir=...
+ */
+public final class AppPaths {
+    private static final String APP_DIR = "CryptoAdvisor";
+
+    private AppPaths() {
+    }
+
+    public static Path dataDir() {
+        String override = System.getProperty("cryptoadvisor.data.dir");
+        if (override != null && !override.isBlank()) {
+            return Path.of(override);
+        }
+
+        String home = System.getProperty("user.home");
+        String os = System.getProperty("os.name", "").toLowerCase();
+        if (os.contains("win")) {
+            String appData = System.getenv("LOCALAPPDATA");
+            return Path.of(appData != null ? appData : home, APP_DIR);
+        }
+        if (os.contains("mac")) {
+            return Path.of(home, "Library", "Application Support", APP_DIR);
+        }
+        String xdg = System.getenv("XDG_DATA_HOME");
+        return xdg != null && !xdg.isBlank()
+                ? Path.of(xdg, "cryptoadvisor")
+                : Path.of(home, ".local", "share", "cryptoadvisor");
+    }
+}
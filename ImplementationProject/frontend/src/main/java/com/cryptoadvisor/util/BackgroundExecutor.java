@@ -0,0 +1,20 @@
+package com.cryptoadvisor.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * one virtual thread per task for all blocking work in the app.
+ * threads are named so they show up readably in thread dumps.
+ */
+public final class BackgroundExecutor {
+    private static final ExecutorService EXECUTOR =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("background-", 0).factory());
+
+    private BackgroundExecutor() {
+    }
+
+    public static ExecutorService shared() {
+        return EXECUTOR;
+    }
+}
@@ -0,0 +1,86 @@
+package com.cryptoadvisor.util;
+
+import com.cryptoadvisor.metrics.Counter;
+import com.cryptoadvisor.metrics.Histogram;
+import com.cryptoadvisor.metrics.LongFrameEvent;
+import com.cryptoadvisor.metrics.MetricsRegistry;
+import javafx.scene.Scene;
+
+/**
+ * frame pacing on the fx thread.
+ * a frame's cost is the runLater work queued ahead of a pulse plus that pulse's css and layout.
+ * anything over the long-frame threshold (-Dcryptoadvisor.fx.longFrameMillis, default 50) is
+ * counted, blamed on the biggest task that ran before it and recorded as a LongFrame jfr event.
+ * fx thread only, except for the metrics it writes.
+ */
+public final class FrameMonitor {
+    private static final long LONG_FRAME_NANOS = Long.getLong("cryptoadvisor.fx.longFrameMillis", 50) * 1_000_000;
+
+    private static final MetricsRegistry METRICS = MetricsRegistry.get();
+    private static final Histogram PULSE = METRICS.histogram("fx.pulse.micros");
+    private static final Histogram FRAME = METRICS.histogram("fx.frame.micros");
+    private static final Counter FRAMES = METRICS.counter("fx.frames");
+    private static final Counter LONG_FRAMES = METRICS.counter("fx.frames.long");
+
+    // work since the last pulse
+    private static long busyNanos;
+    private static String worstTask;
+    private static long worstTaskNanos;
+
+    private FrameMonitor() {
+    }
+
+    /**
+     * times the scene's pulses; ScreenScope.bindTo does this for every screen
+     */
+    public static void attach(Scene scene) {
+        long[] pulseStart = new long[1];
+        scene.addPreLayoutPulseListener(() -> pulseStart[0] = System.nanoTime());
+        scene.addPostLayoutPulseListener(() -> endFrame(System.nanoTime() - pulseStart[0]));
+    }
+
+    /**
+     * runs a task on the fx thread and charges its time to the next frame
+     */
+    public static void run(String task, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            METRICS.histogram("fx.task.micros", "task", task).record(elapsed / 1_000);
+            busyNanos += elapsed;
+            if (elapsed > worstTaskNanos) {
+                worstTask = task;
+                worstTaskNanos = elapsed;
+            }
+        }
+    }
+
+    private static void endFrame(long pulseNanos) {
+        long frameNanos = busyNanos + pulseNanos;
+        PULSE.record(pulseNanos / 1_000);
+        FRAME.record(frameNanos / 1_000);
+        FRAMES.increment();
+
+        if (frameNanos > LONG_FRAME_NANOS) {
+            LONG_FRAMES.increment();
+            // layout itself is to blame if no task came close
+            String culprit = worstTaskNanos > pulseNanos ? worstTask : "layout";
+            METRICS.counter("fx.stalls", "task", culprit).increment();
+            // no logging here; writing to stdout on the fx thread would only lengthen the stall
+            LongFrameEvent event = new LongFrameEvent();
+            if (event.shouldCommit()) {
+                event.frameTime = frameNanos;
+                event.pulseTime = pulseNanos;
+                event.culprit = culprit;
+                event.culpritTime = Math.max(worstTaskNanos, pulseNanos);
+                event.commit();
+            }
+        }
+
+        busyNanos = 0;
+        worstTask = null;
+        worstTaskNanos = 0;
+    }
+}
@@ -0,0 +1,182 @@
+package com.cryptoadvisor.util;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.function.Consumer;
+
+/**
+ * background work owned by one screen.
+ * tasks run on the shared virtual thread executor and are cancelled together when the
+ * screen's scene is swapped out of its window, so nothing finishes into a dead scene.
+ */
+public final class ScreenScope {
+    // fx time one chunk of runChunked may take, -Dcryptoadvisor.fx.frameBudgetMillis
+    private static final long FRAME_BUDGET_NANOS = Long.getLong("cryptoadvisor.fx.frameBudgetMillis", 8) * 1_000_000;
+
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private final String name;
+    private final Set<Future<?>> inFlight = ConcurrentHashMap.newKeySet();
+    private final List<Runnable> closeActions = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+
+    public ScreenScope(String name) {
+        this.name = name;
+    }
+
+    /**
+     * closes this scope once the scene leaves its window (navigation or window close),
+     * and times the scene's frames
+     */
+    public void bindTo(Scene scene) {
+        FrameMonitor.attach(scene);
+        scene.windowProperty().addListener((obs, oldWindow, newWindow) -> {
+            if (oldWindow != null && newWindow == null) {
+                close();
+            }
+        });
+    }
+
+    /**
+     * runs a blocking task on a virtual thread; it is interrupted if the scope closes first
+     */
+    public void fork(Task task) {
+        FutureTask<Void> future = new FutureTask<>(() -> {
+            try {
+                task.run();
+            } catch (InterruptedException e) {
+                // cancelled by close()
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                if (!closed) {
+                    System.err.println("Background task failed in " + name + " screen: " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+            return null;
+        }) {
+            @Override
+            protected void done() {
+                inFlight.remove(this);
+            }
+        };
+
+        if (register(future)) {
+            BackgroundExecutor.shared().execute(future);
+        }
+    }
+
+    /**
+     * ties an async request to this scope so close() cancels it
+     */
+    public <T> CompletableFuture<T> track(CompletableFuture<T> future) {
+        if (register(future)) {
+            future.whenComplete((result, error) -> inFlight.remove(future));
+        }
+        return future;
+    }
+
+    /**
+     * Platform.runLater that is dropped if the screen has been left by the time it runs
+     */
+    public void runLater(Runnable action) {
+        runLater("update", action);
+    }
+
+    /**
+     * runLater with a task name, so a long frame can be traced back to "screen/task"
+     */
+    public void runLater(String task, Runnable action) {
+        String label = name + "/" + task;
+        Platform.runLater(() -> {
+            if (!closed) {
+                FrameMonitor.run(label, action);
+            }
+        });
+    }
+
+    /**
+     * like runLater, but applies step to each item one frame budget's worth per pulse,
+     * so a long list doesn't stall the ui. stops early if the scope closes.
+     */
+    public <T> void runChunked(String task, List<T> items, Consumer<T> step) {
+        String label = name + "/" + task;
+        Iterator<T> remaining = items.iterator();
+        Runnable chunk = () -> {
+            long deadline = System.nanoTime() + FRAME_BUDGET_NANOS;
+            while (remaining.hasNext() && System.nanoTime() < deadline) {
+                step.accept(remaining.next());
+            }
+        };
+
+        Platform.runLater(() -> {
+            if (closed) return;
+            FrameMonitor.run(label, chunk);
+            if (!remaining.hasNext()) return;
+
+            // an animation timer fires once per pulse, ahead of that pulse's layout
+            new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    if (closed || !remaining.hasNext()) {
+                        stop();
+                        return;
+                    }
+                    FrameMonitor.run(label, chunk);
+                }
+            }.start();
+        });
+    }
+
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    /**
+     * runs when the scope closes, or straight away if it already has
+     */
+    public void onClose(Runnable action) {
+        closeActions.add(action);
+        if (closed && closeActions.remove(action)) {
+            action.run();
+        }
+    }
+
+    public void close() {
+        if (closed) return;
+        closed = true;
+        for (Future<?> future : inFlight) {
+            future.cancel(true);
+        }
+        inFlight.clear();
+        for (Runnable action : closeActions) {
+            if (closeActions.remove(action)) {
+                action.run();
+            }
+        }
+    }
+
+    // re-checks after adding so a concurrent close() can't miss the future
+    private boolean register(Future<?> future) {
+        inFlight.add(future);
+        if (closed) {
+            inFlight.remove(future);
+            future.cancel(true);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,183 @@
+package com.cryptoadvisor.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static com.cryptoadvisor.testing.TestSupport.assertClose;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * the single-pass backtester against a replay that keeps the whole equity curve and works the
+ * stats out from it afterwards
+ */
+class BacktesterTest {
+    private static final double INITIAL = 10_000;
+    private static final double YEAR_MILLIS = 365.25 * 24 * 60 * 60 * 1000;
+    private static final List<FillModel> FILLS = List.of(FillModel.FREE, FillModel.RETAIL, new FillModel(0.01, 0.02));
+
+    @Test
+    void matchesANaiveReplay() {
+        BarHistory bars = randomWalk(3_000, 21);
+        List<Supplier<Strategy>> strategies = List.of(
+                BuyAndHold::new,
+                () -> new MovingAverageCrossover(5, 20),
+                () -> new MovingAverageCrossover(3, 10, true),
+                BacktesterTest::scattered);
+        for (FillModel fills : FILLS) {
+            Backtester backtester = new Backtester(fills, INITIAL);
+            for (Supplier<Strategy> strategy : strategies) {
+                Naive expected = naive(bars, strategy.get(), fills);
+                BacktestResult actual = backtester.run(bars, strategy.get());
+                String what = fills + " " + strategy.get().getClass().getSimpleName();
+
+                assertArrayEquals(expected.equity, actual.equity(), 1e-9 * INITIAL, what);
+                assertStats(expected.stats, actual.stats(), what);
+                assertStats(expected.stats, backtester.stats(bars, strategy.get()), what);
+            }
+        }
+    }
+
+    @Test
+    void longTargetsNeverBorrow() {
+        // a buy at 100 that closes at almost nothing: any cash spent beyond what there was
+        // would leave the account below zero
+        int size = 50;
+        long[] times = new long[size];
+        double[] opens = new double[size];
+        double[] closes = new double[size];
+        for (int i = 0; i < size; i++) {
+            times[i] = i * 3_600_000L;
+            opens[i] = i < 2 ? 100 : 1e-6;
+            closes[i] = i < 1 ? 100 : 1e-6;
+        }
+        BarHistory bars = new BarHistory(3_600_000L, times, opens, opens.clone(), closes.clone(), closes, new double[size]);
+
+        for (FillModel fills : FILLS) {
+            BacktestResult result = new Backtester(fills, INITIAL).run(bars, new BuyAndHold());
+            for (double equity : result.equity()) {
+                assertTrue(equity >= 0, fills + " equity " + equity);
+            }
+        }
+    }
+
+    @Test
+    void nothingTradesWithoutBars() {
+        BarHistory empty = new BarHistory(60_000, new long[0], new double[0], new double[0], new double[0],
+                new double[0], new double[0]);
+        BacktestStats stats = new Backtester(FillModel.RETAIL, INITIAL).stats(empty, new BuyAndHold());
+        assertEquals(new BacktestStats(INITIAL, 0, 0, 0, 0, 0, 0), stats);
+    }
+
+    static BarHistory randomWalk(int size, long seed) {
+        Random random = new Random(seed);
+        long[] times = new long[size];
+        double[] opens = new double[size];
+        double[] highs = new double[size];
+        double[] lows = new double[size];
+        double[] closes = new double[size];
+        double[] volumes = new double[size];
+        double price = 100;
+        for (int i = 0; i < size; i++) {
+            times[i] = i * 3_600_000L;
+            opens[i] = price;
+            price *= Math.exp(random.nextGaussian() * 0.02);
+            closes[i] = price;
+            highs[i] = Math.max(opens[i], closes[i]) * (1 + random.nextDouble() * 0.01);
+            lows[i] = Math.min(opens[i], closes[i]) * (1 - random.nextDouble() * 0.01);
+            volumes[i] = random.nextDouble() * 1_000;
+        }
+        return new BarHistory(3_600_000L, times, opens, highs, lows, closes, volumes);
+    }
+
+    // targets between 0 and 1 that change most bars, and sometimes NaN
+    private static Strategy scattered() {
+        return (bars, index) -> {
+            long step = Math.floorMod(index * 2_654_435_761L >>> 16, 7);
+            return step == 6 ? Double.NaN : Math.min(1, step / 5.0);
+        };
+    }
+
+    private record Naive(BacktestStats stats, double[] equity) {
+    }
+
+    // the rules as the Backtester's doc states them, one bar at a time
+    private static Naive naive(BarHistory bars, Strategy strategy, FillModel fills) {
+        double cash = INITIAL;
+        double units = 0;
+        double held = 0;
+        double pending = Double.NaN;
+        double traded = 0;
+        double fees = 0;
+        int trades = 0;
+        List<Double> curve = new ArrayList<>();
+        for (int i = 0; i < bars.size(); i++) {
+            if (!Double.isNaN(pending)) {
+                double open = bars.open(i);
+                double worth = cash + units * open;
+                double wanted = pending * worth / open;
+                if (wanted > units) {
+                    double buyPrice = open * (1 + fills.slippageRate());
+                    wanted = Math.max(units, pending * worth / (buyPrice * (1 + fills.feeRate())));
+                }
+                if (wanted != units) {
+                    double price = wanted > units ? open * (1 + fills.slippageRate()) : open * (1 - fills.slippageRate());
+                    double notional = Math.abs(wanted - units) * price;
+                    cash -= (wanted - units) * price + notional * fills.feeRate();
+                    units = wanted;
+                    traded += notional;
+                    fees += notional * fills.feeRate();
+                    trades++;
+                }
+                held = pending;
+                pending = Double.NaN;
+            }
+            curve.add(cash + units * bars.close(i));
+            double target = strategy.target(bars, i);
+            if (!Double.isNaN(target) && target != held) pending = target;
+        }
+
+        double[] equity = curve.stream().mapToDouble(Double::doubleValue).toArray();
+        double last = equity.length > 0 ? equity[equity.length - 1] : INITIAL;
+
+        double peak = INITIAL;
+        double maxDrawdown = 0;
+        double sum = 0;
+        for (double value : equity) {
+            peak = Math.max(peak, value);
+            maxDrawdown = Math.max(maxDrawdown, (peak - value) / peak);
+            sum += value;
+        }
+
+        double[] returns = new double[Math.max(0, equity.length - 1)];
+        for (int i = 1; i < equity.length; i++) {
+            returns[i - 1] = equity[i] / equity[i - 1] - 1;
+        }
+        double mean = 0;
+        for (double r : returns) mean += r;
+        mean /= Math.max(1, returns.length);
+        double squares = 0;
+        for (double r : returns) squares += (r - mean) * (r - mean);
+        double deviation = returns.length > 1 ? Math.sqrt(squares / (returns.length - 1)) : 0;
+        double sharpe = deviation > 0 ? mean / deviation * Math.sqrt(YEAR_MILLIS / bars.resolutionMillis()) : 0;
+        double turnover = equity.length > 0 ? traded / (sum / equity.length) : 0;
+
+        BacktestStats stats = new BacktestStats(last, last / INITIAL - 1, maxDrawdown, sharpe, turnover, trades, fees);
+        return new Naive(stats, equity);
+    }
+
+    private static void assertStats(BacktestStats expected, BacktestStats actual, String what) {
+        assertEquals(expected.trades(), actual.trades(), what);
+        assertClose(expected.finalEquity(), actual.finalEquity(), what + " final equity");
+        assertClose(expected.totalReturn(), actual.totalReturn(), what + " return");
+        assertClose(expected.maxDrawdown(), actual.maxDrawdown(), what + " drawdown");
+        assertClose(expected.sharpe(), actual.sharpe(), what + " sharpe");
+        assertClose(expected.turnover(), actual.turnover(), what + " turnover");
+        assertClose(expected.fees(), actual.fees(), what + " fees");
+    }
+}
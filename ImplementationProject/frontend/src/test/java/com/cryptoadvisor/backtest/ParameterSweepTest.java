@@ -0,0 +1,63 @@
+package com.cryptoadvisor.backtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cryptoadvisor.testing.TestSupport.SINGLE;
+import static com.cryptoadvisor.testing.TestSupport.THREE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ParameterSweepTest {
+    private static final Backtester BACKTESTER = new Backtester(FillModel.RETAIL, 10_000);
+
+    @Test
+    void matchesOneBacktestPerVariant() {
+        BarHistory bars = BacktesterTest.randomWalk(2_000, 31);
+        List<int[]> grid = ParameterSweep.crossoverGrid(2, 20, 5, 60, 3);
+
+        List<SweepResult<int[]>> results = new ParameterSweep(BACKTESTER, THREE)
+                .run(bars, grid, p -> new MovingAverageCrossover(p[0], p[1]));
+
+        assertEquals(grid.size(), results.size());
+        for (int i = 0; i < grid.size(); i++) {
+            int[] p = grid.get(i);
+            assertSame(p, results.get(i).parameters());
+            assertEquals(BACKTESTER.stats(bars, new MovingAverageCrossover(p[0], p[1])), results.get(i).stats(),
+                    p[0] + "/" + p[1]);
+        }
+    }
+
+    @Test
+    void sameResultsOnAnyNumberOfThreads() {
+        BarHistory bars = BacktesterTest.randomWalk(1_000, 32);
+        List<int[]> grid = ParameterSweep.crossoverGrid(1, 30, 2, 90, 1);
+
+        List<BacktestStats> expected = stats(new ParameterSweep(BACKTESTER, SINGLE).run(bars, grid,
+                p -> new MovingAverageCrossover(p[0], p[1], true)));
+        for (ForkJoinPool pool : new ForkJoinPool[] {THREE, ForkJoinPool.commonPool()}) {
+            assertEquals(expected, stats(new ParameterSweep(BACKTESTER, pool).run(bars, grid,
+                    p -> new MovingAverageCrossover(p[0], p[1], true))));
+        }
+    }
+
+    @Test
+    void crossoverGridHasEveryPairWithFastBelowSlow() {
+        List<String> pairs = new ArrayList<>();
+        for (int[] p : ParameterSweep.crossoverGrid(1, 5, 3, 6, 2)) {
+            pairs.add(p[0] + "/" + p[1]);
+        }
+        assertEquals(List.of("1/3", "1/5", "3/4", "3/6", "5/6"), pairs);
+    }
+
+    private static List<BacktestStats> stats(List<SweepResult<int[]>> results) {
+        List<BacktestStats> stats = new ArrayList<>(results.size());
+        for (SweepResult<int[]> result : results) {
+            stats.add(result.stats());
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,356 @@
+package com.cryptoadvisor.batch;
+
+import com.cryptoadvisor.evaluation.RecommendationLog;
+import com.cryptoadvisor.market.ArchiveReader;
+import com.cryptoadvisor.market.TickArchive;
+import com.cryptoadvisor.model.UserPreferences;
+import com.cryptoadvisor.scoring.Asset;
+import com.cryptoadvisor.scoring.AssetFeatures;
+import com.cryptoadvisor.scoring.AssetUniverse;
+import com.cryptoadvisor.scoring.ScoredAsset;
+import com.cryptoadvisor.scoring.ScoringEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * the batch job against an in-memory H2 database in MySQL mode, with the server's tables less
+ * the users table and its foreign keys
+ */
+class RecommendationBatchJobTest {
+    private static final Instant NOW = Instant.parse("2026-03-02T12:00:00Z");
+    private static final Duration LEAD = Duration.ofHours(1);
+    private static final int LIMIT = 3;
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private static final UserPreferences TECH_STOCKS = new UserPreferences("stocks", "Day Trade", List.of("Technology"), List.of());
+    private static final UserPreferences COINS = new UserPreferences("crypto", "Long-Term", List.of(), List.of("bitcoin", "ethereum"));
+    private static final UserPreferences EVERYTHING = new UserPreferences("both", "Long-Term", List.of(), List.of());
+
+    @TempDir
+    Path archiveDir;
+
+    private DriverDataSource dataSource;
+    private ForkJoinPool pool;
+    private RecommendationLog log;
+    private PricedUniverse universe;
+
+    @BeforeEach
+    void createTables() throws SQLException {
+        dataSource = new DriverDataSource("jdbc:h2:mem:batch" + DATABASES.incrementAndGet()
+                + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        pool = new ForkJoinPool(4);
+        log = new RecommendationLog(new TickArchive(archiveDir));
+        universe = universe();
+        execute("""
+                CREATE TABLE user_preferences (
+                    preference_id VARCHAR(36) PRIMARY KEY,
+                    user_id VARCHAR(36) NOT NULL,
+                    preferred_asset_type ENUM('crypto', 'stocks', 'both') NOT NULL,
+                    investment_type VARCHAR(50),
+                    industries JSON,
+                    cryptocurrencies JSON,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )""");
+        execute("""
+                CREATE TABLE recommendations (
+                    recommendation_id VARCHAR(36) PRIMARY KEY,
+                    user_id VARCHAR(36) NOT NULL,
+                    asset_type VARCHAR(20) NOT NULL,
+                    asset_symbol VARCHAR(20) NOT NULL,
+                    asset_name VARCHAR(255) NOT NULL,
+                    current_price DECIMAL(10, 2),
+                    recommendation_type VARCHAR(50),
+                    confidence_score DECIMAL(5, 2),
+                    reasoning TEXT,
+                    news_summary TEXT,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    expires_at TIMESTAMP
+                )""");
+    }
+
+    @AfterEach
+    void dropDatabase() throws SQLException {
+        execute("SHUTDOWN");
+        pool.shutdown();
+    }
+
+    @Test
+    void dueUsersAreGroupedBySignature() throws SQLException {
+        addUser("u1", "both", "Long-Term", "[\"Technology\", \"finance\"]", "[\"bitcoin\"]", 1);
+        // same signature once cased, sorted and defaulted like the server
+        addUser("u2", "both", null, "[\"Finance\", \"technology\", \"Finance\"]", "[\"Bitcoin\"]", 2);
+        addUser("u3", "stocks", "Day Trade", "[]", null, 3);
+        // still covered past the lead
+        addUser("u4", "stocks", "Day Trade", "[]", "[]", 4);
+        addRecommendation("u4", NOW.plus(LEAD).plusSeconds(60));
+        // expiring within the lead
+        addUser("u5", "stocks", "Day Trade", null, "[]", 5);
+        addRecommendation("u5", NOW.plus(LEAD).minusSeconds(60));
+        // two preferences rows: the newer one counts
+        addUser("u6", "crypto", "Long-Term", "[]", "[\"solana\"]", 0);
+        addUser("u6", "stocks", "Day Trade", "[]", "[]", 6);
+
+        Map<PreferenceSignature, List<String>> groups = job().dueUsers(NOW.plus(LEAD));
+
+        PreferenceSignature mixed = PreferenceSignature.of(
+                new UserPreferences("both", "Long-Term", List.of("technology", "finance"), List.of("bitcoin")));
+        PreferenceSignature dayTrade = PreferenceSignature.of(
+                new UserPreferences("stocks", "Day Trade", List.of(), List.of()));
+        assertEquals(Map.of(mixed, List.of("u1", "u2"), dayTrade, List.of("u6", "u3", "u5")), groups);
+    }
+
+    @Test
+    void replacesEveryDueUsersRowsInChunks() throws SQLException, IOException {
+        // over two chunks' worth, every user with rows that have run out
+        int users = 2 * RecommendationBatchJob.USERS_PER_COMMIT + 234;
+        List<UserPreferences> choices = List.of(TECH_STOCKS, COINS, EVERYTHING);
+        Map<String, UserPreferences> preferences = new HashMap<>();
+        for (int i = 0; i < users; i++) {
+            String user = user(i);
+            preferences.put(user, choices.get(i % choices.size()));
+            addUser(user, choices.get(i % choices.size()), i);
+            addRecommendation(user, NOW.minusSeconds(60));
+        }
+
+        RecommendationBatchJob.Result result = job().run(universe, NOW, LEAD);
+
+        Map<PreferenceSignature, List<String>> expected = new HashMap<>();
+        Set<String> calls = new HashSet<>();
+        int expectedRows = 0;
+        for (UserPreferences choice : choices) {
+            List<String> symbols = new ArrayList<>();
+            for (ScoredAsset pick : new ScoringEngine(pool).rank(universe.universe(), choice, LIMIT)) {
+                symbols.add(pick.asset().symbol());
+                calls.add(pick.asset().symbol() + " " + pick.recommendationType() + " " + pick.confidence());
+            }
+            expected.put(PreferenceSignature.of(choice), symbols);
+        }
+        for (UserPreferences choice : preferences.values()) {
+            expectedRows += expected.get(PreferenceSignature.of(choice)).size();
+        }
+        assertEquals(users, result.users());
+        assertEquals(choices.size(), result.signatures());
+        assertEquals(expectedRows, result.rows());
+
+        Map<String, List<String>> written = symbolsByUser();
+        assertEquals(users, written.size());
+        for (Map.Entry<String, UserPreferences> user : preferences.entrySet()) {
+            assertEquals(expected.get(PreferenceSignature.of(user.getValue())), written.get(user.getKey()), user.getKey());
+        }
+        assertEquals(0, count("SELECT COUNT(*) FROM recommendations WHERE recommendation_id LIKE 'old-%'"));
+        assertEquals(expectedRows, count("SELECT COUNT(*) FROM recommendations WHERE expires_at = ?",
+                Timestamp.from(NOW.plus(Duration.ofHours(24)))));
+
+        // one log row per distinct call, however many users it went to
+        assertEquals(calls.size(), loggedCalls());
+
+        // nobody is due any more
+        assertEquals(0, job().run(universe, NOW, LEAD).users());
+    }
+
+    @Test
+    void rollsBackTheChunkThatFails() throws SQLException, IOException {
+        int users = 2 * RecommendationBatchJob.USERS_PER_COMMIT + 200;
+        // the chunks after the first make day trade calls, none of which the first chunk makes
+        for (int i = 0; i < users; i++) {
+            addUser(user(i), i < RecommendationBatchJob.USERS_PER_COMMIT ? EVERYTHING : TECH_STOCKS, i);
+            addRecommendation(user(i), NOW.minusSeconds(60));
+        }
+        // the second chunk's inserts hit a user the table refuses
+        String refused = user(RecommendationBatchJob.USERS_PER_COMMIT + 200);
+        execute("ALTER TABLE recommendations ADD CONSTRAINT refused CHECK (user_id <> '" + refused + "' OR recommendation_id LIKE 'old-%')");
+
+        assertThrows(SQLException.class, () -> job().run(universe, NOW, LEAD));
+
+        Map<String, List<String>> written = symbolsByUser();
+        for (int i = 0; i < users; i++) {
+            List<String> symbols = written.get(user(i));
+            if (i < RecommendationBatchJob.USERS_PER_COMMIT) {
+                assertEquals(LIMIT, symbols.size(), user(i));
+            } else {
+                // deletes of the failed chunk undone, later chunks never started
+                assertEquals(List.of("OLD"), symbols, user(i));
+            }
+        }
+        assertEquals(0, count("SELECT COUNT(*) FROM recommendations WHERE recommendation_id LIKE 'old-%' AND user_id IN "
+                + "(SELECT user_id FROM recommendations WHERE recommendation_id NOT LIKE 'old-%')"));
+        // only the first chunk's calls are logged
+        assertEquals(LIMIT, loggedCalls());
+    }
+
+    @Test
+    void unknownPriceIsWrittenAsNull() throws SQLException {
+        addUser("u1", "both", "Long-Term", "[\"Energy\"]", "[\"bitcoin\", \"dogecoin\"]", 1);
+
+        job(10).run(universe, NOW, LEAD);
+
+        Map<String, Double> prices = new HashMap<>();
+        Map<String, String> summaries = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT asset_symbol, current_price, news_summary FROM recommendations")) {
+            while (rows.next()) {
+                String symbol = rows.getString(1);
+                double price = rows.getDouble(2);
+                prices.put(symbol, rows.wasNull() ? null : price);
+                summaries.put(symbol, rows.getString(3));
+            }
+        }
+        assertEquals(3, prices.size());
+        assertNull(prices.get("DOGE"));
+        assertNull(prices.get("XOM"));
+        assertEquals(43000.25, prices.get("BTC"), 1e-9);
+        // nor is a day's move known for them
+        assertNull(summaries.get("DOGE"));
+        assertNotNull(summaries.get("BTC"));
+        assertTrue(summaries.get("BTC").startsWith("Bitcoin (BTC) is up 2.00%"), summaries.get("BTC"));
+        assertFalse(prices.containsKey("AAPL"));
+    }
+
+    private RecommendationBatchJob job() {
+        return job(LIMIT);
+    }
+
+    private RecommendationBatchJob job(int limit) {
+        return new RecommendationBatchJob(dataSource, pool, limit, log);
+    }
+
+    // two assets with no history, so no features and no price
+    private static PricedUniverse universe() {
+        List<Asset> assets = List.of(
+                Asset.crypto("bitcoin", "BTC", "Bitcoin"),
+                Asset.crypto("ethereum", "ETH", "Ethereum"),
+                Asset.crypto("dogecoin", "DOGE", "Dogecoin"),
+                Asset.stock("AAPL", "Apple Inc.", "Technology"),
+                Asset.stock("MSFT", "Microsoft Corporation", "Technology"),
+                Asset.stock("NVDA", "NVIDIA Corporation", "Technology"),
+                Asset.stock("JPM", "JPMorgan Chase & Co.", "Finance"),
+                Asset.stock("XOM", "Exxon Mobil Corporation", "Energy"));
+        List<AssetFeatures> features = List.of(
+                new AssetFeatures(0.02, 0.10, 0.03, Double.NaN),
+                new AssetFeatures(-0.01, 0.05, 0.04, Double.NaN),
+                AssetFeatures.UNKNOWN,
+                new AssetFeatures(0.01, 0.02, 0.01, Double.NaN),
+                new AssetFeatures(0.005, 0.08, 0.012, Double.NaN),
+                new AssetFeatures(0.03, 0.25, 0.05, Double.NaN),
+                new AssetFeatures(0.0, 0.01, 0.01, Double.NaN),
+                AssetFeatures.UNKNOWN);
+        double[] prices = {43000.25, 2300.5, Double.NaN, 190.1, 370.0, 480.75, 170.0, Double.NaN};
+        return new PricedUniverse(new AssetUniverse(assets, features), prices);
+    }
+
+    private static String user(int i) {
+        return String.format("user-%04d", i);
+    }
+
+    private void addUser(String user, UserPreferences preferences, int minute) throws SQLException {
+        addUser(user, preferences.preferredAssetType(), preferences.investmentType(),
+                json(preferences.industries()), json(preferences.cryptocurrencies()), minute);
+    }
+
+    private void addUser(String user, String assetType, String investmentType, String industries, String coins,
+                         int minute) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO user_preferences (preference_id, user_id, preferred_asset_type, investment_type,
+                      industries, cryptocurrencies, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)""")) {
+            insert.setString(1, user + "/" + minute);
+            insert.setString(2, user);
+            insert.setString(3, assetType);
+            insert.setString(4, investmentType);
+            insert.setString(5, industries);
+            insert.setString(6, coins);
+            insert.setTimestamp(7, Timestamp.from(NOW.minus(Duration.ofDays(30)).plusSeconds(60L * minute)));
+            insert.executeUpdate();
+        }
+    }
+
+    private void addRecommendation(String user, Instant expiresAt) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement("""
+                     INSERT INTO recommendations (recommendation_id, user_id, asset_type, asset_symbol, asset_name,
+                      expires_at) VALUES (?, ?, 'stocks', 'OLD', 'Old', ?)""")) {
+            insert.setString(1, "old-" + user);
+            insert.setString(2, user);
+            insert.setTimestamp(3, Timestamp.from(expiresAt));
+            insert.executeUpdate();
+        }
+    }
+
+    // each user's symbols in the order they were inserted
+    private Map<String, List<String>> symbolsByUser() throws SQLException {
+        Map<String, List<String>> symbols = new HashMap<>();
+        try (Connection connection = dataSource.getConnection();
+             Statement select = connection.createStatement();
+             ResultSet rows = select.executeQuery("SELECT user_id, asset_symbol FROM recommendations ORDER BY _ROWID_")) {
+            while (rows.next()) {
+                symbols.computeIfAbsent(rows.getString(1), user -> new ArrayList<>()).add(rows.getString(2));
+            }
+        }
+        return symbols;
+    }
+
+    private long loggedCalls() throws IOException {
+        long rows = 0;
+        ArchiveReader reader = log.reader();
+        for (String symbol : reader.symbols()) {
+            rows += reader.scanRows(symbol, RecommendationLog.SERIES, Long.MIN_VALUE, Long.MAX_VALUE, (time, values) -> { });
+        }
+        return rows;
+    }
+
+    private long count(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                select.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rows = select.executeQuery()) {
+                rows.next();
+                return rows.getLong(1);
+            }
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String json(List<String> values) {
+        List<String> quoted = new ArrayList<>();
+        for (String value : values) quoted.add('"' + value + '"');
+        return "[" + String.join(", ", quoted) + "]";
+    }
+}
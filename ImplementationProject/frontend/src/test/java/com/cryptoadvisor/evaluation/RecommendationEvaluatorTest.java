@@ -0,0 +1,187 @@
+package com.cryptoadvisor.evaluation;
+
+import com.cryptoadvisor.market.TickArchive;
+import com.cryptoadvisor.prices.PriceKey;
+import com.cryptoadvisor.scoring.ScoringWeights;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cryptoadvisor.testing.TestSupport.SINGLE;
+import static com.cryptoadvisor.testing.TestSupport.THREE;
+import static com.cryptoadvisor.testing.TestSupport.assertClose;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * the evaluator's day-at-a-time merge against a join that looks every row's prices up in the
+ * whole tick list
+ */
+class RecommendationEvaluatorTest {
+    private static final long START = Instant.parse("2026-01-05T00:00:00Z").toEpochMilli();
+    private static final long DAYS = 25;
+    private static final long END = START + DAYS * 86_400_000L;
+    private static final List<PriceKey> KEYS = List.of(PriceKey.crypto("bitcoin"), PriceKey.crypto("ethereum"), PriceKey.stock("AAPL"));
+    private static final List<Duration> HORIZONS = RecommendationEvaluator.DEFAULT_HORIZONS;
+
+    @TempDir
+    Path root;
+
+    private TickArchive archive;
+    private final Map<String, List<Long>> tickTimes = new HashMap<>();
+    private final Map<String, List<Double>> tickPrices = new HashMap<>();
+    private final Map<String, List<Rec>> recs = new HashMap<>();
+
+    private record Rec(long time, String type, double confidence, double price) {
+    }
+
+    @BeforeEach
+    void fillArchive() {
+        archive = new TickArchive(root);
+        RecommendationLog log = new RecommendationLog(archive);
+        Random random = new Random(41);
+        for (PriceKey key : KEYS) {
+            String symbol = key.toString();
+            List<Long> times = new ArrayList<>();
+            List<Double> prices = new ArrayList<>();
+            double price = 100;
+            for (long time = START; time < END; ) {
+                price *= Math.exp(random.nextGaussian() * 0.003);
+                archive.record(symbol, time, price, 0);
+                times.add(time);
+                prices.add(price);
+                // now and then the feed goes quiet for days, so some horizons find only stale ticks
+                time += random.nextInt(500) == 0 ? (2 + random.nextInt(3)) * 86_400_000L : 60_000L * (1 + random.nextInt(20));
+            }
+            tickTimes.put(symbol, times);
+            tickPrices.put(symbol, prices);
+
+            // from before the first tick, so some rows have no price to start from
+            List<Rec> rows = new ArrayList<>();
+            for (long time = START - 3_600_000L; time < END; time += 60_000L * (1 + random.nextInt(120))) {
+                String type = random.nextBoolean() ? ScoringWeights.DAY_TRADE_TYPE : ScoringWeights.LONG_TERM_TYPE;
+                double confidence = random.nextInt(10) == 0 ? Double.NaN : random.nextDouble() * 100;
+                int kind = random.nextInt(10);
+                double logged = kind == 0 ? Double.NaN : kind == 1 ? 0 : price * (0.9 + random.nextDouble() * 0.2);
+                log.record(key, time, type, confidence, logged);
+                rows.add(new Rec(time, type, confidence, logged));
+            }
+            recs.put(symbol, rows);
+        }
+    }
+
+    @AfterEach
+    void closeArchive() {
+        archive.close();
+    }
+
+    @Test
+    void matchesANaiveJoin() throws IOException {
+        long from = START + 2 * 86_400_000L;
+        long to = END - 3 * 86_400_000L;
+        long asOf = END - 2 * 86_400_000L;
+        EvaluationReport expected = naive(from, to, asOf);
+        EvaluationReport actual = new RecommendationEvaluator(archive.reader(), HORIZONS, THREE).evaluate(from, to, asOf);
+
+        assertEquals(expected.recommendations(), actual.recommendations());
+        assertTrue(actual.recommendations() > 1_000);
+        for (int h = 0; h < HORIZONS.size(); h++) {
+            assertEquals(expected.pending(h), actual.pending(h), HORIZONS.get(h) + " pending");
+            assertEquals(expected.unresolved(h), actual.unresolved(h), HORIZONS.get(h) + " unresolved");
+            for (String type : new String[] {ScoringWeights.DAY_TRADE_TYPE, ScoringWeights.LONG_TERM_TYPE, null}) {
+                for (int bucket = -1; bucket < EvaluationReport.BUCKETS; bucket++) {
+                    EvaluationReport.Cell want = expected.cell(h, type, bucket);
+                    EvaluationReport.Cell got = actual.cell(h, type, bucket);
+                    String what = HORIZONS.get(h) + " " + type + " " + bucket;
+                    assertEquals(want.count(), got.count(), what);
+                    assertEquals(want.hits(), got.hits(), what);
+                    assertEquals(want.meanReturn(), got.meanReturn(), 1e-12, what);
+                    assertClose(want.deviation(), got.deviation(), what);
+                }
+            }
+            assertTrue(actual.cell(h, null, -1).count() > 0);
+        }
+        // a week after the last rows in range, the 7 day horizon is still open for some
+        assertTrue(actual.pending(2) > 0);
+        assertTrue(actual.unresolved(1) > 0);
+    }
+
+    @Test
+    void sameReportOnAnyNumberOfThreads() throws IOException {
+        String expected = new RecommendationEvaluator(archive.reader(), HORIZONS, SINGLE).evaluate(START, END, END).format();
+        for (ForkJoinPool pool : new ForkJoinPool[] {THREE, ForkJoinPool.commonPool()}) {
+            assertEquals(expected, new RecommendationEvaluator(archive.reader(), HORIZONS, pool).evaluate(START, END, END).format());
+        }
+    }
+
+    // every row against the last tick at or before its time and its targets, found by a
+    // binary search over all of the symbol's ticks
+    private EvaluationReport naive(long from, long to, long asOf) {
+        EvaluationReport report = new EvaluationReport(HORIZONS);
+        for (PriceKey key : KEYS) {
+            String symbol = key.toString();
+            for (Rec rec : recs.get(symbol)) {
+                if (rec.time() < from || rec.time() >= to) continue;
+                report.countRecommendations(1);
+
+                double entry = rec.price();
+                if (!(entry > 0)) {
+                    int at = lastAtOrBefore(symbol, rec.time());
+                    entry = at >= 0 && rec.time() - time(symbol, at) <= 3_600_000L ? price(symbol, at) : Double.NaN;
+                }
+                for (int h = 0; h < HORIZONS.size(); h++) {
+                    long horizon = HORIZONS.get(h).toMillis();
+                    long target = rec.time() + horizon;
+                    if (target > asOf) {
+                        report.addPending(h);
+                        continue;
+                    }
+                    long stale = Math.min(horizon, Duration.ofDays(3).toMillis());
+                    int at = lastAtOrBefore(symbol, target);
+                    if (at >= 0 && time(symbol, at) > rec.time() && target - time(symbol, at) <= stale
+                            && entry > 0 && !Double.isNaN(rec.confidence())) {
+                        report.add(h, RecommendationLog.typeCode(rec.type()), rec.confidence(), price(symbol, at) / entry - 1);
+                    } else {
+                        report.addUnresolved(h);
+                    }
+                }
+            }
+        }
+        return report;
+    }
+
+    private int lastAtOrBefore(String symbol, long time) {
+        List<Long> times = tickTimes.get(symbol);
+        int low = 0;
+        int high = times.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times.get(mid) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low - 1;
+    }
+
+    private long time(String symbol, int index) {
+        return tickTimes.get(symbol).get(index);
+    }
+
+    private double price(String symbol, int index) {
+        return tickPrices.get(symbol).get(index);
+    }
+}
@@ -0,0 +1,227 @@
+package com.cryptoadvisor.indicators;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * the incremental engine against the same indicators recomputed from the whole history at
+ * every step
+ */
+class IndicatorEngineTest {
+    private static final IndicatorConfig CONFIG = IndicatorConfig.DEFAULTS;
+    private static final long DAY_MILLIS = 86_400_000L;
+    private static final int STEPS = 1500;
+
+    @Test
+    void matchesNaiveRecomputationAtEveryStep() {
+        Bars bars = Bars.randomWalk(STEPS, 50_000, 7);
+        IndicatorEngine engine = new IndicatorEngine(1, CONFIG);
+
+        for (int i = 0; i < STEPS; i++) {
+            engine.update(0, bars.times[i], bars.highs[i], bars.lows[i], bars.closes[i], bars.volumes[i]);
+            Naive expected = Naive.at(bars, i + 1);
+
+            assertClose(expected.sma, engine.sma(0), "sma", i);
+            assertClose(expected.deviation, engine.standardDeviation(0), "standard deviation", i);
+            assertClose(expected.sma + 2 * expected.deviation, engine.bollingerUpper(0), "bollinger upper", i);
+            assertClose(expected.ema, engine.ema(0), "ema", i);
+            assertClose(expected.macd, engine.macd(0), "macd", i);
+            assertClose(expected.signal, engine.macdSignal(0), "macd signal", i);
+            assertClose(expected.rsi, engine.rsi(0), "rsi", i);
+            assertClose(expected.atr, engine.atr(0), "atr", i);
+            assertClose(expected.vwap, engine.vwap(0), "vwap", i);
+        }
+    }
+
+    @Test
+    void symbolsDoNotShareState() {
+        Bars first = Bars.randomWalk(300, 100, 1);
+        Bars second = Bars.randomWalk(300, 30_000, 2);
+        IndicatorEngine together = new IndicatorEngine(2, CONFIG);
+        IndicatorEngine alone = new IndicatorEngine(1, CONFIG);
+
+        for (int i = 0; i < 300; i++) {
+            together.update(0, first.times[i], first.highs[i], first.lows[i], first.closes[i], first.volumes[i]);
+            together.update(1, second.times[i], second.highs[i], second.lows[i], second.closes[i], second.volumes[i]);
+            alone.update(0, second.times[i], second.highs[i], second.lows[i], second.closes[i], second.volumes[i]);
+        }
+        assertEquals(alone.snapshot(0), together.snapshot(1));
+    }
+
+    @Test
+    void resetReplaysLikeANewSymbol() {
+        Bars bars = Bars.randomWalk(200, 500, 3);
+        IndicatorEngine engine = new IndicatorEngine(1, CONFIG);
+        IndicatorEngine fresh = new IndicatorEngine(1, CONFIG);
+        for (int i = 0; i < 200; i++) {
+            engine.update(0, bars.times[i], bars.closes[i] * 3, 1);
+        }
+
+        engine.reset(0);
+        for (int i = 0; i < 200; i++) {
+            engine.update(0, bars.times[i], bars.highs[i], bars.lows[i], bars.closes[i], bars.volumes[i]);
+            fresh.update(0, bars.times[i], bars.highs[i], bars.lows[i], bars.closes[i], bars.volumes[i]);
+        }
+        assertEquals(fresh.snapshot(0), engine.snapshot(0));
+    }
+
+    @Test
+    void valuesAppearOnlyOnceWarm() {
+        IndicatorEngine engine = new IndicatorEngine(1, CONFIG);
+        for (int i = 1; i < CONFIG.warmUp(); i++) {
+            engine.update(0, i * 1000L, 100 + i, 0);
+            assertFalse(engine.isWarm(0));
+        }
+        assertTrue(Double.isNaN(engine.macdSignal(0)));
+
+        engine.update(0, CONFIG.warmUp() * 1000L, 100, 0);
+        assertTrue(engine.isWarm(0));
+        IndicatorSnapshot snapshot = engine.snapshot(0);
+        for (double value : new double[] {snapshot.sma(), snapshot.ema(), snapshot.rsi(), snapshot.macd(),
+                snapshot.macdSignal(), snapshot.atr()}) {
+            assertFalse(Double.isNaN(value));
+        }
+    }
+
+    @Test
+    void flatPriceHasNeutralRsiAndNoBandWidth() {
+        IndicatorEngine engine = new IndicatorEngine(1, CONFIG);
+        for (int i = 0; i < 100; i++) {
+            engine.update(0, i * 1000L, 42, 1);
+        }
+        assertEquals(50, engine.rsi(0));
+        assertEquals(42, engine.sma(0), 1e-12);
+        assertEquals(0, engine.standardDeviation(0), 1e-9);
+        assertEquals(42, engine.vwap(0), 1e-12);
+    }
+
+    private static void assertClose(double expected, double actual, String name, int step) {
+        if (Double.isNaN(expected)) {
+            assertTrue(Double.isNaN(actual), name + " should be NaN at step " + step + ", was " + actual);
+            return;
+        }
+        double tolerance = 1e-9 * Math.max(1, Math.abs(expected));
+        assertEquals(expected, actual, tolerance, name + " at step " + step);
+    }
+
+    // a random walk of bars a few hours apart, so the vwap crosses several utc days
+    private record Bars(long[] times, double[] highs, double[] lows, double[] closes, double[] volumes) {
+        static Bars randomWalk(int count, double start, long seed) {
+            Random random = new Random(seed);
+            Bars bars = new Bars(new long[count], new double[count], new double[count], new double[count], new double[count]);
+            double price = start;
+            for (int i = 0; i < count; i++) {
+                price *= 1 + random.nextGaussian() * 0.01;
+                bars.times[i] = 1_700_000_000_000L + i * 3 * 3_600_000L;
+                bars.closes[i] = price;
+                bars.highs[i] = price * (1 + random.nextDouble() * 0.005);
+                bars.lows[i] = price * (1 - random.nextDouble() * 0.005);
+                bars.volumes[i] = random.nextInt(4) == 0 ? 0 : random.nextDouble() * 10;
+            }
+            return bars;
+        }
+    }
+
+    // every indicator from the first n bars, the slow way
+    private record Naive(double sma, double deviation, double ema, double macd, double signal, double rsi,
+                         double atr, double vwap) {
+        static Naive at(Bars bars, int n) {
+            double sma = Double.NaN;
+            double deviation = Double.NaN;
+            int window = CONFIG.smaPeriod();
+            if (n >= window) {
+                double total = 0;
+                for (int i = n - window; i < n; i++) total += bars.closes[i];
+                sma = total / window;
+                double squares = 0;
+                for (int i = n - window; i < n; i++) squares += (bars.closes[i] - sma) * (bars.closes[i] - sma);
+                deviation = Math.sqrt(squares / window);
+            }
+
+            double[] fast = ema(bars.closes, n, CONFIG.macdFast());
+            double[] slow = ema(bars.closes, n, CONFIG.macdSlow());
+            double[] line = new double[n];
+            for (int i = 0; i < n; i++) line[i] = fast[i] - slow[i];
+            double[] signal = ema(line, n, CONFIG.macdSignal());
+
+            double ema = n >= CONFIG.emaPeriod() ? ema(bars.closes, n, CONFIG.emaPeriod())[n - 1] : Double.NaN;
+            double macd = n >= CONFIG.macdSlow() ? line[n - 1] : Double.NaN;
+            double macdSignal = n >= CONFIG.macdSlow() + CONFIG.macdSignal() - 1 ? signal[n - 1] : Double.NaN;
+            return new Naive(sma, deviation, ema, macd, macdSignal, rsi(bars, n), atr(bars, n), vwap(bars, n));
+        }
+
+        // mean of what has been seen until the period, exponential after
+        private static double[] ema(double[] values, int n, int period) {
+            double[] out = new double[n];
+            double alpha = 2.0 / (period + 1);
+            double total = 0;
+            for (int i = 0; i < n; i++) {
+                if (i < period) {
+                    total += values[i];
+                    out[i] = total / (i + 1);
+                } else {
+                    out[i] = out[i - 1] + (values[i] - out[i - 1]) * alpha;
+                }
+            }
+            return out;
+        }
+
+        // wilder averages of gains and losses over the changes
+        private static double rsi(Bars bars, int n) {
+            int period = CONFIG.rsiPeriod();
+            if (n <= period) return Double.NaN;
+            double[] gains = new double[n - 1];
+            double[] losses = new double[n - 1];
+            for (int i = 1; i < n; i++) {
+                double change = bars.closes[i] - bars.closes[i - 1];
+                gains[i - 1] = Math.max(change, 0);
+                losses[i - 1] = Math.max(-change, 0);
+            }
+            double gain = wilder(gains, period);
+            double loss = wilder(losses, period);
+            if (loss == 0) return gain == 0 ? 50 : 100;
+            return 100 - 100 / (1 + gain / loss);
+        }
+
+        private static double atr(Bars bars, int n) {
+            int period = CONFIG.atrPeriod();
+            if (n < period) return Double.NaN;
+            double[] ranges = new double[n];
+            for (int i = 0; i < n; i++) {
+                double range = bars.highs[i] - bars.lows[i];
+                if (i > 0) {
+                    double previous = bars.closes[i - 1];
+                    range = Math.max(range, Math.max(Math.abs(bars.highs[i] - previous), Math.abs(bars.lows[i] - previous)));
+                }
+                ranges[i] = range;
+            }
+            return wilder(ranges, period);
+        }
+
+        private static double wilder(double[] values, int period) {
+            double average = 0;
+            for (int i = 0; i < values.length; i++) {
+                average = i < period ? (average * i + values[i]) / (i + 1) : (average * (period - 1) + values[i]) / period;
+            }
+            return average;
+        }
+
+        // typical price weighted by volume over the last bar's utc day
+        private static double vwap(Bars bars, int n) {
+            long day = Math.floorDiv(bars.times[n - 1], DAY_MILLIS);
+            double priceVolume = 0;
+            double volume = 0;
+            for (int i = 0; i < n; i++) {
+                if (Math.floorDiv(bars.times[i], DAY_MILLIS) != day) continue;
+                priceVolume += (bars.highs[i] + bars.lows[i] + bars.closes[i]) / 3 * bars.volumes[i];
+                volume += bars.volumes[i];
+            }
+            return volume > 0 ? priceVolume / volume : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.cryptoadvisor.market;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * one segment file: the sparse index lookup against a walk over every time, and the sealed copy
+ */
+class ArchiveSegmentTest {
+    private static final int STRIDE = ArchiveSegment.INDEX_STRIDE;
+    private static final long DAY = 20_500;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void lowerBoundMatchesALinearWalkAtStrideEdges() throws IOException {
+        int rows = 3 * STRIDE + 10;
+        ArchiveSegment segment = ArchiveSegment.create(dir.resolve("a.seg"), ArchiveSeries.TICKS, DAY, rows);
+        long[] times = new long[rows];
+        long time = 1_000;
+        for (int row = 0; row < rows; row++) {
+            // runs of one time straddle the first two stride edges, so the index holds a time
+            // the block before it ends with
+            int fromEdge = row % STRIDE;
+            boolean nearEdge = row >= STRIDE && row < 3 * STRIDE && (fromEdge < 2 || fromEdge >= STRIDE - 2);
+            if (!nearEdge) time += 10;
+            times[row] = time;
+            segment.writeTime(row, time);
+            segment.writeValue(0, row, row);
+            segment.writeValue(1, row, -row);
+        }
+        segment.commit(rows, time);
+
+        // counts that end a block exactly, one row into the next, and the whole segment
+        for (int count : new int[] {0, 1, STRIDE - 1, STRIDE, STRIDE + 1, 2 * STRIDE, 2 * STRIDE + 1, rows}) {
+            for (int edge = 0; edge <= rows; edge += STRIDE) {
+                for (int row = Math.max(0, edge - 3); row < Math.min(rows, edge + 3); row++) {
+                    for (long target : new long[] {times[row] - 1, times[row], times[row] + 1}) {
+                        assertEquals(linear(times, count, target), segment.lowerBound(target, count),
+                                "time " + target + " in " + count + " rows");
+                    }
+                }
+            }
+            assertEquals(0, segment.lowerBound(Long.MIN_VALUE, count));
+            assertEquals(count, segment.lowerBound(Long.MAX_VALUE, count));
+        }
+    }
+
+    @Test
+    void sealedCopyHoldsJustTheRows() throws IOException {
+        int rows = STRIDE + 7;
+        ArchiveSegment segment = ArchiveSegment.create(dir.resolve("b.seg"), ArchiveSeries.TICKS, DAY, 4 * STRIDE);
+        for (int row = 0; row < rows; row++) {
+            segment.writeTime(row, 5_000 + 3L * row);
+            segment.writeValue(0, row, 100 + row * 0.5);
+            segment.writeValue(1, row, row);
+            segment.commit(row + 1, 5_000 + 3L * row);
+        }
+        assertFalse(segment.isSealed());
+
+        Path copyFile = dir.resolve("b.sealed");
+        segment.compactTo(copyFile);
+        ArchiveSegment copy = ArchiveSegment.open(copyFile, false);
+
+        assertTrue(copy.isSealed());
+        assertEquals(rows, copy.count());
+        assertEquals(rows, copy.capacity());
+        assertTrue(copy.isFull());
+        assertEquals(DAY, copy.day());
+        assertEquals(2, copy.columns());
+        assertEquals(segment.firstTime(), copy.firstTime());
+        assertEquals(segment.lastTime(), copy.lastTime());
+        for (int row = 0; row < rows; row++) {
+            assertEquals(segment.time(row), copy.time(row));
+            assertEquals(segment.value(0, row), copy.value(0, row));
+            assertEquals(segment.value(1, row), copy.value(1, row));
+        }
+        // the copy gets its own index
+        for (int row = 0; row < rows; row++) {
+            assertEquals(row, copy.lowerBound(copy.time(row), rows));
+            assertEquals(row + 1, copy.lowerBound(copy.time(row) + 1, rows));
+        }
+    }
+
+    @Test
+    void sealedCopyOfAnEmptySegment() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.create(dir.resolve("c.seg"), ArchiveSeries.TICKS, DAY, 100);
+        Path copyFile = dir.resolve("c.sealed");
+        segment.compactTo(copyFile);
+        ArchiveSegment copy = ArchiveSegment.open(copyFile, false);
+
+        assertTrue(copy.isSealed());
+        assertEquals(0, copy.count());
+        assertEquals(0, copy.lowerBound(0, 0));
+        assertEquals(Long.MIN_VALUE, copy.lastTime());
+    }
+
+    private static int linear(long[] times, int count, long target) {
+        for (int row = 0; row < count; row++) {
+            if (times[row] >= target) return row;
+        }
+        return count;
+    }
+}
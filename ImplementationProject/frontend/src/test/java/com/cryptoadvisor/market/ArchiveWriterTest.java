@@ -0,0 +1,168 @@
+package com.cryptoadvisor.market;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * rows written through the writer and scanned back through the reader: across a day boundary,
+ * across full segments, and carried on by a later writer
+ */
+class ArchiveWriterTest {
+    private static final String SYMBOL = "crypto:bitcoin";
+    private static final long START = Instant.parse("2026-03-01T22:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path root;
+
+    private record Tick(long time, double price, double volume) {
+    }
+
+    @Test
+    void scansBackEveryRowAcrossDaysAndFullSegments() throws IOException {
+        int capacity = ArchiveSegment.INDEX_STRIDE + 100;
+        ArchiveWriter writer = writer(capacity);
+        Random random = new Random(18);
+        List<Tick> written = new ArrayList<>();
+        long time = START;
+        // four hours at about two ticks a second, through midnight, some at the same millisecond
+        while (time < START + 4 * 3_600_000L) {
+            Tick tick = new Tick(time, 60_000 + random.nextGaussian() * 100, random.nextDouble());
+            assertTrue(writer.appendTick(tick.time, tick.price, tick.volume));
+            written.add(tick);
+            time += random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(1_000);
+        }
+        writer.close();
+
+        // two hours each side of midnight, each day over several full segments
+        long midnight = Instant.parse("2026-03-02T00:00:00Z").toEpochMilli();
+        int firstDay = naive(written, START, midnight).size();
+        int secondDay = written.size() - firstDay;
+        assertTrue(firstDay > 3 * capacity && secondDay > 3 * capacity);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i * capacity < firstDay; i++) expected.add(String.format("2026-03-01.%03d.seg", i));
+        for (int i = 0; i * capacity < secondDay; i++) expected.add(String.format("2026-03-02.%03d.seg", i));
+
+        List<Path> segments = ArchiveReader.segments(dir());
+        List<String> names = new ArrayList<>();
+        for (Path segment : segments) {
+            names.add(segment.getFileName().toString());
+        }
+        assertEquals(expected, names);
+        // every segment left behind is sealed to its rows; the last one is kept open for more
+        for (int i = 0; i < segments.size(); i++) {
+            ArchiveSegment segment = ArchiveSegment.open(segments.get(i), false);
+            boolean last = i == segments.size() - 1;
+            assertEquals(!last, segment.isSealed(), names.get(i));
+            if (!last) assertEquals(segment.count(), segment.capacity(), names.get(i));
+        }
+
+        ArchiveReader reader = new ArchiveReader(root);
+        assertEquals(written, scan(reader, Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(written.get(0).time, reader.firstTime(SYMBOL, ArchiveSeries.TICKS));
+        for (int i = 0; i < 200; i++) {
+            long from = START - 1_000 + (long) (random.nextDouble() * 4.1 * 3_600_000L);
+            long to = from + random.nextInt(random.nextBoolean() ? 60_000 : 3_600_000);
+            assertEquals(naive(written, from, to), scan(reader, from, to), from + " to " + to);
+        }
+        // a range that is only the midnight, and one that ends on it
+        assertEquals(naive(written, midnight, midnight + 1), scan(reader, midnight, midnight + 1));
+        assertEquals(naive(written, midnight - 5_000, midnight), scan(reader, midnight - 5_000, midnight));
+    }
+
+    @Test
+    void rowsOlderThanTheLastAreRefused() throws IOException {
+        ArchiveWriter writer = writer(1_000);
+        assertTrue(writer.appendTick(START, 1, 0));
+        assertFalse(writer.appendTick(START - 1, 2, 0));
+        assertTrue(writer.appendTick(START, 3, 0));
+        assertFalse(writer.appendTick(START - 86_400_000L, 4, 0));
+        assertEquals(START, writer.lastTime());
+        writer.close();
+
+        assertEquals(List.of(new Tick(START, 1, 0), new Tick(START, 3, 0)),
+                scan(new ArchiveReader(root), Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void resumesAnUnsealedSegment() throws IOException {
+        List<Tick> written = new ArrayList<>();
+        ArchiveWriter first = writer(1_000);
+        for (int i = 0; i < 300; i++) {
+            written.add(new Tick(START + i * 1_000L, 100 + i, i));
+            first.appendTick(START + i * 1_000L, 100 + i, i);
+        }
+        first.close();
+
+        // as if the app had stopped: the next run carries on in the same file
+        ArchiveWriter second = writer(1_000);
+        assertEquals(START + 299_000L, second.lastTime());
+        assertFalse(second.appendTick(START, 0, 0));
+        for (int i = 300; i < 1_200; i++) {
+            written.add(new Tick(START + i * 1_000L, 100 + i, i));
+            second.appendTick(START + i * 1_000L, 100 + i, i);
+        }
+        second.close();
+
+        List<Path> segments = ArchiveReader.segments(dir());
+        assertEquals(2, segments.size());
+        assertEquals("2026-03-01.000.seg", segments.get(0).getFileName().toString());
+        ArchiveSegment resumed = ArchiveSegment.open(segments.get(0), false);
+        assertTrue(resumed.isSealed());
+        assertEquals(1_000, resumed.count());
+        assertEquals(written, scan(new ArchiveReader(root), Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void aSealedSegmentIsNotWrittenAgain() throws IOException {
+        ArchiveWriter first = writer(1_000);
+        first.appendTick(START, 1, 0);
+        first.finish();
+        first.close();
+
+        ArchiveWriter second = writer(1_000);
+        assertTrue(second.appendTick(START + 1_000, 2, 0));
+        second.close();
+
+        List<Path> segments = ArchiveReader.segments(dir());
+        assertEquals(2, segments.size());
+        assertTrue(ArchiveSegment.open(segments.get(0), false).isSealed());
+        assertEquals(1, ArchiveSegment.open(segments.get(0), false).count());
+        assertEquals("2026-03-01.001.seg", segments.get(1).getFileName().toString());
+        assertEquals(List.of(new Tick(START, 1, 0), new Tick(START + 1_000, 2, 0)),
+                scan(new ArchiveReader(root), Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    private Path dir() {
+        return TickArchive.seriesDir(root, SYMBOL, ArchiveSeries.TICKS);
+    }
+
+    private ArchiveWriter writer(int capacity) throws IOException {
+        return new ArchiveWriter(dir(), ArchiveSeries.TICKS, capacity);
+    }
+
+    private static List<Tick> scan(ArchiveReader reader, long from, long to) throws IOException {
+        List<Tick> ticks = new ArrayList<>();
+        long rows = reader.scanTicks(SYMBOL, from, to, (time, price, volume) -> ticks.add(new Tick(time, price, volume)));
+        assertEquals(ticks.size(), rows);
+        return ticks;
+    }
+
+    private static List<Tick> naive(List<Tick> ticks, long from, long to) {
+        List<Tick> inRange = new ArrayList<>();
+        for (Tick tick : ticks) {
+            if (tick.time >= from && tick.time < to) inRange.add(tick);
+        }
+        return inRange;
+    }
+}
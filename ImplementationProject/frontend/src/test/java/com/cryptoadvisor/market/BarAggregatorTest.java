@@ -0,0 +1,224 @@
+package com.cryptoadvisor.market;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * bars built tick by tick, late ticks included, against bars worked out from the whole list of
+ * ticks afterwards
+ */
+class BarAggregatorTest {
+    private static final List<Duration> RESOLUTIONS = List.of(
+            Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofHours(1));
+    private static final Duration TOLERANCE = Duration.ofSeconds(5);
+    private static final long TOLERANCE_MILLIS = TOLERANCE.toMillis();
+
+    private record Bar(long time, double open, double high, double low, double close, double volume) {
+    }
+
+    private record Tick(long time, double price, double volume) {
+    }
+
+    @Test
+    void lateTicksWithinTheToleranceLandInTheirOpenBar() {
+        BarAggregator aggregator = new BarAggregator(1, List.of(Duration.ofSeconds(1)), new int[] {100}, TOLERANCE, null);
+        assertTrue(aggregator.onTick(0, 500, 10, 1));
+        assertTrue(aggregator.onTick(0, 2_500, 30, 1));
+        // between two open bars, where no bar was yet
+        assertTrue(aggregator.onTick(0, 1_500, 20, 2));
+        // into the first bar, before its open and after its close
+        assertTrue(aggregator.onTick(0, 200, 9, 1));
+        assertTrue(aggregator.onTick(0, 800, 12, 1));
+        // same time as the bar's close: the later tick wins
+        assertTrue(aggregator.onTick(0, 800, 11, 1));
+
+        assertEquals(List.of(
+                new Bar(0, 9, 12, 9, 11, 4),
+                new Bar(1_000, 20, 20, 20, 20, 2),
+                new Bar(2_000, 30, 30, 30, 30, 1)), bars(aggregator.series(0, 0)));
+        assertEquals(0, aggregator.series(0, 0).closedSize());
+        assertEquals(0, aggregator.droppedTicks());
+
+        // the first bar closes once the watermark reaches its end plus the tolerance, not before
+        aggregator.advanceTo(1_000 + TOLERANCE_MILLIS - 1);
+        assertEquals(0, aggregator.series(0, 0).closedSize());
+        aggregator.advanceTo(1_000 + TOLERANCE_MILLIS);
+        assertEquals(1, aggregator.series(0, 0).closedSize());
+    }
+
+    @Test
+    void ticksPastTheToleranceAreDroppedAndCounted() {
+        BarAggregator aggregator = new BarAggregator(1, List.of(Duration.ofSeconds(1)), new int[] {100}, TOLERANCE, null);
+        aggregator.onTick(0, 10_000, 50, 1);
+        List<Bar> before = bars(aggregator.series(0, 0));
+
+        assertFalse(aggregator.onTick(0, 10_000 - TOLERANCE_MILLIS - 1, 1, 1));
+        assertEquals(1, aggregator.droppedTicks());
+        // right on the tolerance is still in time
+        assertTrue(aggregator.onTick(0, 10_000 - TOLERANCE_MILLIS, 2, 1));
+        assertEquals(1, aggregator.droppedTicks());
+        assertEquals(before.size() + 1, bars(aggregator.series(0, 0)).size());
+    }
+
+    @Test
+    void barsCloseInOrderAtEveryResolution() {
+        List<List<Bar>> closed = new ArrayList<>();
+        for (int r = 0; r < RESOLUTIONS.size(); r++) closed.add(new ArrayList<>());
+        long[] watermark = {Long.MIN_VALUE};
+        BarAggregator aggregator = new BarAggregator(2, RESOLUTIONS, new int[] {20_000, 1_000, 1_000, 100}, TOLERANCE,
+                (symbol, resolution, time, open, high, low, close, volume) -> {
+                    assertEquals(1, symbol);
+                    // only once the watermark has passed the bar's end and the tolerance
+                    assertTrue(time + RESOLUTIONS.get(resolution).toMillis() + TOLERANCE_MILLIS <= watermark[0]);
+                    closed.get(resolution).add(new Bar(time, open, high, low, close, volume));
+                });
+
+        Random random = new Random(20);
+        List<Tick> used = new ArrayList<>();
+        long time = 1_700_000_000_000L;
+        long end = time + 3 * 3_600_000L;
+        double price = 100;
+        while (time < end) {
+            price *= Math.exp(random.nextGaussian() * 0.001);
+            // now and then a tick that is late but inside the tolerance
+            long tickTime = random.nextInt(8) == 0 ? time - random.nextInt((int) TOLERANCE_MILLIS) : time;
+            double volume = random.nextInt(5);
+            watermark[0] = Math.max(watermark[0], tickTime);
+            assertTrue(aggregator.onTick(1, tickTime, price, volume));
+            used.add(new Tick(tickTime, price, volume));
+            time += random.nextInt(1_500);
+        }
+        watermark[0] = end + 2 * 3_600_000L;
+        aggregator.advanceTo(watermark[0]);
+
+        for (int r = 0; r < RESOLUTIONS.size(); r++) {
+            List<Bar> expected = naive(used, RESOLUTIONS.get(r).toMillis());
+            assertEquals(expected, closed.get(r), RESOLUTIONS.get(r).toString());
+            assertEquals(expected, bars(aggregator.series(1, r)), RESOLUTIONS.get(r).toString());
+            assertEquals(expected.size(), aggregator.series(1, r).closedSize());
+        }
+        assertEquals(0, aggregator.droppedTicks());
+    }
+
+    @Test
+    void aFullRingDropsItsOldestBar() {
+        BarAggregator aggregator = new BarAggregator(1, List.of(Duration.ofSeconds(1)), new int[] {3}, Duration.ofHours(1), null);
+        for (long second = 0; second < 4; second++) {
+            assertTrue(aggregator.onTick(0, second * 1_000 + 500, second, 1));
+        }
+        BarSeries series = aggregator.series(0, 0);
+        assertEquals(3, series.size());
+        assertEquals(0, series.closedSize());
+        assertEquals(List.of(1_000L, 2_000L, 3_000L), times(series));
+
+        // its bar is gone, and one opened in front of the oldest would be the next to go
+        assertFalse(aggregator.onTick(0, 700, 9, 1));
+        assertEquals(1, aggregator.droppedTicks());
+        assertEquals(List.of(1_000L, 2_000L, 3_000L), times(series));
+
+        // a late bar between open ones pushes the oldest out
+        assertTrue(aggregator.onTick(0, 6_000, 6, 1));
+        assertTrue(aggregator.onTick(0, 5_200, 5, 1));
+        assertEquals(List.of(3_000L, 5_000L, 6_000L), times(series));
+        assertEquals(0, series.closedSize());
+
+        aggregator.advanceTo(Long.MAX_VALUE - Duration.ofDays(1).toMillis());
+        assertEquals(3, series.closedSize());
+    }
+
+    @Test
+    void copyReadsAcrossTheRingWrap() {
+        int capacity = 10;
+        BarAggregator aggregator = new BarAggregator(1, List.of(Duration.ofSeconds(1)), new int[] {capacity}, TOLERANCE, null);
+        List<Tick> ticks = new ArrayList<>();
+        for (int second = 0; second < 27; second++) {
+            Tick tick = new Tick(second * 1_000L + 100, 100 + second, second);
+            aggregator.onTick(0, tick.time(), tick.price(), tick.volume());
+            ticks.add(tick);
+        }
+        aggregator.advanceTo(60_000);
+        BarSeries series = aggregator.series(0, 0);
+        List<Bar> all = naive(ticks, 1_000);
+        List<Bar> kept = all.subList(all.size() - capacity, all.size());
+        assertEquals(kept, bars(series));
+
+        // every window of the ten kept, so some start before the wrap and end after it
+        for (int from = 0; from <= capacity; from++) {
+            for (int to = from; to <= capacity; to++) {
+                long fromTime = from < capacity ? kept.get(from).time() : 27_000;
+                long toTime = to < capacity ? kept.get(to).time() : 27_000;
+                assertEquals(kept.subList(from, to), copy(series, fromTime, toTime, capacity), from + " to " + to);
+            }
+        }
+        // short columns take the oldest that fit
+        long[] times = new long[4];
+        double[] closes = new double[6];
+        assertEquals(4, series.copy(Long.MIN_VALUE, Long.MAX_VALUE, times, null, null, null, closes, null));
+        assertArrayEquals(new long[] {17_000, 18_000, 19_000, 20_000}, times);
+        assertArrayEquals(new double[] {117, 118, 119, 120, 0, 0}, closes);
+    }
+
+    // bar by bar from every tick used: open of the earliest (first seen if tied), close of the
+    // latest (last seen if tied)
+    private static List<Bar> naive(List<Tick> ticks, long resolution) {
+        TreeMap<Long, List<Tick>> byBar = new TreeMap<>();
+        for (Tick tick : ticks) {
+            byBar.computeIfAbsent(tick.time() - Math.floorMod(tick.time(), resolution), key -> new ArrayList<>()).add(tick);
+        }
+        List<Bar> bars = new ArrayList<>();
+        byBar.forEach((barTime, inBar) -> {
+            Tick first = inBar.get(0);
+            Tick last = inBar.get(0);
+            double high = Double.NEGATIVE_INFINITY;
+            double low = Double.POSITIVE_INFINITY;
+            double volume = 0;
+            for (Tick tick : inBar) {
+                if (tick.time() < first.time()) first = tick;
+                if (tick.time() >= last.time()) last = tick;
+                high = Math.max(high, tick.price());
+                low = Math.min(low, tick.price());
+                volume += tick.volume();
+            }
+            bars.add(new Bar(barTime, first.price(), high, low, last.price(), volume));
+        });
+        return bars;
+    }
+
+    private static List<Bar> bars(BarSeries series) {
+        return copy(series, Long.MIN_VALUE, Long.MAX_VALUE, series.size());
+    }
+
+    private static List<Bar> copy(BarSeries series, long from, long to, int room) {
+        long[] times = new long[room];
+        double[] opens = new double[room];
+        double[] highs = new double[room];
+        double[] lows = new double[room];
+        double[] closes = new double[room];
+        double[] volumes = new double[room];
+        int count = series.copy(from, to, times, opens, highs, lows, closes, volumes);
+        assertEquals(series.count(from, to), count);
+        List<Bar> bars = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bars.add(new Bar(times[i], opens[i], highs[i], lows[i], closes[i], volumes[i]));
+        }
+        return bars;
+    }
+
+    private static List<Long> times(BarSeries series) {
+        List<Long> times = new ArrayList<>();
+        for (Bar bar : bars(series)) {
+            times.add(bar.time());
+        }
+        return times;
+    }
+}
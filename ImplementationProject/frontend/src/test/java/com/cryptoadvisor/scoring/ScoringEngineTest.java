@@ -0,0 +1,156 @@
+package com.cryptoadvisor.scoring;
+
+import com.cryptoadvisor.model.UserPreferences;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static com.cryptoadvisor.testing.TestSupport.SINGLE;
+import static com.cryptoadvisor.testing.TestSupport.THREE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoringEngineTest {
+    private static final List<String> INDUSTRIES = List.of("Technology", "Healthcare", "Finance", "Energy", "Consumer Goods");
+    private static final List<UserPreferences> PREFERENCES = List.of(
+            new UserPreferences("both", "Long-Term", List.of(), List.of()),
+            new UserPreferences("stocks", "Day Trade", List.of("Technology", "Energy"), List.of()),
+            new UserPreferences("crypto", "Long-Term", List.of(), List.of("coin-3", "coin-17", "coin-250")),
+            new UserPreferences(null, null, List.of("Finance"), List.of("coin-8")),
+            new UserPreferences("both", "Day Trade", List.of("no such industry"), List.of("no-such-coin")));
+
+    @Test
+    void ranksLikeASequentialSort() {
+        AssetUniverse universe = universe(20_000, 11);
+        ScoringEngine engine = new ScoringEngine(THREE);
+        for (UserPreferences preferences : PREFERENCES) {
+            for (int limit : new int[] {1, 10, 500, 30_000}) {
+                assertEquals(sequentialRank(universe, preferences, limit), engine.rank(universe, preferences, limit),
+                        preferences + " limit " + limit);
+            }
+        }
+    }
+
+    @Test
+    void sameRankingOnAnyNumberOfThreads() {
+        AssetUniverse universe = universe(50_000, 12);
+        for (UserPreferences preferences : PREFERENCES) {
+            List<ScoredAsset> expected = new ScoringEngine(SINGLE).rank(universe, preferences, 200);
+            assertEquals(expected, new ScoringEngine(THREE).rank(universe, preferences, 200));
+            assertEquals(expected, new ScoringEngine(ForkJoinPool.commonPool()).rank(universe, preferences, 200));
+        }
+    }
+
+    @Test
+    void tiesGoToTheAssetListedFirst() {
+        List<Asset> assets = new ArrayList<>();
+        List<AssetFeatures> features = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            assets.add(Asset.stock("S" + i, null, "Technology"));
+            // three distinct scores, each shared by a third of the assets
+            double value = i % 3;
+            features.add(new AssetFeatures(value, value, 0, value));
+        }
+        AssetUniverse universe = new AssetUniverse(assets, features);
+        UserPreferences preferences = new UserPreferences("stocks", "Long-Term", List.of(), List.of());
+
+        // the best third (i % 3 == 2) in list order, then the next third
+        List<String> expected = new ArrayList<>();
+        for (int remainder : new int[] {2, 1}) {
+            for (int i = remainder; i < 5000; i += 3) expected.add("S" + i);
+        }
+        assertEquals(expected.subList(0, 3000), symbols(new ScoringEngine(THREE).rank(universe, preferences, 3000)));
+    }
+
+    @Test
+    void industriesAndCoinsMatchWhateverTheirCase() {
+        List<Asset> assets = List.of(
+                Asset.stock("AAPL", "Apple", "Technology"),
+                Asset.stock("XOM", "Exxon", "ENERGY"),
+                Asset.stock("JPM", "JPMorgan", "Finance"),
+                Asset.crypto("bitcoin", "BTC", "Bitcoin"),
+                Asset.crypto("Ethereum", "ETH", "Ethereum"),
+                Asset.crypto("solana", "SOL", "Solana"));
+        List<AssetFeatures> features = assets.stream().map(asset -> new AssetFeatures(0.01, 0.1, 0.02, 0)).toList();
+        AssetUniverse universe = new AssetUniverse(assets, features);
+        ScoringEngine engine = new ScoringEngine(SINGLE);
+
+        UserPreferences stocks = new UserPreferences("STOCKS", "Long-Term", List.of("technology", "Energy"), List.of("BITCOIN"));
+        assertEquals(List.of("AAPL", "XOM"), symbols(engine.rank(universe, stocks, 10)));
+
+        UserPreferences crypto = new UserPreferences("Crypto", "Day Trade", List.of("TECHNOLOGY"), List.of("BitCoin", "ethereum"));
+        assertEquals(List.of("BTC", "ETH"), symbols(engine.rank(universe, crypto, 10)));
+
+        UserPreferences both = new UserPreferences("Both", "Long-Term", List.of("FINANCE"), List.of("SOLANA"));
+        assertEquals(List.of("JPM", "SOL"), symbols(engine.rank(universe, both, 10)));
+    }
+
+    @Test
+    void averageAssetIsFiftyPercentConfident() {
+        assertEquals(50, ScoringEngine.confidence(0), 1e-12);
+        assertTrue(ScoringEngine.confidence(3) > 90);
+        assertTrue(ScoringEngine.confidence(-3) < 10);
+    }
+
+    // every wanted asset scored and sorted in one go: best score first, then list order
+    private static List<ScoredAsset> sequentialRank(AssetUniverse universe, UserPreferences preferences, int limit) {
+        String assetType = preferences.preferredAssetType() != null
+                ? preferences.preferredAssetType().toLowerCase(Locale.ROOT) : "both";
+        String investmentType = preferences.investmentType() != null ? preferences.investmentType() : ScoringWeights.LONG_TERM_TYPE;
+        ScoringWeights weights = ScoringWeights.forInvestmentType(investmentType);
+        List<String> industries = preferences.industries().stream().map(s -> s.toLowerCase(Locale.ROOT)).toList();
+        List<String> coins = preferences.cryptocurrencies().stream().map(s -> s.toLowerCase(Locale.ROOT)).toList();
+
+        return IntStream.range(0, universe.size())
+                .filter(i -> {
+                    Asset asset = universe.asset(i);
+                    if (asset.isCrypto()) {
+                        return !assetType.equals("stocks")
+                                && (coins.isEmpty() || coins.contains(asset.key().id().toLowerCase(Locale.ROOT)));
+                    }
+                    return !assetType.equals("crypto")
+                            && (industries.isEmpty() || industries.contains(asset.industry().toLowerCase(Locale.ROOT)));
+                })
+                .boxed()
+                .sorted(Comparator.<Integer>comparingDouble(i -> -ScoringEngine.score(universe, i, weights))
+                        .thenComparingInt(i -> i))
+                .limit(limit)
+                .map(i -> {
+                    double score = ScoringEngine.score(universe, i, weights);
+                    return new ScoredAsset(universe.asset(i), universe.features(i), investmentType, score,
+                            ScoringEngine.confidence(score));
+                })
+                .toList();
+    }
+
+    // stocks across the industries and coins, with features rounded so that many scores tie
+    private static AssetUniverse universe(int size, long seed) {
+        Random random = new Random(seed);
+        List<Asset> assets = new ArrayList<>(size);
+        List<AssetFeatures> features = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (i % 4 == 0) {
+                assets.add(Asset.crypto("coin-" + (i / 4) % 300, "C" + i, null));
+            } else {
+                assets.add(Asset.stock("S" + i, null, INDUSTRIES.get(i % INDUSTRIES.size())));
+            }
+            if (random.nextInt(20) == 0) {
+                features.add(AssetFeatures.UNKNOWN);
+            } else {
+                features.add(new AssetFeatures(random.nextInt(5) / 100.0, random.nextInt(5) / 10.0,
+                        random.nextInt(3) / 100.0, random.nextInt(3) - 1));
+            }
+        }
+        return new AssetUniverse(assets, features);
+    }
+
+    private static List<String> symbols(List<ScoredAsset> ranked) {
+        return ranked.stream().map(scored -> scored.asset().symbol()).toList();
+    }
+}
@@ -0,0 +1,25 @@
+package com.cryptoadvisor.testing;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * helpers the tests of the parallel code share: pools to run the same work on one thread and
+ * on several, and a tolerance for sums whose order depends on how the work was split
+ */
+public final class TestSupport {
+    // fork-join workers are daemon threads and time out when idle, so these are never shut down
+    public static final ForkJoinPool SINGLE = new ForkJoinPool(1);
+    public static final ForkJoinPool THREE = new ForkJoinPool(3);
+
+    private TestSupport() {
+    }
+
+    /**
+     * equal to nine significant digits, or to 1e-9 when near zero
+     */
+    public static void assertClose(double expected, double actual, String what) {
+        assertEquals(expected, actual, 1e-9 * Math.max(1, Math.abs(expected)), what);
+    }
+}